@@ -0,0 +1,66 @@
+package co.unibague.agropecuario.benchmarks;
+
+import co.unibague.agropecuario.controller.CalculadoraController;
+import co.unibague.agropecuario.controller.ProductoAgricolaController;
+import co.unibague.agropecuario.controller.ProductoGanaderoController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculos y reportes de {@link CalculadoraController}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class CalculadoraBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int tamanio;
+
+    private CalculadoraController calculadora;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        ProductoAgricolaController agricolaController = new ProductoAgricolaController();
+        ProductoGanaderoController ganaderoController = new ProductoGanaderoController();
+        DatosBenchmark.poblar(agricolaController, tamanio);
+        DatosBenchmark.poblar(ganaderoController, tamanio);
+        calculadora = new CalculadoraController(agricolaController, ganaderoController);
+    }
+
+    @Benchmark
+    public String generarResumenEjecutivo() {
+        return calculadora.generarResumenEjecutivo();
+    }
+
+    @Benchmark
+    public Map<String, Object> calcularEstadisticasGenerales() {
+        return calculadora.calcularEstadisticasGenerales();
+    }
+
+    @Benchmark
+    public String encontrarProductoMasRentable() {
+        return calculadora.encontrarProductoMasRentable();
+    }
+
+    @Benchmark
+    public String generarReporteRentabilidad() {
+        return calculadora.generarReporteRentabilidad();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package co.unibague.agropecuario.benchmarks;
+
+import co.unibague.agropecuario.controller.ProductoAgricolaController;
+import co.unibague.agropecuario.controller.ProductoGanaderoController;
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones básicas de los controladores de productos sobre catálogos de distinto tamaño
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ControladoresBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int tamanio;
+
+    private ProductoAgricolaController agricolaController;
+    private ProductoGanaderoController ganaderoController;
+    private String[] idsAgricolas;
+    private String[] idsGanaderos;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        agricolaController = new ProductoAgricolaController();
+        ganaderoController = new ProductoGanaderoController();
+        DatosBenchmark.poblar(agricolaController, tamanio);
+        DatosBenchmark.poblar(ganaderoController, tamanio);
+
+        idsAgricolas = agricolaController.listar().stream()
+                .map(ProductoAgricola::getId)
+                .toArray(String[]::new);
+        idsGanaderos = ganaderoController.listar().stream()
+                .map(ProductoGanadero::getId)
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public ProductoAgricola buscarAgricola() {
+        return agricolaController.buscar(idsAgricolas[siguiente(idsAgricolas.length)]);
+    }
+
+    @Benchmark
+    public ProductoGanadero buscarGanadero() {
+        return ganaderoController.buscar(idsGanaderos[siguiente(idsGanaderos.length)]);
+    }
+
+    /**
+     * Crea y elimina un producto para que el catálogo conserve el tamaño medido
+     */
+    @Benchmark
+    public boolean crearAgricola() {
+        String id = agricolaController.generarProximoId();
+        boolean creado = agricolaController.crear(DatosBenchmark.crearAgricola(id, cursor));
+        agricolaController.eliminar(id);
+        return creado;
+    }
+
+    @Benchmark
+    public boolean crearGanadero() {
+        String id = ganaderoController.generarProximoId();
+        boolean creado = ganaderoController.crear(DatosBenchmark.crearGanadero(id, cursor));
+        ganaderoController.eliminar(id);
+        return creado;
+    }
+
+    @Benchmark
+    public List<ProductoAgricola> listarAgricolas() {
+        return agricolaController.listar();
+    }
+
+    @Benchmark
+    public List<ProductoGanadero> listarGanaderos() {
+        return ganaderoController.listar();
+    }
+
+    @Benchmark
+    public String generarProximoId() {
+        return agricolaController.generarProximoId();
+    }
+
+    private int siguiente(int limite) {
+        cursor = cursor + 1 < limite ? cursor + 1 : 0;
+        return cursor;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package co.unibague.agropecuario.benchmarks;
+
+import co.unibague.agropecuario.controller.FincaController;
+import co.unibague.agropecuario.controller.ProductoAgricolaController;
+import co.unibague.agropecuario.controller.ProductoGanaderoController;
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+import co.unibague.agropecuario.utils.GeneradorDatos;
+
+/**
+ * Construcción de los datos usados por los benchmarks.
+ * La semilla es fija, así cada ejecución mide el mismo catálogo.
+ */
+final class DatosBenchmark {
+
+    private static final long SEMILLA = 20250630L;
+    private static final GeneradorDatos GENERADOR = new GeneradorDatos(SEMILLA);
+
+    // Prevenir instanciación
+    private DatosBenchmark() {}
+
+    static ProductoAgricola crearAgricola(String id, int i) {
+        ProductoAgricola producto = GENERADOR.generarAgricola(i);
+        producto.setId(id);
+        return producto;
+    }
+
+    static ProductoGanadero crearGanadero(String id, int i) {
+        ProductoGanadero producto = GENERADOR.generarGanadero(i);
+        producto.setId(id);
+        return producto;
+    }
+
+    /**
+     * Completa el controlador hasta la cantidad pedida (los datos de prueba cuentan)
+     */
+    static void poblar(ProductoAgricolaController controller, int cantidad) {
+        GENERADOR.cargar(controller, Math.max(0, cantidad - controller.obtenerTotal()));
+    }
+
+    static void poblar(ProductoGanaderoController controller, int cantidad) {
+        GENERADOR.cargar(controller, Math.max(0, cantidad - controller.obtenerTotal()));
+    }
+
+    static void poblar(FincaController controller, int cantidad) {
+        GENERADOR.cargar(controller, Math.max(0, cantidad - controller.obtenerTotal()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package co.unibague.agropecuario.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.results.format.ResultFormatType;
+
+/**
+ * Punto de entrada de los benchmarks.
+ * Ejecuta siempre con el perfilador de GC para reportar asignaciones por operación.
+ * Los argumentos, si existen, son expresiones regulares de los benchmarks a incluir.
+ */
+public class EjecutarBenchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder opciones = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("resultados-benchmarks.json");
+
+        if (args.length == 0) {
+            opciones.include(EjecutarBenchmarks.class.getPackageName() + ".*");
+        }
+        for (String patron : args) {
+            opciones.include(patron);
+        }
+
+        new Runner(opciones.build()).run();
+    }
+}
\ No newline at end of file
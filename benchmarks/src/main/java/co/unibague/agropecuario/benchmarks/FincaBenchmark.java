@@ -0,0 +1,60 @@
+package co.unibague.agropecuario.benchmarks;
+
+import co.unibague.agropecuario.controller.FincaController;
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.utils.Constantes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas y estadísticas de {@link FincaController}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class FincaBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int tamanio;
+
+    private FincaController fincaController;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        fincaController = new FincaController();
+        DatosBenchmark.poblar(fincaController, tamanio);
+    }
+
+    @Benchmark
+    public String obtenerEstadisticasPorMunicipio() {
+        return fincaController.obtenerEstadisticasPorMunicipio();
+    }
+
+    @Benchmark
+    public List<Finca> buscarPorMunicipio() {
+        cursor = (cursor + 1) % Constantes.MUNICIPIOS_TOLIMA.length;
+        return fincaController.buscarPorMunicipio(Constantes.MUNICIPIOS_TOLIMA[cursor]);
+    }
+
+    @Benchmark
+    public List<Finca> listar() {
+        return fincaController.listar();
+    }
+}
\ No newline at end of file
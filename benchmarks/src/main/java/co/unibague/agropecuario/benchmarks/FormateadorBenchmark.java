@@ -0,0 +1,91 @@
+package co.unibague.agropecuario.benchmarks;
+
+import co.unibague.agropecuario.utils.Formateador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Funciones de {@link Formateador}; no dependen del tamaño del catálogo
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormateadorBenchmark {
+
+    // Campos no finales para que el compilador no pliegue las constantes
+    private double valor = 1234567.891;
+    private int entero = 7654321;
+    private LocalDate fecha = LocalDate.of(2025, 3, 15);
+    private String texto = "café arábica de exportación";
+    private String id = "AGR001";
+    private String telefono = "3001234567";
+    private String email = "finca@correo.com";
+
+    @Benchmark
+    public String formatearDecimal() {
+        return Formateador.formatearDecimal(valor);
+    }
+
+    @Benchmark
+    public String formatearEntero() {
+        return Formateador.formatearEntero(entero);
+    }
+
+    @Benchmark
+    public String formatearFecha() {
+        return Formateador.formatearFecha(fecha);
+    }
+
+    @Benchmark
+    public String formatearMoneda() {
+        return Formateador.formatearMoneda(valor);
+    }
+
+    @Benchmark
+    public String formatearHectareas() {
+        return Formateador.formatearHectareas(valor);
+    }
+
+    @Benchmark
+    public String formatearPeso() {
+        return Formateador.formatearPeso(valor);
+    }
+
+    @Benchmark
+    public String formatearPorcentaje() {
+        return Formateador.formatearPorcentaje(valor);
+    }
+
+    @Benchmark
+    public String capitalizarPalabras() {
+        return Formateador.capitalizarPalabras(texto);
+    }
+
+    @Benchmark
+    public String formatearId() {
+        return Formateador.formatearId(id);
+    }
+
+    @Benchmark
+    public String truncarTexto() {
+        return Formateador.truncarTexto(texto, 10);
+    }
+
+    @Benchmark
+    public String formatearContacto() {
+        return Formateador.formatearContacto(telefono, email);
+    }
+}
\ No newline at end of file
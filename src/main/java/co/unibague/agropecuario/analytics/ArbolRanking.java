@@ -0,0 +1,256 @@
+package co.unibague.agropecuario.analytics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Árbol de clasificación con estadísticas de orden (treap). Ordena las entidades de
+ * mayor a menor valor y, a igual valor, por secuencia de inserción, igual que un
+ * recorrido del listado. Cada nodo guarda el tamaño
+ * de su subárbol, así la posición de una entidad cuesta O(log N) y los K primeros
+ * o últimos O(K + log N).
+ * <p>
+ * La prioridad de cada nodo se deriva de su secuencia, de modo que la forma del
+ * árbol no depende de un generador aleatorio y es la misma en cada ejecución.
+ * @param <T> tipo de entidad
+ */
+final class ArbolRanking<T> {
+
+    /**
+     * Nodo del árbol; el valor y la secuencia forman la clave
+     */
+    static final class Nodo<T> {
+        final double valor;
+        final long secuencia;
+        final T entidad;
+        private final long prioridad;
+        private Nodo<T> izquierdo;
+        private Nodo<T> derecho;
+        private int tamanio;
+
+        private Nodo(double valor, long secuencia, T entidad) {
+            this.valor = valor;
+            this.secuencia = secuencia;
+            this.entidad = entidad;
+            this.prioridad = mezclar(secuencia);
+            this.tamanio = 1;
+        }
+    }
+
+    private Nodo<T> raiz;
+
+    int tamanio() {
+        return tamanio(raiz);
+    }
+
+    boolean isEmpty() {
+        return raiz == null;
+    }
+
+    /**
+     * Inserta una entidad; la combinación de valor y secuencia no debe estar en el árbol
+     */
+    void insertar(double valor, long secuencia, T entidad) {
+        raiz = insertar(raiz, new Nodo<>(valor, secuencia, entidad));
+    }
+
+    /**
+     * Retira la entidad con el valor y la secuencia dados
+     * @return true si estaba en el árbol
+     */
+    boolean retirar(double valor, long secuencia) {
+        int antes = tamanio(raiz);
+        raiz = retirar(raiz, valor, secuencia);
+        return tamanio(raiz) < antes;
+    }
+
+    /**
+     * Obtiene la posición de una entidad, empezando en 1 para el mayor valor
+     * @return posición, o -1 si no está en el árbol
+     */
+    int posicion(double valor, long secuencia) {
+        int anteriores = 0;
+        Nodo<T> nodo = raiz;
+        while (nodo != null) {
+            int comparacion = comparar(valor, secuencia, nodo);
+            if (comparacion == 0) {
+                return anteriores + tamanio(nodo.izquierdo) + 1;
+            }
+            if (comparacion < 0) {
+                nodo = nodo.izquierdo;
+            } else {
+                anteriores += tamanio(nodo.izquierdo) + 1;
+                nodo = nodo.derecho;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene las K entidades de mayor valor, de mayor a menor
+     */
+    List<T> primeros(int k) {
+        List<T> resultado = new ArrayList<>(Math.min(k, tamanio()));
+        Iterator<Nodo<T>> recorrido = recorrer(true);
+        while (resultado.size() < k && recorrido.hasNext()) {
+            resultado.add(recorrido.next().entidad);
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene las K entidades de menor valor, de menor a mayor; a igual valor
+     * aparece primero la insertada después
+     */
+    List<T> ultimos(int k) {
+        List<T> resultado = new ArrayList<>(Math.min(k, tamanio()));
+        Iterator<Nodo<T>> recorrido = recorrer(false);
+        while (resultado.size() < k && recorrido.hasNext()) {
+            resultado.add(recorrido.next().entidad);
+        }
+        return resultado;
+    }
+
+    /**
+     * Recorre los nodos en orden sin copiar el árbol: cada paso cuesta O(1) amortizado.
+     * El árbol no debe modificarse durante el recorrido.
+     * @param descendente true para empezar por el mayor valor
+     * @return iterador de nodos
+     */
+    Iterator<Nodo<T>> recorrer(boolean descendente) {
+        return new Iterator<>() {
+            private final Deque<Nodo<T>> pendientes = new ArrayDeque<>();
+
+            {
+                apilar(raiz);
+            }
+
+            private void apilar(Nodo<T> nodo) {
+                while (nodo != null) {
+                    pendientes.push(nodo);
+                    nodo = descendente ? nodo.izquierdo : nodo.derecho;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !pendientes.isEmpty();
+            }
+
+            @Override
+            public Nodo<T> next() {
+                if (pendientes.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Nodo<T> nodo = pendientes.pop();
+                apilar(descendente ? nodo.derecho : nodo.izquierdo);
+                return nodo;
+            }
+        };
+    }
+
+    /**
+     * Compara una clave con la de un nodo en el orden del árbol: mayor valor primero
+     * y, a igual valor, menor secuencia primero
+     */
+    static int comparar(double valor, long secuencia, Nodo<?> nodo) {
+        int comparacion = Double.compare(nodo.valor, valor);
+        return comparacion != 0 ? comparacion : Long.compare(secuencia, nodo.secuencia);
+    }
+
+    private static <T> Nodo<T> insertar(Nodo<T> nodo, Nodo<T> nuevo) {
+        if (nodo == null) {
+            return nuevo;
+        }
+        if (nuevo.prioridad > nodo.prioridad) {
+            // El nuevo nodo sube a esta posición y reparte el subárbol según su clave
+            dividir(nodo, nuevo);
+            return actualizar(nuevo);
+        }
+        if (comparar(nuevo.valor, nuevo.secuencia, nodo) < 0) {
+            nodo.izquierdo = insertar(nodo.izquierdo, nuevo);
+        } else {
+            nodo.derecho = insertar(nodo.derecho, nuevo);
+        }
+        return actualizar(nodo);
+    }
+
+    /**
+     * Reparte un subárbol entre los hijos de un nodo: a la izquierda las claves que lo
+     * preceden y a la derecha las que lo siguen
+     */
+    private static <T> void dividir(Nodo<T> nodo, Nodo<T> pivote) {
+        if (nodo == null) {
+            pivote.izquierdo = null;
+            pivote.derecho = null;
+            return;
+        }
+        if (comparar(pivote.valor, pivote.secuencia, nodo) < 0) {
+            dividir(nodo.izquierdo, pivote);
+            nodo.izquierdo = pivote.derecho;
+            pivote.derecho = actualizar(nodo);
+        } else {
+            dividir(nodo.derecho, pivote);
+            nodo.derecho = pivote.izquierdo;
+            pivote.izquierdo = actualizar(nodo);
+        }
+    }
+
+    private static <T> Nodo<T> retirar(Nodo<T> nodo, double valor, long secuencia) {
+        if (nodo == null) {
+            return null;
+        }
+        int comparacion = comparar(valor, secuencia, nodo);
+        if (comparacion == 0) {
+            return unir(nodo.izquierdo, nodo.derecho);
+        }
+        if (comparacion < 0) {
+            nodo.izquierdo = retirar(nodo.izquierdo, valor, secuencia);
+        } else {
+            nodo.derecho = retirar(nodo.derecho, valor, secuencia);
+        }
+        return actualizar(nodo);
+    }
+
+    /**
+     * Une dos subárboles cuyas claves de la izquierda preceden a todas las de la derecha
+     */
+    private static <T> Nodo<T> unir(Nodo<T> izquierdo, Nodo<T> derecho) {
+        if (izquierdo == null) {
+            return derecho;
+        }
+        if (derecho == null) {
+            return izquierdo;
+        }
+        if (izquierdo.prioridad > derecho.prioridad) {
+            izquierdo.derecho = unir(izquierdo.derecho, derecho);
+            return actualizar(izquierdo);
+        }
+        derecho.izquierdo = unir(izquierdo, derecho.izquierdo);
+        return actualizar(derecho);
+    }
+
+    private static <T> Nodo<T> actualizar(Nodo<T> nodo) {
+        nodo.tamanio = tamanio(nodo.izquierdo) + tamanio(nodo.derecho) + 1;
+        return nodo;
+    }
+
+    private static int tamanio(Nodo<?> nodo) {
+        return nodo == null ? 0 : nodo.tamanio;
+    }
+
+    /**
+     * Dispersa la secuencia (función de mezcla de SplitMix64): secuencias consecutivas
+     * reciben prioridades sin relación entre sí y el árbol queda balanceado en promedio
+     */
+    private static long mezclar(long secuencia) {
+        long z = secuencia + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
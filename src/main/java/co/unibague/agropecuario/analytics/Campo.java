@@ -0,0 +1,34 @@
+package co.unibague.agropecuario.analytics;
+
+import java.util.Comparator;
+
+/**
+ * Campo de una entidad que se puede usar en una {@link Consulta}: cada tipo de
+ * campo ofrece sus propias condiciones y todos sirven para ordenar los resultados.
+ * Los campos de cada entidad están en {@link CamposAgricolas}, {@link CamposGanaderos}
+ * y {@link CamposFincas}.
+ * @param <T> tipo de entidad
+ */
+public abstract class Campo<T> {
+
+    private final String nombre;
+
+    protected Campo(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Obtiene el orden ascendente de las entidades según este campo
+     * @return comparador de entidades
+     */
+    public abstract Comparator<T> comparador();
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+
+/**
+ * Campo categórico codificado en un {@link Diccionario} (tipo de cultivo, municipio...).
+ * La igualdad no distingue mayúsculas y compara las clases enteras del diccionario,
+ * sin tocar el texto de cada entidad.
+ * @param <T> tipo de entidad
+ */
+public class CampoCategorico<T> extends Campo<T> {
+
+    private final Diccionario diccionario;
+    private final ToIntFunction<T> codigo;
+
+    public CampoCategorico(String nombre, Diccionario diccionario, ToIntFunction<T> codigo) {
+        super(nombre);
+        this.diccionario = diccionario;
+        this.codigo = codigo;
+    }
+
+    /**
+     * Obtiene la clase del valor del campo en una entidad
+     * @param entidad entidad a consultar
+     * @return clase en el diccionario, o {@link Diccionario#SIN_VALOR} si no tiene valor
+     */
+    public int clase(T entidad) {
+        return diccionario.clase(codigo.applyAsInt(entidad));
+    }
+
+    /**
+     * Busca la clase de un valor sin distinguir mayúsculas
+     * @param valor texto a buscar
+     * @return clase en el diccionario, o {@link Diccionario#SIN_VALOR} si no está o es null
+     */
+    public int buscarClase(String valor) {
+        return diccionario.buscarClase(valor);
+    }
+
+    /**
+     * Entidades cuyo valor es igual al dado sin distinguir mayúsculas;
+     * con null, las que no tienen valor
+     */
+    public Condicion<T> igual(String valor) {
+        return new Condicion.Categoria<>(this, valor, diccionario.buscarClase(valor));
+    }
+
+    @Override
+    public Comparator<T> comparador() {
+        return Comparator.comparing(entidad -> diccionario.texto(codigo.applyAsInt(entidad)),
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+    }
+}
\ No newline at end of file
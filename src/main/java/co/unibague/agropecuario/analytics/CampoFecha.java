@@ -0,0 +1,40 @@
+package co.unibague.agropecuario.analytics;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Campo de fecha. Internamente es un campo numérico sobre el número de día
+ * ({@link LocalDate#toEpochDay()}), así los rangos de fechas se evalúan igual que
+ * los numéricos; una fecha ausente no cumple ningún rango.
+ * @param <T> tipo de entidad
+ */
+public class CampoFecha<T> extends CampoNumerico<T> {
+
+    public CampoFecha(String nombre, Function<T, LocalDate> extractor) {
+        super(nombre, entidad -> {
+            LocalDate fecha = extractor.apply(entidad);
+            return fecha == null ? Double.NaN : fecha.toEpochDay();
+        });
+    }
+
+    /**
+     * Fechas entre dos días, ambos incluidos
+     */
+    public Condicion<T> entre(LocalDate desde, LocalDate hasta) {
+        return entre(desde.toEpochDay(), hasta.toEpochDay());
+    }
+
+    public Condicion<T> desde(LocalDate fecha) {
+        return desde(fecha.toEpochDay());
+    }
+
+    public Condicion<T> hasta(LocalDate fecha) {
+        return hasta(fecha.toEpochDay());
+    }
+
+    @Override
+    protected String formatear(double valor) {
+        return Double.isInfinite(valor) ? super.formatear(valor) : LocalDate.ofEpochDay((long) valor).toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package co.unibague.agropecuario.analytics;
+
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Campo numérico (hectáreas, número de animales, área...): admite condiciones de rango.
+ * Los valores se leen como double sin crear objetos; un valor NaN no cumple ningún rango.
+ * @param <T> tipo de entidad
+ */
+public class CampoNumerico<T> extends Campo<T> {
+
+    private final ToDoubleFunction<T> extractor;
+
+    public CampoNumerico(String nombre, ToDoubleFunction<T> extractor) {
+        super(nombre);
+        this.extractor = extractor;
+    }
+
+    /**
+     * Obtiene el valor del campo en una entidad
+     * @param entidad entidad a consultar
+     * @return valor del campo
+     */
+    public double valor(T entidad) {
+        return extractor.applyAsDouble(entidad);
+    }
+
+    /**
+     * Valores entre dos límites, ambos incluidos
+     */
+    public Condicion<T> entre(double minimo, double maximo) {
+        return new Condicion.Rango<>(this, minimo, true, maximo, true);
+    }
+
+    public Condicion<T> igual(double valor) {
+        return entre(valor, valor);
+    }
+
+    public Condicion<T> mayorQue(double valor) {
+        return new Condicion.Rango<>(this, valor, false, Double.POSITIVE_INFINITY, true);
+    }
+
+    public Condicion<T> desde(double valor) {
+        return new Condicion.Rango<>(this, valor, true, Double.POSITIVE_INFINITY, true);
+    }
+
+    public Condicion<T> menorQue(double valor) {
+        return new Condicion.Rango<>(this, Double.NEGATIVE_INFINITY, true, valor, false);
+    }
+
+    public Condicion<T> hasta(double valor) {
+        return new Condicion.Rango<>(this, Double.NEGATIVE_INFINITY, true, valor, true);
+    }
+
+    @Override
+    public Comparator<T> comparador() {
+        return Comparator.comparingDouble(extractor);
+    }
+
+    /**
+     * Formatea un límite de rango para describir la condición
+     * @param valor límite del rango
+     * @return texto del límite
+     */
+    protected String formatear(double valor) {
+        if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            return Long.toString((long) valor);
+        }
+        return Double.toString(valor);
+    }
+}
\ No newline at end of file
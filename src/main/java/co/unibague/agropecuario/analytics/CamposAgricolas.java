@@ -0,0 +1,36 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+
+/**
+ * Campos consultables de los productos agrícolas
+ */
+public final class CamposAgricolas {
+
+    public static final CampoFecha<ProductoAgricola> FECHA_PRODUCCION =
+            new CampoFecha<>("fechaProduccion", ProductoAgricola::getFechaProduccion);
+    public static final CampoNumerico<ProductoAgricola> COSTO_PRODUCCION =
+            new CampoNumerico<>("costoProduccion", ProductoAgricola::getCostoProduccion);
+    public static final CampoNumerico<ProductoAgricola> CANTIDAD_PRODUCIDA =
+            new CampoNumerico<>("cantidadProducida", ProductoAgricola::getCantidadProducida);
+    public static final CampoNumerico<ProductoAgricola> PRECIO_VENTA =
+            new CampoNumerico<>("precioVenta", ProductoAgricola::getPrecioVenta);
+    public static final CampoNumerico<ProductoAgricola> HECTAREAS_CULTIVADAS =
+            new CampoNumerico<>("hectareasCultivadas", ProductoAgricola::getHectareasCultivadas);
+    public static final CampoNumerico<ProductoAgricola> RENDIMIENTO_POR_HA =
+            new CampoNumerico<>("rendimientoPorHa", ProductoAgricola::getRendimientoPorHa);
+    public static final CampoNumerico<ProductoAgricola> RENTABILIDAD =
+            new CampoNumerico<>("rentabilidad", ProductoAgricola::calcularRentabilidad);
+
+    public static final CampoCategorico<ProductoAgricola> TIPO_CULTIVO =
+            new CampoCategorico<>("tipoCultivo", Diccionario.TIPOS_CULTIVO, ProductoAgricola::getCodigoTipoCultivo);
+    public static final CampoCategorico<ProductoAgricola> TEMPORADA =
+            new CampoCategorico<>("temporada", Diccionario.TEMPORADAS, ProductoAgricola::getCodigoTemporada);
+    public static final CampoCategorico<ProductoAgricola> TIPO_SUELO =
+            new CampoCategorico<>("tipoSuelo", Diccionario.TIPOS_SUELO, ProductoAgricola::getCodigoTipoSuelo);
+
+    private CamposAgricolas() {
+        // Prevenir instanciación
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+import co.unibague.agropecuario.model.entities.Finca;
+
+/**
+ * Campos consultables de las fincas. Los tres se resuelven con el índice de fincas
+ * (ver {@link IndiceConsultaFincas})
+ */
+public final class CamposFincas {
+
+    public static final CampoNumerico<Finca> AREA_TOTAL =
+            new CampoNumerico<>("areaTotal", Finca::getAreaTotal);
+
+    public static final CampoCategorico<Finca> MUNICIPIO =
+            new CampoCategorico<>("municipio", Diccionario.MUNICIPIOS, Finca::getCodigoMunicipio);
+    public static final CampoCategorico<Finca> TIPO_TERRENO =
+            new CampoCategorico<>("tipoTerreno", Diccionario.TIPOS_TERRENO, Finca::getCodigoTipoTerreno);
+
+    private CamposFincas() {
+        // Prevenir instanciación
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+
+/**
+ * Campos consultables de los productos ganaderos
+ */
+public final class CamposGanaderos {
+
+    public static final CampoFecha<ProductoGanadero> FECHA_PRODUCCION =
+            new CampoFecha<>("fechaProduccion", ProductoGanadero::getFechaProduccion);
+    public static final CampoNumerico<ProductoGanadero> COSTO_PRODUCCION =
+            new CampoNumerico<>("costoProduccion", ProductoGanadero::getCostoProduccion);
+    public static final CampoNumerico<ProductoGanadero> CANTIDAD_PRODUCIDA =
+            new CampoNumerico<>("cantidadProducida", ProductoGanadero::getCantidadProducida);
+    public static final CampoNumerico<ProductoGanadero> PRECIO_VENTA =
+            new CampoNumerico<>("precioVenta", ProductoGanadero::getPrecioVenta);
+    public static final CampoNumerico<ProductoGanadero> NUMERO_ANIMALES =
+            new CampoNumerico<>("numeroAnimales", ProductoGanadero::getNumeroAnimales);
+    public static final CampoNumerico<ProductoGanadero> PESO_PROMEDIO =
+            new CampoNumerico<>("pesoPromedio", ProductoGanadero::getPesoPromedio);
+    public static final CampoNumerico<ProductoGanadero> PRODUCCION_DIARIA =
+            new CampoNumerico<>("produccionDiaria", ProductoGanadero::getProduccionDiaria);
+    public static final CampoNumerico<ProductoGanadero> RENTABILIDAD =
+            new CampoNumerico<>("rentabilidad", ProductoGanadero::calcularRentabilidad);
+
+    public static final CampoCategorico<ProductoGanadero> TIPO_GANADO =
+            new CampoCategorico<>("tipoGanado", Diccionario.TIPOS_GANADO, ProductoGanadero::getCodigoTipoGanado);
+    public static final CampoCategorico<ProductoGanadero> TIPO_ALIMENTACION =
+            new CampoCategorico<>("tipoAlimentacion", Diccionario.TIPOS_ALIMENTACION,
+                    ProductoGanadero::getCodigoTipoAlimentacion);
+
+    private CamposGanaderos() {
+        // Prevenir instanciación
+    }
+}
\ No newline at end of file
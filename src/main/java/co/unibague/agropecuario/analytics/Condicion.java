@@ -0,0 +1,122 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+
+import java.util.function.Predicate;
+
+/**
+ * Condición sobre un campo de una entidad. Además de evaluarse sobre cada entidad,
+ * expone sus parámetros para que el {@link Planificador} pueda resolverla con un índice.
+ * Se crea con los métodos de cada tipo de {@link Campo}.
+ * @param <T> tipo de entidad
+ */
+public abstract class Condicion<T> implements Predicate<T> {
+
+    private final Campo<T> campo;
+
+    Condicion(Campo<T> campo) {
+        this.campo = campo;
+    }
+
+    public Campo<T> getCampo() {
+        return campo;
+    }
+
+    /**
+     * Rango sobre un campo numérico; cada límite puede ser inclusivo o no
+     */
+    public static final class Rango<T> extends Condicion<T> {
+        private final CampoNumerico<T> numerico;
+        private final double minimo;
+        private final boolean incluyeMinimo;
+        private final double maximo;
+        private final boolean incluyeMaximo;
+
+        Rango(CampoNumerico<T> campo, double minimo, boolean incluyeMinimo, double maximo, boolean incluyeMaximo) {
+            super(campo);
+            this.numerico = campo;
+            this.minimo = minimo;
+            this.incluyeMinimo = incluyeMinimo;
+            this.maximo = maximo;
+            this.incluyeMaximo = incluyeMaximo;
+        }
+
+        @Override
+        public boolean test(T entidad) {
+            double valor = numerico.valor(entidad);
+            return (incluyeMinimo ? valor >= minimo : valor > minimo)
+                    && (incluyeMaximo ? valor <= maximo : valor < maximo);
+        }
+
+        public double getMinimo() {
+            return minimo;
+        }
+
+        public boolean isIncluyeMinimo() {
+            return incluyeMinimo;
+        }
+
+        public double getMaximo() {
+            return maximo;
+        }
+
+        public boolean isIncluyeMaximo() {
+            return incluyeMaximo;
+        }
+
+        @Override
+        public String toString() {
+            if (maximo == Double.POSITIVE_INFINITY) {
+                return getCampo() + (incluyeMinimo ? " >= " : " > ") + numerico.formatear(minimo);
+            }
+            if (minimo == Double.NEGATIVE_INFINITY) {
+                return getCampo() + (incluyeMaximo ? " <= " : " < ") + numerico.formatear(maximo);
+            }
+            return getCampo() + " en " + (incluyeMinimo ? "[" : "(") + numerico.formatear(minimo) + ", "
+                    + numerico.formatear(maximo) + (incluyeMaximo ? "]" : ")");
+        }
+    }
+
+    /**
+     * Igualdad sobre un campo categórico, sin distinguir mayúsculas
+     */
+    public static final class Categoria<T> extends Condicion<T> {
+        private final CampoCategorico<T> categorico;
+        private final String valor;
+        private final int clase;
+
+        Categoria(CampoCategorico<T> campo, String valor, int clase) {
+            super(campo);
+            this.categorico = campo;
+            this.valor = valor;
+            this.clase = clase;
+        }
+
+        @Override
+        public boolean test(T entidad) {
+            // Un valor que no está en el diccionario no coincide con nada, ni con las entidades sin valor
+            return categorico.clase(entidad) == clase && (clase != Diccionario.SIN_VALOR || valor == null);
+        }
+
+        /**
+         * Indica si ninguna entidad puede cumplir la condición
+         * @return true si el valor buscado no está en el diccionario
+         */
+        public boolean esVacia() {
+            return clase == Diccionario.SIN_VALOR && valor != null;
+        }
+
+        public String getValor() {
+            return valor;
+        }
+
+        public int getClase() {
+            return clase;
+        }
+
+        @Override
+        public String toString() {
+            return getCampo() + " = " + (valor == null ? "(sin valor)" : "'" + valor + "'");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package co.unibague.agropecuario.analytics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Consulta sobre una colección de entidades: condiciones que deben cumplirse todas,
+ * orden opcional por un campo y número máximo de resultados. Se ejecuta con el
+ * método {@code consultar} de cada controlador, que decide cómo resolverla.
+ * <pre>
+ * Consulta&lt;Finca&gt; consulta = Consulta.donde(CamposFincas.MUNICIPIO.igual("Espinal"))
+ *         .y(CamposFincas.AREA_TOTAL.entre(10, 50))
+ *         .ordenarPorDescendente(CamposFincas.AREA_TOTAL)
+ *         .limite(5);
+ * </pre>
+ * @param <T> tipo de entidad
+ */
+public final class Consulta<T> {
+
+    private final List<Condicion<T>> condiciones;
+    private Campo<T> campoOrden;
+    private boolean descendente;
+    private int limite;
+
+    private Consulta() {
+        this.condiciones = new ArrayList<>();
+        this.limite = -1;
+    }
+
+    /**
+     * Crea una consulta con una primera condición
+     * @param condicion condición que deben cumplir los resultados
+     * @param <T> tipo de entidad
+     * @return consulta nueva
+     */
+    public static <T> Consulta<T> donde(Condicion<T> condicion) {
+        return new Consulta<T>().y(condicion);
+    }
+
+    /**
+     * Crea una consulta sin condiciones, útil para ordenar y limitar la colección completa
+     * @param <T> tipo de entidad
+     * @return consulta nueva
+     */
+    public static <T> Consulta<T> todos() {
+        return new Consulta<>();
+    }
+
+    /**
+     * Agrega una condición que también deben cumplir los resultados
+     * @param condicion condición adicional
+     * @return esta consulta
+     */
+    public Consulta<T> y(Condicion<T> condicion) {
+        if (condicion == null) {
+            throw new IllegalArgumentException("La condición no puede ser nula");
+        }
+        condiciones.add(condicion);
+        return this;
+    }
+
+    /**
+     * Ordena los resultados de menor a mayor según un campo; los empates conservan
+     * el orden de inserción
+     * @param campo campo de orden
+     * @return esta consulta
+     */
+    public Consulta<T> ordenarPor(Campo<T> campo) {
+        this.campoOrden = campo;
+        this.descendente = false;
+        return this;
+    }
+
+    /**
+     * Ordena los resultados de mayor a menor según un campo
+     * @param campo campo de orden
+     * @return esta consulta
+     */
+    public Consulta<T> ordenarPorDescendente(Campo<T> campo) {
+        this.campoOrden = campo;
+        this.descendente = true;
+        return this;
+    }
+
+    /**
+     * Limita el número de resultados
+     * @param maximo número máximo de resultados
+     * @return esta consulta
+     */
+    public Consulta<T> limite(int maximo) {
+        if (maximo < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo");
+        }
+        this.limite = maximo;
+        return this;
+    }
+
+    public List<Condicion<T>> getCondiciones() {
+        return Collections.unmodifiableList(condiciones);
+    }
+
+    public Campo<T> getCampoOrden() {
+        return campoOrden;
+    }
+
+    public boolean isDescendente() {
+        return descendente;
+    }
+
+    /**
+     * Obtiene el número máximo de resultados
+     * @return límite, o -1 si no hay
+     */
+    public int getLimite() {
+        return limite;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(condiciones.isEmpty() ? "todos" : "donde ");
+        for (int i = 0; i < condiciones.size(); i++) {
+            texto.append(i > 0 ? " y " : "").append(condiciones.get(i));
+        }
+        if (campoOrden != null) {
+            texto.append(" ordenado por ").append(campoOrden).append(descendente ? " desc" : "");
+        }
+        if (limite >= 0) {
+            texto.append(" límite ").append(limite);
+        }
+        return texto.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.ProductoAgropecuario;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métricas por las que se clasifican los productos (ver {@link RankingProductos})
+ */
+public enum CriterioRanking {
+    RENTABILIDAD("Rentabilidad", ProductoAgropecuario::calcularRentabilidad),
+    MARGEN_GANANCIA("Margen de ganancia", ProductoAgropecuario::calcularMargenGanancia);
+
+    private final String descripcion;
+    private final ToDoubleFunction<ProductoAgropecuario> metrica;
+
+    CriterioRanking(String descripcion, ToDoubleFunction<ProductoAgropecuario> metrica) {
+        this.descripcion = descripcion;
+        this.metrica = metrica;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    /**
+     * Obtiene el valor de la métrica de un producto
+     * @param producto producto a evaluar
+     * @return valor de la métrica
+     */
+    public double valor(ProductoAgropecuario producto) {
+        return metrica.applyAsDouble(producto);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.repository.OyenteRepositorio;
+import co.unibague.agropecuario.model.repository.TipoCambio;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Índice de un campo categórico: agrupa las entidades por la clase de su valor
+ * en el diccionario, en orden de inserción. Se mantiene como oyente del repositorio.
+ * @param <T> tipo de entidad
+ */
+public class IndiceCategorico<T> implements OyenteRepositorio<T>, IndiceConsulta<T> {
+
+    /**
+     * Posición y clase con que se indexó una entidad
+     */
+    private record Entrada(long secuencia, int clase) {}
+
+    private final CampoCategorico<T> campo;
+    private final Function<T, String> extractorId;
+    private final Map<String, Entrada> entradas;
+    private final Map<Integer, TreeMap<Long, T>> grupos;
+    private long siguienteSecuencia;
+
+    /**
+     * Constructor del índice
+     * @param campo campo indexado
+     * @param extractorId función que obtiene el identificador de cada entidad
+     */
+    public IndiceCategorico(CampoCategorico<T> campo, Function<T, String> extractorId) {
+        this.campo = campo;
+        this.extractorId = extractorId;
+        this.entradas = new HashMap<>();
+        this.grupos = new HashMap<>();
+    }
+
+    public CampoCategorico<T> getCampo() {
+        return campo;
+    }
+
+    @Override
+    public void alCambiar(TipoCambio tipo, T anterior, T nuevo) {
+        switch (tipo) {
+            case CREAR -> agregar(nuevo, siguienteSecuencia++);
+            case ACTUALIZAR, APLICAR_TRATAMIENTO -> {
+                // El reemplazo conserva la posición original, como en el repositorio
+                Entrada entrada = retirar(anterior);
+                agregar(nuevo, entrada != null ? entrada.secuencia() : siguienteSecuencia++);
+            }
+            case ELIMINAR -> retirar(anterior);
+        }
+    }
+
+    @Override
+    public int estimar(Condicion<T> condicion) {
+        if (!(condicion instanceof Condicion.Categoria<T> igualdad) || igualdad.getCampo() != campo) {
+            return -1;
+        }
+        TreeMap<Long, T> grupo = igualdad.esVacia() ? null : grupos.get(igualdad.getClase());
+        return grupo == null ? 0 : grupo.size();
+    }
+
+    @Override
+    public List<T> buscar(Condicion<T> condicion) {
+        Condicion.Categoria<T> igualdad = (Condicion.Categoria<T>) condicion;
+        TreeMap<Long, T> grupo = igualdad.esVacia() ? null : grupos.get(igualdad.getClase());
+        return grupo == null ? List.of() : List.copyOf(grupo.values());
+    }
+
+    private void agregar(T entidad, long secuencia) {
+        int clase = campo.clase(entidad);
+        entradas.put(extractorId.apply(entidad), new Entrada(secuencia, clase));
+        grupos.computeIfAbsent(clase, k -> new TreeMap<>()).put(secuencia, entidad);
+    }
+
+    private Entrada retirar(T entidad) {
+        Entrada entrada = entradas.remove(extractorId.apply(entidad));
+        if (entrada != null) {
+            TreeMap<Long, T> grupo = grupos.get(entrada.clase());
+            grupo.remove(entrada.secuencia());
+            if (grupo.isEmpty()) {
+                grupos.remove(entrada.clase());
+            }
+        }
+        return entrada;
+    }
+}
\ No newline at end of file
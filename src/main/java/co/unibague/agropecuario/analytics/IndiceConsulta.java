@@ -0,0 +1,26 @@
+package co.unibague.agropecuario.analytics;
+
+import java.util.List;
+
+/**
+ * Índice que el {@link Planificador} puede usar para resolver una condición sin
+ * recorrer toda la colección. Ambos métodos se invocan con el cerrojo de lectura
+ * del repositorio, así el índice no cambia entre la estimación y la búsqueda.
+ * @param <T> tipo de entidad
+ */
+public interface IndiceConsulta<T> {
+
+    /**
+     * Estima cuántas entidades cumplen la condición
+     * @param condicion condición de la consulta
+     * @return número de entidades, o -1 si este índice no resuelve la condición
+     */
+    int estimar(Condicion<T> condicion);
+
+    /**
+     * Obtiene las entidades que cumplen la condición, en orden de inserción
+     * @param condicion condición que el índice resuelve según {@link #estimar(Condicion)}
+     * @return lista de entidades
+     */
+    List<T> buscar(Condicion<T> condicion);
+}
\ No newline at end of file
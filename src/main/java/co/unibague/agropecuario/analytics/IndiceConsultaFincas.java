@@ -0,0 +1,47 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.model.repository.IndiceFincas;
+
+import java.util.List;
+
+/**
+ * Expone el {@link IndiceFincas} del controlador de fincas al {@link Planificador}:
+ * resuelve igualdades de municipio y tipo de terreno y rangos de área total
+ */
+public class IndiceConsultaFincas implements IndiceConsulta<Finca> {
+
+    private final IndiceFincas indice;
+
+    public IndiceConsultaFincas(IndiceFincas indice) {
+        this.indice = indice;
+    }
+
+    @Override
+    public int estimar(Condicion<Finca> condicion) {
+        if (condicion instanceof Condicion.Categoria<Finca> igualdad) {
+            if (igualdad.getCampo() == CamposFincas.MUNICIPIO) {
+                return indice.contarPorMunicipio(igualdad.getValor());
+            }
+            if (igualdad.getCampo() == CamposFincas.TIPO_TERRENO) {
+                return indice.contarPorTipoTerreno(igualdad.getValor());
+            }
+        } else if (condicion instanceof Condicion.Rango<Finca> rango && rango.getCampo() == CamposFincas.AREA_TOTAL) {
+            return indice.contarPorRangoArea(rango.getMinimo(), rango.isIncluyeMinimo(),
+                    rango.getMaximo(), rango.isIncluyeMaximo());
+        }
+        return -1;
+    }
+
+    @Override
+    public List<Finca> buscar(Condicion<Finca> condicion) {
+        if (condicion instanceof Condicion.Rango<Finca> rango) {
+            return indice.buscarPorRangoArea(rango.getMinimo(), rango.isIncluyeMinimo(),
+                    rango.getMaximo(), rango.isIncluyeMaximo());
+        }
+        Condicion.Categoria<Finca> igualdad = (Condicion.Categoria<Finca>) condicion;
+        return igualdad.getCampo() == CamposFincas.MUNICIPIO
+                ? indice.buscarPorMunicipio(igualdad.getValor())
+                : indice.buscarPorTipoTerreno(igualdad.getValor());
+    }
+}
\ No newline at end of file
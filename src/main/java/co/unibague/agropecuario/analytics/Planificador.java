@@ -0,0 +1,188 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.repository.Repositorio;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ejecuta consultas sobre un repositorio. Para cada consulta elige el índice
+ * registrado que devuelve menos candidatos y filtra solo esos; si ningún índice
+ * descarta al menos la mitad de la colección, recorre la instantánea del
+ * repositorio, en paralelo cuando es grande.
+ * @param <T> tipo de entidad
+ */
+public class Planificador<T> {
+
+    /**
+     * Tamaño a partir del cual el recorrido completo se hace en paralelo
+     */
+    public static final int UMBRAL_PARALELO = 2048;
+
+    private final Repositorio<T> repositorio;
+    private final Function<T, String> extractorId;
+    private final List<IndiceConsulta<T>> indices;
+    private final List<CampoCategorico<T>> bajoDemanda;
+
+    /**
+     * Constructor del planificador
+     * @param repositorio repositorio consultado
+     * @param extractorId función que obtiene el identificador de cada entidad,
+     *                    para los índices que crea el planificador
+     */
+    public Planificador(Repositorio<T> repositorio, Function<T, String> extractorId) {
+        this.repositorio = repositorio;
+        this.extractorId = extractorId;
+        this.indices = new CopyOnWriteArrayList<>();
+        this.bajoDemanda = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Registra un índice que ya se mantiene al día con el repositorio
+     * @param indice índice a usar en las consultas
+     */
+    public void registrarIndice(IndiceConsulta<T> indice) {
+        indices.add(indice);
+    }
+
+    /**
+     * Indica que las igualdades sobre un campo categórico pueden resolverse con un
+     * índice. El índice se construye en la primera consulta que usa el campo, así
+     * los campos que nunca se consultan no ocupan memoria.
+     * @param campo campo categórico a indexar
+     */
+    public void indexarBajoDemanda(CampoCategorico<T> campo) {
+        bajoDemanda.add(campo);
+    }
+
+    /**
+     * Ejecuta una consulta
+     * @param consulta consulta a ejecutar
+     * @return lista inmutable de resultados
+     */
+    public List<T> ejecutar(Consulta<T> consulta) {
+        prepararIndices(consulta);
+        int tamanio = repositorio.tamanio();
+        List<Condicion<T>> condiciones = consulta.getCondiciones();
+
+        // Estimación y búsqueda bajo el mismo cerrojo: el índice no cambia entre ambas
+        Candidatos<T> candidatos = repositorio.leer(() -> {
+            Plan<T> plan = planificar(condiciones, tamanio);
+            return plan == null ? null : new Candidatos<>(plan.condicion(), plan.indice().buscar(plan.condicion()));
+        });
+
+        Predicate<T> filtro = combinar(condiciones, candidatos == null ? null : candidatos.resuelta());
+        List<T> resultados;
+        if (candidatos != null) {
+            resultados = candidatos.entidades().stream()
+                    .filter(filtro)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } else {
+            List<T> vista = repositorio.instantanea();
+            Stream<T> recorrido = vista.size() >= UMBRAL_PARALELO ? vista.parallelStream() : vista.stream();
+            recorrido = recorrido.filter(filtro);
+            if (consulta.getCampoOrden() == null && consulta.getLimite() >= 0) {
+                recorrido = recorrido.limit(consulta.getLimite());
+            }
+            resultados = recorrido.collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        if (consulta.getCampoOrden() != null) {
+            Comparator<T> orden = consulta.getCampoOrden().comparador();
+            // List.sort es estable: los empates conservan el orden de inserción
+            resultados.sort(consulta.isDescendente() ? orden.reversed() : orden);
+        }
+        if (consulta.getLimite() >= 0 && resultados.size() > consulta.getLimite()) {
+            resultados = resultados.subList(0, consulta.getLimite());
+        }
+        return Collections.unmodifiableList(resultados);
+    }
+
+    /**
+     * Describe cómo se resolvería una consulta con el contenido actual
+     * @param consulta consulta a describir
+     * @return descripción del plan
+     */
+    public String explicar(Consulta<T> consulta) {
+        prepararIndices(consulta);
+        int tamanio = repositorio.tamanio();
+        String acceso = repositorio.leer(() -> {
+            Plan<T> plan = planificar(consulta.getCondiciones(), tamanio);
+            if (plan != null) {
+                return "índice sobre " + plan.condicion().getCampo()
+                        + " (≈" + plan.estimacion() + " de " + tamanio + " registros)";
+            }
+            return (tamanio >= UMBRAL_PARALELO ? "recorrido paralelo de " : "recorrido de ")
+                    + tamanio + " registros";
+        });
+        return consulta + ": " + acceso;
+    }
+
+    /**
+     * Construye los índices bajo demanda de los campos que usa la consulta
+     */
+    private void prepararIndices(Consulta<T> consulta) {
+        if (bajoDemanda.isEmpty()) {
+            return;
+        }
+        for (Condicion<T> condicion : consulta.getCondiciones()) {
+            if (condicion.getCampo() instanceof CampoCategorico<T> campo && bajoDemanda.contains(campo)) {
+                crearIndice(campo);
+            }
+        }
+    }
+
+    private synchronized void crearIndice(CampoCategorico<T> campo) {
+        // Otro hilo pudo crearlo mientras este esperaba
+        if (!bajoDemanda.remove(campo)) {
+            return;
+        }
+        IndiceCategorico<T> indice = new IndiceCategorico<>(campo, extractorId);
+        // El repositorio le entrega las entidades existentes antes de cualquier cambio posterior
+        repositorio.agregarOyente(indice);
+        indices.add(indice);
+    }
+
+    /**
+     * Elige el índice con menos candidatos; solo vale la pena si descarta al menos la mitad
+     */
+    private Plan<T> planificar(List<Condicion<T>> condiciones, int tamanio) {
+        Plan<T> mejor = null;
+        for (Condicion<T> condicion : condiciones) {
+            for (IndiceConsulta<T> indice : indices) {
+                int estimacion = indice.estimar(condicion);
+                if (estimacion >= 0 && (mejor == null || estimacion < mejor.estimacion())) {
+                    mejor = new Plan<>(indice, condicion, estimacion);
+                }
+            }
+        }
+        return mejor != null && mejor.estimacion() <= tamanio / 2 ? mejor : null;
+    }
+
+    /**
+     * Combina las condiciones que faltan por comprobar
+     */
+    private static <T> Predicate<T> combinar(List<Condicion<T>> condiciones, Condicion<T> resuelta) {
+        List<Condicion<T>> pendientes = new ArrayList<>(condiciones);
+        pendientes.remove(resuelta);
+        return entidad -> {
+            for (Condicion<T> condicion : pendientes) {
+                if (!condicion.test(entidad)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private record Plan<T>(IndiceConsulta<T> indice, Condicion<T> condicion, int estimacion) {}
+
+    private record Candidatos<T>(Condicion<T> resuelta, List<T> entidades) {}
+}
\ No newline at end of file
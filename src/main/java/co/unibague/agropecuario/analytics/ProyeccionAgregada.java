@@ -0,0 +1,73 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.ProductoAgropecuario;
+import co.unibague.agropecuario.model.repository.OyenteRepositorio;
+import co.unibague.agropecuario.model.repository.TipoCambio;
+
+/**
+ * Agregados de un repositorio de productos que se actualizan con cada cambio,
+ * como la suma de rentabilidades, de modo que consultarlos cuesta O(1) sin
+ * importar el tamaño del catálogo. El orden por rentabilidad lo mantiene
+ * {@link RankingProductos}.
+ * <p>
+ * No guarda copia de los productos: el repositorio entrega la versión anterior
+ * (inmutable) de cada producto cambiado, y sus valores se restan tal como se sumaron.
+ * @param <T> tipo de producto agregado
+ */
+public abstract class ProyeccionAgregada<T extends ProductoAgropecuario> implements OyenteRepositorio<T> {
+
+    private final SumaCompensada sumaRentabilidad;
+    private int tamanio;
+
+    protected ProyeccionAgregada() {
+        this.sumaRentabilidad = new SumaCompensada();
+    }
+
+    @Override
+    public void alCambiar(TipoCambio tipo, T anterior, T nuevo) {
+        switch (tipo) {
+            case CREAR -> incorporar(nuevo);
+            case ACTUALIZAR, APLICAR_TRATAMIENTO -> {
+                retirar(anterior);
+                incorporar(nuevo);
+            }
+            case ELIMINAR -> retirar(anterior);
+        }
+    }
+
+    /**
+     * Obtiene el número de productos agregados
+     * @return número de productos
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Obtiene la suma de rentabilidades de todos los productos en tiempo constante
+     * @return rentabilidad total
+     */
+    public double getRentabilidadTotal() {
+        return sumaRentabilidad.valor();
+    }
+
+    /**
+     * Suma (signo 1) o resta (signo -1) el producto de los agregados propios del subtipo
+     * @param producto producto a incorporar o retirar
+     * @param signo 1 para incorporarlo, -1 para retirarlo
+     */
+    protected abstract void acumular(T producto, int signo);
+
+    private void incorporar(T producto) {
+        tamanio++;
+        // La regla de negocio vive solo en la entidad, que además guarda el resultado
+        sumaRentabilidad.agregar(producto.calcularRentabilidad());
+        acumular(producto, 1);
+    }
+
+    private void retirar(T producto) {
+        tamanio--;
+        sumaRentabilidad.quitar(producto.calcularRentabilidad());
+        acumular(producto, -1);
+    }
+}
\ No newline at end of file
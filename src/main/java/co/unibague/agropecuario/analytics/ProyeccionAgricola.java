@@ -0,0 +1,33 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+
+/**
+ * Agregados de los productos agrícolas
+ */
+public class ProyeccionAgricola extends ProyeccionAgregada<ProductoAgricola> {
+
+    private final SumaCompensada sumaHectareas;
+
+    public ProyeccionAgricola() {
+        super();
+        this.sumaHectareas = new SumaCompensada();
+    }
+
+    /**
+     * Obtiene las hectáreas cultivadas de todos los productos en tiempo constante
+     * @return hectáreas totales
+     */
+    public double getHectareasTotal() {
+        return sumaHectareas.valor();
+    }
+
+    @Override
+    protected void acumular(ProductoAgricola producto, int signo) {
+        if (signo > 0) {
+            sumaHectareas.agregar(producto.getHectareasCultivadas());
+        } else {
+            sumaHectareas.quitar(producto.getHectareasCultivadas());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+
+/**
+ * Agregados de los productos ganaderos
+ */
+public class ProyeccionGanadera extends ProyeccionAgregada<ProductoGanadero> {
+
+    private long totalAnimales;
+    private final SumaCompensada sumaProduccionDiaria;
+    private final SumaCompensada sumaPeso;
+
+    public ProyeccionGanadera() {
+        super();
+        this.sumaProduccionDiaria = new SumaCompensada();
+        this.sumaPeso = new SumaCompensada();
+    }
+
+    /**
+     * Obtiene el número de animales de todos los productos en tiempo constante
+     * @return total de animales
+     */
+    public int getTotalAnimales() {
+        return (int) totalAnimales;
+    }
+
+    /**
+     * Obtiene la producción diaria de todos los animales en tiempo constante
+     * @return producción diaria total
+     */
+    public double getProduccionDiariaTotal() {
+        return sumaProduccionDiaria.valor();
+    }
+
+    /**
+     * Obtiene el peso de todo el ganado en tiempo constante
+     * @return peso total en kilogramos
+     */
+    public double getPesoTotal() {
+        return sumaPeso.valor();
+    }
+
+    @Override
+    protected void acumular(ProductoGanadero producto, int signo) {
+        double produccion = producto.getProduccionDiaria() * producto.getNumeroAnimales();
+        double peso = producto.getNumeroAnimales() * producto.getPesoPromedio();
+        totalAnimales += (long) signo * producto.getNumeroAnimales();
+        if (signo > 0) {
+            sumaProduccionDiaria.agregar(produccion);
+            sumaPeso.agregar(peso);
+        } else {
+            sumaProduccionDiaria.quitar(produccion);
+            sumaPeso.quitar(peso);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,284 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+import co.unibague.agropecuario.model.entities.ProductoAgropecuario;
+import co.unibague.agropecuario.model.repository.OyenteRepositorio;
+import co.unibague.agropecuario.model.repository.TipoCambio;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Clasificación de los productos de un repositorio por cada {@link CriterioRanking}:
+ * la general, la de cada categoría (tipo de cultivo, tipo de ganado) y, si los
+ * productos tienen finca, la de cada finca. Se mantiene como oyente del repositorio,
+ * así cada cambio cuesta O(log N) y los K mejores o la posición de un producto se
+ * obtienen sin recorrer el catálogo.
+ * <p>
+ * Los empates se resuelven como en el listado: gana el producto insertado primero.
+ * Los productos cuya métrica es indeterminada (NaN) no se clasifican. Las consultas
+ * deben hacerse con el cerrojo de lectura del repositorio.
+ * @param <T> tipo de producto
+ */
+public class RankingProductos<T extends ProductoAgropecuario> implements OyenteRepositorio<T> {
+
+    /**
+     * Secuencia, métricas y grupos con que se clasificó un producto
+     */
+    private record Entrada(long secuencia, double[] valores, int clase, String finca) {}
+
+    private final CampoCategorico<T> categoria;
+    private final Function<T, String> extractorFinca;
+    private final Map<String, Entrada> entradas;
+    private final Map<CriterioRanking, Clasificaciones<T>> clasificaciones;
+    private long siguienteSecuencia;
+
+    /**
+     * Constructor de la clasificación
+     * @param categoria campo por el que se agrupan las clasificaciones por categoría
+     * @param extractorFinca función que obtiene el código de finca de cada producto,
+     *                       o null si los productos no tienen finca
+     */
+    public RankingProductos(CampoCategorico<T> categoria, Function<T, String> extractorFinca) {
+        this.categoria = categoria;
+        this.extractorFinca = extractorFinca;
+        this.entradas = new HashMap<>();
+        this.clasificaciones = new EnumMap<>(CriterioRanking.class);
+        for (CriterioRanking criterio : CriterioRanking.values()) {
+            clasificaciones.put(criterio, new Clasificaciones<>());
+        }
+    }
+
+    public CampoCategorico<T> getCategoria() {
+        return categoria;
+    }
+
+    @Override
+    public void alCambiar(TipoCambio tipo, T anterior, T nuevo) {
+        switch (tipo) {
+            case CREAR -> agregar(nuevo, siguienteSecuencia++);
+            case ACTUALIZAR, APLICAR_TRATAMIENTO -> {
+                // El reemplazo conserva la posición original, como en el repositorio
+                Entrada entrada = retirar(anterior);
+                agregar(nuevo, entrada != null ? entrada.secuencia() : siguienteSecuencia++);
+            }
+            case ELIMINAR -> retirar(anterior);
+        }
+    }
+
+    /**
+     * Obtiene los K productos con mayor valor del criterio, de mayor a menor
+     * @param criterio métrica de clasificación
+     * @param k número máximo de productos
+     * @return lista de productos
+     */
+    public List<T> mejores(CriterioRanking criterio, int k) {
+        validarCantidad(k);
+        return clasificaciones.get(criterio).general.primeros(k);
+    }
+
+    /**
+     * Obtiene los K productos con menor valor del criterio, de menor a mayor
+     * @param criterio métrica de clasificación
+     * @param k número máximo de productos
+     * @return lista de productos
+     */
+    public List<T> peores(CriterioRanking criterio, int k) {
+        validarCantidad(k);
+        return clasificaciones.get(criterio).general.ultimos(k);
+    }
+
+    /**
+     * Obtiene los K mejores productos de una categoría, sin distinguir mayúsculas
+     * @param criterio métrica de clasificación
+     * @param valor valor de la categoría
+     * @param k número máximo de productos
+     * @return lista de productos, vacía si la categoría no existe
+     */
+    public List<T> mejoresPorCategoria(CriterioRanking criterio, String valor, int k) {
+        validarCantidad(k);
+        ArbolRanking<T> arbol = arbolCategoria(criterio, valor);
+        return arbol == null ? List.of() : arbol.primeros(k);
+    }
+
+    /**
+     * Obtiene los K peores productos de una categoría, sin distinguir mayúsculas
+     * @param criterio métrica de clasificación
+     * @param valor valor de la categoría
+     * @param k número máximo de productos
+     * @return lista de productos, vacía si la categoría no existe
+     */
+    public List<T> peoresPorCategoria(CriterioRanking criterio, String valor, int k) {
+        validarCantidad(k);
+        ArbolRanking<T> arbol = arbolCategoria(criterio, valor);
+        return arbol == null ? List.of() : arbol.ultimos(k);
+    }
+
+    /**
+     * Obtiene los K mejores productos de un conjunto de fincas, por ejemplo las de un
+     * municipio. Mezcla las clasificaciones de cada finca tomando solo sus primeros
+     * productos: con F fincas cuesta O(F log N + K log F), sin recorrerlas completas.
+     * @param criterio métrica de clasificación
+     * @param codigosFinca códigos de las fincas
+     * @param k número máximo de productos
+     * @return lista de productos, de mayor a menor
+     */
+    public List<T> mejoresDeFincas(CriterioRanking criterio, Collection<String> codigosFinca, int k) {
+        validarCantidad(k);
+        Map<String, ArbolRanking<T>> porFinca = clasificaciones.get(criterio).porFinca;
+        PriorityQueue<Cabeza<T>> cabezas = new PriorityQueue<>();
+        Set<String> vistas = new HashSet<>();
+        for (String codigo : codigosFinca) {
+            ArbolRanking<T> arbol = porFinca.get(codigo);
+            if (arbol != null && vistas.add(codigo)) {
+                Iterator<ArbolRanking.Nodo<T>> recorrido = arbol.recorrer(true);
+                cabezas.add(new Cabeza<>(recorrido.next(), recorrido));
+            }
+        }
+        List<T> resultado = new ArrayList<>(Math.min(k, 64));
+        while (resultado.size() < k && !cabezas.isEmpty()) {
+            Cabeza<T> cabeza = cabezas.poll();
+            resultado.add(cabeza.nodo.entidad);
+            if (cabeza.resto.hasNext()) {
+                cabezas.add(new Cabeza<>(cabeza.resto.next(), cabeza.resto));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Obtiene la posición de un producto en la clasificación general
+     * @param criterio métrica de clasificación
+     * @param id identificador del producto
+     * @return posición empezando en 1, o -1 si el producto no está clasificado
+     */
+    public int posicion(CriterioRanking criterio, String id) {
+        Entrada entrada = entradas.get(id);
+        if (entrada == null) {
+            return -1;
+        }
+        return clasificaciones.get(criterio).general.posicion(entrada.valores()[criterio.ordinal()], entrada.secuencia());
+    }
+
+    /**
+     * Obtiene la posición de un producto dentro de su categoría
+     * @param criterio métrica de clasificación
+     * @param id identificador del producto
+     * @return posición empezando en 1, o -1 si el producto no está clasificado
+     */
+    public int posicionEnCategoria(CriterioRanking criterio, String id) {
+        Entrada entrada = entradas.get(id);
+        if (entrada == null) {
+            return -1;
+        }
+        ArbolRanking<T> arbol = clasificaciones.get(criterio).porCategoria.get(entrada.clase());
+        return arbol == null ? -1 : arbol.posicion(entrada.valores()[criterio.ordinal()], entrada.secuencia());
+    }
+
+    /**
+     * Obtiene el número de productos clasificados por un criterio
+     * @param criterio métrica de clasificación
+     * @return número de productos
+     */
+    public int tamanio(CriterioRanking criterio) {
+        return clasificaciones.get(criterio).general.tamanio();
+    }
+
+    private ArbolRanking<T> arbolCategoria(CriterioRanking criterio, String valor) {
+        int clase = categoria.buscarClase(valor);
+        // Un valor desconocido no corresponde a los productos sin categoría
+        if (clase == Diccionario.SIN_VALOR && valor != null) {
+            return null;
+        }
+        return clasificaciones.get(criterio).porCategoria.get(clase);
+    }
+
+    private void agregar(T producto, long secuencia) {
+        CriterioRanking[] criterios = CriterioRanking.values();
+        double[] valores = new double[criterios.length];
+        int clase = categoria.clase(producto);
+        String finca = extractorFinca == null ? null : extractorFinca.apply(producto);
+        for (CriterioRanking criterio : criterios) {
+            double valor = criterio.valor(producto);
+            valores[criterio.ordinal()] = valor;
+            // Un valor indeterminado no tiene posición: en un recorrido nunca gana una comparación
+            if (!Double.isNaN(valor)) {
+                clasificaciones.get(criterio).agregar(valor, secuencia, producto, clase, finca);
+            }
+        }
+        entradas.put(producto.getId(), new Entrada(secuencia, valores, clase, finca));
+    }
+
+    private Entrada retirar(T producto) {
+        Entrada entrada = entradas.remove(producto.getId());
+        if (entrada != null) {
+            for (CriterioRanking criterio : CriterioRanking.values()) {
+                double valor = entrada.valores()[criterio.ordinal()];
+                if (!Double.isNaN(valor)) {
+                    clasificaciones.get(criterio).retirar(valor, entrada.secuencia(), entrada.clase(), entrada.finca());
+                }
+            }
+        }
+        return entrada;
+    }
+
+    private static void validarCantidad(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("La cantidad de productos no puede ser negativa");
+        }
+    }
+
+    /**
+     * Árboles de un criterio: general, por categoría y por finca
+     */
+    private static final class Clasificaciones<T> {
+        private final ArbolRanking<T> general = new ArbolRanking<>();
+        private final Map<Integer, ArbolRanking<T>> porCategoria = new HashMap<>();
+        private final Map<String, ArbolRanking<T>> porFinca = new HashMap<>();
+
+        void agregar(double valor, long secuencia, T producto, int clase, String finca) {
+            general.insertar(valor, secuencia, producto);
+            porCategoria.computeIfAbsent(clase, c -> new ArbolRanking<>()).insertar(valor, secuencia, producto);
+            if (finca != null) {
+                porFinca.computeIfAbsent(finca, f -> new ArbolRanking<>()).insertar(valor, secuencia, producto);
+            }
+        }
+
+        void retirar(double valor, long secuencia, int clase, String finca) {
+            general.retirar(valor, secuencia);
+            retirarDeGrupo(porCategoria, clase, valor, secuencia);
+            if (finca != null) {
+                retirarDeGrupo(porFinca, finca, valor, secuencia);
+            }
+        }
+
+        private static <K, T> void retirarDeGrupo(Map<K, ArbolRanking<T>> grupos, K clave,
+                                                  double valor, long secuencia) {
+            ArbolRanking<T> arbol = grupos.get(clave);
+            arbol.retirar(valor, secuencia);
+            if (arbol.isEmpty()) {
+                grupos.remove(clave);
+            }
+        }
+    }
+
+    /**
+     * Mejor producto aún no tomado de la clasificación de una finca
+     */
+    private record Cabeza<T>(ArbolRanking.Nodo<T> nodo, Iterator<ArbolRanking.Nodo<T>> resto)
+            implements Comparable<Cabeza<T>> {
+        @Override
+        public int compareTo(Cabeza<T> otra) {
+            return ArbolRanking.comparar(nodo.valor, nodo.secuencia, otra.nodo);
+        }
+    }
+}
\ No newline at end of file
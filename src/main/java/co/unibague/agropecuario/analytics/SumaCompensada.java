@@ -0,0 +1,75 @@
+package co.unibague.agropecuario.analytics;
+
+/**
+ * Suma acumulada con compensación de Neumaier que admite agregar y quitar valores.
+ * El error de redondeo no crece con el número de actualizaciones, y los valores no
+ * finitos se cuentan aparte para que quitar un infinito devuelva la suma finita.
+ */
+public class SumaCompensada {
+
+    private double suma;
+    private double compensacion;
+    private int infinitosPositivos;
+    private int infinitosNegativos;
+    private int indeterminados;
+
+    /**
+     * Agrega un valor a la suma
+     * @param valor valor a agregar
+     */
+    public void agregar(double valor) {
+        if (!contarNoFinito(valor, 1)) {
+            acumular(valor);
+        }
+    }
+
+    /**
+     * Quita un valor agregado previamente
+     * @param valor valor a quitar
+     */
+    public void quitar(double valor) {
+        if (!contarNoFinito(valor, -1)) {
+            acumular(-valor);
+        }
+    }
+
+    /**
+     * Obtiene el valor actual con la misma semántica que una suma directa
+     * @return suma de los valores agregados
+     */
+    public double valor() {
+        if (indeterminados > 0 || (infinitosPositivos > 0 && infinitosNegativos > 0)) {
+            return Double.NaN;
+        }
+        if (infinitosPositivos > 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (infinitosNegativos > 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return suma + compensacion;
+    }
+
+    private void acumular(double valor) {
+        double total = suma + valor;
+        if (Math.abs(suma) >= Math.abs(valor)) {
+            compensacion += (suma - total) + valor;
+        } else {
+            compensacion += (valor - total) + suma;
+        }
+        suma = total;
+    }
+
+    private boolean contarNoFinito(double valor, int signo) {
+        if (Double.isNaN(valor)) {
+            indeterminados += signo;
+        } else if (valor == Double.POSITIVE_INFINITY) {
+            infinitosPositivos += signo;
+        } else if (valor == Double.NEGATIVE_INFINITY) {
+            infinitosNegativos += signo;
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
\ No newline at end of file
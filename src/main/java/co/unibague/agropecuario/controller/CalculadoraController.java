@@ -1,65 +1,160 @@
 package co.unibague.agropecuario.controller;
 
+import co.unibague.agropecuario.analytics.CriterioRanking;
+import co.unibague.agropecuario.analytics.ProyeccionAgregada;
+import co.unibague.agropecuario.model.entities.Finca;
 import co.unibague.agropecuario.model.entities.ProductoAgricola;
 import co.unibague.agropecuario.model.entities.ProductoAgropecuario;
 import co.unibague.agropecuario.model.entities.ProductoGanadero;
 
-import java.util.ArrayList;
+import java.util.Formatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Controlador para realizar cálculos de rentabilidad y estadísticas.
- * Demuestra el uso de polimorfismo en los cálculos.
+ * Los agregados se leen de las proyecciones de los controladores de
+ * productos, que los mantienen al día con cada cambio; así el resumen ejecutivo no
+ * depende del tamaño del catálogo. El reporte detallado sigue usando polimorfismo
+ * sobre las entidades, y puede generarse en paralelo (fork-join) con el número de
+ * hilos configurado en la propiedad del sistema {@value #PROPIEDAD_HILOS}.
+ * Antes de recorrer las entidades se recalculan en bloque, con el mismo paralelismo,
+ * las métricas que quedaron vencidas ({@link #recalcularMetricas()}).
+ * <p>
+ * {@link #calcularResultados(SeguimientoCalculo)} ejecuta todos los cálculos de una
+ * vez, informando el avance y permitiendo cancelarlos, para usarse fuera del hilo
+ * de la interfaz.
  */
 public class CalculadoraController {
 
+    public static final String PROPIEDAD_HILOS = "agro.reporte.hilos";
+
+    // Por debajo de este tamaño el costo de repartir supera el de formatear
+    private static final int UMBRAL_PARALELO = 2048;
+    private static final int PRODUCTOS_POR_FRAGMENTO = 1024;
+
     private ProductoAgricolaController agricolaController;
     private ProductoGanaderoController ganaderoController;
+    private FincaController fincaController;
+    private int paralelismo;
+    private ForkJoinPool pool;
 
     /**
      * Constructor del controlador
      */
     public CalculadoraController(ProductoAgricolaController agricolaController,
                                  ProductoGanaderoController ganaderoController) {
+        this(agricolaController, ganaderoController, null);
+    }
+
+    /**
+     * Constructor del controlador con acceso a las fincas, necesario para las
+     * clasificaciones por municipio
+     */
+    public CalculadoraController(ProductoAgricolaController agricolaController,
+                                 ProductoGanaderoController ganaderoController,
+                                 FincaController fincaController) {
         this.agricolaController = agricolaController;
         this.ganaderoController = ganaderoController;
+        this.fincaController = fincaController;
+        this.paralelismo = Math.max(1, Integer.getInteger(PROPIEDAD_HILOS,
+                Runtime.getRuntime().availableProcessors()));
     }
 
     /**
-     * Calcula rentabilidades usando polimorfismo
+     * Configura el número de hilos para generar reportes; 1 los genera de forma secuencial
+     * @param hilos número de hilos
+     */
+    public synchronized void setParalelismo(int hilos) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("El número de hilos debe ser al menos 1");
+        }
+        if (hilos != paralelismo && pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        this.paralelismo = hilos;
+    }
+
+    public synchronized int getParalelismo() {
+        return paralelismo;
+    }
+
+    /**
+     * Obtiene la versión de los datos de entrada de los cálculos. Cambia cuando se
+     * modifica cualquier producto, así las vistas pueden reutilizar resultados
+     * mientras se mantenga igual.
+     * @return número de versión
+     */
+    public long getVersionDatos() {
+        return agricolaController.getVersion() + ganaderoController.getVersion();
+    }
+
+    /**
+     * Calcula la rentabilidad promedio por tipo de producto
      * @return mapa con rentabilidades por tipo
      */
     public Map<String, Double> calcularRentabilidadesPorTipo() {
         Map<String, Double> rentabilidades = new HashMap<>();
 
-        // Usar polimorfismo - cada tipo calcula su rentabilidad específica
-        List<ProductoAgropecuario> todosLosProductos = new ArrayList<>();
-        todosLosProductos.addAll(agricolaController.listar());
-        todosLosProductos.addAll(ganaderoController.listar());
+        // Cada promedio se lee de forma consistente aunque otro hilo esté modificando productos
+        rentabilidades.put("Productos Agrícolas", agricolaController.leerProyeccion(CalculadoraController::promedio));
+        rentabilidades.put("Productos Ganaderos", ganaderoController.leerProyeccion(CalculadoraController::promedio));
 
-        double rentabilidadAgricola = 0;
-        double rentabilidadGanadera = 0;
-        int countAgricola = 0;
-        int countGanadero = 0;
+        return rentabilidades;
+    }
 
-        for (ProductoAgropecuario producto : todosLosProductos) {
-            double rentabilidad = producto.calcularRentabilidad(); // Polimorfismo en acción
+    /**
+     * Recalcula las métricas vencidas (rentabilidad, margen, ingreso) de todos los
+     * productos, en paralelo si el catálogo es grande y hay más de un hilo. Después,
+     * las tablas, reportes y exportaciones solo leen los valores guardados.
+     * @return número de productos recalculados
+     */
+    public int recalcularMetricas() {
+        return recalcularMetricas(agricolaController.listar()) + recalcularMetricas(ganaderoController.listar());
+    }
 
-            if (producto instanceof ProductoAgricola) {
-                rentabilidadAgricola += rentabilidad;
-                countAgricola++;
-            } else if (producto instanceof ProductoGanadero) {
-                rentabilidadGanadera += rentabilidad;
-                countGanadero++;
+    private int recalcularMetricas(List<? extends ProductoAgropecuario> productos) {
+        ForkJoinPool poolMetricas = obtenerPool();
+        if (poolMetricas == null || productos.size() < UMBRAL_PARALELO) {
+            int recalculados = 0;
+            for (ProductoAgropecuario producto : productos) {
+                if (producto.actualizarMetricas()) {
+                    recalculados++;
+                }
             }
+            return recalculados;
         }
+        // Un flujo paralelo iniciado dentro del pool usa sus hilos y no el pool común
+        return poolMetricas.submit(() -> (int) productos.parallelStream()
+                .filter(ProductoAgropecuario::actualizarMetricas)
+                .count()).join();
+    }
 
-        rentabilidades.put("Productos Agrícolas", countAgricola > 0 ? rentabilidadAgricola / countAgricola : 0);
-        rentabilidades.put("Productos Ganaderos", countGanadero > 0 ? rentabilidadGanadera / countGanadero : 0);
+    private static double promedio(ProyeccionAgregada<?> proyeccion) {
+        int cantidad = proyeccion.tamanio();
+        return cantidad > 0 ? proyeccion.getRentabilidadTotal() / cantidad : 0;
+    }
 
-        return rentabilidades;
+    /**
+     * Ejecuta todos los cálculos de la ventana de cálculos. Las estadísticas y
+     * rentabilidades se obtienen una sola vez y se reutilizan en el resumen.
+     * @param seguimiento recibe el avance del reporte detallado y permite cancelarlo
+     * @return resultados de los cálculos
+     * @throws CancellationException si el seguimiento pide cancelar
+     */
+    public ResultadosCalculos calcularResultados(SeguimientoCalculo seguimiento) {
+        Map<String, Object> estadisticas = calcularEstadisticasGenerales();
+        Map<String, Double> rentabilidades = calcularRentabilidadesPorTipo();
+        String productoMasRentable = encontrarProductoMasRentable();
+        String resumen = construirResumenEjecutivo(estadisticas, rentabilidades, productoMasRentable);
+        String reporte = generarReporteRentabilidad(seguimiento);
+        return new ResultadosCalculos(reporte, estadisticas, rentabilidades, resumen, productoMasRentable);
     }
 
     /**
@@ -67,19 +162,33 @@ public class CalculadoraController {
      * @return texto con reporte detallado
      */
     public String generarReporteRentabilidad() {
+        return generarReporteRentabilidad(SeguimientoCalculo.NINGUNO);
+    }
+
+    /**
+     * Genera reporte completo de rentabilidades informando el avance
+     * @param seguimiento recibe el avance y permite cancelar
+     * @return texto con reporte detallado
+     * @throws CancellationException si el seguimiento pide cancelar
+     */
+    public String generarReporteRentabilidad(SeguimientoCalculo seguimiento) {
         StringBuilder reporte = new StringBuilder();
         reporte.append("=== REPORTE DE RENTABILIDAD ===\n\n");
 
         // Productos Agrícolas
         reporte.append("PRODUCTOS AGRÍCOLAS:\n");
         List<ProductoAgricola> agricolas = agricolaController.listar();
-        double totalRentabilidadAgricola = 0;
+        List<ProductoGanadero> ganaderos = ganaderoController.listar();
+        recalcularMetricas(agricolas);
+        recalcularMetricas(ganaderos);
+        Avance avance = new Avance(seguimiento, agricolas.size() + ganaderos.size());
+        double[] rentabilidadesAgricolas = new double[agricolas.size()];
+        formatearProductos(agricolas, "- %s: $%.2f por hectárea\n", rentabilidadesAgricolas, avance, reporte);
 
-        for (ProductoAgricola producto : agricolas) {
-            double rentabilidad = producto.calcularRentabilidad();
+        // La suma se hace en orden para obtener exactamente el mismo total que el recorrido secuencial
+        double totalRentabilidadAgricola = 0;
+        for (double rentabilidad : rentabilidadesAgricolas) {
             totalRentabilidadAgricola += rentabilidad;
-            reporte.append(String.format("- %s: $%.2f por hectárea\n",
-                    producto.getNombre(), rentabilidad));
         }
 
         if (!agricolas.isEmpty()) {
@@ -89,14 +198,12 @@ public class CalculadoraController {
 
         // Productos Ganaderos
         reporte.append("PRODUCTOS GANADEROS:\n");
-        List<ProductoGanadero> ganaderos = ganaderoController.listar();
-        double totalRentabilidadGanadera = 0;
+        double[] rentabilidadesGanaderas = new double[ganaderos.size()];
+        formatearProductos(ganaderos, "- %s: $%.2f por animal/mes\n", rentabilidadesGanaderas, avance, reporte);
 
-        for (ProductoGanadero producto : ganaderos) {
-            double rentabilidad = producto.calcularRentabilidad();
+        double totalRentabilidadGanadera = 0;
+        for (double rentabilidad : rentabilidadesGanaderas) {
             totalRentabilidadGanadera += rentabilidad;
-            reporte.append(String.format("- %s: $%.2f por animal/mes\n",
-                    producto.getNombre(), rentabilidad));
         }
 
         if (!ganaderos.isEmpty()) {
@@ -123,66 +230,181 @@ public class CalculadoraController {
     }
 
     /**
-     * Calcula estadísticas generales del sistema
-     * @return mapa con estadísticas
+     * Calcula la rentabilidad de cada producto y agrega una línea por producto al reporte.
+     * Con catálogos grandes y más de un hilo, los productos se reparten en fragmentos
+     * que se formatean en paralelo y luego se concatenan en el orden original, así el
+     * texto es idéntico al de la versión secuencial.
+     * @param productos productos a formatear
+     * @param plantilla formato de cada línea (nombre, rentabilidad)
+     * @param rentabilidades arreglo donde se deja la rentabilidad de cada producto
+     * @param avance seguimiento del avance del reporte
+     * @param reporte reporte de destino
      */
-    public Map<String, Object> calcularEstadisticasGenerales() {
-        Map<String, Object> estadisticas = new HashMap<>();
+    private void formatearProductos(List<? extends ProductoAgropecuario> productos, String plantilla,
+                                    double[] rentabilidades, Avance avance, StringBuilder reporte) {
+        ForkJoinPool poolReporte = obtenerPool();
+        if (poolReporte == null || productos.size() < UMBRAL_PARALELO) {
+            for (int inicio = 0; inicio < productos.size(); inicio += PRODUCTOS_POR_FRAGMENTO) {
+                int fin = Math.min(productos.size(), inicio + PRODUCTOS_POR_FRAGMENTO);
+                formatearRango(productos, plantilla, rentabilidades, inicio, fin, reporte);
+                avance.registrar(fin - inicio);
+            }
+            return;
+        }
 
-        List<ProductoAgricola> agricolas = agricolaController.listar();
-        List<ProductoGanadero> ganaderos = ganaderoController.listar();
+        int totalFragmentos = (productos.size() + PRODUCTOS_POR_FRAGMENTO - 1) / PRODUCTOS_POR_FRAGMENTO;
+        StringBuilder[] fragmentos = new StringBuilder[totalFragmentos];
+        poolReporte.invoke(new TareaFragmentos(productos, plantilla, rentabilidades, avance, fragmentos, 0, totalFragmentos));
+
+        for (StringBuilder fragmento : fragmentos) {
+            reporte.append(fragmento);
+        }
+    }
 
-        // Estadísticas básicas
-        estadisticas.put("Total Productos Agrícolas", agricolas.size());
-        estadisticas.put("Total Productos Ganaderos", ganaderos.size());
-        estadisticas.put("Total General", agricolas.size() + ganaderos.size());
+    private synchronized ForkJoinPool obtenerPool() {
+        if (paralelismo <= 1) {
+            return null;
+        }
+        if (pool == null) {
+            pool = new ForkJoinPool(paralelismo);
+        }
+        return pool;
+    }
 
-        // Hectáreas totales
-        double hectareasTotal = agricolas.stream()
-                .mapToDouble(ProductoAgricola::getHectareasCultivadas)
-                .sum();
-        estadisticas.put("Hectáreas Cultivadas Total", hectareasTotal);
+    /**
+     * Formatea un rango de productos. Formatter usa la misma configuración regional
+     * por defecto que String.format, pero reutiliza el búfer entre líneas.
+     */
+    private static void formatearRango(List<? extends ProductoAgropecuario> productos, String plantilla,
+                                       double[] rentabilidades, int desde, int hasta, StringBuilder destino) {
+        Formatter formateador = new Formatter(destino);
+        for (int i = desde; i < hasta; i++) {
+            ProductoAgropecuario producto = productos.get(i);
+            double rentabilidad = producto.calcularRentabilidad(); // Polimorfismo en acción
+            rentabilidades[i] = rentabilidad;
+            formateador.format(plantilla, producto.getNombre(), rentabilidad);
+        }
+    }
 
-        // Animales totales
-        int animalesTotal = ganaderos.stream()
-                .mapToInt(ProductoGanadero::getNumeroAnimales)
-                .sum();
-        estadisticas.put("Total Animales", animalesTotal);
+    /**
+     * Tarea fork-join que divide los fragmentos del reporte hasta llegar a uno solo
+     */
+    private static class TareaFragmentos extends RecursiveAction {
+
+        private final List<? extends ProductoAgropecuario> productos;
+        private final String plantilla;
+        private final double[] rentabilidades;
+        private final Avance avance;
+        private final StringBuilder[] fragmentos;
+        private final int desde;
+        private final int hasta;
+
+        TareaFragmentos(List<? extends ProductoAgropecuario> productos, String plantilla,
+                        double[] rentabilidades, Avance avance, StringBuilder[] fragmentos, int desde, int hasta) {
+            this.productos = productos;
+            this.plantilla = plantilla;
+            this.rentabilidades = rentabilidades;
+            this.avance = avance;
+            this.fragmentos = fragmentos;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
 
-        // Producción diaria total ganadera
-        double produccionDiariaTotal = ganaderoController.calcularProduccionTotalDiaria();
-        estadisticas.put("Producción Diaria Total", produccionDiariaTotal);
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                int inicio = desde * PRODUCTOS_POR_FRAGMENTO;
+                int fin = Math.min(productos.size(), inicio + PRODUCTOS_POR_FRAGMENTO);
+                StringBuilder fragmento = new StringBuilder((fin - inicio) * 48);
+                formatearRango(productos, plantilla, rentabilidades, inicio, fin, fragmento);
+                fragmentos[desde] = fragmento;
+                avance.registrar(fin - inicio);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaFragmentos(productos, plantilla, rentabilidades, avance, fragmentos, desde, medio),
+                    new TareaFragmentos(productos, plantilla, rentabilidades, avance, fragmentos, medio, hasta));
+        }
+    }
 
-        // Peso total ganado
-        double pesoTotal = ganaderoController.calcularPesoTotal();
-        estadisticas.put("Peso Total Ganado (kg)", pesoTotal);
+    /**
+     * Acumula el avance del reporte (desde varios hilos) y lo traduce en porcentajes.
+     * Cada fragmento terminado es también el punto en que se atiende una cancelación.
+     */
+    private static final class Avance {
+
+        private final SeguimientoCalculo seguimiento;
+        private final long total;
+        private final AtomicLong procesados;
+        private volatile int ultimoPorcentaje;
+
+        Avance(SeguimientoCalculo seguimiento, long total) {
+            this.seguimiento = seguimiento;
+            this.total = total;
+            this.procesados = new AtomicLong();
+        }
+
+        void registrar(int cantidad) {
+            if (seguimiento.isCancelado()) {
+                throw new CancellationException("Cálculo cancelado");
+            }
+            int porcentaje = (int) (procesados.addAndGet(cantidad) * 100 / total);
+            if (porcentaje > ultimoPorcentaje) {
+                ultimoPorcentaje = porcentaje;
+                seguimiento.progreso(porcentaje);
+            }
+        }
+    }
+
+    /**
+     * Calcula estadísticas generales del sistema
+     * @return mapa con estadísticas
+     */
+    public Map<String, Object> calcularEstadisticasGenerales() {
+        Map<String, Object> estadisticas = new HashMap<>();
+
+        // Estadísticas básicas, leídas en una sola consulta por proyección
+        agricolaController.leerProyeccion(agricolas -> {
+            estadisticas.put("Total Productos Agrícolas", agricolas.tamanio());
+            estadisticas.put("Hectáreas Cultivadas Total", agricolas.getHectareasTotal());
+            return null;
+        });
+        ganaderoController.leerProyeccion(ganaderos -> {
+            estadisticas.put("Total Productos Ganaderos", ganaderos.tamanio());
+            estadisticas.put("Total Animales", ganaderos.getTotalAnimales());
+            estadisticas.put("Producción Diaria Total", ganaderos.getProduccionDiariaTotal());
+            estadisticas.put("Peso Total Ganado (kg)", ganaderos.getPesoTotal());
+            return null;
+        });
+        estadisticas.put("Total General", (Integer) estadisticas.get("Total Productos Agrícolas")
+                + (Integer) estadisticas.get("Total Productos Ganaderos"));
 
         return estadisticas;
     }
 
     /**
-     * Encuentra el producto más rentable (usando polimorfismo)
+     * Encuentra el producto más rentable. Ante un empate gana el primero del
+     * listado, con los productos agrícolas antes que los ganaderos.
      * @return información del producto más rentable
      */
     public String encontrarProductoMasRentable() {
-        List<ProductoAgropecuario> todosLosProductos = new ArrayList<>();
-        todosLosProductos.addAll(agricolaController.listar());
-        todosLosProductos.addAll(ganaderoController.listar());
-
-        if (todosLosProductos.isEmpty()) {
+        // El primero de cada clasificación ya es el de mayor rentabilidad, con los empates resueltos
+        List<ProductoAgricola> agricolas = agricolaController.obtenerMejores(CriterioRanking.RENTABILIDAD, 1);
+        List<ProductoGanadero> ganaderos = ganaderoController.obtenerMejores(CriterioRanking.RENTABILIDAD, 1);
+        ProductoAgricola agricola = agricolas.isEmpty() ? null : agricolas.get(0);
+        ProductoGanadero ganadero = ganaderos.isEmpty() ? null : ganaderos.get(0);
+        if (agricola == null && ganadero == null) {
             return "No hay productos registrados";
         }
 
-        ProductoAgropecuario masRentable = null;
-        double maxRentabilidad = Double.NEGATIVE_INFINITY;
-
-        for (ProductoAgropecuario producto : todosLosProductos) {
-            double rentabilidad = producto.calcularRentabilidad(); // Polimorfismo
-            if (rentabilidad > maxRentabilidad) {
-                maxRentabilidad = rentabilidad;
-                masRentable = producto;
-            }
+        ProductoAgropecuario masRentable;
+        if (ganadero != null && (agricola == null
+                || ganadero.calcularRentabilidad() > agricola.calcularRentabilidad())) {
+            masRentable = ganadero;
+        } else {
+            masRentable = agricola;
         }
+        double maxRentabilidad = masRentable.calcularRentabilidad();
 
         String tipo = masRentable instanceof ProductoAgricola ? "Agrícola" : "Ganadero";
         String unidad = masRentable instanceof ProductoAgricola ? "por hectárea" : "por animal/mes";
@@ -191,15 +413,76 @@ public class CalculadoraController {
                 masRentable.getNombre(), tipo, maxRentabilidad, unidad);
     }
 
+    /**
+     * Obtiene los productos agrícolas más rentables de un municipio, a través de las
+     * fincas donde se cultivan. Los productos ganaderos no están asociados a una finca.
+     * @param municipio nombre del municipio, sin distinguir mayúsculas
+     * @param cantidad número máximo de productos
+     * @return lista de productos, de mayor a menor rentabilidad
+     * @throws IllegalStateException si el controlador se creó sin acceso a las fincas
+     */
+    public List<ProductoAgricola> obtenerMasRentablesPorMunicipio(String municipio, int cantidad) {
+        if (fincaController == null) {
+            throw new IllegalStateException("El controlador no tiene acceso a las fincas");
+        }
+        List<String> codigosFinca = fincaController.buscarPorMunicipio(municipio).stream()
+                .map(Finca::getCodigo)
+                .toList();
+        return agricolaController.obtenerMejoresDeFincas(codigosFinca, CriterioRanking.RENTABILIDAD, cantidad);
+    }
+
+    /**
+     * Genera la clasificación de los mejores y peores productos de cada sector
+     * según un criterio. Cada sector se clasifica por separado porque sus
+     * rentabilidades tienen unidades distintas.
+     * @param criterio métrica de clasificación
+     * @param cantidad número de productos en cada extremo
+     * @return texto con la clasificación
+     */
+    public String generarRanking(CriterioRanking criterio, int cantidad) {
+        StringBuilder ranking = new StringBuilder();
+        ranking.append("=== RANKING POR ").append(criterio.getDescripcion().toUpperCase()).append(" ===\n");
+        agregarExtremos(ranking, "PRODUCTOS AGRÍCOLAS", criterio,
+                agricolaController.obtenerMejores(criterio, cantidad),
+                agricolaController.obtenerPeores(criterio, cantidad));
+        agregarExtremos(ranking, "PRODUCTOS GANADEROS", criterio,
+                ganaderoController.obtenerMejores(criterio, cantidad),
+                ganaderoController.obtenerPeores(criterio, cantidad));
+        return ranking.toString();
+    }
+
+    private static void agregarExtremos(StringBuilder ranking, String titulo, CriterioRanking criterio,
+                                        List<? extends ProductoAgropecuario> mejores,
+                                        List<? extends ProductoAgropecuario> peores) {
+        ranking.append("\n").append(titulo).append(":\n");
+        if (mejores.isEmpty()) {
+            ranking.append("No hay productos registrados\n");
+            return;
+        }
+        ranking.append("Mejores:\n");
+        for (int i = 0; i < mejores.size(); i++) {
+            ranking.append(String.format("%d. %s: %.2f\n", i + 1, mejores.get(i).getNombre(),
+                    criterio.valor(mejores.get(i))));
+        }
+        ranking.append("Peores:\n");
+        for (int i = 0; i < peores.size(); i++) {
+            ranking.append(String.format("%d. %s: %.2f\n", i + 1, peores.get(i).getNombre(),
+                    criterio.valor(peores.get(i))));
+        }
+    }
+
     /**
      * Genera resumen ejecutivo
      * @return resumen para la administración
      */
     public String generarResumenEjecutivo() {
-        StringBuilder resumen = new StringBuilder();
+        return construirResumenEjecutivo(calcularEstadisticasGenerales(), calcularRentabilidadesPorTipo(),
+                encontrarProductoMasRentable());
+    }
 
-        Map<String, Object> stats = calcularEstadisticasGenerales();
-        Map<String, Double> rentabilidades = calcularRentabilidadesPorTipo();
+    private String construirResumenEjecutivo(Map<String, Object> stats, Map<String, Double> rentabilidades,
+                                             String productoMasRentable) {
+        StringBuilder resumen = new StringBuilder();
 
         resumen.append("=== RESUMEN EJECUTIVO ===\n\n");
         resumen.append("INVENTARIO:\n");
@@ -211,7 +494,7 @@ public class CalculadoraController {
         resumen.append(String.format("- Sector Agrícola: $%.2f por hectárea\n", rentabilidades.get("Productos Agrícolas")));
         resumen.append(String.format("- Sector Ganadero: $%.2f por animal/mes\n", rentabilidades.get("Productos Ganaderos")));
 
-        resumen.append("\n").append(encontrarProductoMasRentable());
+        resumen.append("\n").append(productoMasRentable);
 
         return resumen.toString();
     }
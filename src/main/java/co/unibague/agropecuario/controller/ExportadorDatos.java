@@ -0,0 +1,151 @@
+package co.unibague.agropecuario.controller;
+
+import co.unibague.agropecuario.model.entities.ProductoAgropecuario;
+import co.unibague.agropecuario.persistence.EscritorFilas;
+import co.unibague.agropecuario.persistence.FormatoCsv;
+import co.unibague.agropecuario.persistence.FormatoExportacion;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Exportación de productos y fincas a archivos CSV o JSON Lines, junto con las
+ * métricas calculadas de cada registro (rentabilidad, margen e ingreso total de
+ * los productos, área cultivable de las fincas).
+ * <p>
+ * Los registros se recorren sobre la vista inmutable de cada controlador y se
+ * escriben uno a uno, sin construir el archivo en memoria: el archivo corresponde
+ * a un único estado de los datos aunque haya cambios durante la exportación.
+ */
+public class ExportadorDatos {
+
+    private static final List<String> METRICAS_PRODUCTO = List.of("rentabilidad", "margenGanancia", "ingresoTotal");
+    private static final List<String> METRICAS_FINCA = List.of("areaCultivable");
+
+    private static final List<String> COLUMNAS_AGRICOLA = concatenar(FormatoCsv.COLUMNAS_AGRICOLA, METRICAS_PRODUCTO);
+    private static final List<String> COLUMNAS_GANADERO = concatenar(FormatoCsv.COLUMNAS_GANADERO, METRICAS_PRODUCTO);
+    private static final List<String> COLUMNAS_FINCA = concatenar(FormatoCsv.COLUMNAS_FINCA, METRICAS_FINCA);
+    private static final Set<String> COLUMNAS_NUMERICAS = numericas();
+
+    private final ProductoAgricolaController agricolaController;
+    private final ProductoGanaderoController ganaderoController;
+    private final FincaController fincaController;
+
+    /**
+     * Constructor del exportador
+     */
+    public ExportadorDatos(ProductoAgricolaController agricolaController,
+                           ProductoGanaderoController ganaderoController,
+                           FincaController fincaController) {
+        this.agricolaController = agricolaController;
+        this.ganaderoController = ganaderoController;
+        this.fincaController = fincaController;
+    }
+
+    /**
+     * Exporta los productos agrícolas con sus métricas
+     * @param archivo archivo destino (se sobrescribe)
+     * @param formato formato del archivo
+     * @param comprimir true para comprimir con gzip
+     * @return número de registros exportados
+     * @throws IOException si falla la escritura
+     */
+    public long exportarAgricolas(Path archivo, FormatoExportacion formato, boolean comprimir) throws IOException {
+        return exportar(archivo, formato, comprimir, COLUMNAS_AGRICOLA, agricolaController.listar(),
+                producto -> conMetricas(FormatoCsv.valores(producto), producto));
+    }
+
+    /**
+     * Exporta los productos ganaderos con sus métricas
+     * @param archivo archivo destino (se sobrescribe)
+     * @param formato formato del archivo
+     * @param comprimir true para comprimir con gzip
+     * @return número de registros exportados
+     * @throws IOException si falla la escritura
+     */
+    public long exportarGanaderos(Path archivo, FormatoExportacion formato, boolean comprimir) throws IOException {
+        return exportar(archivo, formato, comprimir, COLUMNAS_GANADERO, ganaderoController.listar(),
+                producto -> conMetricas(FormatoCsv.valores(producto), producto));
+    }
+
+    /**
+     * Exporta las fincas con su área cultivable
+     * @param archivo archivo destino (se sobrescribe)
+     * @param formato formato del archivo
+     * @param comprimir true para comprimir con gzip
+     * @return número de registros exportados
+     * @throws IOException si falla la escritura
+     */
+    public long exportarFincas(Path archivo, FormatoExportacion formato, boolean comprimir) throws IOException {
+        return exportar(archivo, formato, comprimir, COLUMNAS_FINCA, fincaController.listar(), finca -> {
+            String[] valores = FormatoCsv.valores(finca);
+            String[] fila = Arrays.copyOf(valores, valores.length + 1);
+            fila[valores.length] = FormatoCsv.numero(finca.calcularAreaCultivable());
+            return fila;
+        });
+    }
+
+    /**
+     * Exporta productos agrícolas, ganaderos y fincas a un directorio, un archivo por
+     * tipo de registro (agricolas, ganaderos y fincas, con la extensión del formato)
+     * @param directorio directorio destino; los archivos existentes se sobrescriben
+     * @param formato formato de los archivos
+     * @param comprimir true para comprimir con gzip
+     * @return registros exportados por archivo, en el orden en que se escribieron
+     * @throws IOException si falla la escritura
+     */
+    public Map<Path, Long> exportarTodo(Path directorio, FormatoExportacion formato, boolean comprimir) throws IOException {
+        String extension = "." + formato.getExtension(comprimir);
+        Map<Path, Long> exportados = new LinkedHashMap<>();
+
+        Path agricolas = directorio.resolve("agricolas" + extension);
+        exportados.put(agricolas, exportarAgricolas(agricolas, formato, comprimir));
+        Path ganaderos = directorio.resolve("ganaderos" + extension);
+        exportados.put(ganaderos, exportarGanaderos(ganaderos, formato, comprimir));
+        Path fincas = directorio.resolve("fincas" + extension);
+        exportados.put(fincas, exportarFincas(fincas, formato, comprimir));
+        return exportados;
+    }
+
+    private static <T> long exportar(Path archivo, FormatoExportacion formato, boolean comprimir,
+                                     List<String> columnas, List<T> registros,
+                                     Function<T, String[]> convertir) throws IOException {
+        long escritos = 0;
+        try (EscritorFilas escritor = formato.abrir(archivo, columnas, COLUMNAS_NUMERICAS, comprimir)) {
+            for (T registro : registros) {
+                escritor.escribirFila(convertir.apply(registro));
+                escritos++;
+            }
+        }
+        return escritos;
+    }
+
+    private static String[] conMetricas(String[] valores, ProductoAgropecuario producto) {
+        String[] fila = Arrays.copyOf(valores, valores.length + METRICAS_PRODUCTO.size());
+        fila[valores.length] = FormatoCsv.numero(producto.calcularRentabilidad());
+        fila[valores.length + 1] = FormatoCsv.numero(producto.calcularMargenGanancia());
+        fila[valores.length + 2] = FormatoCsv.numero(producto.calcularIngresoTotal());
+        return fila;
+    }
+
+    private static List<String> concatenar(List<String> columnas, List<String> metricas) {
+        List<String> todas = new ArrayList<>(columnas);
+        todas.addAll(metricas);
+        return List.copyOf(todas);
+    }
+
+    private static Set<String> numericas() {
+        Set<String> numericas = new HashSet<>(FormatoCsv.COLUMNAS_NUMERICAS);
+        numericas.addAll(METRICAS_PRODUCTO);
+        numericas.addAll(METRICAS_FINCA);
+        return Set.copyOf(numericas);
+    }
+}
\ No newline at end of file
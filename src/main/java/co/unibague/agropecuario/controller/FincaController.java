@@ -1,24 +1,97 @@
 package co.unibague.agropecuario.controller;
 
+import co.unibague.agropecuario.analytics.CamposFincas;
+import co.unibague.agropecuario.analytics.Consulta;
+import co.unibague.agropecuario.analytics.IndiceConsultaFincas;
+import co.unibague.agropecuario.analytics.Planificador;
 import co.unibague.agropecuario.model.entities.Finca;
-
+import co.unibague.agropecuario.model.repository.IndiceFincas;
+import co.unibague.agropecuario.model.repository.Repositorio;
+import co.unibague.agropecuario.model.repository.SecuenciaIds;
+import co.unibague.agropecuario.model.repository.TipoCambio;
+import co.unibague.agropecuario.model.valores.ValorFinca;
+import co.unibague.agropecuario.persistence.AlmacenDatos;
+import co.unibague.agropecuario.persistence.CodificadoresEntidades;
+import co.unibague.agropecuario.patterns.observer.DespachadorEventos;
+import co.unibague.agropecuario.patterns.observer.EventoCambio;
+import co.unibague.agropecuario.patterns.observer.LoteCambios;
+import co.unibague.agropecuario.patterns.observer.Observable;
+import co.unibague.agropecuario.patterns.observer.Observer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Controlador para gestionar fincas.
- * Implementa el patrón MVC.
+ * Implementa el patrón MVC y Observable para notificar cambios.
+ * Las consultas por índice se hacen con el cerrojo de lectura del repositorio,
+ * así pueden ejecutarse desde cualquier hilo.
  */
-public class FincaController {
+public class FincaController implements Observable {
 
-    private List<Finca> fincas;
+    private Repositorio<Finca> fincas;
+    private SecuenciaIds secuencia;
+    private IndiceFincas indice;
+    private Planificador<Finca> planificador;
+    private DespachadorEventos despachador;
 
     /**
-     * Constructor del controlador
+     * Constructor del controlador (solo en memoria, con datos de prueba)
      */
     public FincaController() {
-        this.fincas = new ArrayList<>();
-        inicializarDatosPrueba();
+        this(null);
+    }
+
+    /**
+     * Constructor del controlador con almacenamiento durable.
+     * Recupera el estado desde el diario y registra en él cada mutación posterior.
+     * @param almacen almacén de datos, o null para trabajar solo en memoria
+     */
+    public FincaController(AlmacenDatos almacen) {
+        this.fincas = new Repositorio<>(Finca::getCodigo);
+        // Lo guardado queda de solo lectura: listados, cachés y cálculos lo comparten sin copiarlo
+        this.fincas.agregarOyente((tipo, anterior, nuevo) -> {
+            if (nuevo != null) {
+                nuevo.congelar();
+            }
+        });
+        this.despachador = DespachadorEventos.porDefecto();
+        this.indice = new IndiceFincas();
+        this.fincas.agregarOyente(indice);
+        this.planificador = new Planificador<>(fincas, Finca::getCodigo);
+        this.planificador.registrarIndice(new IndiceConsultaFincas(indice));
+
+        if (almacen == null) {
+            inicializarDatosPrueba();
+        } else {
+            conectarAlmacen(almacen);
+        }
+
+        // La secuencia se inicializa una sola vez con los datos existentes
+        // y luego registra cada código insertado por otros medios
+        this.secuencia = new SecuenciaIds("F", 3);
+        this.fincas.agregarOyente((tipo, anterior, nuevo) -> {
+            if (nuevo != null) {
+                secuencia.registrar(nuevo.getCodigo());
+            }
+        });
+    }
+
+    /**
+     * Recupera las fincas persistidas y registra las mutaciones futuras
+     * @param almacen almacén de datos
+     */
+    private void conectarAlmacen(AlmacenDatos almacen) {
+        try {
+            if (!almacen.conectar("fincas", CodificadoresEntidades.FINCA, fincas)) {
+                // Primera ejecución: los datos de prueba quedan registrados en el diario
+                inicializarDatosPrueba();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron recuperar las fincas", e);
+        }
     }
 
     /**
@@ -61,33 +134,41 @@ public class FincaController {
         finca3.setTelefono("315-555-0789");
         finca3.setEmail("miguel.torres@email.com");
 
-        fincas.add(finca1);
-        fincas.add(finca2);
-        fincas.add(finca3);
+        fincas.insertar(finca1);
+        fincas.insertar(finca2);
+        fincas.insertar(finca3);
     }
 
     /**
      * Crea una nueva finca
-     * @param finca la finca a crear
+     * @param finca la finca a crear; desde ese momento es de solo lectura
      * @return true si se creó exitosamente
      */
     public boolean crear(Finca finca) {
-        if (finca == null || buscar(finca.getCodigo()) != null) {
-            return false;
+        boolean resultado = fincas.insertar(finca);
+        if (resultado) {
+            notifyObservers(new EventoCambio(TipoCambio.CREAR, finca.getCodigo()));
         }
-        return fincas.add(finca);
+        return resultado;
     }
 
     /**
      * Busca una finca por su código
      * @param codigo código de la finca
-     * @return la finca encontrada o null
+     * @return la finca encontrada (de solo lectura) o null
      */
     public Finca buscar(String codigo) {
-        return fincas.stream()
-                .filter(f -> f.getCodigo().equals(codigo))
-                .findFirst()
-                .orElse(null);
+        return fincas.buscar(codigo);
+    }
+
+    /**
+     * Busca una finca por su código y devuelve su valor inmutable
+     * @param codigo código de la finca
+     * @return valor de la finca, o null si no existe
+     */
+    public ValorFinca buscarValor(String codigo) {
+        Finca finca = buscar(codigo);
+        return finca == null ? null : ValorFinca.de(finca);
     }
 
     /**
@@ -96,9 +177,7 @@ public class FincaController {
      * @return lista de fincas del propietario
      */
     public List<Finca> buscarPorPropietario(String propietario) {
-        return fincas.stream()
-                .filter(f -> f.getPropietario().toLowerCase().contains(propietario.toLowerCase()))
-                .toList();
+        return fincas.leer(() -> indice.buscarPorPropietario(propietario));
     }
 
     /**
@@ -107,9 +186,26 @@ public class FincaController {
      * @return lista de fincas del municipio
      */
     public List<Finca> buscarPorMunicipio(String municipio) {
-        return fincas.stream()
-                .filter(f -> f.getMunicipio().equalsIgnoreCase(municipio))
-                .toList();
+        return fincas.leer(() -> indice.buscarPorMunicipio(municipio));
+    }
+
+    /**
+     * Busca fincas por tipo de terreno
+     * @param tipoTerreno tipo de terreno
+     * @return lista de fincas con ese tipo de terreno
+     */
+    public List<Finca> buscarPorTipoTerreno(String tipoTerreno) {
+        return fincas.leer(() -> indice.buscarPorTipoTerreno(tipoTerreno));
+    }
+
+    /**
+     * Busca fincas cuya área total está dentro de un rango (inclusivo)
+     * @param areaMinima área mínima en hectáreas
+     * @param areaMaxima área máxima en hectáreas
+     * @return lista de fincas en el rango
+     */
+    public List<Finca> buscarPorRangoArea(double areaMinima, double areaMaxima) {
+        return fincas.leer(() -> indice.buscarPorRangoArea(areaMinima, true, areaMaxima, true));
     }
 
     /**
@@ -119,14 +215,28 @@ public class FincaController {
      * @return true si se actualizó exitosamente
      */
     public boolean actualizar(String codigo, Finca fincaActualizada) {
-        for (int i = 0; i < fincas.size(); i++) {
-            if (fincas.get(i).getCodigo().equals(codigo)) {
-                fincaActualizada.setCodigo(codigo); // Mantener el código original
-                fincas.set(i, fincaActualizada);
-                return true;
-            }
+        if (fincaActualizada == null || !fincas.contiene(codigo)) {
+            return false;
+        }
+
+        // Una instancia ya guardada (por ejemplo, la de buscar) no admite cambios
+        Finca nueva = fincaActualizada.isCongelado() ? fincaActualizada.copia() : fincaActualizada;
+        nueva.setCodigo(codigo); // Mantener el código original
+        if (!fincas.reemplazar(codigo, nueva)) {
+            return false; // Eliminada por otro hilo después de la verificación
         }
-        return false;
+        notifyObservers(new EventoCambio(TipoCambio.ACTUALIZAR, codigo));
+        return true;
+    }
+
+    /**
+     * Actualiza una finca a partir de un valor inmutable, por ejemplo uno obtenido con
+     * {@link #buscarValor(String)} y modificado con sus métodos {@code con...}
+     * @param valor valor con los datos actualizados; su código indica qué registro reemplaza
+     * @return true si se actualizó exitosamente
+     */
+    public boolean actualizar(ValorFinca valor) {
+        return valor != null && actualizar(valor.codigo(), valor.aEntidad());
     }
 
     /**
@@ -135,15 +245,19 @@ public class FincaController {
      * @return true si se eliminó exitosamente
      */
     public boolean eliminar(String codigo) {
-        return fincas.removeIf(f -> f.getCodigo().equals(codigo));
+        boolean resultado = fincas.eliminar(codigo) != null;
+        if (resultado) {
+            notifyObservers(new EventoCambio(TipoCambio.ELIMINAR, codigo));
+        }
+        return resultado;
     }
 
     /**
      * Lista todas las fincas
-     * @return lista de fincas
+     * @return vista inmutable de las fincas, compartida mientras no haya cambios
      */
     public List<Finca> listar() {
-        return new ArrayList<>(fincas);
+        return fincas.listar();
     }
 
     /**
@@ -151,9 +265,26 @@ public class FincaController {
      * @return lista de fincas grandes
      */
     public List<Finca> obtenerFincasGrandes() {
-        return fincas.stream()
-                .filter(Finca::esFincaGrande)
-                .toList();
+        // Mismo umbral que Finca.esFincaGrande()
+        return consultar(Consulta.donde(CamposFincas.AREA_TOTAL.mayorQue(50.0)));
+    }
+
+    /**
+     * Ejecuta una consulta sobre las fincas (ver {@link CamposFincas})
+     * @param consulta consulta a ejecutar
+     * @return lista inmutable de resultados
+     */
+    public List<Finca> consultar(Consulta<Finca> consulta) {
+        return planificador.ejecutar(consulta);
+    }
+
+    /**
+     * Describe cómo se resolvería una consulta: por índice o recorriendo la colección
+     * @param consulta consulta a describir
+     * @return descripción del plan
+     */
+    public String explicarConsulta(Consulta<Finca> consulta) {
+        return planificador.explicar(consulta);
     }
 
     /**
@@ -161,9 +292,7 @@ public class FincaController {
      * @return lista de fincas con sistema de riego
      */
     public List<Finca> obtenerFincasConRiego() {
-        return fincas.stream()
-                .filter(Finca::tieneRiego)
-                .toList();
+        return fincas.leer(() -> indice.buscarConRiego());
     }
 
     /**
@@ -171,7 +300,7 @@ public class FincaController {
      * @return área total en hectáreas
      */
     public double calcularAreaTotal() {
-        return fincas.stream()
+        return fincas.instantanea().stream()
                 .mapToDouble(Finca::getAreaTotal)
                 .sum();
     }
@@ -181,7 +310,7 @@ public class FincaController {
      * @return área cultivable total en hectáreas
      */
     public double calcularAreaCultivableTotal() {
-        return fincas.stream()
+        return fincas.instantanea().stream()
                 .mapToDouble(Finca::calcularAreaCultivable)
                 .sum();
     }
@@ -191,25 +320,7 @@ public class FincaController {
      * @return texto con estadísticas
      */
     public String obtenerEstadisticasPorMunicipio() {
-        StringBuilder stats = new StringBuilder();
-
-        List<String> municipios = fincas.stream()
-                .map(Finca::getMunicipio)
-                .distinct()
-                .sorted()
-                .toList();
-
-        for (String municipio : municipios) {
-            List<Finca> fincasMunicipio = buscarPorMunicipio(municipio);
-            double areaTotal = fincasMunicipio.stream()
-                    .mapToDouble(Finca::getAreaTotal)
-                    .sum();
-
-            stats.append(String.format("%s: %d fincas, %.2f hectáreas\n",
-                    municipio, fincasMunicipio.size(), areaTotal));
-        }
-
-        return stats.toString();
+        return fincas.leer(() -> indice.generarEstadisticasPorMunicipio());
     }
 
     /**
@@ -217,18 +328,16 @@ public class FincaController {
      * @return próximo código
      */
     public String generarProximoCodigo() {
-        int maxNum = fincas.stream()
-                .mapToInt(f -> {
-                    try {
-                        return Integer.parseInt(f.getCodigo().substring(1));
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
+        return secuencia.siguiente();
+    }
 
-        return String.format("F%03d", maxNum + 1);
+    /**
+     * Reserva un bloque de códigos consecutivos para cargas masivas
+     * @param cantidad número de códigos a reservar
+     * @return lista con los códigos reservados
+     */
+    public List<String> reservarCodigos(int cantidad) {
+        return secuencia.reservarBloque(cantidad);
     }
 
     /**
@@ -271,6 +380,67 @@ public class FincaController {
      * @return número total de fincas
      */
     public int obtenerTotal() {
-        return fincas.size();
+        return fincas.tamanio();
+    }
+
+    /**
+     * Obtiene la versión de los datos, que cambia con cada creación, actualización o eliminación
+     * @return número de versión
+     */
+    public long getVersion() {
+        return fincas.getVersion();
+    }
+
+    /**
+     * Abre un lote de cambios: los observadores reciben un único {@link LoteCambios}
+     * consolidado cuando se cierra el lote, en lugar de una notificación por mutación.
+     * Debe cerrarse con {@link #finalizarLote()}, normalmente en un bloque finally.
+     */
+    public void iniciarLote() {
+        despachador.iniciarLote();
+    }
+
+    /**
+     * Cierra el lote de cambios abierto y notifica los cambios acumulados
+     */
+    public void finalizarLote() {
+        despachador.finalizarLote();
+    }
+
+    /**
+     * Configura la ventana de tiempo durante la que se agrupan las notificaciones
+     * @param ventanaMs milisegundos de agrupación (0 para notificar cada cambio de inmediato)
+     */
+    public void setVentanaNotificacion(long ventanaMs) {
+        despachador.setVentanaMs(ventanaMs);
+    }
+
+    /**
+     * Configura si los observadores se notifican en hilos dedicados en lugar del hilo que modifica
+     * @param asincrona true para la entrega asíncrona con colas acotadas
+     */
+    public void setEntregaAsincrona(boolean asincrona) {
+        despachador.setEntregaAsincrona(asincrona);
+    }
+
+    // Implementación del patrón Observer
+    @Override
+    public void addObserver(Observer observer) {
+        despachador.agregar(observer);
+    }
+
+    @Override
+    public void removeObserver(Observer observer) {
+        despachador.remover(observer);
+    }
+
+    @Override
+    public void notifyObservers() {
+        despachador.notificar();
+    }
+
+    @Override
+    public void notifyObservers(Object data) {
+        despachador.notificar(data);
     }
 }
\ No newline at end of file
@@ -0,0 +1,609 @@
+package co.unibague.agropecuario.controller;
+
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.model.entities.ProductoAgropecuario;
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+import co.unibague.agropecuario.persistence.FormatoCsv;
+import co.unibague.agropecuario.persistence.LectorCsv;
+import co.unibague.agropecuario.persistence.MapeoColumnas;
+import co.unibague.agropecuario.utils.Constantes;
+import co.unibague.agropecuario.utils.Validador;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+
+/**
+ * Importación masiva de archivos CSV con el formato de {@link FormatoCsv}.
+ * <p>
+ * El archivo se recorre una sola vez fila por fila: cada fila se valida con las
+ * mismas reglas de los formularios ({@link Validador}) y, si es válida, se inserta
+ * por medio del controlador. Toda la importación ocurre dentro de un lote de cambios,
+ * así los observadores reciben una sola notificación al final. Las filas con errores
+ * se reportan con su número de línea en el {@link ResultadoImportacion} y no detienen
+ * la importación. La memoria usada no depende del tamaño del archivo.
+ * <p>
+ * Las filas sin identificador reciben el siguiente de la secuencia del controlador.
+ * @param <T> tipo de entidad importada
+ */
+public abstract class ImportadorCsv<T> {
+
+    private final MapeoColumnas mapeo;
+    private final List<String> obligatorias;
+    private int maximoErrores;
+
+    private ImportadorCsv(List<String> columnas, List<String> obligatorias) {
+        this.mapeo = new MapeoColumnas(columnas);
+        this.obligatorias = obligatorias;
+        this.maximoErrores = Constantes.MAX_ERRORES_IMPORTACION;
+    }
+
+    /**
+     * Crea un importador de productos agrícolas
+     * @param controller controlador que recibe los productos
+     * @return importador con el mapeo por defecto
+     */
+    public static ImportadorCsv<ProductoAgricola> paraAgricolas(ProductoAgricolaController controller) {
+        return new ImportadorAgricolas(controller);
+    }
+
+    /**
+     * Crea un importador de productos ganaderos
+     * @param controller controlador que recibe los productos
+     * @return importador con el mapeo por defecto
+     */
+    public static ImportadorCsv<ProductoGanadero> paraGanaderos(ProductoGanaderoController controller) {
+        return new ImportadorGanaderos(controller);
+    }
+
+    /**
+     * Crea un importador de fincas
+     * @param controller controlador que recibe las fincas
+     * @return importador con el mapeo por defecto
+     */
+    public static ImportadorCsv<Finca> paraFincas(FincaController controller) {
+        return new ImportadorFincas(controller);
+    }
+
+    /**
+     * Obtiene el mapeo de columnas, para declarar nombres alternativos o archivos sin encabezado
+     * @return mapeo de columnas del importador
+     */
+    public MapeoColumnas getMapeo() {
+        return mapeo;
+    }
+
+    /**
+     * Configura cuántos errores por fila se guardan en el resultado
+     * @param maximoErrores número máximo de errores guardados
+     */
+    public void setMaximoErrores(int maximoErrores) {
+        if (maximoErrores < 0) {
+            throw new IllegalArgumentException("El máximo de errores no puede ser negativo: " + maximoErrores);
+        }
+        this.maximoErrores = maximoErrores;
+    }
+
+    /**
+     * Importa un archivo CSV en UTF-8
+     * @param archivo archivo a importar
+     * @return resultado de la importación
+     * @throws IOException si falla la lectura o el archivo está mal formado
+     * @throws IllegalArgumentException si al encabezado le faltan columnas obligatorias
+     */
+    public ResultadoImportacion importar(Path archivo) throws IOException {
+        return importar(Files.newBufferedReader(archivo, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Importa datos CSV; la entrada se cierra al terminar
+     * @param entrada origen de los datos
+     * @return resultado de la importación
+     * @throws IOException si falla la lectura o los datos están mal formados
+     * @throws IllegalArgumentException si al encabezado le faltan columnas obligatorias
+     */
+    public ResultadoImportacion importar(Reader entrada) throws IOException {
+        long inicio = System.nanoTime();
+        ResultadoImportacion resultado = new ResultadoImportacion(maximoErrores);
+
+        try (LectorCsv lector = new LectorCsv(entrada)) {
+            int[] posiciones = leerEncabezado(lector);
+            if (posiciones == null) {
+                return resultado; // Archivo vacío
+            }
+
+            Fila fila = new Fila(lector, posiciones);
+            iniciarLote();
+            try {
+                while (lector.siguienteFila()) {
+                    if (lector.isFilaVacia()) {
+                        continue;
+                    }
+                    resultado.registrarLeida();
+                    fila.limpiar();
+
+                    T entidad;
+                    try {
+                        entidad = convertir(fila);
+                    } catch (IllegalArgumentException e) {
+                        // Por ejemplo, un valor categórico nuevo cuando el diccionario está lleno
+                        fila.error(e.getMessage());
+                        entidad = null;
+                    }
+                    if (fila.tieneErrores()) {
+                        resultado.registrarError(lector.getLinea(), fila.getErrores());
+                    } else if (insertar(entidad)) {
+                        resultado.registrarImportada();
+                    } else {
+                        resultado.registrarError(lector.getLinea(),
+                                "Ya existe un registro con el identificador " + identificador(entidad));
+                    }
+                }
+            } finally {
+                finalizarLote();
+            }
+        }
+
+        resultado.setDuracionMs((System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    /**
+     * Lee el encabezado (si el mapeo lo indica) y ubica las columnas del formato
+     * @return posiciones de las columnas, o null si el archivo está vacío
+     */
+    private int[] leerEncabezado(LectorCsv lector) throws IOException {
+        if (!mapeo.tieneEncabezado()) {
+            return mapeo.resolver(null);
+        }
+        if (!lector.siguienteFila()) {
+            return null;
+        }
+
+        List<String> encabezado = new ArrayList<>(lector.getNumeroCampos());
+        for (int i = 0; i < lector.getNumeroCampos(); i++) {
+            encabezado.add(lector.getCampo(i));
+        }
+        int[] posiciones = mapeo.resolver(encabezado);
+        List<String> faltantes = mapeo.faltantes(posiciones, obligatorias);
+        if (!faltantes.isEmpty()) {
+            throw new IllegalArgumentException("Faltan columnas obligatorias en el archivo: " + String.join(", ", faltantes));
+        }
+        return posiciones;
+    }
+
+    /**
+     * Convierte y valida una fila; los errores se registran en la fila
+     * @param fila fila actual
+     * @return entidad con identificador asignado, o null si la fila tiene errores
+     */
+    abstract T convertir(Fila fila);
+
+    abstract boolean insertar(T entidad);
+
+    abstract String identificador(T entidad);
+
+    abstract void iniciarLote();
+
+    abstract void finalizarLote();
+
+    /**
+     * Importador de productos agrícolas
+     */
+    private static final class ImportadorAgricolas extends ImportadorCsv<ProductoAgricola> {
+        private static final List<String> COLUMNAS = FormatoCsv.COLUMNAS_AGRICOLA;
+        private static final int ID = COLUMNAS.indexOf("id");
+        private static final int NOMBRE = COLUMNAS.indexOf("nombre");
+        private static final int FECHA = COLUMNAS.indexOf("fechaProduccion");
+        private static final int COSTO = COLUMNAS.indexOf("costoProduccion");
+        private static final int CANTIDAD = COLUMNAS.indexOf("cantidadProducida");
+        private static final int PRECIO = COLUMNAS.indexOf("precioVenta");
+        private static final int TIPO_CULTIVO = COLUMNAS.indexOf("tipoCultivo");
+        private static final int HECTAREAS = COLUMNAS.indexOf("hectareasCultivadas");
+        private static final int RENDIMIENTO = COLUMNAS.indexOf("rendimientoPorHa");
+        private static final int TEMPORADA = COLUMNAS.indexOf("temporada");
+        private static final int TIPO_SUELO = COLUMNAS.indexOf("tipoSuelo");
+        private static final int CODIGO_FINCA = COLUMNAS.indexOf("codigoFinca");
+
+        private final ProductoAgricolaController controller;
+
+        private ImportadorAgricolas(ProductoAgricolaController controller) {
+            super(COLUMNAS, List.of("nombre", "costoProduccion", "cantidadProducida", "precioVenta",
+                    "hectareasCultivadas", "rendimientoPorHa"));
+            this.controller = controller;
+        }
+
+        @Override
+        ProductoAgricola convertir(Fila fila) {
+            ProductoAgricola producto = new ProductoAgricola();
+            String id = fila.identificador(ID);
+            producto.setNombre(fila.obligatorio(NOMBRE, "El nombre es obligatorio"));
+            producto.setHectareasCultivadas(fila.numero(HECTAREAS, Validador::validarRangoHectareas,
+                    "Las hectáreas deben estar entre 0.1 y 10,000", "Las hectáreas deben ser un número válido"));
+            producto.setRendimientoPorHa(fila.numero(RENDIMIENTO, Validador::validarNumeroPositivo,
+                    "El rendimiento debe ser positivo", "El rendimiento debe ser un número válido"));
+            fila.producto(producto, FECHA, COSTO, CANTIDAD, PRECIO);
+
+            String tipoCultivo = fila.texto(TIPO_CULTIVO);
+            if (tipoCultivo != null) {
+                producto.setTipoCultivo(tipoCultivo);
+            }
+            String temporada = fila.texto(TEMPORADA);
+            if (temporada != null) {
+                producto.setTemporada(temporada);
+            }
+            String tipoSuelo = fila.texto(TIPO_SUELO);
+            if (tipoSuelo != null) {
+                producto.setTipoSuelo(tipoSuelo);
+            }
+            producto.setCodigoFinca(fila.categoria(CODIGO_FINCA));
+
+            if (fila.tieneErrores()) {
+                return null;
+            }
+            producto.setId(id != null ? id : controller.generarProximoId());
+            return producto;
+        }
+
+        @Override
+        boolean insertar(ProductoAgricola producto) {
+            return controller.crear(producto);
+        }
+
+        @Override
+        String identificador(ProductoAgricola producto) {
+            return producto.getId();
+        }
+
+        @Override
+        void iniciarLote() {
+            controller.iniciarLote();
+        }
+
+        @Override
+        void finalizarLote() {
+            controller.finalizarLote();
+        }
+    }
+
+    /**
+     * Importador de productos ganaderos
+     */
+    private static final class ImportadorGanaderos extends ImportadorCsv<ProductoGanadero> {
+        private static final List<String> COLUMNAS = FormatoCsv.COLUMNAS_GANADERO;
+        private static final int ID = COLUMNAS.indexOf("id");
+        private static final int NOMBRE = COLUMNAS.indexOf("nombre");
+        private static final int FECHA = COLUMNAS.indexOf("fechaProduccion");
+        private static final int COSTO = COLUMNAS.indexOf("costoProduccion");
+        private static final int CANTIDAD = COLUMNAS.indexOf("cantidadProducida");
+        private static final int PRECIO = COLUMNAS.indexOf("precioVenta");
+        private static final int TIPO_GANADO = COLUMNAS.indexOf("tipoGanado");
+        private static final int NUMERO_ANIMALES = COLUMNAS.indexOf("numeroAnimales");
+        private static final int PESO = COLUMNAS.indexOf("pesoPromedio");
+        private static final int PRODUCCION = COLUMNAS.indexOf("produccionDiaria");
+        private static final int ALIMENTACION = COLUMNAS.indexOf("tipoAlimentacion");
+
+        private final ProductoGanaderoController controller;
+
+        private ImportadorGanaderos(ProductoGanaderoController controller) {
+            super(COLUMNAS, List.of("nombre", "costoProduccion", "cantidadProducida", "precioVenta",
+                    "numeroAnimales", "pesoPromedio", "produccionDiaria"));
+            this.controller = controller;
+        }
+
+        @Override
+        ProductoGanadero convertir(Fila fila) {
+            ProductoGanadero producto = new ProductoGanadero();
+            String id = fila.identificador(ID);
+            producto.setNombre(fila.obligatorio(NOMBRE, "El nombre es obligatorio"));
+            producto.setNumeroAnimales(fila.entero(NUMERO_ANIMALES, Validador::validarNumeroAnimales,
+                    "El número de animales debe estar entre 1 y 50,000",
+                    "El número de animales debe ser un número entero válido"));
+            producto.setPesoPromedio(fila.numero(PESO, Validador::validarNumeroPositivo,
+                    "El peso promedio debe ser positivo", "El peso promedio debe ser un número válido"));
+            producto.setProduccionDiaria(fila.numero(PRODUCCION, Validador::validarNumeroNoNegativo,
+                    "La producción diaria no puede ser negativa", "La producción diaria debe ser un número válido"));
+            fila.producto(producto, FECHA, COSTO, CANTIDAD, PRECIO);
+
+            String tipoGanado = fila.texto(TIPO_GANADO);
+            if (tipoGanado != null) {
+                producto.setTipoGanado(tipoGanado);
+            }
+            String alimentacion = fila.texto(ALIMENTACION);
+            if (alimentacion != null) {
+                producto.setTipoAlimentacion(alimentacion);
+            }
+
+            if (fila.tieneErrores()) {
+                return null;
+            }
+            producto.setId(id != null ? id : controller.generarProximoId());
+            return producto;
+        }
+
+        @Override
+        boolean insertar(ProductoGanadero producto) {
+            return controller.crear(producto);
+        }
+
+        @Override
+        String identificador(ProductoGanadero producto) {
+            return producto.getId();
+        }
+
+        @Override
+        void iniciarLote() {
+            controller.iniciarLote();
+        }
+
+        @Override
+        void finalizarLote() {
+            controller.finalizarLote();
+        }
+    }
+
+    /**
+     * Importador de fincas
+     */
+    private static final class ImportadorFincas extends ImportadorCsv<Finca> {
+        private static final List<String> COLUMNAS = FormatoCsv.COLUMNAS_FINCA;
+        private static final int CODIGO = COLUMNAS.indexOf("codigo");
+        private static final int NOMBRE = COLUMNAS.indexOf("nombreFinca");
+        private static final int PROPIETARIO = COLUMNAS.indexOf("propietario");
+        private static final int MUNICIPIO = COLUMNAS.indexOf("municipio");
+        private static final int VEREDA = COLUMNAS.indexOf("vereda");
+        private static final int AREA = COLUMNAS.indexOf("areaTotal");
+        private static final int TIPO_TERRENO = COLUMNAS.indexOf("tipoTerreno");
+        private static final int INFRAESTRUCTURA = COLUMNAS.indexOf("infraestructura");
+        private static final int TELEFONO = COLUMNAS.indexOf("telefono");
+        private static final int EMAIL = COLUMNAS.indexOf("email");
+
+        private final FincaController controller;
+
+        private ImportadorFincas(FincaController controller) {
+            super(COLUMNAS, List.of("nombreFinca", "propietario", "municipio", "areaTotal"));
+            this.controller = controller;
+        }
+
+        @Override
+        Finca convertir(Fila fila) {
+            Finca finca = new Finca();
+            String codigo = fila.texto(CODIGO);
+            finca.setNombreFinca(fila.obligatorio(NOMBRE, "El nombre de la finca es obligatorio"));
+            finca.setPropietario(fila.obligatorio(PROPIETARIO, "El propietario es obligatorio"));
+            finca.setMunicipio(fila.texto(MUNICIPIO));
+            if (finca.getMunicipio() == null) {
+                fila.error("El municipio es obligatorio");
+            }
+            finca.setVereda(fila.categoria(VEREDA));
+            finca.setAreaTotal(fila.numero(AREA, Validador::validarRangoHectareas,
+                    "El área debe estar entre 0.1 y 10,000 hectáreas", "El área total debe ser un número válido"));
+
+            String tipoTerreno = fila.texto(TIPO_TERRENO);
+            if (tipoTerreno != null) {
+                finca.setTipoTerreno(tipoTerreno);
+            }
+            String infraestructura = fila.categoria(INFRAESTRUCTURA);
+            if (infraestructura != null) {
+                finca.setInfraestructura(infraestructura);
+            }
+            String telefono = fila.texto(TELEFONO);
+            if (telefono != null && !Validador.validarTelefono(telefono)) {
+                fila.error("El formato del teléfono debe ser 123-456-7890 o 1234567890");
+            }
+            finca.setTelefono(telefono);
+            String email = fila.texto(EMAIL);
+            if (email != null && !Validador.validarEmail(email)) {
+                fila.error("El formato del email no es válido");
+            }
+            finca.setEmail(email);
+
+            if (fila.tieneErrores()) {
+                return null;
+            }
+            finca.setCodigo(codigo != null ? codigo : controller.generarProximoCodigo());
+            return finca;
+        }
+
+        @Override
+        boolean insertar(Finca finca) {
+            return controller.crear(finca);
+        }
+
+        @Override
+        String identificador(Finca finca) {
+            return finca.getCodigo();
+        }
+
+        @Override
+        void iniciarLote() {
+            controller.iniciarLote();
+        }
+
+        @Override
+        void finalizarLote() {
+            controller.finalizarLote();
+        }
+    }
+
+    /**
+     * Acceso a los campos de la fila actual por columna del formato, con acumulación de errores
+     */
+    static final class Fila {
+        // Límite de valores distintos que se comparten entre filas, para que la memoria no crezca con el archivo
+        private static final int MAXIMO_COMPARTIDOS = 4096;
+
+        private final LectorCsv lector;
+        private final int[] posiciones;
+        private final StringBuilder errores;
+        private final Map<String, String> categorias;
+        private final Map<String, LocalDate> fechas;
+
+        private Fila(LectorCsv lector, int[] posiciones) {
+            this.lector = lector;
+            this.posiciones = posiciones;
+            this.errores = new StringBuilder();
+            this.categorias = new HashMap<>();
+            this.fechas = new HashMap<>();
+        }
+
+        private void limpiar() {
+            errores.setLength(0);
+        }
+
+        boolean tieneErrores() {
+            return errores.length() > 0;
+        }
+
+        String getErrores() {
+            return errores.toString();
+        }
+
+        void error(String mensaje) {
+            if (errores.length() > 0) {
+                errores.append("; ");
+            }
+            errores.append(mensaje);
+        }
+
+        /**
+         * Obtiene el texto de una columna sin espacios alrededor
+         * @param columna índice de la columna en el formato
+         * @return texto, o null si la columna no está o el campo está vacío
+         */
+        String texto(int columna) {
+            int posicion = posiciones[columna];
+            String valor = posicion < 0 ? null : lector.getCampo(posicion);
+            if (valor == null) {
+                return null;
+            }
+            valor = valor.strip();
+            return valor.isEmpty() ? null : valor;
+        }
+
+        /**
+         * Obtiene el texto de una columna con pocos valores distintos que no está en un
+         * {@link co.unibague.agropecuario.model.entities.Diccionario} (código de finca,
+         * vereda...). Las filas con el mismo valor comparten la misma cadena, así los
+         * registros importados ocupan menos memoria.
+         * @param columna índice de la columna en el formato
+         * @return texto, o null si la columna no está o el campo está vacío
+         */
+        String categoria(int columna) {
+            String valor = texto(columna);
+            if (valor == null) {
+                return null;
+            }
+            String compartido = categorias.get(valor);
+            if (compartido != null) {
+                return compartido;
+            }
+            if (categorias.size() < MAXIMO_COMPARTIDOS) {
+                categorias.put(valor, valor);
+            }
+            return valor;
+        }
+
+        String obligatorio(int columna, String mensaje) {
+            String valor = texto(columna);
+            if (!Validador.validarCadenaNoVacia(valor)) {
+                error(mensaje);
+            }
+            return valor;
+        }
+
+        String identificador(int columna) {
+            String id = texto(columna);
+            if (id != null && !Validador.validarFormatoId(id)) {
+                error("El ID debe tener 3 letras seguidas de al menos 3 números");
+            }
+            return id;
+        }
+
+        double numero(int columna, DoublePredicate regla, String mensajeRegla, String mensajeInvalido) {
+            String texto = texto(columna);
+            if (texto == null) {
+                error(mensajeInvalido);
+                return 0;
+            }
+            try {
+                double valor = Double.parseDouble(texto);
+                if (!regla.test(valor)) {
+                    error(mensajeRegla);
+                }
+                return valor;
+            } catch (NumberFormatException e) {
+                error(mensajeInvalido);
+                return 0;
+            }
+        }
+
+        int entero(int columna, IntPredicate regla, String mensajeRegla, String mensajeInvalido) {
+            String texto = texto(columna);
+            try {
+                int valor = Integer.parseInt(texto);
+                if (!regla.test(valor)) {
+                    error(mensajeRegla);
+                }
+                return valor;
+            } catch (NumberFormatException e) {
+                error(mensajeInvalido);
+                return 0;
+            }
+        }
+
+        /**
+         * Lee los datos comunes de un producto
+         */
+        void producto(ProductoAgropecuario producto, int fecha, int costo, int cantidad, int precio) {
+            producto.setCostoProduccion(numero(costo, Validador::validarNumeroPositivo,
+                    "El costo de producción debe ser positivo", "El costo de producción debe ser un número válido"));
+            producto.setCantidadProducida(numero(cantidad, Validador::validarNumeroPositivo,
+                    "La cantidad producida debe ser positiva", "La cantidad producida debe ser un número válido"));
+            producto.setPrecioVenta(numero(precio, Validador::validarPrecioRazonable,
+                    "El precio debe estar entre $100 y $1,000,000", "El precio de venta debe ser un número válido"));
+
+            String texto = texto(fecha);
+            if (texto != null) {
+                LocalDate valor = fecha(texto);
+                if (valor == null) {
+                    error("La fecha de producción debe tener formato aaaa-mm-dd");
+                } else if (!Validador.validarFechaNoFutura(valor)) {
+                    error("La fecha de producción no puede ser futura");
+                } else {
+                    producto.setFechaProduccion(valor);
+                }
+            }
+        }
+
+        /**
+         * Interpreta una fecha ISO; las fechas repetidas se interpretan una sola vez
+         * @return fecha, o null si el texto no es una fecha válida
+         */
+        private LocalDate fecha(String texto) {
+            LocalDate valor = fechas.get(texto);
+            if (valor == null) {
+                try {
+                    valor = LocalDate.parse(texto);
+                } catch (DateTimeParseException e) {
+                    return null;
+                }
+                if (fechas.size() < MAXIMO_COMPARTIDOS) {
+                    fechas.put(texto, valor);
+                }
+            }
+            return valor;
+        }
+    }
+}
\ No newline at end of file
@@ -1,29 +1,103 @@
 package co.unibague.agropecuario.controller;
 
+import co.unibague.agropecuario.analytics.CamposAgricolas;
+import co.unibague.agropecuario.analytics.Consulta;
+import co.unibague.agropecuario.analytics.CriterioRanking;
+import co.unibague.agropecuario.analytics.Planificador;
+import co.unibague.agropecuario.analytics.ProyeccionAgricola;
+import co.unibague.agropecuario.analytics.RankingProductos;
 import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.model.repository.Repositorio;
+import co.unibague.agropecuario.model.repository.SecuenciaIds;
+import co.unibague.agropecuario.model.repository.TipoCambio;
+import co.unibague.agropecuario.model.valores.ValorAgricola;
+import co.unibague.agropecuario.persistence.AlmacenDatos;
+import co.unibague.agropecuario.persistence.CodificadoresEntidades;
+import co.unibague.agropecuario.patterns.observer.DespachadorEventos;
+import co.unibague.agropecuario.patterns.observer.EventoCambio;
+import co.unibague.agropecuario.patterns.observer.LoteCambios;
 import co.unibague.agropecuario.patterns.observer.Observable;
 import co.unibague.agropecuario.patterns.observer.Observer;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Controlador para gestionar productos agrícolas.
  * Implementa el patrón MVC y Observable para notificar cambios.
+ * Es seguro para uso concurrente: las lecturas no se bloquean entre sí y las
+ * modificaciones se serializan en el repositorio.
  */
 public class ProductoAgricolaController implements Observable {
 
-    private List<ProductoAgricola> productosAgricolas;
-    private List<Observer> observers;
+    private Repositorio<ProductoAgricola> productosAgricolas;
+    private SecuenciaIds secuencia;
+    private ProyeccionAgricola proyeccion;
+    private Planificador<ProductoAgricola> planificador;
+    private RankingProductos<ProductoAgricola> ranking;
+    private DespachadorEventos despachador;
 
     /**
-     * Constructor del controlador
+     * Constructor del controlador (solo en memoria, con datos de prueba)
      */
     public ProductoAgricolaController() {
-        this.productosAgricolas = new ArrayList<>();
-        this.observers = new ArrayList<>();
-        inicializarDatosPrueba();
+        this(null);
+    }
+
+    /**
+     * Constructor del controlador con almacenamiento durable.
+     * Recupera el estado desde el diario y registra en él cada mutación posterior.
+     * @param almacen almacén de datos, o null para trabajar solo en memoria
+     */
+    public ProductoAgricolaController(AlmacenDatos almacen) {
+        this.productosAgricolas = new Repositorio<>(ProductoAgricola::getId);
+        // Lo guardado queda de solo lectura: listados, cachés y cálculos lo comparten sin copiarlo
+        this.productosAgricolas.agregarOyente((tipo, anterior, nuevo) -> {
+            if (nuevo != null) {
+                nuevo.congelar();
+            }
+        });
+        this.despachador = DespachadorEventos.porDefecto();
+        this.proyeccion = new ProyeccionAgricola();
+        this.productosAgricolas.agregarOyente(proyeccion);
+        this.planificador = new Planificador<>(productosAgricolas, ProductoAgricola::getId);
+        this.planificador.indexarBajoDemanda(CamposAgricolas.TIPO_CULTIVO);
+        this.ranking = new RankingProductos<>(CamposAgricolas.TIPO_CULTIVO, ProductoAgricola::getCodigoFinca);
+        this.productosAgricolas.agregarOyente(ranking);
+
+        if (almacen == null) {
+            inicializarDatosPrueba();
+        } else {
+            conectarAlmacen(almacen);
+        }
+
+        // La secuencia se inicializa una sola vez con los datos existentes
+        // y luego registra cada ID insertado por otros medios
+        this.secuencia = new SecuenciaIds("AGR", 3);
+        this.productosAgricolas.agregarOyente((tipo, anterior, nuevo) -> {
+            if (nuevo != null) {
+                secuencia.registrar(nuevo.getId());
+            }
+        });
+    }
+
+    /**
+     * Recupera los productos agrícolas persistidos y registra las mutaciones futuras
+     * @param almacen almacén de datos
+     */
+    private void conectarAlmacen(AlmacenDatos almacen) {
+        try {
+            if (!almacen.conectar("agricolas", CodificadoresEntidades.PRODUCTO_AGRICOLA, productosAgricolas)) {
+                // Primera ejecución: los datos de prueba quedan registrados en el diario
+                inicializarDatosPrueba();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron recuperar los productos agrícolas", e);
+        }
     }
 
     /**
@@ -55,23 +129,19 @@ public class ProductoAgricolaController implements Observable {
         arroz.setTipoSuelo("Franco");
         arroz.setTemporada("Temporada seca");
 
-        productosAgricolas.add(cafe);
-        productosAgricolas.add(arroz);
+        productosAgricolas.insertar(cafe);
+        productosAgricolas.insertar(arroz);
     }
 
     /**
      * Crea un nuevo producto agrícola
-     * @param producto el producto a crear
+     * @param producto el producto a crear; desde ese momento es de solo lectura
      * @return true si se creó exitosamente
      */
     public boolean crear(ProductoAgricola producto) {
-        if (producto == null || buscar(producto.getId()) != null) {
-            return false;
-        }
-
-        boolean resultado = productosAgricolas.add(producto);
+        boolean resultado = productosAgricolas.insertar(producto);
         if (resultado) {
-            notifyObservers("CREAR");
+            notifyObservers(new EventoCambio(TipoCambio.CREAR, producto.getId()));
         }
         return resultado;
     }
@@ -79,13 +149,20 @@ public class ProductoAgricolaController implements Observable {
     /**
      * Busca un producto por su ID
      * @param id identificador del producto
-     * @return el producto encontrado o null
+     * @return el producto encontrado (de solo lectura) o null
      */
     public ProductoAgricola buscar(String id) {
-        return productosAgricolas.stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return productosAgricolas.buscar(id);
+    }
+
+    /**
+     * Busca un producto por su ID y devuelve su valor inmutable
+     * @param id identificador del producto
+     * @return valor del producto, o null si no existe
+     */
+    public ValorAgricola buscarValor(String id) {
+        ProductoAgricola producto = buscar(id);
+        return producto == null ? null : ValorAgricola.de(producto);
     }
 
     /**
@@ -95,15 +172,28 @@ public class ProductoAgricolaController implements Observable {
      * @return true si se actualizó exitosamente
      */
     public boolean actualizar(String id, ProductoAgricola productoActualizado) {
-        for (int i = 0; i < productosAgricolas.size(); i++) {
-            if (productosAgricolas.get(i).getId().equals(id)) {
-                productoActualizado.setId(id); // Mantener el ID original
-                productosAgricolas.set(i, productoActualizado);
-                notifyObservers("ACTUALIZAR");
-                return true;
-            }
+        if (productoActualizado == null || !productosAgricolas.contiene(id)) {
+            return false;
+        }
+
+        // Una instancia ya guardada (por ejemplo, la de buscar) no admite cambios
+        ProductoAgricola nuevo = productoActualizado.isCongelado() ? productoActualizado.copia() : productoActualizado;
+        nuevo.setId(id); // Mantener el ID original
+        if (!productosAgricolas.reemplazar(id, nuevo)) {
+            return false; // Eliminado por otro hilo después de la verificación
         }
-        return false;
+        notifyObservers(new EventoCambio(TipoCambio.ACTUALIZAR, id));
+        return true;
+    }
+
+    /**
+     * Actualiza un producto a partir de un valor inmutable, por ejemplo uno obtenido con
+     * {@link #buscarValor(String)} y modificado con sus métodos {@code con...}
+     * @param valor valor con los datos actualizados; su ID indica qué registro reemplaza
+     * @return true si se actualizó exitosamente
+     */
+    public boolean actualizar(ValorAgricola valor) {
+        return valor != null && actualizar(valor.id(), valor.aEntidad());
     }
 
     /**
@@ -112,19 +202,19 @@ public class ProductoAgricolaController implements Observable {
      * @return true si se eliminó exitosamente
      */
     public boolean eliminar(String id) {
-        boolean resultado = productosAgricolas.removeIf(p -> p.getId().equals(id));
+        boolean resultado = productosAgricolas.eliminar(id) != null;
         if (resultado) {
-            notifyObservers("ELIMINAR");
+            notifyObservers(new EventoCambio(TipoCambio.ELIMINAR, id));
         }
         return resultado;
     }
 
     /**
      * Lista todos los productos agrícolas
-     * @return lista de productos
+     * @return vista inmutable de los productos, compartida mientras no haya cambios
      */
     public List<ProductoAgricola> listar() {
-        return new ArrayList<>(productosAgricolas);
+        return productosAgricolas.listar();
     }
 
     /**
@@ -132,9 +222,7 @@ public class ProductoAgricolaController implements Observable {
      * @return rentabilidad total
      */
     public double calcularRentabilidadTotal() {
-        return productosAgricolas.stream()
-                .mapToDouble(ProductoAgricola::calcularRentabilidad)
-                .sum();
+        return productosAgricolas.leerOptimista(proyeccion::getRentabilidadTotal);
     }
 
     /**
@@ -143,9 +231,78 @@ public class ProductoAgricolaController implements Observable {
      * @return lista filtrada
      */
     public List<ProductoAgricola> obtenerPorTipoCultivo(String tipoCultivo) {
-        return productosAgricolas.stream()
-                .filter(p -> p.getTipoCultivo().equalsIgnoreCase(tipoCultivo))
-                .toList();
+        return consultar(Consulta.donde(CamposAgricolas.TIPO_CULTIVO.igual(tipoCultivo)));
+    }
+
+    /**
+     * Ejecuta una consulta sobre los productos agrícolas (ver {@link CamposAgricolas})
+     * @param consulta consulta a ejecutar
+     * @return lista inmutable de resultados
+     */
+    public List<ProductoAgricola> consultar(Consulta<ProductoAgricola> consulta) {
+        return planificador.ejecutar(consulta);
+    }
+
+    /**
+     * Describe cómo se resolvería una consulta: por índice o recorriendo la colección
+     * @param consulta consulta a describir
+     * @return descripción del plan
+     */
+    public String explicarConsulta(Consulta<ProductoAgricola> consulta) {
+        return planificador.explicar(consulta);
+    }
+
+    /**
+     * Obtiene los K productos con mayor valor del criterio; a igual valor, el primero del listado
+     * @param criterio métrica de clasificación
+     * @param cantidad número máximo de productos
+     * @return lista de productos, de mayor a menor
+     */
+    public List<ProductoAgricola> obtenerMejores(CriterioRanking criterio, int cantidad) {
+        return productosAgricolas.leer(() -> ranking.mejores(criterio, cantidad));
+    }
+
+    /**
+     * Obtiene los K productos con menor valor del criterio
+     * @param criterio métrica de clasificación
+     * @param cantidad número máximo de productos
+     * @return lista de productos, de menor a mayor
+     */
+    public List<ProductoAgricola> obtenerPeores(CriterioRanking criterio, int cantidad) {
+        return productosAgricolas.leer(() -> ranking.peores(criterio, cantidad));
+    }
+
+    /**
+     * Obtiene los K mejores productos de un tipo de cultivo
+     * @param tipoCultivo tipo de cultivo, sin distinguir mayúsculas
+     * @param criterio métrica de clasificación
+     * @param cantidad número máximo de productos
+     * @return lista de productos, de mayor a menor
+     */
+    public List<ProductoAgricola> obtenerMejoresPorTipoCultivo(String tipoCultivo, CriterioRanking criterio, int cantidad) {
+        return productosAgricolas.leer(() -> ranking.mejoresPorCategoria(criterio, tipoCultivo, cantidad));
+    }
+
+    /**
+     * Obtiene la posición de un producto en la clasificación de todos los productos agrícolas
+     * @param id identificador del producto
+     * @param criterio métrica de clasificación
+     * @return posición empezando en 1, o -1 si el producto no existe
+     */
+    public int obtenerPosicion(String id, CriterioRanking criterio) {
+        return productosAgricolas.leer(() -> ranking.posicion(criterio, id));
+    }
+
+    /**
+     * Obtiene los K mejores productos cultivados en un conjunto de fincas
+     * @param codigosFinca códigos de las fincas, por ejemplo las de un municipio
+     * @param criterio métrica de clasificación
+     * @param cantidad número máximo de productos
+     * @return lista de productos, de mayor a menor
+     */
+    public List<ProductoAgricola> obtenerMejoresDeFincas(Collection<String> codigosFinca,
+                                                         CriterioRanking criterio, int cantidad) {
+        return productosAgricolas.leer(() -> ranking.mejoresDeFincas(criterio, codigosFinca, cantidad));
     }
 
     /**
@@ -153,45 +310,97 @@ public class ProductoAgricolaController implements Observable {
      * @return próximo ID
      */
     public String generarProximoId() {
-        int maxNum = productosAgricolas.stream()
-                .mapToInt(p -> {
-                    try {
-                        return Integer.parseInt(p.getId().substring(3));
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
+        return secuencia.siguiente();
+    }
+
+    /**
+     * Reserva un bloque de IDs consecutivos para cargas masivas
+     * @param cantidad número de IDs a reservar
+     * @return lista con los IDs reservados
+     */
+    public List<String> reservarIds(int cantidad) {
+        return secuencia.reservarBloque(cantidad);
+    }
 
-        return String.format("AGR%03d", maxNum + 1);
+    /**
+     * Obtiene la versión de los datos, que cambia con cada creación, actualización o eliminación
+     * @return número de versión
+     */
+    public long getVersion() {
+        return productosAgricolas.getVersion();
+    }
+
+    /**
+     * Abre un lote de cambios: los observadores reciben un único {@link LoteCambios}
+     * consolidado cuando se cierra el lote, en lugar de una notificación por mutación.
+     * Debe cerrarse con {@link #finalizarLote()}, normalmente en un bloque finally.
+     */
+    public void iniciarLote() {
+        despachador.iniciarLote();
+    }
+
+    /**
+     * Cierra el lote de cambios abierto y notifica los cambios acumulados
+     */
+    public void finalizarLote() {
+        despachador.finalizarLote();
+    }
+
+    /**
+     * Configura la ventana de tiempo durante la que se agrupan las notificaciones
+     * @param ventanaMs milisegundos de agrupación (0 para notificar cada cambio de inmediato)
+     */
+    public void setVentanaNotificacion(long ventanaMs) {
+        despachador.setVentanaMs(ventanaMs);
+    }
+
+    /**
+     * Configura si los observadores se notifican en hilos dedicados en lugar del hilo que modifica
+     * @param asincrona true para la entrega asíncrona con colas acotadas
+     */
+    public void setEntregaAsincrona(boolean asincrona) {
+        despachador.setEntregaAsincrona(asincrona);
     }
 
     // Implementación del patrón Observer
     @Override
     public void addObserver(Observer observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
-        }
+        despachador.agregar(observer);
     }
 
     @Override
     public void removeObserver(Observer observer) {
-        observers.remove(observer);
+        despachador.remover(observer);
     }
 
     @Override
     public void notifyObservers() {
-        for (Observer observer : observers) {
-            observer.update();
-        }
+        despachador.notificar();
     }
 
     @Override
     public void notifyObservers(Object data) {
-        for (Observer observer : observers) {
-            observer.update(data);
-        }
+        despachador.notificar(data);
+    }
+
+    /**
+     * Obtiene los agregados de los productos, sincronizados con el repositorio
+     * @return proyección para cálculos agregados
+     */
+    public ProyeccionAgricola getProyeccion() {
+        return proyeccion;
+    }
+
+    /**
+     * Consulta la proyección con el cerrojo de lectura, de forma consistente aunque
+     * otro hilo esté modificando los productos. La consulta debe ser corta y no debe
+     * llamar a otros métodos del controlador.
+     * @param consulta lectura sobre la proyección
+     * @param <R> tipo del resultado
+     * @return resultado de la consulta
+     */
+    public <R> R leerProyeccion(Function<? super ProyeccionAgricola, R> consulta) {
+        return productosAgricolas.leer(() -> consulta.apply(proyeccion));
     }
 
     /**
@@ -199,6 +408,6 @@ public class ProductoAgricolaController implements Observable {
      * @return número total de productos
      */
     public int obtenerTotal() {
-        return productosAgricolas.size();
+        return productosAgricolas.tamanio();
     }
 }
\ No newline at end of file
@@ -1,29 +1,103 @@
 package co.unibague.agropecuario.controller;
 
+import co.unibague.agropecuario.analytics.CamposGanaderos;
+import co.unibague.agropecuario.analytics.Consulta;
+import co.unibague.agropecuario.analytics.CriterioRanking;
+import co.unibague.agropecuario.analytics.Planificador;
+import co.unibague.agropecuario.analytics.ProyeccionGanadera;
+import co.unibague.agropecuario.analytics.RankingProductos;
+import co.unibague.agropecuario.model.entities.Diccionario;
 import co.unibague.agropecuario.model.entities.ProductoGanadero;
+import co.unibague.agropecuario.model.repository.Repositorio;
+import co.unibague.agropecuario.model.repository.SecuenciaIds;
+import co.unibague.agropecuario.model.repository.TipoCambio;
+import co.unibague.agropecuario.model.valores.ValorGanadero;
+import co.unibague.agropecuario.persistence.AlmacenDatos;
+import co.unibague.agropecuario.persistence.CodificadoresEntidades;
+import co.unibague.agropecuario.patterns.observer.DespachadorEventos;
+import co.unibague.agropecuario.patterns.observer.EventoCambio;
+import co.unibague.agropecuario.patterns.observer.LoteCambios;
 import co.unibague.agropecuario.patterns.observer.Observable;
 import co.unibague.agropecuario.patterns.observer.Observer;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
 
 /**
  * Controlador para gestionar productos ganaderos.
  * Implementa el patrón MVC y Observable para notificar cambios.
+ * Admite varios hilos: los tratamientos se aplican dentro de la escritura del repositorio.
  */
 public class ProductoGanaderoController implements Observable {
 
-    private List<ProductoGanadero> productosGanaderos;
-    private List<Observer> observers;
+    private Repositorio<ProductoGanadero> productosGanaderos;
+    private SecuenciaIds secuencia;
+    private ProyeccionGanadera proyeccion;
+    private Planificador<ProductoGanadero> planificador;
+    private RankingProductos<ProductoGanadero> ranking;
+    private DespachadorEventos despachador;
 
     /**
-     * Constructor del controlador
+     * Constructor del controlador (solo en memoria, con datos de prueba)
      */
     public ProductoGanaderoController() {
-        this.productosGanaderos = new ArrayList<>();
-        this.observers = new ArrayList<>();
-        inicializarDatosPrueba();
+        this(null);
+    }
+
+    /**
+     * Constructor del controlador con almacenamiento durable.
+     * Recupera el estado desde el diario y registra en él cada mutación posterior.
+     * @param almacen almacén de datos, o null para trabajar solo en memoria
+     */
+    public ProductoGanaderoController(AlmacenDatos almacen) {
+        this.productosGanaderos = new Repositorio<>(ProductoGanadero::getId);
+        // Lo guardado queda de solo lectura: listados, cachés y cálculos lo comparten sin copiarlo
+        this.productosGanaderos.agregarOyente((tipo, anterior, nuevo) -> {
+            if (nuevo != null) {
+                nuevo.congelar();
+            }
+        });
+        this.despachador = DespachadorEventos.porDefecto();
+        this.proyeccion = new ProyeccionGanadera();
+        this.productosGanaderos.agregarOyente(proyeccion);
+        this.planificador = new Planificador<>(productosGanaderos, ProductoGanadero::getId);
+        this.planificador.indexarBajoDemanda(CamposGanaderos.TIPO_GANADO);
+        this.ranking = new RankingProductos<>(CamposGanaderos.TIPO_GANADO, null);
+        this.productosGanaderos.agregarOyente(ranking);
+
+        if (almacen == null) {
+            inicializarDatosPrueba();
+        } else {
+            conectarAlmacen(almacen);
+        }
+
+        // La secuencia se inicializa una sola vez con los datos existentes
+        // y luego registra cada ID insertado por otros medios
+        this.secuencia = new SecuenciaIds("GAN", 3);
+        this.productosGanaderos.agregarOyente((tipo, anterior, nuevo) -> {
+            if (nuevo != null) {
+                secuencia.registrar(nuevo.getId());
+            }
+        });
+    }
+
+    /**
+     * Recupera los productos ganaderos persistidos y registra las mutaciones futuras
+     * @param almacen almacén de datos
+     */
+    private void conectarAlmacen(AlmacenDatos almacen) {
+        try {
+            if (!almacen.conectar("ganaderos", CodificadoresEntidades.PRODUCTO_GANADERO, productosGanaderos)) {
+                // Primera ejecución: los datos de prueba quedan registrados en el diario
+                inicializarDatosPrueba();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron recuperar los productos ganaderos", e);
+        }
     }
 
     /**
@@ -72,24 +146,20 @@ public class ProductoGanaderoController implements Observable {
         avicola.setTipoAlimentacion("Concentrado especializado");
         avicola.setFechaProduccion(LocalDate.now().minusDays(7));
 
-        productosGanaderos.add(bovino);
-        productosGanaderos.add(porcino);
-        productosGanaderos.add(avicola);
+        productosGanaderos.insertar(bovino);
+        productosGanaderos.insertar(porcino);
+        productosGanaderos.insertar(avicola);
     }
 
     /**
      * Crea un nuevo producto ganadero
-     * @param producto el producto a crear
+     * @param producto el producto a crear; desde ese momento es de solo lectura
      * @return true si se creó exitosamente
      */
     public boolean crear(ProductoGanadero producto) {
-        if (producto == null || buscar(producto.getId()) != null) {
-            return false;
-        }
-
-        boolean resultado = productosGanaderos.add(producto);
+        boolean resultado = productosGanaderos.insertar(producto);
         if (resultado) {
-            notifyObservers("CREAR");
+            notifyObservers(new EventoCambio(TipoCambio.CREAR, producto.getId()));
         }
         return resultado;
     }
@@ -97,13 +167,20 @@ public class ProductoGanaderoController implements Observable {
     /**
      * Busca un producto por su ID
      * @param id identificador del producto
-     * @return el producto encontrado o null
+     * @return el producto encontrado (de solo lectura) o null
      */
     public ProductoGanadero buscar(String id) {
-        return productosGanaderos.stream()
-                .filter(p -> p.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return productosGanaderos.buscar(id);
+    }
+
+    /**
+     * Busca un producto por su ID y devuelve su valor inmutable
+     * @param id identificador del producto
+     * @return valor del producto, o null si no existe
+     */
+    public ValorGanadero buscarValor(String id) {
+        ProductoGanadero producto = buscar(id);
+        return producto == null ? null : ValorGanadero.de(producto);
     }
 
     /**
@@ -113,15 +190,28 @@ public class ProductoGanaderoController implements Observable {
      * @return true si se actualizó exitosamente
      */
     public boolean actualizar(String id, ProductoGanadero productoActualizado) {
-        for (int i = 0; i < productosGanaderos.size(); i++) {
-            if (productosGanaderos.get(i).getId().equals(id)) {
-                productoActualizado.setId(id); // Mantener el ID original
-                productosGanaderos.set(i, productoActualizado);
-                notifyObservers("ACTUALIZAR");
-                return true;
-            }
+        if (productoActualizado == null || !productosGanaderos.contiene(id)) {
+            return false;
+        }
+
+        // Una instancia ya guardada (por ejemplo, la de buscar) no admite cambios
+        ProductoGanadero nuevo = productoActualizado.isCongelado() ? productoActualizado.copia() : productoActualizado;
+        nuevo.setId(id); // Mantener el ID original
+        if (!productosGanaderos.reemplazar(id, nuevo)) {
+            return false; // Eliminado por otro hilo después de la verificación
         }
-        return false;
+        notifyObservers(new EventoCambio(TipoCambio.ACTUALIZAR, id));
+        return true;
+    }
+
+    /**
+     * Actualiza un producto a partir de un valor inmutable, por ejemplo uno obtenido con
+     * {@link #buscarValor(String)} y modificado con sus métodos {@code con...}
+     * @param valor valor con los datos actualizados; su ID indica qué registro reemplaza
+     * @return true si se actualizó exitosamente
+     */
+    public boolean actualizar(ValorGanadero valor) {
+        return valor != null && actualizar(valor.id(), valor.aEntidad());
     }
 
     /**
@@ -130,19 +220,19 @@ public class ProductoGanaderoController implements Observable {
      * @return true si se eliminó exitosamente
      */
     public boolean eliminar(String id) {
-        boolean resultado = productosGanaderos.removeIf(p -> p.getId().equals(id));
+        boolean resultado = productosGanaderos.eliminar(id) != null;
         if (resultado) {
-            notifyObservers("ELIMINAR");
+            notifyObservers(new EventoCambio(TipoCambio.ELIMINAR, id));
         }
         return resultado;
     }
 
     /**
      * Lista todos los productos ganaderos
-     * @return lista de productos
+     * @return vista inmutable de los productos, compartida mientras no haya cambios
      */
     public List<ProductoGanadero> listar() {
-        return new ArrayList<>(productosGanaderos);
+        return productosGanaderos.listar();
     }
 
     /**
@@ -150,9 +240,7 @@ public class ProductoGanaderoController implements Observable {
      * @return rentabilidad total
      */
     public double calcularRentabilidadTotal() {
-        return productosGanaderos.stream()
-                .mapToDouble(ProductoGanadero::calcularRentabilidad)
-                .sum();
+        return productosGanaderos.leerOptimista(proyeccion::getRentabilidadTotal);
     }
 
     /**
@@ -161,26 +249,92 @@ public class ProductoGanaderoController implements Observable {
      * @return lista filtrada
      */
     public List<ProductoGanadero> obtenerPorTipoGanado(String tipoGanado) {
-        return productosGanaderos.stream()
-                .filter(p -> p.getTipoGanado().toLowerCase().contains(tipoGanado.toLowerCase()))
+        // La vista se toma primero para que el filtro conozca todos sus tipos de ganado
+        List<ProductoGanadero> productos = productosGanaderos.instantanea();
+        IntPredicate coincide = Diccionario.TIPOS_GANADO.contiene(tipoGanado);
+        return productos.stream()
+                .filter(p -> coincide.test(p.getCodigoTipoGanado()))
                 .toList();
     }
 
+    /**
+     * Ejecuta una consulta sobre los productos ganaderos (ver {@link CamposGanaderos})
+     * @param consulta consulta a ejecutar
+     * @return lista inmutable de resultados
+     */
+    public List<ProductoGanadero> consultar(Consulta<ProductoGanadero> consulta) {
+        return planificador.ejecutar(consulta);
+    }
+
+    /**
+     * Describe cómo se resolvería una consulta: por índice o recorriendo la colección
+     * @param consulta consulta a describir
+     * @return descripción del plan
+     */
+    public String explicarConsulta(Consulta<ProductoGanadero> consulta) {
+        return planificador.explicar(consulta);
+    }
+
+    /**
+     * Obtiene los K productos con mayor valor del criterio; a igual valor, el primero del listado
+     * @param criterio métrica de clasificación
+     * @param cantidad número máximo de productos
+     * @return lista de productos, de mayor a menor
+     */
+    public List<ProductoGanadero> obtenerMejores(CriterioRanking criterio, int cantidad) {
+        return productosGanaderos.leer(() -> ranking.mejores(criterio, cantidad));
+    }
+
+    /**
+     * Obtiene los K productos con menor valor del criterio
+     * @param criterio métrica de clasificación
+     * @param cantidad número máximo de productos
+     * @return lista de productos, de menor a mayor
+     */
+    public List<ProductoGanadero> obtenerPeores(CriterioRanking criterio, int cantidad) {
+        return productosGanaderos.leer(() -> ranking.peores(criterio, cantidad));
+    }
+
+    /**
+     * Obtiene los K mejores productos de un tipo de ganado
+     * @param tipoGanado tipo de ganado, sin distinguir mayúsculas
+     * @param criterio métrica de clasificación
+     * @param cantidad número máximo de productos
+     * @return lista de productos, de mayor a menor
+     */
+    public List<ProductoGanadero> obtenerMejoresPorTipoGanado(String tipoGanado, CriterioRanking criterio, int cantidad) {
+        return productosGanaderos.leer(() -> ranking.mejoresPorCategoria(criterio, tipoGanado, cantidad));
+    }
+
+    /**
+     * Obtiene la posición de un producto en la clasificación de todos los productos ganaderos
+     * @param id identificador del producto
+     * @param criterio métrica de clasificación
+     * @return posición empezando en 1, o -1 si el producto no existe
+     */
+    public int obtenerPosicion(String id, CriterioRanking criterio) {
+        return productosGanaderos.leer(() -> ranking.posicion(criterio, id));
+    }
+
     /**
      * Aplica tratamiento a un producto específico
      * @param id identificador del producto
      * @return true si se aplicó exitosamente
      */
     public boolean aplicarTratamiento(String id) {
-        ProductoGanadero producto = buscar(id);
-        if (producto != null && producto.puedeRecibirAplicacion()) {
-            boolean resultado = producto.aplicar();
-            if (resultado) {
-                notifyObservers("APLICAR_TRATAMIENTO");
+        // La verificación y la aplicación se hacen en una sola escritura, sobre una copia
+        // que reemplaza al producto guardado
+        boolean resultado = productosGanaderos.modificar(id, producto -> {
+            if (!producto.puedeRecibirAplicacion()) {
+                return null;
             }
-            return resultado;
+            ProductoGanadero tratado = producto.copia();
+            return tratado.aplicar() ? tratado : null;
+        }, TipoCambio.APLICAR_TRATAMIENTO);
+        if (resultado) {
+            notifyObservers(new EventoCambio(TipoCambio.APLICAR_TRATAMIENTO, id));
         }
-        return false;
+        return resultado;
     }
 
     /**
@@ -201,9 +355,7 @@ public class ProductoGanaderoController implements Observable {
      * @return producción total diaria
      */
     public double calcularProduccionTotalDiaria() {
-        return productosGanaderos.stream()
-                .mapToDouble(p -> p.getProduccionDiaria() * p.getNumeroAnimales())
-                .sum();
+        return productosGanaderos.leerOptimista(proyeccion::getProduccionDiariaTotal);
     }
 
     /**
@@ -211,9 +363,7 @@ public class ProductoGanaderoController implements Observable {
      * @return peso total en kilogramos
      */
     public double calcularPesoTotal() {
-        return productosGanaderos.stream()
-                .mapToDouble(ProductoGanadero::calcularPesoTotal)
-                .sum();
+        return productosGanaderos.leerOptimista(proyeccion::getPesoTotal);
     }
 
     /**
@@ -221,45 +371,97 @@ public class ProductoGanaderoController implements Observable {
      * @return próximo ID
      */
     public String generarProximoId() {
-        int maxNum = productosGanaderos.stream()
-                .mapToInt(p -> {
-                    try {
-                        return Integer.parseInt(p.getId().substring(3));
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
+        return secuencia.siguiente();
+    }
+
+    /**
+     * Reserva un bloque de IDs consecutivos para cargas masivas
+     * @param cantidad número de IDs a reservar
+     * @return lista con los IDs reservados
+     */
+    public List<String> reservarIds(int cantidad) {
+        return secuencia.reservarBloque(cantidad);
+    }
 
-        return String.format("GAN%03d", maxNum + 1);
+    /**
+     * Obtiene la versión de los datos, que cambia con cada creación, actualización o eliminación
+     * @return número de versión
+     */
+    public long getVersion() {
+        return productosGanaderos.getVersion();
+    }
+
+    /**
+     * Abre un lote de cambios: los observadores reciben un único {@link LoteCambios}
+     * consolidado cuando se cierra el lote, en lugar de una notificación por mutación.
+     * Debe cerrarse con {@link #finalizarLote()}, normalmente en un bloque finally.
+     */
+    public void iniciarLote() {
+        despachador.iniciarLote();
+    }
+
+    /**
+     * Cierra el lote de cambios abierto y notifica los cambios acumulados
+     */
+    public void finalizarLote() {
+        despachador.finalizarLote();
+    }
+
+    /**
+     * Configura la ventana de tiempo durante la que se agrupan las notificaciones
+     * @param ventanaMs milisegundos de agrupación (0 para notificar cada cambio de inmediato)
+     */
+    public void setVentanaNotificacion(long ventanaMs) {
+        despachador.setVentanaMs(ventanaMs);
+    }
+
+    /**
+     * Configura si los observadores se notifican en hilos dedicados en lugar del hilo que modifica
+     * @param asincrona true para la entrega asíncrona con colas acotadas
+     */
+    public void setEntregaAsincrona(boolean asincrona) {
+        despachador.setEntregaAsincrona(asincrona);
     }
 
     // Implementación del patrón Observer
     @Override
     public void addObserver(Observer observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
-        }
+        despachador.agregar(observer);
     }
 
     @Override
     public void removeObserver(Observer observer) {
-        observers.remove(observer);
+        despachador.remover(observer);
     }
 
     @Override
     public void notifyObservers() {
-        for (Observer observer : observers) {
-            observer.update();
-        }
+        despachador.notificar();
     }
 
     @Override
     public void notifyObservers(Object data) {
-        for (Observer observer : observers) {
-            observer.update(data);
-        }
+        despachador.notificar(data);
+    }
+
+    /**
+     * Obtiene los agregados de los productos, sincronizados con el repositorio
+     * @return proyección para cálculos agregados
+     */
+    public ProyeccionGanadera getProyeccion() {
+        return proyeccion;
+    }
+
+    /**
+     * Consulta la proyección con el cerrojo de lectura, de forma consistente aunque
+     * otro hilo esté modificando los productos. La consulta debe ser corta y no debe
+     * llamar a otros métodos del controlador.
+     * @param consulta lectura sobre la proyección
+     * @param <R> tipo del resultado
+     * @return resultado de la consulta
+     */
+    public <R> R leerProyeccion(Function<? super ProyeccionGanadera, R> consulta) {
+        return productosGanaderos.leer(() -> consulta.apply(proyeccion));
     }
 
     /**
@@ -267,7 +469,7 @@ public class ProductoGanaderoController implements Observable {
      * @return número total de productos
      */
     public int obtenerTotal() {
-        return productosGanaderos.size();
+        return productosGanaderos.tamanio();
     }
 
     /**
@@ -275,8 +477,6 @@ public class ProductoGanaderoController implements Observable {
      * @return número total de animales
      */
     public int obtenerTotalAnimales() {
-        return productosGanaderos.stream()
-                .mapToInt(ProductoGanadero::getNumeroAnimales)
-                .sum();
+        return productosGanaderos.leerOptimista(proyeccion::getTotalAnimales);
     }
 }
\ No newline at end of file
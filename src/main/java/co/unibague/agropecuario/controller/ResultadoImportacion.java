@@ -0,0 +1,108 @@
+package co.unibague.agropecuario.controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una importación CSV: totales de filas y los errores por fila.
+ * Se guardan como máximo los primeros errores (ver {@link #getErrores()}) para que
+ * la memoria no crezca con archivos muy grandes; los totales cuentan todas las filas.
+ */
+public final class ResultadoImportacion {
+
+    private final int maximoErrores;
+    private final List<ErrorFila> errores;
+    private long filasLeidas;
+    private long importadas;
+    private long rechazadas;
+    private long duracionMs;
+
+    ResultadoImportacion(int maximoErrores) {
+        this.maximoErrores = maximoErrores;
+        this.errores = new ArrayList<>();
+    }
+
+    void registrarLeida() {
+        filasLeidas++;
+    }
+
+    void registrarImportada() {
+        importadas++;
+    }
+
+    void registrarError(long linea, String mensaje) {
+        rechazadas++;
+        if (errores.size() < maximoErrores) {
+            errores.add(new ErrorFila(linea, mensaje));
+        }
+    }
+
+    void setDuracionMs(long duracionMs) {
+        this.duracionMs = duracionMs;
+    }
+
+    public long getFilasLeidas() {
+        return filasLeidas;
+    }
+
+    public long getImportadas() {
+        return importadas;
+    }
+
+    public long getRechazadas() {
+        return rechazadas;
+    }
+
+    public long getDuracionMs() {
+        return duracionMs;
+    }
+
+    /**
+     * Obtiene los errores guardados, en el orden del archivo
+     * @return lista inmutable con los primeros errores
+     */
+    public List<ErrorFila> getErrores() {
+        return Collections.unmodifiableList(errores);
+    }
+
+    /**
+     * Indica si hubo más filas rechazadas que errores guardados
+     * @return true si la lista de errores está incompleta
+     */
+    public boolean isErroresTruncados() {
+        return rechazadas > errores.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Filas leídas: %d, importadas: %d, rechazadas: %d (%d ms)",
+                filasLeidas, importadas, rechazadas, duracionMs);
+    }
+
+    /**
+     * Error de validación o de inserción de una fila
+     */
+    public static final class ErrorFila {
+        private final long linea;
+        private final String mensaje;
+
+        ErrorFila(long linea, String mensaje) {
+            this.linea = linea;
+            this.mensaje = mensaje;
+        }
+
+        public long getLinea() {
+            return linea;
+        }
+
+        public String getMensaje() {
+            return mensaje;
+        }
+
+        @Override
+        public String toString() {
+            return "Línea " + linea + ": " + mensaje;
+        }
+    }
+}
\ No newline at end of file
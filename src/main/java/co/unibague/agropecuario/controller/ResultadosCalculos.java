@@ -0,0 +1,48 @@
+package co.unibague.agropecuario.controller;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Resultados de una ejecución completa de los cálculos. Las estadísticas y
+ * rentabilidades se calculan una sola vez y se reutilizan en el resumen
+ * ejecutivo y en las demás vistas.
+ */
+public final class ResultadosCalculos {
+
+    private final String reporteRentabilidad;
+    private final Map<String, Object> estadisticas;
+    private final Map<String, Double> rentabilidadesPorTipo;
+    private final String resumenEjecutivo;
+    private final String productoMasRentable;
+
+    ResultadosCalculos(String reporteRentabilidad, Map<String, Object> estadisticas,
+                       Map<String, Double> rentabilidadesPorTipo, String resumenEjecutivo,
+                       String productoMasRentable) {
+        this.reporteRentabilidad = reporteRentabilidad;
+        this.estadisticas = Collections.unmodifiableMap(estadisticas);
+        this.rentabilidadesPorTipo = Collections.unmodifiableMap(rentabilidadesPorTipo);
+        this.resumenEjecutivo = resumenEjecutivo;
+        this.productoMasRentable = productoMasRentable;
+    }
+
+    public String getReporteRentabilidad() {
+        return reporteRentabilidad;
+    }
+
+    public Map<String, Object> getEstadisticas() {
+        return estadisticas;
+    }
+
+    public Map<String, Double> getRentabilidadesPorTipo() {
+        return rentabilidadesPorTipo;
+    }
+
+    public String getResumenEjecutivo() {
+        return resumenEjecutivo;
+    }
+
+    public String getProductoMasRentable() {
+        return productoMasRentable;
+    }
+}
\ No newline at end of file
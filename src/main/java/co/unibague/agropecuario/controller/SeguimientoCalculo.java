@@ -0,0 +1,32 @@
+package co.unibague.agropecuario.controller;
+
+/**
+ * Seguimiento de un cálculo largo: recibe el avance y permite cancelarlo.
+ * Los métodos pueden invocarse desde los hilos que ejecutan el cálculo.
+ */
+public interface SeguimientoCalculo {
+
+    /** Seguimiento que ignora el avance y nunca cancela */
+    SeguimientoCalculo NINGUNO = new SeguimientoCalculo() {
+        @Override
+        public void progreso(int porcentaje) {
+        }
+
+        @Override
+        public boolean isCancelado() {
+            return false;
+        }
+    };
+
+    /**
+     * Informa el avance del cálculo
+     * @param porcentaje porcentaje completado, de 0 a 100
+     */
+    void progreso(int porcentaje);
+
+    /**
+     * Indica si el cálculo debe interrumpirse
+     * @return true si se pidió cancelar
+     */
+    boolean isCancelado();
+}
\ No newline at end of file
@@ -0,0 +1,210 @@
+package co.unibague.agropecuario.model.entities;
+
+import co.unibague.agropecuario.utils.Constantes;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Diccionario de valores categóricos (tipo de cultivo, municipio, tipo de terreno...).
+ * <p>
+ * Las entidades guardan un código entero en lugar del texto: todas las que tienen
+ * el mismo valor comparten una sola cadena, y los filtros y agrupaciones comparan
+ * enteros. Cada diccionario empieza con los valores de {@link Constantes} y crece
+ * cuando aparece un valor nuevo; los códigos nunca cambian ni se reutilizan. Como los
+ * diccionarios son compartidos por todo el proceso, su tamaño está acotado
+ * ({@link Constantes#MAX_VALORES_DICCIONARIO} por defecto): un valor nuevo más allá
+ * del límite se rechaza en lugar de retener memoria indefinidamente.
+ * <p>
+ * Además del código exacto, cada valor pertenece a una clase que agrupa las
+ * variantes que solo difieren en mayúsculas ("Café" y "café"), para las búsquedas
+ * que no distinguen mayúsculas. Es seguro para uso concurrente: leer y codificar
+ * valores conocidos no usa cerrojos.
+ */
+public final class Diccionario {
+
+    /** Código de un valor ausente (null) */
+    public static final int SIN_VALOR = -1;
+
+    public static final Diccionario TIPOS_CULTIVO = new Diccionario(Constantes.TIPOS_CULTIVO);
+    public static final Diccionario TIPOS_GANADO = new Diccionario(Constantes.TIPOS_GANADO);
+    public static final Diccionario TIPOS_SUELO = new Diccionario(Constantes.TIPOS_SUELO);
+    public static final Diccionario TEMPORADAS = new Diccionario(Constantes.TEMPORADAS);
+    public static final Diccionario TIPOS_ALIMENTACION = new Diccionario(Constantes.TIPOS_ALIMENTACION);
+    public static final Diccionario MUNICIPIOS = new Diccionario(Constantes.MUNICIPIOS_TOLIMA);
+    public static final Diccionario TIPOS_TERRENO = new Diccionario(Constantes.TIPOS_TERRENO);
+
+    private final int capacidadMaxima;
+    private final Map<String, Integer> codigos;
+    private final Map<String, Integer> clasesPorClave;
+
+    // Arreglos con capacidad de sobra: un valor nuevo se escribe antes de publicar su código
+    private volatile String[] textos;
+    private volatile int[] clases;
+    private volatile int tamanio;
+
+    /**
+     * Constructor del diccionario con el límite por defecto
+     * @param iniciales valores conocidos, que reciben los primeros códigos en orden
+     */
+    public Diccionario(String... iniciales) {
+        this(Constantes.MAX_VALORES_DICCIONARIO, iniciales);
+    }
+
+    /**
+     * Constructor del diccionario
+     * @param capacidadMaxima número máximo de valores distintos
+     * @param iniciales valores conocidos, que reciben los primeros códigos en orden
+     */
+    public Diccionario(int capacidadMaxima, String... iniciales) {
+        if (capacidadMaxima < iniciales.length) {
+            throw new IllegalArgumentException("La capacidad del diccionario no alcanza para sus valores iniciales");
+        }
+        this.capacidadMaxima = capacidadMaxima;
+        this.codigos = new ConcurrentHashMap<>();
+        this.clasesPorClave = new HashMap<>();
+        this.textos = new String[Math.min(Math.max(16, iniciales.length * 2), capacidadMaxima)];
+        this.clases = new int[textos.length];
+        for (String valor : iniciales) {
+            codificar(valor);
+        }
+    }
+
+    /**
+     * Obtiene el código de un valor, agregándolo si es nuevo
+     * @param texto valor a codificar
+     * @return código del valor, o {@link #SIN_VALOR} si es null
+     * @throws IllegalArgumentException si el valor es nuevo y el diccionario está lleno
+     */
+    public int codificar(String texto) {
+        if (texto == null) {
+            return SIN_VALOR;
+        }
+        Integer codigo = codigos.get(texto);
+        return codigo != null ? codigo : agregar(texto);
+    }
+
+    /**
+     * Obtiene el código de un valor sin agregarlo
+     * @param texto valor a buscar
+     * @return código del valor, o {@link #SIN_VALOR} si no está en el diccionario
+     */
+    public int buscar(String texto) {
+        if (texto == null) {
+            return SIN_VALOR;
+        }
+        Integer codigo = codigos.get(texto);
+        return codigo != null ? codigo : SIN_VALOR;
+    }
+
+    /**
+     * Obtiene el texto de un código
+     * @param codigo código del valor
+     * @return texto compartido del valor, o null para {@link #SIN_VALOR}
+     */
+    public String texto(int codigo) {
+        return codigo == SIN_VALOR ? null : textos[codigo];
+    }
+
+    /**
+     * Obtiene la instancia compartida de un valor, agregándolo si es nuevo
+     * @param texto valor a buscar
+     * @return cadena guardada en el diccionario, igual a la dada, o null si es null
+     * @throws IllegalArgumentException si el valor es nuevo y el diccionario está lleno
+     */
+    public String compartido(String texto) {
+        return texto(codificar(texto));
+    }
+
+    /**
+     * Obtiene la clase de un código: los valores iguales sin distinguir mayúsculas
+     * tienen la misma clase
+     * @param codigo código del valor
+     * @return clase del valor, o {@link #SIN_VALOR} para {@link #SIN_VALOR}
+     */
+    public int clase(int codigo) {
+        return codigo == SIN_VALOR ? SIN_VALOR : clases[codigo];
+    }
+
+    /**
+     * Obtiene la clase de un valor sin distinguir mayúsculas, sin agregarlo
+     * @param texto valor a buscar
+     * @return clase del valor, o {@link #SIN_VALOR} si ninguna variante está en el diccionario
+     */
+    public int buscarClase(String texto) {
+        if (texto == null) {
+            return SIN_VALOR;
+        }
+        synchronized (clasesPorClave) {
+            Integer clase = clasesPorClave.get(normalizar(texto));
+            return clase != null ? clase : SIN_VALOR;
+        }
+    }
+
+    /**
+     * Crea un filtro de códigos cuyo texto contiene el dado, sin distinguir mayúsculas.
+     * Las minúsculas siguen el idioma del sistema, como los filtros de texto de los
+     * controladores. El texto se compara una vez por valor distinto del diccionario,
+     * no por registro.
+     * @param texto texto a buscar
+     * @return predicado sobre códigos, falso para {@link #SIN_VALOR}
+     */
+    public IntPredicate contiene(String texto) {
+        String clave = texto.toLowerCase();
+        int total = tamanio;
+        String[] valores = textos;
+        BitSet coincidencias = new BitSet(total);
+        for (int codigo = 0; codigo < total; codigo++) {
+            if (valores[codigo].toLowerCase().contains(clave)) {
+                coincidencias.set(codigo);
+            }
+        }
+        return codigo -> codigo != SIN_VALOR && coincidencias.get(codigo);
+    }
+
+    /**
+     * Obtiene el número de valores distintos
+     * @return tamaño del diccionario
+     */
+    public int tamanio() {
+        return tamanio;
+    }
+
+    private synchronized int agregar(String texto) {
+        Integer existente = codigos.get(texto);
+        if (existente != null) {
+            return existente; // Otro hilo lo agregó primero
+        }
+
+        int codigo = tamanio;
+        if (codigo == capacidadMaxima) {
+            throw new IllegalArgumentException("Se alcanzó el máximo de " + capacidadMaxima
+                    + " valores distintos; no se puede registrar \"" + texto + "\"");
+        }
+        if (codigo == textos.length) {
+            int capacidad = Math.min(codigo * 2, capacidadMaxima);
+            textos = Arrays.copyOf(textos, capacidad);
+            clases = Arrays.copyOf(clases, capacidad);
+        }
+        synchronized (clasesPorClave) {
+            clases[codigo] = clasesPorClave.computeIfAbsent(normalizar(texto), k -> clasesPorClave.size());
+        }
+        textos[codigo] = texto;
+        tamanio = codigo + 1;
+        codigos.put(texto, codigo);
+        return codigo;
+    }
+
+    /**
+     * Clave de la clase de un valor: independiente del idioma del sistema, para que
+     * las agrupaciones no cambien según dónde se ejecute la aplicación
+     */
+    private static String normalizar(String texto) {
+        return texto.toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -3,19 +3,23 @@ package co.unibague.agropecuario.model.entities;
 /**
  * Clase que representa las fincas asociadas a los productos agrícolas.
  * Implementa el principio de Single Responsibility.
+ * <p>
+ * Igual que los productos, una finca guardada en el controlador queda congelada
+ * y sus setters lanzan {@link IllegalStateException}; se modifica una {@link #copia()}.
  */
 public class Finca {
 
     private String codigo;
     private String nombreFinca;
     private String propietario;
-    private String municipio;
+    private int codigoMunicipio = Diccionario.SIN_VALOR;
     private String vereda;
     private double areaTotal;
-    private String tipoTerreno;
+    private int codigoTipoTerreno = Diccionario.SIN_VALOR;
     private String infraestructura;
     private String telefono;
     private String email;
+    private boolean congelado;
 
     /**
      * Constructor completo para Finca
@@ -26,10 +30,10 @@ public class Finca {
         this.codigo = codigo;
         this.nombreFinca = nombreFinca;
         this.propietario = propietario;
-        this.municipio = municipio;
+        this.codigoMunicipio = Diccionario.MUNICIPIOS.codificar(municipio);
         this.vereda = vereda;
         this.areaTotal = areaTotal;
-        this.tipoTerreno = tipoTerreno;
+        this.codigoTipoTerreno = Diccionario.TIPOS_TERRENO.codificar(tipoTerreno);
         this.infraestructura = infraestructura;
     }
 
@@ -37,8 +41,8 @@ public class Finca {
      * Constructor por defecto
      */
     public Finca() {
-        this.municipio = "Ibagué";
-        this.tipoTerreno = "Plano";
+        this.codigoMunicipio = Diccionario.MUNICIPIOS.codificar("Ibagué");
+        this.codigoTipoTerreno = Diccionario.TIPOS_TERRENO.codificar("Plano");
         this.infraestructura = "Básica";
     }
 
@@ -63,12 +67,46 @@ public class Finca {
      * @return código de ubicación
      */
     public String generarCodigoUbicacion() {
+        String municipio = getMunicipio();
         String municipioCode = municipio.substring(0, Math.min(3, municipio.length())).toUpperCase();
         String veredaCode = vereda != null && !vereda.isEmpty() ?
                 vereda.substring(0, Math.min(3, vereda.length())).toUpperCase() : "GEN";
         return municipioCode + "-" + veredaCode + "-" + codigo;
     }
 
+    /**
+     * Crea una copia modificable de la finca, aunque esta esté congelada
+     * @return copia con los mismos datos
+     */
+    public Finca copia() {
+        Finca copia = new Finca(codigo, nombreFinca, propietario, getMunicipio(), vereda,
+                areaTotal, getTipoTerreno(), infraestructura);
+        copia.telefono = telefono;
+        copia.email = email;
+        return copia;
+    }
+
+    /**
+     * Hace la finca de solo lectura; no se puede revertir
+     */
+    public void congelar() {
+        this.congelado = true;
+    }
+
+    /**
+     * Indica si la finca es de solo lectura
+     * @return true si está congelada
+     */
+    public boolean isCongelado() {
+        return congelado;
+    }
+
+    private void verificarModificable() {
+        if (congelado) {
+            throw new IllegalStateException("La finca " + codigo + " es de solo lectura: modifique una copia");
+        }
+    }
+
     /**
      * Verifica si tiene infraestructura de riego
      * @return true si tiene sistema de riego
@@ -80,39 +118,41 @@ public class Finca {
 
     // Getters y Setters
     public String getCodigo() { return codigo; }
-    public void setCodigo(String codigo) { this.codigo = codigo; }
+    public void setCodigo(String codigo) { verificarModificable(); this.codigo = codigo; }
 
     public String getNombreFinca() { return nombreFinca; }
-    public void setNombreFinca(String nombreFinca) { this.nombreFinca = nombreFinca; }
+    public void setNombreFinca(String nombreFinca) { verificarModificable(); this.nombreFinca = nombreFinca; }
 
     public String getPropietario() { return propietario; }
-    public void setPropietario(String propietario) { this.propietario = propietario; }
+    public void setPropietario(String propietario) { verificarModificable(); this.propietario = propietario; }
 
-    public String getMunicipio() { return municipio; }
-    public void setMunicipio(String municipio) { this.municipio = municipio; }
+    public String getMunicipio() { return Diccionario.MUNICIPIOS.texto(codigoMunicipio); }
+    public int getCodigoMunicipio() { return codigoMunicipio; }
+    public void setMunicipio(String municipio) { verificarModificable(); this.codigoMunicipio = Diccionario.MUNICIPIOS.codificar(municipio); }
 
     public String getVereda() { return vereda; }
-    public void setVereda(String vereda) { this.vereda = vereda; }
+    public void setVereda(String vereda) { verificarModificable(); this.vereda = vereda; }
 
     public double getAreaTotal() { return areaTotal; }
-    public void setAreaTotal(double areaTotal) { this.areaTotal = areaTotal; }
+    public void setAreaTotal(double areaTotal) { verificarModificable(); this.areaTotal = areaTotal; }
 
-    public String getTipoTerreno() { return tipoTerreno; }
-    public void setTipoTerreno(String tipoTerreno) { this.tipoTerreno = tipoTerreno; }
+    public String getTipoTerreno() { return Diccionario.TIPOS_TERRENO.texto(codigoTipoTerreno); }
+    public int getCodigoTipoTerreno() { return codigoTipoTerreno; }
+    public void setTipoTerreno(String tipoTerreno) { verificarModificable(); this.codigoTipoTerreno = Diccionario.TIPOS_TERRENO.codificar(tipoTerreno); }
 
     public String getInfraestructura() { return infraestructura; }
-    public void setInfraestructura(String infraestructura) { this.infraestructura = infraestructura; }
+    public void setInfraestructura(String infraestructura) { verificarModificable(); this.infraestructura = infraestructura; }
 
     public String getTelefono() { return telefono; }
-    public void setTelefono(String telefono) { this.telefono = telefono; }
+    public void setTelefono(String telefono) { verificarModificable(); this.telefono = telefono; }
 
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) { verificarModificable(); this.email = email; }
 
     @Override
     public String toString() {
         return String.format("Finca: %s (%s) | Propietario: %s | Municipio: %s | Área: %.2f ha | Terreno: %s",
-                nombreFinca, codigo, propietario, municipio, areaTotal, tipoTerreno);
+                nombreFinca, codigo, propietario, getMunicipio(), areaTotal, getTipoTerreno());
     }
 
     @Override
@@ -9,11 +9,11 @@ import java.time.LocalDate;
  */
 public class ProductoAgricola extends ProductoAgropecuario {
 
-    private String tipoSuelo;
-    private String temporada;
+    private int codigoTipoSuelo = Diccionario.SIN_VALOR;
+    private int codigoTemporada = Diccionario.SIN_VALOR;
     private double hectareasCultivadas;
     private double rendimientoPorHa;
-    private String tipoCultivo;
+    private int codigoTipoCultivo = Diccionario.SIN_VALOR;
     private String codigoFinca;
 
     /**
@@ -25,11 +25,11 @@ public class ProductoAgricola extends ProductoAgropecuario {
                             double hectareasCultivadas, double rendimientoPorHa,
                             String tipoCultivo) {
         super(id, nombre, fechaProduccion, costoProduccion, cantidadProducida, precioVenta);
-        this.tipoSuelo = tipoSuelo;
-        this.temporada = temporada;
+        this.codigoTipoSuelo = Diccionario.TIPOS_SUELO.codificar(tipoSuelo);
+        this.codigoTemporada = Diccionario.TEMPORADAS.codificar(temporada);
         this.hectareasCultivadas = hectareasCultivadas;
         this.rendimientoPorHa = rendimientoPorHa;
-        this.tipoCultivo = tipoCultivo;
+        this.codigoTipoCultivo = Diccionario.TIPOS_CULTIVO.codificar(tipoCultivo);
     }
 
     /**
@@ -37,8 +37,8 @@ public class ProductoAgricola extends ProductoAgropecuario {
      */
     public ProductoAgricola() {
         super();
-        this.temporada = "Todo el año";
-        this.tipoSuelo = "Franco";
+        this.codigoTemporada = Diccionario.TEMPORADAS.codificar("Todo el año");
+        this.codigoTipoSuelo = Diccionario.TIPOS_SUELO.codificar("Franco");
     }
 
     /**
@@ -47,10 +47,10 @@ public class ProductoAgricola extends ProductoAgropecuario {
      * @return rentabilidad calculada en pesos por hectárea
      */
     @Override
-    public double calcularRentabilidad() {
+    protected double evaluarRentabilidad() {
         if (hectareasCultivadas == 0) return 0;
 
-        double ingresoTotal = calcularIngresoTotal();
+        double ingresoTotal = cantidadProducida * precioVenta;
         double costoTotal = costoProduccion * hectareasCultivadas;
         double utilidadNeta = ingresoTotal - costoTotal;
 
@@ -58,6 +58,15 @@ public class ProductoAgricola extends ProductoAgropecuario {
         return utilidadNeta / hectareasCultivadas;
     }
 
+    @Override
+    public ProductoAgricola copia() {
+        ProductoAgricola copia = new ProductoAgricola(id, nombre, fechaProduccion, costoProduccion,
+                cantidadProducida, precioVenta, getTipoSuelo(), getTemporada(),
+                hectareasCultivadas, rendimientoPorHa, getTipoCultivo());
+        copia.codigoFinca = codigoFinca;
+        return copia;
+    }
+
     /**
      * Calcula la producción total basada en hectáreas y rendimiento
      * @return producción total esperada
@@ -80,32 +89,40 @@ public class ProductoAgricola extends ProductoAgropecuario {
      * @return true si está en temporada alta
      */
     public boolean esTemporadaAlta() {
+        String temporada = getTemporada();
         return temporada.toLowerCase().contains("alta") ||
                 temporada.toLowerCase().contains("seca");
     }
 
     // Getters y Setters específicos
-    public String getTipoSuelo() { return tipoSuelo; }
-    public void setTipoSuelo(String tipoSuelo) { this.tipoSuelo = tipoSuelo; }
+    public String getTipoSuelo() { return Diccionario.TIPOS_SUELO.texto(codigoTipoSuelo); }
+    public int getCodigoTipoSuelo() { return codigoTipoSuelo; }
+    public void setTipoSuelo(String tipoSuelo) { verificarModificable(); this.codigoTipoSuelo = Diccionario.TIPOS_SUELO.codificar(tipoSuelo); }
 
-    public String getTemporada() { return temporada; }
-    public void setTemporada(String temporada) { this.temporada = temporada; }
+    public String getTemporada() { return Diccionario.TEMPORADAS.texto(codigoTemporada); }
+    public int getCodigoTemporada() { return codigoTemporada; }
+    public void setTemporada(String temporada) { verificarModificable(); this.codigoTemporada = Diccionario.TEMPORADAS.codificar(temporada); }
 
     public double getHectareasCultivadas() { return hectareasCultivadas; }
-    public void setHectareasCultivadas(double hectareasCultivadas) { this.hectareasCultivadas = hectareasCultivadas; }
+    public void setHectareasCultivadas(double hectareasCultivadas) {
+        verificarModificable();
+        this.hectareasCultivadas = hectareasCultivadas;
+        invalidarMetricas();
+    }
 
     public double getRendimientoPorHa() { return rendimientoPorHa; }
-    public void setRendimientoPorHa(double rendimientoPorHa) { this.rendimientoPorHa = rendimientoPorHa; }
+    public void setRendimientoPorHa(double rendimientoPorHa) { verificarModificable(); this.rendimientoPorHa = rendimientoPorHa; }
 
-    public String getTipoCultivo() { return tipoCultivo; }
-    public void setTipoCultivo(String tipoCultivo) { this.tipoCultivo = tipoCultivo; }
+    public String getTipoCultivo() { return Diccionario.TIPOS_CULTIVO.texto(codigoTipoCultivo); }
+    public int getCodigoTipoCultivo() { return codigoTipoCultivo; }
+    public void setTipoCultivo(String tipoCultivo) { verificarModificable(); this.codigoTipoCultivo = Diccionario.TIPOS_CULTIVO.codificar(tipoCultivo); }
 
     public String getCodigoFinca() { return codigoFinca; }
-    public void setCodigoFinca(String codigoFinca) { this.codigoFinca = codigoFinca; }
+    public void setCodigoFinca(String codigoFinca) { verificarModificable(); this.codigoFinca = codigoFinca; }
 
     @Override
     public String toString() {
         return super.toString() + String.format(" | Tipo: %s | Hectáreas: %.2f | Rendimiento: %.2f ton/ha | Suelo: %s",
-                tipoCultivo, hectareasCultivadas, rendimientoPorHa, tipoSuelo);
+                getTipoCultivo(), hectareasCultivadas, rendimientoPorHa, getTipoSuelo());
     }
 }
\ No newline at end of file
@@ -6,6 +6,16 @@ import java.time.format.DateTimeFormatter;
 /**
  * Clase abstracta que representa la base de todos los productos agropecuarios.
  * Implementa los principios SOLID: Single Responsibility y Open/Closed.
+ * <p>
+ * La rentabilidad, el margen y el ingreso total se calculan una vez y se guardan
+ * hasta que un setter modifica un campo del que dependen; las subclases llaman a
+ * {@link #invalidarMetricas()} en sus propios setters con ese fin.
+ * <p>
+ * Al guardarse en un controlador el producto se congela ({@link #congelar()}) y sus
+ * setters lanzan {@link IllegalStateException}: las instancias almacenadas se
+ * comparten entre listados, cachés y cálculos en paralelo sin copiarlas. Para
+ * modificar un producto guardado se edita una {@link #copia()} y se pasa a
+ * {@code actualizar}.
  */
 public abstract class ProductoAgropecuario {
 
@@ -16,6 +26,11 @@ public abstract class ProductoAgropecuario {
     protected double cantidadProducida;
     protected double precioVenta;
 
+    // Cada cambio de un campo de las métricas incrementa la versión y deja vencidas las guardadas
+    private volatile int versionCampos;
+    private volatile Metricas metricas;
+    private boolean congelado;
+
     /**
      * Constructor base para productos agropecuarios
      */
@@ -40,45 +55,138 @@ public abstract class ProductoAgropecuario {
     /**
      * Método abstracto para calcular la rentabilidad específica de cada tipo de producto.
      * Implementa polimorfismo permitiendo que cada subclase defina su propia lógica.
+     * No debe usar las métricas guardadas ({@link #calcularIngresoTotal()}...), pues
+     * se invoca justamente cuando están vencidas.
+     * @return valor de rentabilidad calculado según el tipo de producto
+     */
+    protected abstract double evaluarRentabilidad();
+
+    /**
+     * Obtiene la rentabilidad del producto, calculándola solo si cambió algún dato
      * @return valor de rentabilidad calculado según el tipo de producto
      */
-    public abstract double calcularRentabilidad();
+    public final double calcularRentabilidad() {
+        return obtenerMetricas().rentabilidad;
+    }
 
     /**
      * Calcula el margen de ganancia básico
      * @return margen de ganancia en porcentaje
      */
-    public double calcularMargenGanancia() {
-        if (costoProduccion == 0) return 0;
-        return ((precioVenta - costoProduccion) / costoProduccion) * 100;
+    public final double calcularMargenGanancia() {
+        return obtenerMetricas().margenGanancia;
     }
 
     /**
      * Calcula el ingreso total basado en cantidad producida y precio
      * @return ingreso total
      */
-    public double calcularIngresoTotal() {
-        return cantidadProducida * precioVenta;
+    public final double calcularIngresoTotal() {
+        return obtenerMetricas().ingresoTotal;
+    }
+
+    /**
+     * Recalcula las métricas si están vencidas. Permite calcularlas por adelantado
+     * (por ejemplo en paralelo sobre todo el catálogo) para que las lecturas
+     * posteriores no hagan ningún cálculo.
+     * @return true si hubo que recalcularlas
+     */
+    public boolean actualizarMetricas() {
+        Metricas actuales = metricas;
+        if (actuales != null && actuales.version == versionCampos) {
+            return false;
+        }
+        recalcularMetricas();
+        return true;
+    }
+
+    /**
+     * Marca como vencidas las métricas guardadas. Lo llaman los setters de los
+     * campos que intervienen en la rentabilidad, el margen o el ingreso.
+     */
+    protected void invalidarMetricas() {
+        versionCampos++;
+    }
+
+    /**
+     * Crea una copia modificable del producto, aunque este esté congelado
+     * @return copia con los mismos datos
+     */
+    public abstract ProductoAgropecuario copia();
+
+    /**
+     * Hace el producto de solo lectura; no se puede revertir
+     */
+    public void congelar() {
+        this.congelado = true;
+    }
+
+    /**
+     * Indica si el producto es de solo lectura
+     * @return true si está congelado
+     */
+    public boolean isCongelado() {
+        return congelado;
+    }
+
+    /**
+     * Verifica que el producto se pueda modificar. Lo llaman todos los setters.
+     * @throws IllegalStateException si el producto está congelado
+     */
+    protected void verificarModificable() {
+        if (congelado) {
+            throw new IllegalStateException("El producto " + id + " es de solo lectura: modifique una copia");
+        }
+    }
+
+    private Metricas obtenerMetricas() {
+        Metricas actuales = metricas;
+        if (actuales != null && actuales.version == versionCampos) {
+            return actuales;
+        }
+        return recalcularMetricas();
+    }
+
+    private Metricas recalcularMetricas() {
+        // La versión se lee antes de calcular: si un setter interviene, el resultado
+        // queda con la versión anterior y la siguiente lectura vuelve a calcular
+        int version = versionCampos;
+        double margen = costoProduccion == 0 ? 0 : ((precioVenta - costoProduccion) / costoProduccion) * 100;
+        Metricas nuevas = new Metricas(version, evaluarRentabilidad(), margen, cantidadProducida * precioVenta);
+        metricas = nuevas;
+        return nuevas;
     }
 
     // Getters y Setters
     public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public void setId(String id) { verificarModificable(); this.id = id; }
 
     public String getNombre() { return nombre; }
-    public void setNombre(String nombre) { this.nombre = nombre; }
+    public void setNombre(String nombre) { verificarModificable(); this.nombre = nombre; }
 
     public LocalDate getFechaProduccion() { return fechaProduccion; }
-    public void setFechaProduccion(LocalDate fechaProduccion) { this.fechaProduccion = fechaProduccion; }
+    public void setFechaProduccion(LocalDate fechaProduccion) { verificarModificable(); this.fechaProduccion = fechaProduccion; }
 
     public double getCostoProduccion() { return costoProduccion; }
-    public void setCostoProduccion(double costoProduccion) { this.costoProduccion = costoProduccion; }
+    public void setCostoProduccion(double costoProduccion) {
+        verificarModificable();
+        this.costoProduccion = costoProduccion;
+        invalidarMetricas();
+    }
 
     public double getCantidadProducida() { return cantidadProducida; }
-    public void setCantidadProducida(double cantidadProducida) { this.cantidadProducida = cantidadProducida; }
+    public void setCantidadProducida(double cantidadProducida) {
+        verificarModificable();
+        this.cantidadProducida = cantidadProducida;
+        invalidarMetricas();
+    }
 
     public double getPrecioVenta() { return precioVenta; }
-    public void setPrecioVenta(double precioVenta) { this.precioVenta = precioVenta; }
+    public void setPrecioVenta(double precioVenta) {
+        verificarModificable();
+        this.precioVenta = precioVenta;
+        invalidarMetricas();
+    }
 
     @Override
     public String toString() {
@@ -100,4 +208,21 @@ public abstract class ProductoAgropecuario {
     public int hashCode() {
         return id != null ? id.hashCode() : 0;
     }
+
+    /**
+     * Métricas calculadas con una versión de los campos
+     */
+    private static final class Metricas {
+        private final int version;
+        private final double rentabilidad;
+        private final double margenGanancia;
+        private final double ingresoTotal;
+
+        private Metricas(int version, double rentabilidad, double margenGanancia, double ingresoTotal) {
+            this.version = version;
+            this.rentabilidad = rentabilidad;
+            this.margenGanancia = margenGanancia;
+            this.ingresoTotal = ingresoTotal;
+        }
+    }
 }
\ No newline at end of file
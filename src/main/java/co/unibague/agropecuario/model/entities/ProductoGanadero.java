@@ -12,11 +12,11 @@ import java.util.List;
  */
 public class ProductoGanadero extends ProductoAgropecuario implements IAplicable {
 
-    private String tipoGanado;
+    private int codigoTipoGanado = Diccionario.SIN_VALOR;
     private int numeroAnimales;
     private double pesoPromedio;
     private double produccionDiaria;
-    private String tipoAlimentacion;
+    private int codigoTipoAlimentacion = Diccionario.SIN_VALOR;
     private List<String> aplicacionesRealizadas;
     private boolean estadoAplicacion;
 
@@ -29,11 +29,11 @@ public class ProductoGanadero extends ProductoAgropecuario implements IAplicable
                             double pesoPromedio, double produccionDiaria,
                             String tipoAlimentacion) {
         super(id, nombre, fechaProduccion, costoProduccion, cantidadProducida, precioVenta);
-        this.tipoGanado = tipoGanado;
+        this.codigoTipoGanado = Diccionario.TIPOS_GANADO.codificar(tipoGanado);
         this.numeroAnimales = numeroAnimales;
         this.pesoPromedio = pesoPromedio;
         this.produccionDiaria = produccionDiaria;
-        this.tipoAlimentacion = tipoAlimentacion;
+        this.codigoTipoAlimentacion = Diccionario.TIPOS_ALIMENTACION.codificar(tipoAlimentacion);
         this.aplicacionesRealizadas = new ArrayList<>();
         this.estadoAplicacion = true;
     }
@@ -45,7 +45,7 @@ public class ProductoGanadero extends ProductoAgropecuario implements IAplicable
         super();
         this.aplicacionesRealizadas = new ArrayList<>();
         this.estadoAplicacion = true;
-        this.tipoAlimentacion = "Pastoreo";
+        this.codigoTipoAlimentacion = Diccionario.TIPOS_ALIMENTACION.codificar("Pastoreo");
     }
 
     /**
@@ -54,7 +54,7 @@ public class ProductoGanadero extends ProductoAgropecuario implements IAplicable
      * @return rentabilidad calculada por animal por mes
      */
     @Override
-    public double calcularRentabilidad() {
+    protected double evaluarRentabilidad() {
         if (numeroAnimales == 0) return 0;
 
         // Calcular ingresos mensuales (30 días)
@@ -70,6 +70,16 @@ public class ProductoGanadero extends ProductoAgropecuario implements IAplicable
         return utilidadNeta / numeroAnimales;
     }
 
+    @Override
+    public ProductoGanadero copia() {
+        ProductoGanadero copia = new ProductoGanadero(id, nombre, fechaProduccion, costoProduccion,
+                cantidadProducida, precioVenta, getTipoGanado(), numeroAnimales,
+                pesoPromedio, produccionDiaria, getTipoAlimentacion());
+        copia.aplicacionesRealizadas.addAll(aplicacionesRealizadas);
+        copia.estadoAplicacion = estadoAplicacion;
+        return copia;
+    }
+
     /**
      * Calcula el peso total del ganado
      * @return peso total en kilogramos
@@ -98,11 +108,13 @@ public class ProductoGanadero extends ProductoAgropecuario implements IAplicable
     // Implementación de IAplicable
     @Override
     public boolean aplicar() {
+        verificarModificable();
         if (puedeRecibirAplicacion()) {
             String nuevaAplicacion = "Aplicación realizada en: " + LocalDate.now();
             aplicacionesRealizadas.add(nuevaAplicacion);
 
             // Simular proceso de aplicación
+            String tipoGanado = getTipoGanado();
             if (tipoGanado.toLowerCase().contains("bovino")) {
                 aplicacionesRealizadas.add("Vacuna antiaftosa aplicada");
             } else if (tipoGanado.toLowerCase().contains("porcino")) {
@@ -138,29 +150,40 @@ public class ProductoGanadero extends ProductoAgropecuario implements IAplicable
     }
 
     // Getters y Setters específicos
-    public String getTipoGanado() { return tipoGanado; }
-    public void setTipoGanado(String tipoGanado) { this.tipoGanado = tipoGanado; }
+    public String getTipoGanado() { return Diccionario.TIPOS_GANADO.texto(codigoTipoGanado); }
+    public int getCodigoTipoGanado() { return codigoTipoGanado; }
+    public void setTipoGanado(String tipoGanado) { verificarModificable(); this.codigoTipoGanado = Diccionario.TIPOS_GANADO.codificar(tipoGanado); }
 
     public int getNumeroAnimales() { return numeroAnimales; }
-    public void setNumeroAnimales(int numeroAnimales) { this.numeroAnimales = numeroAnimales; }
+    public void setNumeroAnimales(int numeroAnimales) {
+        verificarModificable();
+        this.numeroAnimales = numeroAnimales;
+        invalidarMetricas();
+    }
 
     public double getPesoPromedio() { return pesoPromedio; }
-    public void setPesoPromedio(double pesoPromedio) { this.pesoPromedio = pesoPromedio; }
+    public void setPesoPromedio(double pesoPromedio) { verificarModificable(); this.pesoPromedio = pesoPromedio; }
 
     public double getProduccionDiaria() { return produccionDiaria; }
-    public void setProduccionDiaria(double produccionDiaria) { this.produccionDiaria = produccionDiaria; }
+    public void setProduccionDiaria(double produccionDiaria) {
+        verificarModificable();
+        this.produccionDiaria = produccionDiaria;
+        invalidarMetricas();
+    }
 
-    public String getTipoAlimentacion() { return tipoAlimentacion; }
-    public void setTipoAlimentacion(String tipoAlimentacion) { this.tipoAlimentacion = tipoAlimentacion; }
+    public String getTipoAlimentacion() { return Diccionario.TIPOS_ALIMENTACION.texto(codigoTipoAlimentacion); }
+    public int getCodigoTipoAlimentacion() { return codigoTipoAlimentacion; }
+    public void setTipoAlimentacion(String tipoAlimentacion) { verificarModificable(); this.codigoTipoAlimentacion = Diccionario.TIPOS_ALIMENTACION.codificar(tipoAlimentacion); }
 
     public List<String> getAplicacionesRealizadas() { return new ArrayList<>(aplicacionesRealizadas); }
+    public void setAplicacionesRealizadas(List<String> aplicacionesRealizadas) { verificarModificable(); this.aplicacionesRealizadas = new ArrayList<>(aplicacionesRealizadas); }
 
     public boolean isEstadoAplicacion() { return estadoAplicacion; }
-    public void setEstadoAplicacion(boolean estadoAplicacion) { this.estadoAplicacion = estadoAplicacion; }
+    public void setEstadoAplicacion(boolean estadoAplicacion) { verificarModificable(); this.estadoAplicacion = estadoAplicacion; }
 
     @Override
     public String toString() {
         return super.toString() + String.format(" | Tipo: %s | Animales: %d | Peso promedio: %.2f kg | Producción diaria: %.2f | Alimentación: %s",
-                tipoGanado, numeroAnimales, pesoPromedio, produccionDiaria, tipoAlimentacion);
+                getTipoGanado(), numeroAnimales, pesoPromedio, produccionDiaria, getTipoAlimentacion());
     }
 }
\ No newline at end of file
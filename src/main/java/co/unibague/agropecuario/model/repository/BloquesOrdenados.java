@@ -0,0 +1,227 @@
+package co.unibague.agropecuario.model.repository;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Secuencia de entidades en orden de inserción, guardada en bloques de tamaño fijo
+ * que se comparten con las vistas publicadas ({@link VistaVersionada}).
+ * <p>
+ * Cada entidad se ubica por un número de secuencia creciente. Tomar una vista
+ * copia solo el directorio de bloques; después, el primer cambio sobre un bloque
+ * compartido lo copia (copia en escritura) y los siguientes cambios del mismo
+ * bloque se hacen en el lugar. Agregar al final no toca las posiciones visibles
+ * para las vistas, así que tampoco requiere copia.
+ * <p>
+ * No es segura para hilos: el repositorio la usa siempre bajo su cerrojo.
+ * @param <T> tipo de entidad
+ */
+class BloquesOrdenados<T> {
+
+    static final int TAMANIO_BLOQUE = 1024;
+    private static final int BLOQUES_INICIALES = 8;
+
+    private Object[][] bloques;
+    private long[][] secuencias;
+    private int[] cuentas;
+    private long[] generaciones;
+    private int numBloques;
+    private int tamanio;
+
+    // Aumenta cada vez que se publica una vista: un bloque con una generación
+    // anterior puede estar referenciado por una vista y debe copiarse antes de cambiarlo
+    private long generacion;
+    private long siguienteSecuencia;
+
+    BloquesOrdenados() {
+        this.bloques = new Object[BLOQUES_INICIALES][];
+        this.secuencias = new long[BLOQUES_INICIALES][];
+        this.cuentas = new int[BLOQUES_INICIALES];
+        this.generaciones = new long[BLOQUES_INICIALES];
+    }
+
+    /**
+     * Agrega una entidad al final
+     * @param elemento entidad a agregar
+     * @return número de secuencia asignado
+     */
+    long agregar(T elemento) {
+        int ultimo = numBloques - 1;
+        if (ultimo < 0 || cuentas[ultimo] == TAMANIO_BLOQUE) {
+            ultimo = nuevoBloque();
+        }
+        long secuencia = siguienteSecuencia++;
+        int posicion = cuentas[ultimo]++;
+        bloques[ultimo][posicion] = elemento;
+        secuencias[ultimo][posicion] = secuencia;
+        tamanio++;
+        return secuencia;
+    }
+
+    /**
+     * Reemplaza la entidad con la secuencia dada
+     * @param secuencia número de secuencia de la entidad
+     * @param elemento nueva entidad
+     */
+    void reemplazar(long secuencia, T elemento) {
+        int bloque = buscarBloque(secuencia);
+        int posicion = buscarPosicion(bloque, secuencia);
+        poseer(bloque)[posicion] = elemento;
+    }
+
+    /**
+     * Quita la entidad con la secuencia dada
+     * @param secuencia número de secuencia de la entidad
+     */
+    void eliminar(long secuencia) {
+        int bloque = buscarBloque(secuencia);
+        int posicion = buscarPosicion(bloque, secuencia);
+        Object[] elementos = poseer(bloque);
+        long[] secuenciasBloque = secuencias[bloque];
+        int cuenta = cuentas[bloque];
+
+        System.arraycopy(elementos, posicion + 1, elementos, posicion, cuenta - posicion - 1);
+        System.arraycopy(secuenciasBloque, posicion + 1, secuenciasBloque, posicion, cuenta - posicion - 1);
+        elementos[cuenta - 1] = null;
+        cuentas[bloque] = cuenta - 1;
+        tamanio--;
+
+        if (cuenta == 1) {
+            quitarBloque(bloque);
+        } else if (numBloques > BLOQUES_INICIALES && tamanio < numBloques * (TAMANIO_BLOQUE / 4)) {
+            // Tras muchas eliminaciones quedan bloques casi vacíos: se reagrupan
+            compactar();
+        }
+    }
+
+    /**
+     * Recorre las entidades en orden de inserción
+     * @param accion acción a ejecutar con cada entidad
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super T> accion) {
+        for (int k = 0; k < numBloques; k++) {
+            Object[] elementos = bloques[k];
+            for (int j = 0; j < cuentas[k]; j++) {
+                accion.accept((T) elementos[j]);
+            }
+        }
+    }
+
+    /**
+     * Publica una vista inmutable del contenido actual
+     * @param version versión del repositorio que representa la vista
+     * @return vista que comparte los bloques actuales
+     */
+    VistaVersionada<T> publicar(long version) {
+        generacion++;
+        return new VistaVersionada<>(Arrays.copyOf(bloques, numBloques), Arrays.copyOf(cuentas, numBloques), version);
+    }
+
+    int tamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Obtiene el número de bloques en uso
+     * @return número de bloques
+     */
+    int numeroBloques() {
+        return numBloques;
+    }
+
+    /**
+     * Obtiene el bloque para modificarlo, copiándolo si puede estar compartido con una vista
+     */
+    private Object[] poseer(int bloque) {
+        if (generaciones[bloque] != generacion) {
+            bloques[bloque] = bloques[bloque].clone();
+            generaciones[bloque] = generacion;
+        }
+        return bloques[bloque];
+    }
+
+    private int nuevoBloque() {
+        if (numBloques == bloques.length) {
+            int capacidad = numBloques * 2;
+            bloques = Arrays.copyOf(bloques, capacidad);
+            secuencias = Arrays.copyOf(secuencias, capacidad);
+            cuentas = Arrays.copyOf(cuentas, capacidad);
+            generaciones = Arrays.copyOf(generaciones, capacidad);
+        }
+        int bloque = numBloques++;
+        bloques[bloque] = new Object[TAMANIO_BLOQUE];
+        secuencias[bloque] = new long[TAMANIO_BLOQUE];
+        cuentas[bloque] = 0;
+        generaciones[bloque] = generacion;
+        return bloque;
+    }
+
+    private void quitarBloque(int bloque) {
+        int siguientes = numBloques - bloque - 1;
+        System.arraycopy(bloques, bloque + 1, bloques, bloque, siguientes);
+        System.arraycopy(secuencias, bloque + 1, secuencias, bloque, siguientes);
+        System.arraycopy(cuentas, bloque + 1, cuentas, bloque, siguientes);
+        System.arraycopy(generaciones, bloque + 1, generaciones, bloque, siguientes);
+        numBloques--;
+        bloques[numBloques] = null;
+        secuencias[numBloques] = null;
+    }
+
+    /**
+     * Reagrupa las entidades en bloques llenos. Los bloques nuevos no están
+     * compartidos; los anteriores siguen intactos para las vistas que los usan.
+     */
+    private void compactar() {
+        int nuevosBloques = (tamanio + TAMANIO_BLOQUE - 1) / TAMANIO_BLOQUE;
+        Object[][] bloquesCompactos = new Object[Math.max(BLOQUES_INICIALES, nuevosBloques)][];
+        long[][] secuenciasCompactas = new long[bloquesCompactos.length][];
+        int[] cuentasCompactas = new int[bloquesCompactos.length];
+
+        int destino = -1;
+        for (int k = 0; k < numBloques; k++) {
+            for (int j = 0; j < cuentas[k]; j++) {
+                if (destino < 0 || cuentasCompactas[destino] == TAMANIO_BLOQUE) {
+                    destino++;
+                    bloquesCompactos[destino] = new Object[TAMANIO_BLOQUE];
+                    secuenciasCompactas[destino] = new long[TAMANIO_BLOQUE];
+                }
+                int posicion = cuentasCompactas[destino]++;
+                bloquesCompactos[destino][posicion] = bloques[k][j];
+                secuenciasCompactas[destino][posicion] = secuencias[k][j];
+            }
+        }
+
+        bloques = bloquesCompactos;
+        secuencias = secuenciasCompactas;
+        cuentas = cuentasCompactas;
+        generaciones = new long[bloquesCompactos.length];
+        Arrays.fill(generaciones, generacion);
+        numBloques = destino + 1;
+    }
+
+    /**
+     * Ubica el bloque que contiene la secuencia: el último cuya primera secuencia no la supera
+     */
+    private int buscarBloque(long secuencia) {
+        int bajo = 0;
+        int alto = numBloques - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto + 1) >>> 1;
+            if (secuencias[medio][0] <= secuencia) {
+                bajo = medio;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return bajo;
+    }
+
+    private int buscarPosicion(int bloque, long secuencia) {
+        int posicion = Arrays.binarySearch(secuencias[bloque], 0, cuentas[bloque], secuencia);
+        if (posicion < 0) {
+            throw new IllegalStateException("Secuencia inexistente: " + secuencia);
+        }
+        return posicion;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,332 @@
+package co.unibague.agropecuario.model.repository;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+import co.unibague.agropecuario.model.entities.Finca;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índices secundarios sobre las fincas de un repositorio.
+ * Mantiene agrupaciones por municipio, propietario y tipo de terreno (sin distinguir
+ * mayúsculas; municipio y terreno por su clase en el {@link Diccionario}), un índice ordenado por área y un conjunto de bits de fincas con riego.
+ * Todas las consultas devuelven las fincas en el orden de inserción del repositorio.
+ * Las eliminaciones dejan huecos en las secuencias; cuando superan a las fincas
+ * vigentes el índice se renumera para no recorrerlos.
+ */
+public class IndiceFincas implements OyenteRepositorio<Finca> {
+
+    /** Tamaño mínimo de la lista de secuencias para que valga la pena compactarla */
+    private static final int MINIMO_COMPACTACION = 64;
+
+    /**
+     * Datos con los que se indexó una finca, necesarios para retirarla
+     * aunque la instancia haya sido modificada después.
+     */
+    private static final class Entrada {
+        private final int secuencia;
+        private final int municipio;
+        private final int claseMunicipio;
+        private final String clavePropietario;
+        private final int claseTerreno;
+        private final double area;
+
+        private Entrada(int secuencia, Finca finca) {
+            this.secuencia = secuencia;
+            this.municipio = finca.getCodigoMunicipio();
+            this.claseMunicipio = Diccionario.MUNICIPIOS.clase(municipio);
+            this.clavePropietario = normalizar(finca.getPropietario());
+            this.claseTerreno = Diccionario.TIPOS_TERRENO.clase(finca.getCodigoTipoTerreno());
+            this.area = finca.getAreaTotal();
+        }
+    }
+
+    /**
+     * Fincas de un mismo municipio, con los códigos de los nombres exactos con que
+     * fueron registradas
+     */
+    private static final class GrupoMunicipio {
+        private final TreeMap<Integer, Finca> fincas = new TreeMap<>();
+        private final Map<Integer, Integer> nombres = new HashMap<>();
+    }
+
+    private final Map<String, Entrada> entradas;
+    private List<Finca> porSecuencia;
+    private final Map<Integer, GrupoMunicipio> porMunicipio;
+    private final Map<String, TreeMap<Integer, Finca>> porPropietario;
+    private final Map<Integer, TreeMap<Integer, Finca>> porTerreno;
+    private final TreeMap<Double, TreeMap<Integer, Finca>> porArea;
+    private final BitSet conRiego;
+
+    /**
+     * Constructor del índice
+     */
+    public IndiceFincas() {
+        this.entradas = new HashMap<>();
+        this.porSecuencia = new ArrayList<>();
+        this.porMunicipio = new HashMap<>();
+        this.porPropietario = new HashMap<>();
+        this.porTerreno = new HashMap<>();
+        this.porArea = new TreeMap<>();
+        this.conRiego = new BitSet();
+    }
+
+    @Override
+    public void alCambiar(TipoCambio tipo, Finca anterior, Finca nuevo) {
+        switch (tipo) {
+            case CREAR -> agregar(nuevo, porSecuencia.size());
+            case ACTUALIZAR, APLICAR_TRATAMIENTO -> {
+                // El reemplazo conserva la posición original, como en el repositorio
+                int secuencia = retirar(anterior.getCodigo());
+                agregar(nuevo, secuencia);
+            }
+            case ELIMINAR -> {
+                retirar(anterior.getCodigo());
+                if (porSecuencia.size() > MINIMO_COMPACTACION && entradas.size() < porSecuencia.size() / 2) {
+                    compactar();
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene las fincas de un municipio sin distinguir mayúsculas
+     * @param municipio nombre del municipio
+     * @return lista de fincas del municipio
+     */
+    public List<Finca> buscarPorMunicipio(String municipio) {
+        GrupoMunicipio grupo = grupoMunicipio(municipio);
+        return grupo == null ? List.of() : List.copyOf(grupo.fincas.values());
+    }
+
+    /**
+     * Cuenta las fincas de un municipio sin distinguir mayúsculas
+     * @param municipio nombre del municipio
+     * @return número de fincas del municipio
+     */
+    public int contarPorMunicipio(String municipio) {
+        GrupoMunicipio grupo = grupoMunicipio(municipio);
+        return grupo == null ? 0 : grupo.fincas.size();
+    }
+
+    /**
+     * Obtiene las fincas cuyo propietario contiene el texto dado sin distinguir mayúsculas
+     * @param texto texto a buscar en el nombre del propietario
+     * @return lista de fincas coincidentes
+     */
+    public List<Finca> buscarPorPropietario(String texto) {
+        String clave = normalizar(texto);
+        TreeMap<Integer, Finca> resultado = new TreeMap<>();
+
+        // Las claves ya están normalizadas: solo se recorren propietarios distintos
+        for (Map.Entry<String, TreeMap<Integer, Finca>> grupo : porPropietario.entrySet()) {
+            if (grupo.getKey().contains(clave)) {
+                resultado.putAll(grupo.getValue());
+            }
+        }
+        return List.copyOf(resultado.values());
+    }
+
+    /**
+     * Obtiene las fincas de un tipo de terreno sin distinguir mayúsculas
+     * @param tipoTerreno tipo de terreno
+     * @return lista de fincas del tipo de terreno
+     */
+    public List<Finca> buscarPorTipoTerreno(String tipoTerreno) {
+        TreeMap<Integer, Finca> grupo = grupoTerreno(tipoTerreno);
+        return grupo == null ? List.of() : List.copyOf(grupo.values());
+    }
+
+    /**
+     * Cuenta las fincas de un tipo de terreno sin distinguir mayúsculas
+     * @param tipoTerreno tipo de terreno
+     * @return número de fincas del tipo de terreno
+     */
+    public int contarPorTipoTerreno(String tipoTerreno) {
+        TreeMap<Integer, Finca> grupo = grupoTerreno(tipoTerreno);
+        return grupo == null ? 0 : grupo.size();
+    }
+
+    /**
+     * Obtiene las fincas cuya área está dentro del rango dado
+     * @param minimo área mínima en hectáreas
+     * @param incluirMinimo true si el mínimo es inclusivo
+     * @param maximo área máxima en hectáreas
+     * @param incluirMaximo true si el máximo es inclusivo
+     * @return lista de fincas en el rango
+     */
+    public List<Finca> buscarPorRangoArea(double minimo, boolean incluirMinimo,
+                                          double maximo, boolean incluirMaximo) {
+        if (minimo > maximo) {
+            return List.of();
+        }
+        NavigableMap<Double, TreeMap<Integer, Finca>> rango =
+                porArea.subMap(minimo, incluirMinimo, maximo, incluirMaximo);
+        TreeMap<Integer, Finca> resultado = new TreeMap<>();
+        for (TreeMap<Integer, Finca> grupo : rango.values()) {
+            resultado.putAll(grupo);
+        }
+        return List.copyOf(resultado.values());
+    }
+
+    /**
+     * Cuenta las fincas cuya área está dentro del rango dado, recorriendo solo
+     * los valores de área distintos del rango
+     * @param minimo área mínima en hectáreas
+     * @param incluirMinimo true si el mínimo es inclusivo
+     * @param maximo área máxima en hectáreas
+     * @param incluirMaximo true si el máximo es inclusivo
+     * @return número de fincas en el rango
+     */
+    public int contarPorRangoArea(double minimo, boolean incluirMinimo,
+                                  double maximo, boolean incluirMaximo) {
+        if (minimo > maximo) {
+            return 0;
+        }
+        int total = 0;
+        for (TreeMap<Integer, Finca> grupo : porArea.subMap(minimo, incluirMinimo, maximo, incluirMaximo).values()) {
+            total += grupo.size();
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene las fincas con sistema de riego
+     * @return lista de fincas con riego
+     */
+    public List<Finca> buscarConRiego() {
+        List<Finca> resultado = new ArrayList<>(conRiego.cardinality());
+        for (int i = conRiego.nextSetBit(0); i >= 0; i = conRiego.nextSetBit(i + 1)) {
+            resultado.add(porSecuencia.get(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Genera las estadísticas por municipio en una sola pasada sobre el índice.
+     * Cada nombre exacto de municipio se reporta con los totales de su grupo.
+     * @return texto con estadísticas
+     */
+    public String generarEstadisticasPorMunicipio() {
+        TreeMap<String, GrupoMunicipio> nombres = new TreeMap<>();
+        for (GrupoMunicipio grupo : porMunicipio.values()) {
+            for (int codigo : grupo.nombres.keySet()) {
+                nombres.put(Diccionario.MUNICIPIOS.texto(codigo), grupo);
+            }
+        }
+
+        Map<GrupoMunicipio, Double> areas = new HashMap<>();
+        StringBuilder stats = new StringBuilder();
+        for (Map.Entry<String, GrupoMunicipio> entry : nombres.entrySet()) {
+            GrupoMunicipio grupo = entry.getValue();
+            double areaTotal = areas.computeIfAbsent(grupo, g -> g.fincas.values().stream()
+                    .mapToDouble(Finca::getAreaTotal)
+                    .sum());
+
+            stats.append(String.format("%s: %d fincas, %.2f hectáreas\n",
+                    entry.getKey(), grupo.fincas.size(), areaTotal));
+        }
+        return stats.toString();
+    }
+
+    private void agregar(Finca finca, int secuencia) {
+        Entrada entrada = new Entrada(secuencia, finca);
+        entradas.put(finca.getCodigo(), entrada);
+
+        if (secuencia == porSecuencia.size()) {
+            porSecuencia.add(finca);
+        } else {
+            porSecuencia.set(secuencia, finca);
+        }
+
+        GrupoMunicipio grupo = porMunicipio.computeIfAbsent(entrada.claseMunicipio, k -> new GrupoMunicipio());
+        grupo.fincas.put(secuencia, finca);
+        grupo.nombres.merge(entrada.municipio, 1, Integer::sum);
+
+        porPropietario.computeIfAbsent(entrada.clavePropietario, k -> new TreeMap<>()).put(secuencia, finca);
+        porTerreno.computeIfAbsent(entrada.claseTerreno, k -> new TreeMap<>()).put(secuencia, finca);
+        porArea.computeIfAbsent(entrada.area, k -> new TreeMap<>()).put(secuencia, finca);
+        conRiego.set(secuencia, finca.tieneRiego());
+    }
+
+    private int retirar(String codigo) {
+        Entrada entrada = entradas.remove(codigo);
+        if (entrada == null) {
+            return porSecuencia.size();
+        }
+
+        int secuencia = entrada.secuencia;
+        porSecuencia.set(secuencia, null);
+
+        GrupoMunicipio grupo = porMunicipio.get(entrada.claseMunicipio);
+        grupo.fincas.remove(secuencia);
+        if (grupo.nombres.merge(entrada.municipio, -1, Integer::sum) == 0) {
+            grupo.nombres.remove(entrada.municipio);
+        }
+        if (grupo.fincas.isEmpty()) {
+            porMunicipio.remove(entrada.claseMunicipio);
+        }
+
+        retirarDeGrupo(porPropietario, entrada.clavePropietario, secuencia);
+        retirarDeGrupo(porTerreno, entrada.claseTerreno, secuencia);
+        retirarDeGrupo(porArea, entrada.area, secuencia);
+        conRiego.clear(secuencia);
+        return secuencia;
+    }
+
+    /**
+     * Reasigna secuencias consecutivas a las fincas vigentes, conservando su orden,
+     * y reconstruye los índices. Cuesta O(N log N), pero solo ocurre cuando la mitad
+     * de la lista son huecos, así que se amortiza entre las eliminaciones.
+     */
+    private void compactar() {
+        List<Finca> vigentes = new ArrayList<>(entradas.size());
+        for (Finca finca : porSecuencia) {
+            if (finca != null) {
+                vigentes.add(finca);
+            }
+        }
+
+        entradas.clear();
+        porSecuencia = new ArrayList<>(vigentes.size());
+        porMunicipio.clear();
+        porPropietario.clear();
+        porTerreno.clear();
+        porArea.clear();
+        conRiego.clear();
+        for (Finca finca : vigentes) {
+            agregar(finca, porSecuencia.size());
+        }
+    }
+
+    private GrupoMunicipio grupoMunicipio(String municipio) {
+        int clase = Diccionario.MUNICIPIOS.buscarClase(municipio);
+        // Un nombre desconocido no corresponde a las fincas sin municipio
+        return clase == Diccionario.SIN_VALOR && municipio != null ? null : porMunicipio.get(clase);
+    }
+
+    private TreeMap<Integer, Finca> grupoTerreno(String tipoTerreno) {
+        int clase = Diccionario.TIPOS_TERRENO.buscarClase(tipoTerreno);
+        return clase == Diccionario.SIN_VALOR && tipoTerreno != null ? null : porTerreno.get(clase);
+    }
+
+    private static <K> void retirarDeGrupo(Map<K, TreeMap<Integer, Finca>> indice, K clave, int secuencia) {
+        TreeMap<Integer, Finca> grupo = indice.get(clave);
+        if (grupo != null) {
+            grupo.remove(secuencia);
+            if (grupo.isEmpty()) {
+                indice.remove(clave);
+            }
+        }
+    }
+
+    private static String normalizar(String texto) {
+        // Con el idioma del sistema, igual que el filtro de texto de los controladores
+        return texto == null ? "" : texto.toLowerCase();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package co.unibague.agropecuario.model.repository;
+
+/**
+ * Interfaz para estructuras que deben mantenerse sincronizadas con un repositorio,
+ * como índices secundarios o proyecciones. Se invoca de forma síncrona en cada mutación.
+ * @param <T> tipo de entidad almacenada
+ */
+@FunctionalInterface
+public interface OyenteRepositorio<T> {
+
+    /**
+     * Método llamado después de cada cambio en el repositorio, o antes de aplicarlo
+     * si el oyente es el registro anticipado del repositorio
+     * @param tipo tipo de cambio realizado
+     * @param anterior entidad antes del cambio (null al crear)
+     * @param nuevo entidad después del cambio (null al eliminar)
+     */
+    void alCambiar(TipoCambio tipo, T anterior, T nuevo);
+}
\ No newline at end of file
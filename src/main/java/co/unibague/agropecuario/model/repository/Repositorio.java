@@ -0,0 +1,377 @@
+package co.unibague.agropecuario.model.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Almacén en memoria indexado por identificador.
+ * Conserva el orden de inserción para los listados y ofrece búsqueda por
+ * identificador en tiempo constante. Lleva además un número de versión
+ * que aumenta con cada mutación, para que las vistas sepan cuándo recalcular.
+ * <p>
+ * Los listados son vistas inmutables por versión ({@link VistaVersionada}) que
+ * comparten los bloques de datos con el repositorio: mientras no haya cambios,
+ * todos los lectores reciben la misma vista y ninguno copia la colección.
+ * <p>
+ * Es seguro para uso concurrente: las escrituras se serializan con un {@link StampedLock}
+ * y los oyentes se notifican dentro de la escritura, de modo que las estructuras
+ * derivadas (proyecciones, índices) siempre coinciden con el contenido. El registro
+ * anticipado (el diario) se invoca antes de aplicar cada cambio: si falla, el
+ * repositorio queda como estaba.
+ * Las búsquedas y los recorridos toman el cerrojo de lectura; solo los agregados
+ * escalares (el tamaño, los totales de las proyecciones) se leen en modo optimista.
+ * @param <T> tipo de entidad almacenada
+ */
+public class Repositorio<T> {
+
+    private Map<String, Entrada<T>> elementos;
+    private final BloquesOrdenados<T> orden;
+    private volatile VistaVersionada<T> vistaPublicada;
+    private final Function<T, String> extractorId;
+    private final List<OyenteRepositorio<T>> oyentes;
+    private OyenteRepositorio<T> registroAnticipado;
+    private volatile long version;
+    private final StampedLock cerrojo;
+
+    /**
+     * Constructor del repositorio
+     * @param extractorId función que obtiene el identificador de cada entidad
+     */
+    public Repositorio(Function<T, String> extractorId) {
+        this.elementos = new HashMap<>();
+        this.orden = new BloquesOrdenados<>();
+        this.extractorId = extractorId;
+        this.oyentes = new ArrayList<>();
+        this.cerrojo = new StampedLock();
+    }
+
+    /**
+     * Registra una estructura que debe mantenerse sincronizada con el repositorio.
+     * Las entidades existentes se le entregan como creaciones para inicializarla.
+     * @param oyente el oyente a registrar
+     */
+    public void agregarOyente(OyenteRepositorio<T> oyente) {
+        agregarOyente(oyente, true);
+    }
+
+    /**
+     * Registra una estructura que debe mantenerse sincronizada con el repositorio
+     * @param oyente el oyente a registrar
+     * @param incluirExistentes true para entregarle las entidades existentes como creaciones
+     */
+    public void agregarOyente(OyenteRepositorio<T> oyente, boolean incluirExistentes) {
+        long sello = cerrojo.writeLock();
+        try {
+            if (incluirExistentes) {
+                orden.forEach(elemento -> oyente.alCambiar(TipoCambio.CREAR, null, elemento));
+            }
+            oyentes.add(oyente);
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Establece el registro que debe conocer cada cambio antes de que se aplique, por
+     * ejemplo un diario de escritura anticipada. Se invoca dentro de la escritura con
+     * el mismo tipo y entidades que recibirán los oyentes; si lanza una excepción el
+     * cambio se descarta y la excepción llega a quien lo solicitó.
+     * @param registro registro anticipado, o null para quitarlo
+     */
+    public void establecerRegistroAnticipado(OyenteRepositorio<T> registro) {
+        long sello = cerrojo.writeLock();
+        try {
+            registroAnticipado = registro;
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Remueve un oyente registrado
+     * @param oyente el oyente a remover
+     */
+    public void removerOyente(OyenteRepositorio<T> oyente) {
+        long sello = cerrojo.writeLock();
+        try {
+            oyentes.remove(oyente);
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Inserta una entidad si su identificador no existe
+     * @param elemento entidad a insertar
+     * @return true si se insertó
+     */
+    public boolean insertar(T elemento) {
+        if (elemento == null) {
+            return false;
+        }
+        String id = extractorId.apply(elemento);
+        long sello = cerrojo.writeLock();
+        try {
+            if (elementos.containsKey(id)) {
+                return false;
+            }
+            registrarAnticipado(TipoCambio.CREAR, null, elemento);
+            elementos.put(id, new Entrada<>(orden.agregar(elemento), elemento));
+            notificar(TipoCambio.CREAR, null, elemento);
+            return true;
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Prepara el repositorio vacío para una carga masiva, evitando que la tabla
+     * se redimensione repetidamente
+     * @param capacidad número esperado de entidades
+     */
+    public void reservarCapacidad(int capacidad) {
+        long sello = cerrojo.writeLock();
+        try {
+            if (elementos.isEmpty()) {
+                elementos = HashMap.newHashMap(capacidad);
+            }
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Busca una entidad por su identificador
+     * @param id identificador de la entidad
+     * @return la entidad encontrada o null
+     */
+    public T buscar(String id) {
+        return leer(() -> {
+            Entrada<T> entrada = elementos.get(id);
+            return entrada == null ? null : entrada.elemento;
+        });
+    }
+
+    /**
+     * Verifica si existe una entidad con el identificador dado
+     * @param id identificador de la entidad
+     * @return true si existe
+     */
+    public boolean contiene(String id) {
+        return leer(() -> elementos.containsKey(id));
+    }
+
+    /**
+     * Reemplaza la entidad asociada a un identificador conservando su posición
+     * @param id identificador de la entidad existente
+     * @param elemento nueva entidad
+     * @return true si se reemplazó
+     */
+    public boolean reemplazar(String id, T elemento) {
+        return reemplazar(id, elemento, TipoCambio.ACTUALIZAR);
+    }
+
+    /**
+     * Reemplaza la entidad asociada a un identificador indicando el tipo de cambio
+     * que se notificará a los oyentes (por ejemplo, la aplicación de un tratamiento)
+     * @param id identificador de la entidad existente
+     * @param elemento nueva entidad
+     * @param tipo tipo de cambio a notificar
+     * @return true si se reemplazó
+     */
+    public boolean reemplazar(String id, T elemento, TipoCambio tipo) {
+        if (elemento == null) {
+            return false;
+        }
+        long sello = cerrojo.writeLock();
+        try {
+            Entrada<T> entrada = elementos.get(id);
+            if (entrada == null) {
+                return false;
+            }
+            T anterior = entrada.elemento;
+            registrarAnticipado(tipo, anterior, elemento);
+            entrada.elemento = elemento;
+            orden.reemplazar(entrada.secuencia, elemento);
+            notificar(tipo, anterior, elemento);
+            return true;
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Reemplaza la entidad asociada a un identificador por la que la modificación
+     * construye a partir de la actual. La modificación se ejecuta dentro de la
+     * escritura, así la decisión se toma sobre el último estado; la entidad actual
+     * no se altera, de modo que las vistas que la comparten no ven el cambio.
+     * @param id identificador de la entidad existente
+     * @param modificacion construye la nueva entidad, o devuelve null si no hay cambio
+     * @param tipo tipo de cambio a notificar
+     * @return true si la entidad existía y la modificación produjo una nueva
+     */
+    public boolean modificar(String id, UnaryOperator<T> modificacion, TipoCambio tipo) {
+        long sello = cerrojo.writeLock();
+        try {
+            Entrada<T> entrada = elementos.get(id);
+            if (entrada == null) {
+                return false;
+            }
+            T anterior = entrada.elemento;
+            T elemento = modificacion.apply(anterior);
+            if (elemento == null) {
+                return false;
+            }
+            registrarAnticipado(tipo, anterior, elemento);
+            entrada.elemento = elemento;
+            orden.reemplazar(entrada.secuencia, elemento);
+            notificar(tipo, anterior, elemento);
+            return true;
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Elimina la entidad asociada a un identificador
+     * @param id identificador de la entidad
+     * @return la entidad eliminada o null si no existía
+     */
+    public T eliminar(String id) {
+        long sello = cerrojo.writeLock();
+        try {
+            Entrada<T> entrada = elementos.get(id);
+            if (entrada == null) {
+                return null;
+            }
+            registrarAnticipado(TipoCambio.ELIMINAR, entrada.elemento, null);
+            elementos.remove(id);
+            orden.eliminar(entrada.secuencia);
+            notificar(TipoCambio.ELIMINAR, entrada.elemento, null);
+            return entrada.elemento;
+        } finally {
+            cerrojo.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Lista las entidades en orden de inserción
+     * @return vista inmutable de las entidades (ver {@link #instantanea()})
+     */
+    public List<T> listar() {
+        return instantanea();
+    }
+
+    /**
+     * Obtiene una vista inmutable del contenido actual, en orden de inserción.
+     * La vista no se copia: se comparte entre todos los lectores de la misma versión
+     * y puede recorrerse desde cualquier hilo sin cerrojos, pues las escrituras
+     * posteriores copian los bloques que modifican en lugar de alterarlos.
+     * @return vista de la versión actual
+     */
+    public VistaVersionada<T> instantanea() {
+        VistaVersionada<T> vista = vistaPublicada;
+        if (vista != null && vista.getVersion() == version) {
+            return vista;
+        }
+        return leer(() -> {
+            // Varios lectores pueden llegar a la vez: solo uno publica la vista de esta versión
+            synchronized (orden) {
+                VistaVersionada<T> actual = vistaPublicada;
+                if (actual == null || actual.getVersion() != version) {
+                    actual = orden.publicar(version);
+                    vistaPublicada = actual;
+                }
+                return actual;
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una lectura con el cerrojo de lectura: los recorridos ven un estado
+     * consistente y las escrituras esperan a que terminen.
+     * La lectura no debe modificar el repositorio.
+     * @param lectura consulta sobre el repositorio o sus estructuras derivadas
+     * @param <R> tipo del resultado
+     * @return resultado de la consulta
+     */
+    public <R> R leer(Supplier<R> lectura) {
+        long sello = cerrojo.readLock();
+        try {
+            return lectura.get();
+        } finally {
+            cerrojo.unlockRead(sello);
+        }
+    }
+
+    /**
+     * Ejecuta una lectura corta sin bloquear: se intenta en modo optimista y solo si
+     * una escritura la interrumpe se repite con el cerrojo de lectura. La lectura solo
+     * puede copiar campos escalares (contadores, sumas acumuladas); no debe recorrer
+     * mapas, árboles ni arreglos, porque una escritura concurrente puede dejarlos a
+     * medio reorganizar. Puede ejecutarse más de una vez y su primer resultado puede
+     * descartarse.
+     * @param lectura lectura de valores escalares del repositorio o sus estructuras derivadas
+     * @param <R> tipo del resultado
+     * @return resultado de la consulta
+     */
+    public <R> R leerOptimista(Supplier<R> lectura) {
+        long sello = cerrojo.tryOptimisticRead();
+        if (sello != 0L) {
+            R resultado = lectura.get();
+            if (cerrojo.validate(sello)) {
+                return resultado;
+            }
+        }
+        return leer(lectura);
+    }
+
+    /**
+     * Obtiene la versión de los datos; cambia después de cada mutación
+     * @return número de versión
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtiene el número de entidades almacenadas
+     * @return número de entidades
+     */
+    public int tamanio() {
+        // Solo copia el contador del mapa, sin recorrerlo
+        return leerOptimista(() -> elementos.size());
+    }
+
+    /**
+     * Posición de una entidad en el orden de inserción
+     */
+    private static final class Entrada<T> {
+        private final long secuencia;
+        private T elemento;
+
+        private Entrada(long secuencia, T elemento) {
+            this.secuencia = secuencia;
+            this.elemento = elemento;
+        }
+    }
+
+    private void registrarAnticipado(TipoCambio tipo, T anterior, T nuevo) {
+        if (registroAnticipado != null) {
+            registroAnticipado.alCambiar(tipo, anterior, nuevo);
+        }
+    }
+
+    private void notificar(TipoCambio tipo, T anterior, T nuevo) {
+        version++;
+        for (OyenteRepositorio<T> oyente : oyentes) {
+            oyente.alCambiar(tipo, anterior, nuevo);
+        }
+    }
+}
\ No newline at end of file
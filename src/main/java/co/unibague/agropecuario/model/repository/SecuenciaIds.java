@@ -0,0 +1,126 @@
+package co.unibague.agropecuario.model.repository;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de identificadores secuenciales con prefijo (AGR001, GAN002, F003...).
+ * Es seguro entre hilos y monótono: un número entregado nunca se vuelve a entregar,
+ * aunque la entidad correspondiente se elimine. Los números de más dígitos que el
+ * ancho mínimo (AGR1000) se generan e interpretan correctamente. Como los números
+ * crecen con cada entrega, el orden de inserción de los repositorios ya es el orden
+ * numérico de los identificadores (AGR999 antes que AGR1000).
+ */
+public class SecuenciaIds {
+
+    private final String prefijo;
+    private final int digitos;
+    private final AtomicLong ultimo;
+
+    /**
+     * Constructor de la secuencia
+     * @param prefijo prefijo de los identificadores
+     * @param digitos ancho mínimo de la parte numérica (se rellena con ceros)
+     */
+    public SecuenciaIds(String prefijo, int digitos) {
+        this.prefijo = prefijo;
+        this.digitos = digitos;
+        this.ultimo = new AtomicLong(0);
+    }
+
+    /**
+     * Entrega el próximo identificador disponible
+     * @return identificador nuevo
+     */
+    public String siguiente() {
+        return formatear(ultimo.incrementAndGet());
+    }
+
+    /**
+     * Reserva un bloque contiguo de identificadores para cargas masivas.
+     * Los identificadores se generan a medida que se consultan.
+     * @param cantidad número de identificadores a reservar
+     * @return lista inmutable con los identificadores reservados
+     */
+    public List<String> reservarBloque(int cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa: " + cantidad);
+        }
+        long inicio = ultimo.getAndAdd(cantidad) + 1;
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= cantidad) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return formatear(inicio + index);
+            }
+
+            @Override
+            public int size() {
+                return cantidad;
+            }
+        };
+    }
+
+    /**
+     * Registra un identificador existente para que la secuencia no lo vuelva a generar.
+     * Los identificadores que no siguen el formato de la secuencia se ignoran.
+     * @param id identificador a registrar
+     */
+    public void registrar(String id) {
+        long numero = extraerNumero(id);
+        if (numero > 0) {
+            ultimo.accumulateAndGet(numero, Math::max);
+        }
+    }
+
+    /**
+     * Obtiene la parte numérica de un identificador de esta secuencia
+     * @param id identificador a interpretar
+     * @return número del identificador o -1 si no tiene el formato esperado
+     */
+    public long extraerNumero(String id) {
+        if (id == null || id.length() <= prefijo.length() || !id.startsWith(prefijo)) {
+            return -1;
+        }
+        int longitud = id.length() - prefijo.length();
+        if (longitud > 18) {
+            return -1;
+        }
+
+        long numero = 0;
+        for (int i = prefijo.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            numero = numero * 10 + (c - '0');
+        }
+        return numero;
+    }
+
+    /**
+     * Construye el identificador correspondiente a un número
+     * @param numero número de la secuencia
+     * @return identificador con prefijo y ceros a la izquierda
+     */
+    public String formatear(long numero) {
+        String valor = Long.toString(numero);
+        StringBuilder id = new StringBuilder(prefijo.length() + Math.max(digitos, valor.length()));
+        id.append(prefijo);
+        for (int i = valor.length(); i < digitos; i++) {
+            id.append('0');
+        }
+        return id.append(valor).toString();
+    }
+
+    /**
+     * Obtiene el último número entregado o registrado
+     * @return último número de la secuencia
+     */
+    public long getUltimo() {
+        return ultimo.get();
+    }
+}
\ No newline at end of file
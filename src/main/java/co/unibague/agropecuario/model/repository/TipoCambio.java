@@ -0,0 +1,11 @@
+package co.unibague.agropecuario.model.repository;
+
+/**
+ * Tipos de cambio que puede sufrir una entidad almacenada.
+ */
+public enum TipoCambio {
+    CREAR,
+    ACTUALIZAR,
+    ELIMINAR,
+    APLICAR_TRATAMIENTO
+}
\ No newline at end of file
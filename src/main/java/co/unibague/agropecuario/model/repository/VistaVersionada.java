@@ -0,0 +1,133 @@
+package co.unibague.agropecuario.model.repository;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Vista inmutable del contenido de un repositorio en una versión dada.
+ * Comparte los bloques de datos con el repositorio en lugar de copiarlos: el
+ * repositorio copia un bloque antes de modificarlo si alguna vista lo referencia,
+ * por lo que la vista no cambia aunque otros hilos sigan escribiendo.
+ * @param <T> tipo de entidad
+ */
+public final class VistaVersionada<T> extends AbstractList<T> implements RandomAccess {
+
+    private final Object[][] bloques;
+    private final int[] inicios;
+    private final int tamanio;
+    private final long version;
+
+    /**
+     * @param bloques bloques de entidades no vacíos, en orden de inserción
+     * @param cuentas número de entidades válidas en cada bloque
+     * @param version versión del repositorio que representa la vista
+     */
+    VistaVersionada(Object[][] bloques, int[] cuentas, long version) {
+        this.bloques = bloques;
+        this.inicios = new int[bloques.length + 1];
+        for (int k = 0; k < bloques.length; k++) {
+            inicios[k + 1] = inicios[k] + cuentas[k];
+        }
+        this.tamanio = inicios[bloques.length];
+        this.version = version;
+    }
+
+    /**
+     * Obtiene la versión del repositorio que representa esta vista
+     * @return número de versión
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtiene la primera posición en la que esta vista y otra del mismo repositorio
+     * tienen entidades distintas. Los bloques que ambas comparten no cambiaron, así
+     * que se saltan sin compararlos; solo se recorre el bloque donde está el cambio
+     * (o todo, si el repositorio se compactó entre ambas versiones).
+     * @param otra vista de otra versión del mismo repositorio
+     * @return primera posición distinta, o el tamaño menor si una vista es prefijo de la otra
+     */
+    public int primeraDiferencia(VistaVersionada<T> otra) {
+        int limite = Math.min(tamanio, otra.tamanio);
+        int indice = 0;
+        for (int k = 0; k < bloques.length && k < otra.bloques.length; k++) {
+            if (bloques[k] != otra.bloques[k] || inicios[k] != otra.inicios[k]) {
+                break;
+            }
+            // Un bloque compartido solo pudo crecer al final
+            indice = Math.min(inicios[k + 1], otra.inicios[k + 1]);
+            if (inicios[k + 1] != otra.inicios[k + 1]) {
+                break;
+            }
+        }
+        while (indice < limite && get(indice) == otra.get(indice)) {
+            indice++;
+        }
+        return indice;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int indice) {
+        if (indice < 0 || indice >= tamanio) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fuera de rango (tamaño " + tamanio + ")");
+        }
+        // Los bloques nunca están vacíos, así que los inicios son estrictamente crecientes
+        int bloque = Arrays.binarySearch(inicios, 0, bloques.length, indice);
+        if (bloque < 0) {
+            bloque = -bloque - 2;
+        }
+        return (T) bloques[bloque][indice - inicios[bloque]];
+    }
+
+    @Override
+    public int size() {
+        return tamanio;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> accion) {
+        for (int k = 0; k < bloques.length; k++) {
+            Object[] bloque = bloques[k];
+            int cuenta = inicios[k + 1] - inicios[k];
+            for (int j = 0; j < cuenta; j++) {
+                accion.accept((T) bloque[j]);
+            }
+        }
+    }
+
+    /**
+     * Recorre los bloques en secuencia, sin búsqueda por índice en cada paso
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int bloque;
+            private int posicion;
+
+            @Override
+            public boolean hasNext() {
+                while (bloque < bloques.length && posicion >= inicios[bloque + 1] - inicios[bloque]) {
+                    bloque++;
+                    posicion = 0;
+                }
+                return bloque < bloques.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (T) bloques[bloque][posicion++];
+            }
+        };
+    }
+}
\ No newline at end of file
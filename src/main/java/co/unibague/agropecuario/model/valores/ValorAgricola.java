@@ -0,0 +1,129 @@
+package co.unibague.agropecuario.model.valores;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+
+import java.time.LocalDate;
+
+/**
+ * Valor inmutable de un producto agrícola.
+ * <p>
+ * No tiene setters: se comparte entre hilos, vistas y cachés sin copiarlo. Para
+ * cambiar un dato se obtiene un valor nuevo con los métodos {@code con...} o con
+ * {@link #editar()}. Los textos categóricos se guardan con la instancia compartida
+ * del {@link Diccionario} correspondiente.
+ */
+public record ValorAgricola(String id, String nombre, LocalDate fechaProduccion,
+                            double costoProduccion, double cantidadProducida, double precioVenta,
+                            String tipoSuelo, String temporada, double hectareasCultivadas,
+                            double rendimientoPorHa, String tipoCultivo, String codigoFinca) {
+
+    public ValorAgricola {
+        tipoSuelo = Diccionario.TIPOS_SUELO.compartido(tipoSuelo);
+        temporada = Diccionario.TEMPORADAS.compartido(temporada);
+        tipoCultivo = Diccionario.TIPOS_CULTIVO.compartido(tipoCultivo);
+    }
+
+    /**
+     * Obtiene el valor de un producto agrícola
+     * @param producto producto de origen
+     * @return valor con los mismos datos
+     */
+    public static ValorAgricola de(ProductoAgricola producto) {
+        return new ValorAgricola(producto.getId(), producto.getNombre(), producto.getFechaProduccion(),
+                producto.getCostoProduccion(), producto.getCantidadProducida(), producto.getPrecioVenta(),
+                producto.getTipoSuelo(), producto.getTemporada(), producto.getHectareasCultivadas(),
+                producto.getRendimientoPorHa(), producto.getTipoCultivo(), producto.getCodigoFinca());
+    }
+
+    /**
+     * Crea un producto agrícola modificable con los datos del valor
+     * @return producto nuevo
+     */
+    public ProductoAgricola aEntidad() {
+        ProductoAgricola producto = new ProductoAgricola(id, nombre, fechaProduccion, costoProduccion,
+                cantidadProducida, precioVenta, tipoSuelo, temporada, hectareasCultivadas,
+                rendimientoPorHa, tipoCultivo);
+        producto.setCodigoFinca(codigoFinca);
+        return producto;
+    }
+
+    public ValorAgricola conId(String id) {
+        return editar().id(id).construir();
+    }
+
+    public ValorAgricola conCostoProduccion(double costoProduccion) {
+        return editar().costoProduccion(costoProduccion).construir();
+    }
+
+    public ValorAgricola conCantidadProducida(double cantidadProducida) {
+        return editar().cantidadProducida(cantidadProducida).construir();
+    }
+
+    public ValorAgricola conPrecioVenta(double precioVenta) {
+        return editar().precioVenta(precioVenta).construir();
+    }
+
+    public ValorAgricola conHectareasCultivadas(double hectareasCultivadas) {
+        return editar().hectareasCultivadas(hectareasCultivadas).construir();
+    }
+
+    /**
+     * Crea un constructor con los valores por defecto de {@link ProductoAgricola#ProductoAgricola()}
+     * @return constructor nuevo
+     */
+    public static Constructor constructor() {
+        return new Constructor();
+    }
+
+    /**
+     * Crea un constructor con los datos de este valor, para cambiar varios a la vez
+     * @return constructor inicializado
+     */
+    public Constructor editar() {
+        return new Constructor()
+                .id(id).nombre(nombre).fechaProduccion(fechaProduccion)
+                .costoProduccion(costoProduccion).cantidadProducida(cantidadProducida).precioVenta(precioVenta)
+                .tipoSuelo(tipoSuelo).temporada(temporada).hectareasCultivadas(hectareasCultivadas)
+                .rendimientoPorHa(rendimientoPorHa).tipoCultivo(tipoCultivo).codigoFinca(codigoFinca);
+    }
+
+    /**
+     * Constructor paso a paso de {@link ValorAgricola}
+     */
+    public static final class Constructor {
+        private String id;
+        private String nombre;
+        private LocalDate fechaProduccion = LocalDate.now();
+        private double costoProduccion;
+        private double cantidadProducida;
+        private double precioVenta;
+        private String tipoSuelo = "Franco";
+        private String temporada = "Todo el año";
+        private double hectareasCultivadas;
+        private double rendimientoPorHa;
+        private String tipoCultivo;
+        private String codigoFinca;
+
+        private Constructor() {}
+
+        public Constructor id(String id) { this.id = id; return this; }
+        public Constructor nombre(String nombre) { this.nombre = nombre; return this; }
+        public Constructor fechaProduccion(LocalDate fechaProduccion) { this.fechaProduccion = fechaProduccion; return this; }
+        public Constructor costoProduccion(double costoProduccion) { this.costoProduccion = costoProduccion; return this; }
+        public Constructor cantidadProducida(double cantidadProducida) { this.cantidadProducida = cantidadProducida; return this; }
+        public Constructor precioVenta(double precioVenta) { this.precioVenta = precioVenta; return this; }
+        public Constructor tipoSuelo(String tipoSuelo) { this.tipoSuelo = tipoSuelo; return this; }
+        public Constructor temporada(String temporada) { this.temporada = temporada; return this; }
+        public Constructor hectareasCultivadas(double hectareasCultivadas) { this.hectareasCultivadas = hectareasCultivadas; return this; }
+        public Constructor rendimientoPorHa(double rendimientoPorHa) { this.rendimientoPorHa = rendimientoPorHa; return this; }
+        public Constructor tipoCultivo(String tipoCultivo) { this.tipoCultivo = tipoCultivo; return this; }
+        public Constructor codigoFinca(String codigoFinca) { this.codigoFinca = codigoFinca; return this; }
+
+        public ValorAgricola construir() {
+            return new ValorAgricola(id, nombre, fechaProduccion, costoProduccion, cantidadProducida,
+                    precioVenta, tipoSuelo, temporada, hectareasCultivadas, rendimientoPorHa,
+                    tipoCultivo, codigoFinca);
+        }
+    }
+}
\ No newline at end of file
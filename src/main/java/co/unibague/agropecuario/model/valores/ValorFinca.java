@@ -0,0 +1,110 @@
+package co.unibague.agropecuario.model.valores;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+import co.unibague.agropecuario.model.entities.Finca;
+
+/**
+ * Valor inmutable de una finca.
+ * Igual que {@link ValorAgricola}, los cambios producen un valor nuevo.
+ */
+public record ValorFinca(String codigo, String nombreFinca, String propietario, String municipio,
+                         String vereda, double areaTotal, String tipoTerreno, String infraestructura,
+                         String telefono, String email) {
+
+    public ValorFinca {
+        municipio = Diccionario.MUNICIPIOS.compartido(municipio);
+        tipoTerreno = Diccionario.TIPOS_TERRENO.compartido(tipoTerreno);
+    }
+
+    /**
+     * Obtiene el valor de una finca
+     * @param finca finca de origen
+     * @return valor con los mismos datos
+     */
+    public static ValorFinca de(Finca finca) {
+        return new ValorFinca(finca.getCodigo(), finca.getNombreFinca(), finca.getPropietario(),
+                finca.getMunicipio(), finca.getVereda(), finca.getAreaTotal(), finca.getTipoTerreno(),
+                finca.getInfraestructura(), finca.getTelefono(), finca.getEmail());
+    }
+
+    /**
+     * Crea una finca modificable con los datos del valor
+     * @return finca nueva
+     */
+    public Finca aEntidad() {
+        Finca finca = new Finca(codigo, nombreFinca, propietario, municipio, vereda,
+                areaTotal, tipoTerreno, infraestructura);
+        finca.setTelefono(telefono);
+        finca.setEmail(email);
+        return finca;
+    }
+
+    public ValorFinca conCodigo(String codigo) {
+        return editar().codigo(codigo).construir();
+    }
+
+    public ValorFinca conPropietario(String propietario) {
+        return editar().propietario(propietario).construir();
+    }
+
+    public ValorFinca conAreaTotal(double areaTotal) {
+        return editar().areaTotal(areaTotal).construir();
+    }
+
+    public ValorFinca conInfraestructura(String infraestructura) {
+        return editar().infraestructura(infraestructura).construir();
+    }
+
+    /**
+     * Crea un constructor con los valores por defecto de {@link Finca#Finca()}
+     * @return constructor nuevo
+     */
+    public static Constructor constructor() {
+        return new Constructor();
+    }
+
+    /**
+     * Crea un constructor con los datos de este valor, para cambiar varios a la vez
+     * @return constructor inicializado
+     */
+    public Constructor editar() {
+        return new Constructor()
+                .codigo(codigo).nombreFinca(nombreFinca).propietario(propietario).municipio(municipio)
+                .vereda(vereda).areaTotal(areaTotal).tipoTerreno(tipoTerreno)
+                .infraestructura(infraestructura).telefono(telefono).email(email);
+    }
+
+    /**
+     * Constructor paso a paso de {@link ValorFinca}
+     */
+    public static final class Constructor {
+        private String codigo;
+        private String nombreFinca;
+        private String propietario;
+        private String municipio = "Ibagué";
+        private String vereda;
+        private double areaTotal;
+        private String tipoTerreno = "Plano";
+        private String infraestructura = "Básica";
+        private String telefono;
+        private String email;
+
+        private Constructor() {}
+
+        public Constructor codigo(String codigo) { this.codigo = codigo; return this; }
+        public Constructor nombreFinca(String nombreFinca) { this.nombreFinca = nombreFinca; return this; }
+        public Constructor propietario(String propietario) { this.propietario = propietario; return this; }
+        public Constructor municipio(String municipio) { this.municipio = municipio; return this; }
+        public Constructor vereda(String vereda) { this.vereda = vereda; return this; }
+        public Constructor areaTotal(double areaTotal) { this.areaTotal = areaTotal; return this; }
+        public Constructor tipoTerreno(String tipoTerreno) { this.tipoTerreno = tipoTerreno; return this; }
+        public Constructor infraestructura(String infraestructura) { this.infraestructura = infraestructura; return this; }
+        public Constructor telefono(String telefono) { this.telefono = telefono; return this; }
+        public Constructor email(String email) { this.email = email; return this; }
+
+        public ValorFinca construir() {
+            return new ValorFinca(codigo, nombreFinca, propietario, municipio, vereda,
+                    areaTotal, tipoTerreno, infraestructura, telefono, email);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package co.unibague.agropecuario.model.valores;
+
+import co.unibague.agropecuario.model.entities.Diccionario;
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Valor inmutable de un producto ganadero, incluido su historial de aplicaciones.
+ * Igual que {@link ValorAgricola}, los cambios producen un valor nuevo.
+ */
+public record ValorGanadero(String id, String nombre, LocalDate fechaProduccion,
+                            double costoProduccion, double cantidadProducida, double precioVenta,
+                            String tipoGanado, int numeroAnimales, double pesoPromedio,
+                            double produccionDiaria, String tipoAlimentacion,
+                            List<String> aplicacionesRealizadas, boolean estadoAplicacion) {
+
+    public ValorGanadero {
+        tipoGanado = Diccionario.TIPOS_GANADO.compartido(tipoGanado);
+        tipoAlimentacion = Diccionario.TIPOS_ALIMENTACION.compartido(tipoAlimentacion);
+        aplicacionesRealizadas = List.copyOf(aplicacionesRealizadas);
+    }
+
+    /**
+     * Obtiene el valor de un producto ganadero
+     * @param producto producto de origen
+     * @return valor con los mismos datos
+     */
+    public static ValorGanadero de(ProductoGanadero producto) {
+        return new ValorGanadero(producto.getId(), producto.getNombre(), producto.getFechaProduccion(),
+                producto.getCostoProduccion(), producto.getCantidadProducida(), producto.getPrecioVenta(),
+                producto.getTipoGanado(), producto.getNumeroAnimales(), producto.getPesoPromedio(),
+                producto.getProduccionDiaria(), producto.getTipoAlimentacion(),
+                producto.getAplicacionesRealizadas(), producto.isEstadoAplicacion());
+    }
+
+    /**
+     * Crea un producto ganadero modificable con los datos del valor
+     * @return producto nuevo
+     */
+    public ProductoGanadero aEntidad() {
+        ProductoGanadero producto = new ProductoGanadero(id, nombre, fechaProduccion, costoProduccion,
+                cantidadProducida, precioVenta, tipoGanado, numeroAnimales, pesoPromedio,
+                produccionDiaria, tipoAlimentacion);
+        producto.setAplicacionesRealizadas(aplicacionesRealizadas);
+        producto.setEstadoAplicacion(estadoAplicacion);
+        return producto;
+    }
+
+    public ValorGanadero conId(String id) {
+        return editar().id(id).construir();
+    }
+
+    public ValorGanadero conCostoProduccion(double costoProduccion) {
+        return editar().costoProduccion(costoProduccion).construir();
+    }
+
+    public ValorGanadero conPrecioVenta(double precioVenta) {
+        return editar().precioVenta(precioVenta).construir();
+    }
+
+    public ValorGanadero conNumeroAnimales(int numeroAnimales) {
+        return editar().numeroAnimales(numeroAnimales).construir();
+    }
+
+    public ValorGanadero conProduccionDiaria(double produccionDiaria) {
+        return editar().produccionDiaria(produccionDiaria).construir();
+    }
+
+    /**
+     * Crea un constructor con los valores por defecto de {@link ProductoGanadero#ProductoGanadero()}
+     * @return constructor nuevo
+     */
+    public static Constructor constructor() {
+        return new Constructor();
+    }
+
+    /**
+     * Crea un constructor con los datos de este valor, para cambiar varios a la vez
+     * @return constructor inicializado
+     */
+    public Constructor editar() {
+        return new Constructor()
+                .id(id).nombre(nombre).fechaProduccion(fechaProduccion)
+                .costoProduccion(costoProduccion).cantidadProducida(cantidadProducida).precioVenta(precioVenta)
+                .tipoGanado(tipoGanado).numeroAnimales(numeroAnimales).pesoPromedio(pesoPromedio)
+                .produccionDiaria(produccionDiaria).tipoAlimentacion(tipoAlimentacion)
+                .aplicacionesRealizadas(aplicacionesRealizadas).estadoAplicacion(estadoAplicacion);
+    }
+
+    /**
+     * Constructor paso a paso de {@link ValorGanadero}
+     */
+    public static final class Constructor {
+        private String id;
+        private String nombre;
+        private LocalDate fechaProduccion = LocalDate.now();
+        private double costoProduccion;
+        private double cantidadProducida;
+        private double precioVenta;
+        private String tipoGanado;
+        private int numeroAnimales;
+        private double pesoPromedio;
+        private double produccionDiaria;
+        private String tipoAlimentacion = "Pastoreo";
+        private List<String> aplicacionesRealizadas = List.of();
+        private boolean estadoAplicacion = true;
+
+        private Constructor() {}
+
+        public Constructor id(String id) { this.id = id; return this; }
+        public Constructor nombre(String nombre) { this.nombre = nombre; return this; }
+        public Constructor fechaProduccion(LocalDate fechaProduccion) { this.fechaProduccion = fechaProduccion; return this; }
+        public Constructor costoProduccion(double costoProduccion) { this.costoProduccion = costoProduccion; return this; }
+        public Constructor cantidadProducida(double cantidadProducida) { this.cantidadProducida = cantidadProducida; return this; }
+        public Constructor precioVenta(double precioVenta) { this.precioVenta = precioVenta; return this; }
+        public Constructor tipoGanado(String tipoGanado) { this.tipoGanado = tipoGanado; return this; }
+        public Constructor numeroAnimales(int numeroAnimales) { this.numeroAnimales = numeroAnimales; return this; }
+        public Constructor pesoPromedio(double pesoPromedio) { this.pesoPromedio = pesoPromedio; return this; }
+        public Constructor produccionDiaria(double produccionDiaria) { this.produccionDiaria = produccionDiaria; return this; }
+        public Constructor tipoAlimentacion(String tipoAlimentacion) { this.tipoAlimentacion = tipoAlimentacion; return this; }
+        public Constructor aplicacionesRealizadas(List<String> aplicacionesRealizadas) { this.aplicacionesRealizadas = aplicacionesRealizadas; return this; }
+        public Constructor estadoAplicacion(boolean estadoAplicacion) { this.estadoAplicacion = estadoAplicacion; return this; }
+
+        public ValorGanadero construir() {
+            return new ValorGanadero(id, nombre, fechaProduccion, costoProduccion, cantidadProducida,
+                    precioVenta, tipoGanado, numeroAnimales, pesoPromedio, produccionDiaria,
+                    tipoAlimentacion, aplicacionesRealizadas, estadoAplicacion);
+        }
+    }
+}
\ No newline at end of file
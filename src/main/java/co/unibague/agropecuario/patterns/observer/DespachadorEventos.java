@@ -0,0 +1,287 @@
+package co.unibague.agropecuario.patterns.observer;
+
+import co.unibague.agropecuario.model.repository.TipoCambio;
+import co.unibague.agropecuario.utils.Constantes;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Despachador de notificaciones compartido por los controladores observables.
+ * <p>
+ * Por defecto entrega cada evento de inmediato, igual que un recorrido directo de
+ * los observadores. Hay dos formas de agrupar los eventos:
+ * <ul>
+ *   <li>Lotes explícitos ({@link #iniciarLote()} / {@link #finalizarLote()}), que
+ *   pueden anidarse: los eventos se acumulan hasta que se cierra el lote exterior.</li>
+ *   <li>Una ventana de tiempo: el primer evento programa la entrega y los que llegan
+ *   antes de que venza se acumulan con él.</li>
+ * </ul>
+ * En ambos casos cada observador recibe un único {@link LoteCambios} con los cambios
+ * consolidados por entidad, en lugar de una notificación por mutación.
+ * La ventana por defecto se toma de la propiedad del sistema {@value #PROPIEDAD_VENTANA}.
+ * <p>
+ * Los observadores se guardan en un {@link RegistroObservadores}: pueden registrarse
+ * o removerse durante una notificación y se retienen con referencias débiles.
+ * En modo asíncrono ({@value #PROPIEDAD_ASINCRONO}) las notificaciones se encolan y
+ * se entregan en hilos dedicados, de modo que un observador lento no retrasa las
+ * modificaciones.
+ */
+public class DespachadorEventos {
+
+    public static final String PROPIEDAD_VENTANA = "agro.eventos.ventanaMs";
+    public static final String PROPIEDAD_ASINCRONO = "agro.eventos.asincrono";
+
+    private final RegistroObservadores observadores;
+    private volatile boolean entregaAsincrona;
+    private final Map<String, TipoCambio> pendientes;
+    private final Set<String> eliminadosAntes;
+    private boolean recargaPendiente;
+    private boolean entregaProgramada;
+    private int profundidadLote;
+    private long ventanaMs;
+
+    /**
+     * Constructor del despachador
+     * @param ventanaMs ventana de agrupación en milisegundos (0 para entregar de inmediato)
+     */
+    public DespachadorEventos(long ventanaMs) {
+        this.observadores = new RegistroObservadores(Constantes.CAPACIDAD_COLA_NOTIFICACIONES);
+        this.pendientes = new LinkedHashMap<>();
+        this.eliminadosAntes = new LinkedHashSet<>();
+        this.ventanaMs = validarVentana(ventanaMs);
+    }
+
+    /**
+     * Crea un despachador con la ventana configurada en la propiedad del sistema
+     * {@value #PROPIEDAD_VENTANA} (0 por defecto) y entrega asíncrona si la propiedad
+     * {@value #PROPIEDAD_ASINCRONO} vale true
+     * @return despachador nuevo
+     */
+    public static DespachadorEventos porDefecto() {
+        DespachadorEventos despachador =
+                new DespachadorEventos(Long.getLong(PROPIEDAD_VENTANA, Constantes.VENTANA_NOTIFICACION_MS));
+        String asincrono = System.getProperty(PROPIEDAD_ASINCRONO);
+        despachador.setEntregaAsincrona(asincrono == null
+                ? Constantes.ENTREGA_ASINCRONA_NOTIFICACIONES
+                : Boolean.parseBoolean(asincrono));
+        return despachador;
+    }
+
+    /**
+     * Registra un observador (con referencia débil: quien lo registra debe mantenerlo vivo)
+     * @param observer observador a registrar
+     */
+    public void agregar(Observer observer) {
+        observadores.agregar(observer);
+    }
+
+    /**
+     * Remueve un observador; las notificaciones que tuviera encoladas se descartan
+     * @param observer observador a remover
+     */
+    public void remover(Observer observer) {
+        observadores.remover(observer);
+    }
+
+    /**
+     * Publica una notificación sin detalle; dentro de un lote equivale a pedir una recarga completa
+     */
+    public void notificar() {
+        synchronized (this) {
+            if (acumulando()) {
+                recargaPendiente = true;
+                programarEntrega();
+                return;
+            }
+        }
+        entregar(null);
+    }
+
+    /**
+     * Publica una notificación con datos. Los {@link EventoCambio} se consolidan
+     * mientras haya un lote abierto o una ventana activa; cualquier otro dato se
+     * trata como una petición de recarga completa.
+     * @param data información sobre el cambio
+     */
+    public void notificar(Object data) {
+        synchronized (this) {
+            if (acumulando()) {
+                if (data instanceof EventoCambio evento) {
+                    acumular(evento);
+                } else {
+                    recargaPendiente = true;
+                }
+                programarEntrega();
+                return;
+            }
+        }
+        entregar(data);
+    }
+
+    /**
+     * Abre un lote: las notificaciones se retienen hasta el {@link #finalizarLote()} correspondiente
+     */
+    public synchronized void iniciarLote() {
+        profundidadLote++;
+    }
+
+    /**
+     * Cierra un lote; al cerrar el más externo se entregan los cambios acumulados
+     * @throws IllegalStateException si no hay un lote abierto
+     */
+    public void finalizarLote() {
+        synchronized (this) {
+            if (profundidadLote == 0) {
+                throw new IllegalStateException("No hay un lote de cambios abierto");
+            }
+            if (--profundidadLote > 0) {
+                return;
+            }
+        }
+        entregarPendientes();
+    }
+
+    /**
+     * Entrega de inmediato los cambios acumulados fuera de un lote (por ejemplo,
+     * antes de que venza la ventana de tiempo)
+     */
+    public void entregarPendientes() {
+        LoteCambios lote;
+        synchronized (this) {
+            entregaProgramada = false;
+            if (profundidadLote > 0 || (pendientes.isEmpty() && eliminadosAntes.isEmpty() && !recargaPendiente)) {
+                return;
+            }
+            lote = tomarPendientes();
+        }
+        entregar(lote);
+    }
+
+    public synchronized long getVentanaMs() {
+        return ventanaMs;
+    }
+
+    /**
+     * Configura la ventana de agrupación
+     * @param ventanaMs milisegundos durante los que se acumulan los eventos (0 para entregar de inmediato)
+     */
+    public synchronized void setVentanaMs(long ventanaMs) {
+        this.ventanaMs = validarVentana(ventanaMs);
+    }
+
+    private static long validarVentana(long ventanaMs) {
+        if (ventanaMs < 0) {
+            throw new IllegalArgumentException("La ventana no puede ser negativa: " + ventanaMs);
+        }
+        return ventanaMs;
+    }
+
+    public boolean isEntregaAsincrona() {
+        return entregaAsincrona;
+    }
+
+    /**
+     * Elige cómo se entregan las notificaciones
+     * @param entregaAsincrona true para encolarlas y entregarlas en hilos dedicados,
+     *                         false para entregarlas en el hilo que modifica los datos
+     */
+    public void setEntregaAsincrona(boolean entregaAsincrona) {
+        this.entregaAsincrona = entregaAsincrona;
+    }
+
+    /**
+     * Obtiene el número de observadores registrados que siguen vivos
+     * @return número de observadores
+     */
+    public int contarObservadores() {
+        return observadores.tamanio();
+    }
+
+    private void entregar(Object data) {
+        if (entregaAsincrona) {
+            observadores.encolar(data);
+        } else {
+            observadores.entregar(data);
+        }
+    }
+
+    private boolean acumulando() {
+        return profundidadLote > 0 || ventanaMs > 0;
+    }
+
+    private void programarEntrega() {
+        if (profundidadLote == 0 && !entregaProgramada) {
+            entregaProgramada = true;
+            Programador.INSTANCIA.schedule(this::entregarPendientes, ventanaMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Consolida un evento con el cambio pendiente de la misma entidad.
+     * Una entidad eliminada y creada de nuevo pasa al final del orden de inserción,
+     * por eso su eliminación se entrega antes que el resto de los cambios.
+     * Si el lote supera {@link Constantes#LIMITE_CAMBIOS_LOTE} entidades se convierte
+     * en una recarga completa, así la memoria no crece con las cargas masivas.
+     */
+    private void acumular(EventoCambio evento) {
+        if (recargaPendiente) {
+            return; // La recarga completa ya incluye este cambio
+        }
+        if (pendientes.size() + eliminadosAntes.size() >= Constantes.LIMITE_CAMBIOS_LOTE) {
+            pendientes.clear();
+            eliminadosAntes.clear();
+            recargaPendiente = true;
+            return;
+        }
+        String id = evento.getId();
+        TipoCambio anterior = pendientes.get(id);
+        TipoCambio nuevo = evento.getTipo();
+        if (anterior == null) {
+            pendientes.put(id, nuevo);
+        } else if (anterior == TipoCambio.CREAR) {
+            if (nuevo == TipoCambio.ELIMINAR) {
+                pendientes.remove(id);
+            }
+        } else if (anterior == TipoCambio.ELIMINAR) {
+            pendientes.remove(id);
+            eliminadosAntes.add(id);
+            pendientes.put(id, TipoCambio.CREAR);
+        } else {
+            pendientes.put(id, nuevo);
+        }
+    }
+
+    private LoteCambios tomarPendientes() {
+        List<EventoCambio> cambios = new ArrayList<>(eliminadosAntes.size() + pendientes.size());
+        for (String id : eliminadosAntes) {
+            cambios.add(new EventoCambio(TipoCambio.ELIMINAR, id));
+        }
+        for (Map.Entry<String, TipoCambio> pendiente : pendientes.entrySet()) {
+            cambios.add(new EventoCambio(pendiente.getValue(), pendiente.getKey()));
+        }
+        LoteCambios lote = new LoteCambios(cambios, recargaPendiente);
+        eliminadosAntes.clear();
+        pendientes.clear();
+        recargaPendiente = false;
+        return lote;
+    }
+
+    /**
+     * Hilo compartido que entrega los cambios cuando vence la ventana de tiempo
+     */
+    private static final class Programador {
+        static final ScheduledExecutorService INSTANCIA = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "despachador-eventos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package co.unibague.agropecuario.patterns.observer;
+
+import co.unibague.agropecuario.model.repository.TipoCambio;
+
+/**
+ * Evento publicado por los controladores después de cada mutación.
+ * Identifica la entidad afectada y el tipo de cambio, de modo que los
+ * observadores puedan actualizar solo lo que cambió en lugar de recargar todo.
+ */
+public final class EventoCambio {
+
+    private final TipoCambio tipo;
+    private final String id;
+
+    /**
+     * Constructor del evento
+     * @param tipo tipo de cambio realizado
+     * @param id identificador de la entidad afectada
+     */
+    public EventoCambio(TipoCambio tipo, String id) {
+        this.tipo = tipo;
+        this.id = id;
+    }
+
+    public TipoCambio getTipo() {
+        return tipo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return tipo + " " + id;
+    }
+}
\ No newline at end of file
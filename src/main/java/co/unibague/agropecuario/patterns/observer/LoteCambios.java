@@ -0,0 +1,49 @@
+package co.unibague.agropecuario.patterns.observer;
+
+import java.util.List;
+
+/**
+ * Conjunto de cambios acumulados durante un lote o una ventana de tiempo y
+ * entregado a cada observador en una sola notificación.
+ * <p>
+ * Los cambios ya vienen consolidados por entidad: crear y luego eliminar la misma
+ * entidad no produce ningún cambio, y varias actualizaciones se reducen a una.
+ * Aplicados en orden dejan a un observador en el mismo estado que el controlador.
+ */
+public final class LoteCambios {
+
+    private final List<EventoCambio> cambios;
+    private final boolean recargaCompleta;
+
+    LoteCambios(List<EventoCambio> cambios, boolean recargaCompleta) {
+        this.cambios = List.copyOf(cambios);
+        this.recargaCompleta = recargaCompleta;
+    }
+
+    /**
+     * Obtiene los cambios consolidados, en el orden en que deben aplicarse.
+     * Cuando el lote pide una recarga completa la lista puede estar incompleta.
+     * @return lista inmutable de cambios
+     */
+    public List<EventoCambio> getCambios() {
+        return cambios;
+    }
+
+    /**
+     * Indica si durante el lote se publicó una notificación sin detalle, caso en
+     * el que el observador debe recargar todo en lugar de aplicar los cambios
+     * @return true si se requiere una recarga completa
+     */
+    public boolean isRecargaCompleta() {
+        return recargaCompleta;
+    }
+
+    public int tamanio() {
+        return cambios.size();
+    }
+
+    @Override
+    public String toString() {
+        return "LoteCambios[" + cambios.size() + (recargaCompleta ? ", recarga completa]" : "]");
+    }
+}
\ No newline at end of file
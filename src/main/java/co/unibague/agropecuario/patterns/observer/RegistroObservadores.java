@@ -0,0 +1,256 @@
+package co.unibague.agropecuario.patterns.observer;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registro de observadores con copia en escritura y referencias débiles.
+ * <p>
+ * La lista de suscripciones es un arreglo inmutable que se reemplaza con una
+ * operación atómica, así se puede registrar o remover un observador desde
+ * cualquier hilo, incluso durante una notificación, sin cerrojos. Los observadores
+ * se guardan con referencias débiles: una ventana que se descarta sin removerse
+ * no queda retenida por el controlador. Quien registra un observador debe
+ * mantener una referencia fuerte mientras quiera recibir notificaciones.
+ * <p>
+ * La entrega asíncrona usa una cola acotada por observador que se vacía en un
+ * grupo de hilos dedicado, uno a la vez por observador para conservar el orden.
+ * Si un observador lento llena su cola, los cambios encolados se descartan y se
+ * reemplazan por una petición de recarga completa: quien modifica los datos
+ * nunca espera al observador.
+ */
+final class RegistroObservadores {
+
+    private static final Object SIN_DATOS = new Object();
+    private static final Suscripcion[] VACIO = new Suscripcion[0];
+
+    private final AtomicReference<Suscripcion[]> suscripciones;
+    private final int capacidadCola;
+
+    /**
+     * Constructor del registro
+     * @param capacidadCola número máximo de notificaciones pendientes por observador en modo asíncrono
+     */
+    RegistroObservadores(int capacidadCola) {
+        if (capacidadCola < 1) {
+            throw new IllegalArgumentException("La capacidad de la cola debe ser positiva: " + capacidadCola);
+        }
+        this.suscripciones = new AtomicReference<>(VACIO);
+        this.capacidadCola = capacidadCola;
+    }
+
+    /**
+     * Registra un observador si no estaba registrado
+     * @param observer observador a registrar
+     * @return true si se agregó
+     */
+    boolean agregar(Observer observer) {
+        while (true) {
+            Suscripcion[] actuales = suscripciones.get();
+            List<Suscripcion> nuevas = new ArrayList<>(actuales.length + 1);
+            for (Suscripcion suscripcion : actuales) {
+                Observer existente = suscripcion.referencia.get();
+                if (existente == observer) {
+                    return false;
+                }
+                if (existente != null) {
+                    nuevas.add(suscripcion);
+                }
+            }
+            nuevas.add(new Suscripcion(observer));
+            if (suscripciones.compareAndSet(actuales, nuevas.toArray(VACIO))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Remueve un observador; las notificaciones que tuviera encoladas se descartan
+     * @param observer observador a remover
+     * @return true si estaba registrado
+     */
+    boolean remover(Observer observer) {
+        while (true) {
+            Suscripcion[] actuales = suscripciones.get();
+            List<Suscripcion> nuevas = new ArrayList<>(actuales.length);
+            Suscripcion removida = null;
+            for (Suscripcion suscripcion : actuales) {
+                Observer existente = suscripcion.referencia.get();
+                if (existente == observer) {
+                    removida = suscripcion;
+                } else if (existente != null) {
+                    nuevas.add(suscripcion);
+                }
+            }
+            if (suscripciones.compareAndSet(actuales, nuevas.toArray(VACIO))) {
+                if (removida != null) {
+                    removida.referencia.clear();
+                }
+                return removida != null;
+            }
+        }
+    }
+
+    /**
+     * Entrega una notificación en el hilo actual a los observadores registrados
+     * @param data datos de la notificación, o null para una notificación sin detalle
+     */
+    void entregar(Object data) {
+        boolean hayLiberados = false;
+        for (Suscripcion suscripcion : suscripciones.get()) {
+            Observer observer = suscripcion.referencia.get();
+            if (observer == null) {
+                hayLiberados = true;
+            } else {
+                notificar(observer, data == null ? SIN_DATOS : data);
+            }
+        }
+        if (hayLiberados) {
+            purgar();
+        }
+    }
+
+    /**
+     * Encola una notificación para cada observador y regresa sin esperar la entrega
+     * @param data datos de la notificación, o null para una notificación sin detalle
+     */
+    void encolar(Object data) {
+        boolean hayLiberados = false;
+        for (Suscripcion suscripcion : suscripciones.get()) {
+            if (suscripcion.referencia.get() == null) {
+                hayLiberados = true;
+            } else {
+                suscripcion.encolar(data == null ? SIN_DATOS : data);
+            }
+        }
+        if (hayLiberados) {
+            purgar();
+        }
+    }
+
+    /**
+     * Obtiene el número de observadores vivos registrados
+     * @return número de observadores
+     */
+    int tamanio() {
+        int vivos = 0;
+        for (Suscripcion suscripcion : suscripciones.get()) {
+            if (suscripcion.referencia.get() != null) {
+                vivos++;
+            }
+        }
+        return vivos;
+    }
+
+    /**
+     * Quita las suscripciones cuyos observadores ya fueron recolectados
+     */
+    private void purgar() {
+        while (true) {
+            Suscripcion[] actuales = suscripciones.get();
+            List<Suscripcion> vivas = new ArrayList<>(actuales.length);
+            for (Suscripcion suscripcion : actuales) {
+                if (suscripcion.referencia.get() != null) {
+                    vivas.add(suscripcion);
+                }
+            }
+            if (vivas.size() == actuales.length || suscripciones.compareAndSet(actuales, vivas.toArray(VACIO))) {
+                return;
+            }
+        }
+    }
+
+    private static void notificar(Observer observer, Object data) {
+        if (data == SIN_DATOS) {
+            observer.update();
+        } else {
+            observer.update(data);
+        }
+    }
+
+    /**
+     * Observador registrado junto con su cola de entregas asíncronas
+     */
+    private final class Suscripcion {
+        private final WeakReference<Observer> referencia;
+        private final ArrayDeque<Object> cola;
+        private boolean recargaPendiente;
+        private boolean programada;
+
+        private Suscripcion(Observer observer) {
+            this.referencia = new WeakReference<>(observer);
+            this.cola = new ArrayDeque<>();
+        }
+
+        private void encolar(Object data) {
+            synchronized (this) {
+                if (recargaPendiente) {
+                    // La recarga pendiente ya incluirá este cambio
+                } else if (cola.size() >= capacidadCola) {
+                    cola.clear();
+                    recargaPendiente = true;
+                } else {
+                    cola.add(data);
+                }
+                if (programada) {
+                    return;
+                }
+                programada = true;
+            }
+            Entregas.EJECUTOR.execute(this::vaciar);
+        }
+
+        /**
+         * Entrega las notificaciones encoladas en orden; solo un hilo vacía la cola a la vez
+         */
+        private void vaciar() {
+            while (true) {
+                Object data;
+                synchronized (this) {
+                    if (recargaPendiente) {
+                        recargaPendiente = false;
+                        data = new LoteCambios(List.of(), true);
+                    } else {
+                        data = cola.poll();
+                        if (data == null) {
+                            programada = false;
+                            return;
+                        }
+                    }
+                }
+
+                Observer observer = referencia.get();
+                if (observer == null) {
+                    synchronized (this) {
+                        cola.clear();
+                        programada = false;
+                    }
+                    return;
+                }
+                try {
+                    notificar(observer, data);
+                } catch (RuntimeException e) {
+                    // Un observador con errores no debe detener la entrega a los demás
+                    System.err.println("Error al notificar a " + observer + ": " + e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hilos compartidos para las entregas asíncronas
+     */
+    private static final class Entregas {
+        static final ExecutorService EJECUTOR = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())), tarea -> {
+                    Thread hilo = new Thread(tarea, "entrega-eventos");
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,294 @@
+package co.unibague.agropecuario.persistence;
+
+import co.unibague.agropecuario.model.repository.Repositorio;
+import co.unibague.agropecuario.utils.Constantes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Punto de acceso al almacenamiento durable del sistema.
+ * Administra el directorio de datos, los diarios de cada repositorio, sus
+ * instantáneas y la sincronización periódica en grupo con el disco.
+ * <p>
+ * Al iniciar, cada colección se carga desde su última instantánea (mapeada en memoria)
+ * y solo se reproduce la cola del diario posterior a ella. Al cerrar, o cuando la cola
+ * crece demasiado, se guarda una nueva instantánea y el diario se reinicia.
+ * <p>
+ * El directorio y el intervalo se configuran con las propiedades del sistema
+ * {@value #PROPIEDAD_DIRECTORIO} y {@value #PROPIEDAD_INTERVALO}.
+ */
+public class AlmacenDatos implements Closeable {
+
+    public static final String PROPIEDAD_DIRECTORIO = "agro.datos.dir";
+    public static final String PROPIEDAD_INTERVALO = "agro.diario.intervaloMs";
+
+    /** Tamaño de la cola del diario a partir del cual conviene una instantánea nueva */
+    private static final long UMBRAL_PUNTO_CONTROL = 8L * 1024 * 1024;
+
+    private final Path directorio;
+    private final long intervaloGrupoMs;
+    private final List<Coleccion<?>> colecciones;
+    private final ScheduledExecutorService programador;
+    private final Thread ganchoCierre;
+    private volatile boolean cerrado;
+
+    private AlmacenDatos(Path directorio, long intervaloGrupoMs) throws IOException {
+        this.directorio = Files.createDirectories(directorio);
+        this.intervaloGrupoMs = intervaloGrupoMs;
+        this.colecciones = new CopyOnWriteArrayList<>();
+        this.programador = intervaloGrupoMs > 0
+                ? Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread hilo = new Thread(r, "almacen-datos-sincronizacion");
+                    hilo.setDaemon(true);
+                    return hilo;
+                })
+                : null;
+        this.ganchoCierre = new Thread(this::cerrarSilenciosamente, "almacen-datos-cierre");
+    }
+
+    /**
+     * Abre el almacén sobre un directorio, creándolo si no existe, e inicia la
+     * sincronización periódica
+     * @param directorio directorio de datos
+     * @param intervaloGrupoMs intervalo de sincronización en grupo; 0 para sincronizar cada escritura
+     * @return almacén abierto
+     * @throws IOException si no se puede crear el directorio
+     */
+    public static AlmacenDatos abrir(Path directorio, long intervaloGrupoMs) throws IOException {
+        AlmacenDatos almacen = new AlmacenDatos(directorio, intervaloGrupoMs);
+        almacen.iniciar();
+        return almacen;
+    }
+
+    /**
+     * Abre el almacén con la configuración de las propiedades del sistema
+     * @return almacén abierto
+     * @throws IOException si no se puede crear el directorio
+     */
+    public static AlmacenDatos abrirPorDefecto() throws IOException {
+        Path directorio = Paths.get(System.getProperty(PROPIEDAD_DIRECTORIO, Constantes.DIRECTORIO_DATOS));
+        long intervalo = Long.getLong(PROPIEDAD_INTERVALO, Constantes.INTERVALO_SINCRONIZACION_MS);
+        return abrir(directorio, intervalo);
+    }
+
+    private void iniciar() {
+        if (programador != null) {
+            programador.scheduleWithFixedDelay(this::sincronizarEnGrupo,
+                    intervaloGrupoMs, intervaloGrupoMs, TimeUnit.MILLISECONDS);
+        }
+
+        // Garantizar que lo pendiente llegue al disco aunque se salga con System.exit
+        Runtime.getRuntime().addShutdownHook(ganchoCierre);
+    }
+
+    /**
+     * Conecta un repositorio con su almacenamiento: recupera el estado persistido
+     * (instantánea más cola del diario) y registra en el diario cada mutación posterior
+     * antes de aplicarla
+     * @param nombre nombre lógico del repositorio (agricolas, ganaderos, fincas)
+     * @param codificador codificador de las entidades
+     * @param repositorio repositorio a recuperar; sus oyentes reciben las entidades recuperadas
+     * @param <T> tipo de entidad
+     * @return true si había datos persistidos, false si es la primera ejecución
+     * @throws IOException si no se pueden leer los archivos
+     */
+    public <T> boolean conectar(String nombre, Codificador<T> codificador, Repositorio<T> repositorio)
+            throws IOException {
+        Coleccion<T> coleccion = new Coleccion<>(directorio.resolve(nombre + ".instantanea"), codificador,
+                repositorio, new DiarioEscritura<>(directorio.resolve(nombre + ".diario"),
+                codificador, intervaloGrupoMs));
+        boolean existente = coleccion.recuperar();
+        colecciones.add(coleccion);
+
+        if (coleccion.tamanioCola() >= UMBRAL_PUNTO_CONTROL) {
+            coleccion.guardarInstantanea();
+        }
+        return existente;
+    }
+
+    /**
+     * Guarda una instantánea de cada colección con cambios pendientes y reinicia sus diarios.
+     * Los repositorios pueden seguir modificándose mientras se guarda.
+     * @throws IOException si falla la escritura
+     */
+    public void crearPuntoControl() throws IOException {
+        for (Coleccion<?> coleccion : colecciones) {
+            if (coleccion.tamanioCola() > 0) {
+                coleccion.guardarInstantanea();
+            }
+        }
+    }
+
+    /**
+     * Fuerza la sincronización inmediata de todos los diarios
+     * @throws IOException si falla alguna escritura
+     */
+    public void sincronizar() throws IOException {
+        for (Coleccion<?> coleccion : colecciones) {
+            coleccion.diario.sincronizar();
+        }
+    }
+
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        if (programador != null) {
+            programador.shutdown();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(ganchoCierre);
+        } catch (IllegalStateException e) {
+            // La JVM ya se está apagando: el cierre viene del propio gancho
+        }
+        try {
+            crearPuntoControl();
+        } finally {
+            for (Coleccion<?> coleccion : colecciones) {
+                coleccion.diario.close();
+            }
+        }
+    }
+
+    private void sincronizarEnGrupo() {
+        try {
+            sincronizar();
+        } catch (IOException e) {
+            System.err.println("Error al sincronizar los diarios de datos: " + e.getMessage());
+        }
+    }
+
+    private void cerrarSilenciosamente() {
+        try {
+            close();
+        } catch (IOException e) {
+            System.err.println("Error al cerrar el almacén de datos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Repositorio junto con su diario y su archivo de instantánea
+     */
+    private static class Coleccion<T> {
+
+        private static final String EXTENSION_DANADA = ".danada";
+
+        private final Path archivoInstantanea;
+        private final Codificador<T> codificador;
+        private final Repositorio<T> repositorio;
+        private final DiarioEscritura<T> diario;
+
+        Coleccion(Path archivoInstantanea, Codificador<T> codificador,
+                  Repositorio<T> repositorio, DiarioEscritura<T> diario) {
+            this.archivoInstantanea = archivoInstantanea;
+            this.codificador = codificador;
+            this.repositorio = repositorio;
+            this.diario = diario;
+        }
+
+        /**
+         * Carga la instantánea y reproduce la parte del diario que no cubre.
+         * Una instantánea dañada no impide iniciar: se aparta con la extensión
+         * {@value #EXTENSION_DANADA} y el estado se reconstruye con el diario completo.
+         */
+        boolean recuperar() throws IOException {
+            boolean existente = !diario.estaVacio();
+            long desde = DiarioEscritura.CABECERA_ARCHIVO;
+
+            try (Instantanea instantanea = Instantanea.abrir(archivoInstantanea)) {
+                if (instantanea != null) {
+                    existente = true;
+                    repositorio.reservarCapacidad(instantanea.getRegistros());
+                    instantanea.cargar(codificador, repositorio::insertar);
+                    // Si el diario ya se reinició después de la instantánea, se reproduce completo
+                    if (instantanea.getGeneracionDiario() == diario.getGeneracion()) {
+                        desde = instantanea.getPosicionDiario();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                existente = true;
+                apartarInstantanea(e);
+            }
+
+            diario.reproducirDesde(desde, repositorio);
+            repositorio.establecerRegistroAnticipado(diario);
+            return existente;
+        }
+
+        /**
+         * Mueve la instantánea dañada para que no vuelva a leerse ni la reemplace el
+         * siguiente punto de control; queda disponible para revisarla a mano
+         */
+        private void apartarInstantanea(Exception causa) throws IOException {
+            Path apartada = archivoInstantanea.resolveSibling(archivoInstantanea.getFileName() + EXTENSION_DANADA);
+            Files.move(archivoInstantanea, apartada, StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("Advertencia: la instantánea " + archivoInstantanea + " está dañada ("
+                    + causa.getMessage() + "); se movió a " + apartada + " y se reconstruye con el diario");
+            if (diario.getGeneracion() > 1) {
+                System.err.println("Advertencia: el diario " + diario.getArchivo() + " va en la generación "
+                        + diario.getGeneracion() + "; los cambios de generaciones anteriores solo estaban en la instantánea");
+            }
+        }
+
+        /**
+         * Guarda el estado actual y descarta el diario que ya quedó cubierto.
+         * La posición del diario se toma con el cerrojo de lectura, cuando ninguna escritura
+         * está a medias, y la vista después: puede incluir cambios posteriores a la posición,
+         * pero reproducirlos de nuevo deja el mismo resultado porque cada registro fija el
+         * estado final de una entidad. El archivo se escribe sin cerrojos, así las escrituras
+         * no esperan al punto de control.
+         * <p>
+         * El diario solo se reinicia si no recibió registros mientras se guardaba; si los
+         * recibió se conserva y la instantánea indica desde dónde reproducirlo. Si el proceso
+         * se interrumpe antes del reinicio, la instantánea conserva la generación y posición
+         * del diario anterior y la recuperación sigue siendo exacta.
+         */
+        void guardarInstantanea() throws IOException {
+            long[] generacionYPosicion;
+            try {
+                generacionYPosicion = repositorio.leer(() -> {
+                    synchronized (diario) {
+                        try {
+                            return new long[] {diario.getGeneracion(), diario.posicionFinal()};
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            long posicion = generacionYPosicion[1];
+            Instantanea.escribir(archivoInstantanea, repositorio.instantanea(), codificador,
+                    generacionYPosicion[0], posicion);
+
+            // El cerrojo del diario basta: las escrituras lo toman para anexar cada registro
+            synchronized (diario) {
+                if (diario.posicionFinal() == posicion) {
+                    diario.reiniciar();
+                }
+            }
+        }
+
+        long tamanioCola() throws IOException {
+            return diario.posicionFinal() - DiarioEscritura.CABECERA_ARCHIVO;
+        }
+    }
+}
\ No newline at end of file
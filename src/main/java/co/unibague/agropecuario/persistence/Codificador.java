@@ -0,0 +1,32 @@
+package co.unibague.agropecuario.persistence;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Contrato para serializar entidades en el formato binario del diario y las instantáneas.
+ * @param <T> tipo de entidad
+ */
+public interface Codificador<T> {
+
+    /**
+     * Escribe la entidad al final de la salida
+     * @param entidad entidad a serializar
+     * @param salida búfer de destino
+     */
+    void escribir(T entidad, SalidaBinaria salida);
+
+    /**
+     * Lee una entidad. El búfer está limitado exactamente al registro, de modo que
+     * los campos agregados por versiones posteriores del formato pueden ignorarse.
+     * @param entrada búfer de origen
+     * @return entidad reconstruida
+     */
+    T leer(ByteBuffer entrada);
+
+    /**
+     * Obtiene el identificador de la entidad
+     * @param entidad entidad
+     * @return identificador
+     */
+    String obtenerId(T entidad);
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package co.unibague.agropecuario.persistence;
+
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.model.entities.ProductoAgropecuario;
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codificadores binarios de las entidades del sistema.
+ * Cada registro comienza con un byte de versión. Las versiones nuevas solo pueden
+ * agregar campos al final, así un lector antiguo ignora lo que no conoce y un lector
+ * nuevo asigna valores por defecto a los campos ausentes en registros antiguos.
+ */
+public final class CodificadoresEntidades {
+
+    /** Versión actual del formato de las entidades */
+    public static final int VERSION = 1;
+
+    public static final Codificador<ProductoAgricola> PRODUCTO_AGRICOLA = new Codificador<>() {
+        @Override
+        public void escribir(ProductoAgricola producto, SalidaBinaria salida) {
+            salida.escribirByte(VERSION);
+            escribirBase(producto, salida);
+            salida.escribirTexto(producto.getTipoSuelo());
+            salida.escribirTexto(producto.getTemporada());
+            salida.escribirDouble(producto.getHectareasCultivadas());
+            salida.escribirDouble(producto.getRendimientoPorHa());
+            salida.escribirTexto(producto.getTipoCultivo());
+            salida.escribirTexto(producto.getCodigoFinca());
+        }
+
+        @Override
+        public ProductoAgricola leer(ByteBuffer entrada) {
+            leerVersion(entrada);
+            ProductoAgricola producto = new ProductoAgricola();
+            leerBase(producto, entrada);
+            producto.setTipoSuelo(EntradaBinaria.leerTexto(entrada));
+            producto.setTemporada(EntradaBinaria.leerTexto(entrada));
+            producto.setHectareasCultivadas(entrada.getDouble());
+            producto.setRendimientoPorHa(entrada.getDouble());
+            producto.setTipoCultivo(EntradaBinaria.leerTexto(entrada));
+            producto.setCodigoFinca(EntradaBinaria.leerTexto(entrada));
+            return producto;
+        }
+
+        @Override
+        public String obtenerId(ProductoAgricola producto) {
+            return producto.getId();
+        }
+    };
+
+    public static final Codificador<ProductoGanadero> PRODUCTO_GANADERO = new Codificador<>() {
+        @Override
+        public void escribir(ProductoGanadero producto, SalidaBinaria salida) {
+            salida.escribirByte(VERSION);
+            escribirBase(producto, salida);
+            salida.escribirTexto(producto.getTipoGanado());
+            salida.escribirVarInt(producto.getNumeroAnimales());
+            salida.escribirDouble(producto.getPesoPromedio());
+            salida.escribirDouble(producto.getProduccionDiaria());
+            salida.escribirTexto(producto.getTipoAlimentacion());
+            salida.escribirBoolean(producto.isEstadoAplicacion());
+
+            List<String> aplicaciones = producto.getAplicacionesRealizadas();
+            salida.escribirVarInt(aplicaciones.size());
+            for (String aplicacion : aplicaciones) {
+                salida.escribirTexto(aplicacion);
+            }
+        }
+
+        @Override
+        public ProductoGanadero leer(ByteBuffer entrada) {
+            leerVersion(entrada);
+            ProductoGanadero producto = new ProductoGanadero();
+            leerBase(producto, entrada);
+            producto.setTipoGanado(EntradaBinaria.leerTexto(entrada));
+            producto.setNumeroAnimales(EntradaBinaria.leerVarInt(entrada));
+            producto.setPesoPromedio(entrada.getDouble());
+            producto.setProduccionDiaria(entrada.getDouble());
+            producto.setTipoAlimentacion(EntradaBinaria.leerTexto(entrada));
+            producto.setEstadoAplicacion(EntradaBinaria.leerBoolean(entrada));
+
+            int totalAplicaciones = EntradaBinaria.leerVarInt(entrada);
+            List<String> aplicaciones = new ArrayList<>(totalAplicaciones);
+            for (int i = 0; i < totalAplicaciones; i++) {
+                aplicaciones.add(EntradaBinaria.leerTexto(entrada));
+            }
+            producto.setAplicacionesRealizadas(aplicaciones);
+            return producto;
+        }
+
+        @Override
+        public String obtenerId(ProductoGanadero producto) {
+            return producto.getId();
+        }
+    };
+
+    public static final Codificador<Finca> FINCA = new Codificador<>() {
+        @Override
+        public void escribir(Finca finca, SalidaBinaria salida) {
+            salida.escribirByte(VERSION);
+            salida.escribirTexto(finca.getCodigo());
+            salida.escribirTexto(finca.getNombreFinca());
+            salida.escribirTexto(finca.getPropietario());
+            salida.escribirTexto(finca.getMunicipio());
+            salida.escribirTexto(finca.getVereda());
+            salida.escribirDouble(finca.getAreaTotal());
+            salida.escribirTexto(finca.getTipoTerreno());
+            salida.escribirTexto(finca.getInfraestructura());
+            salida.escribirTexto(finca.getTelefono());
+            salida.escribirTexto(finca.getEmail());
+        }
+
+        @Override
+        public Finca leer(ByteBuffer entrada) {
+            leerVersion(entrada);
+            Finca finca = new Finca();
+            finca.setCodigo(EntradaBinaria.leerTexto(entrada));
+            finca.setNombreFinca(EntradaBinaria.leerTexto(entrada));
+            finca.setPropietario(EntradaBinaria.leerTexto(entrada));
+            finca.setMunicipio(EntradaBinaria.leerTexto(entrada));
+            finca.setVereda(EntradaBinaria.leerTexto(entrada));
+            finca.setAreaTotal(entrada.getDouble());
+            finca.setTipoTerreno(EntradaBinaria.leerTexto(entrada));
+            finca.setInfraestructura(EntradaBinaria.leerTexto(entrada));
+            finca.setTelefono(EntradaBinaria.leerTexto(entrada));
+            finca.setEmail(EntradaBinaria.leerTexto(entrada));
+            return finca;
+        }
+
+        @Override
+        public String obtenerId(Finca finca) {
+            return finca.getCodigo();
+        }
+    };
+
+    // Prevenir instanciación
+    private CodificadoresEntidades() {}
+
+    private static void escribirBase(ProductoAgropecuario producto, SalidaBinaria salida) {
+        salida.escribirTexto(producto.getId());
+        salida.escribirTexto(producto.getNombre());
+        salida.escribirFecha(producto.getFechaProduccion());
+        salida.escribirDouble(producto.getCostoProduccion());
+        salida.escribirDouble(producto.getCantidadProducida());
+        salida.escribirDouble(producto.getPrecioVenta());
+    }
+
+    private static void leerBase(ProductoAgropecuario producto, ByteBuffer entrada) {
+        producto.setId(EntradaBinaria.leerTexto(entrada));
+        producto.setNombre(EntradaBinaria.leerTexto(entrada));
+        producto.setFechaProduccion(EntradaBinaria.leerFecha(entrada));
+        producto.setCostoProduccion(entrada.getDouble());
+        producto.setCantidadProducida(entrada.getDouble());
+        producto.setPrecioVenta(entrada.getDouble());
+    }
+
+    private static int leerVersion(ByteBuffer entrada) {
+        int version = entrada.get();
+        if (version < 1) {
+            throw new IllegalStateException("Versión de registro no soportada: " + version);
+        }
+        return version;
+    }
+}
\ No newline at end of file
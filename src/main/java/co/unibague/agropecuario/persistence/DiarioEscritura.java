@@ -0,0 +1,377 @@
+package co.unibague.agropecuario.persistence;
+
+import co.unibague.agropecuario.model.repository.OyenteRepositorio;
+import co.unibague.agropecuario.model.repository.Repositorio;
+import co.unibague.agropecuario.model.repository.TipoCambio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario de escritura anticipada (solo anexado) de las mutaciones de un repositorio.
+ * El archivo comienza con una cabecera [magia][formato][generación] y luego contiene
+ * registros de la forma [longitud][crc32c][operación][carga], donde la carga es
+ * la entidad codificada o, en las eliminaciones, solo su identificador.
+ * La generación aumenta cada vez que el diario se reinicia tras una instantánea.
+ * <p>
+ * Se conecta como registro anticipado del repositorio: cada cambio se anexa al
+ * diario antes de aplicarse en memoria, y si la escritura falla el registro se
+ * retira y el cambio no se aplica.
+ * <p>
+ * Las escrituras se acumulan en memoria y se sincronizan con el disco en grupo
+ * (group commit): un único fsync cubre todos los registros del intervalo configurado.
+ * Con intervalo cero cada registro se sincroniza antes de retornar, así un cambio
+ * aceptado ya es durable y uno rechazado no deja rastro.
+ * @param <T> tipo de entidad registrada
+ */
+public class DiarioEscritura<T> implements OyenteRepositorio<T>, Closeable {
+
+    /** Tamaño de la cabecera del archivo: magia(4) + formato(4) + generación(8) */
+    public static final int CABECERA_ARCHIVO = 16;
+
+    private static final int MAGIA = 0x41475244; // "AGRD"
+    private static final int FORMATO = 1;
+    private static final int CABECERA = 9; // longitud(4) + crc(4) + operación(1)
+    private static final int MAXIMO_REGISTRO = 16 * 1024 * 1024;
+    private static final int TAMANIO_LECTURA = 4 * 1024 * 1024;
+    private static final int UMBRAL_VOLCADO = 1024 * 1024;
+
+    // Códigos de operación persistidos: no deben cambiar entre versiones
+    private static final byte OP_CREAR = 1;
+    private static final byte OP_ACTUALIZAR = 2;
+    private static final byte OP_ELIMINAR = 3;
+    private static final byte OP_APLICAR_TRATAMIENTO = 4;
+
+    private final Path archivo;
+    private final FileChannel canal;
+    private final Codificador<T> codificador;
+    private final boolean sincronoPorRegistro;
+    private final SalidaBinaria pendiente;
+    private final SalidaBinaria carga;
+    private final CRC32C crc;
+    private long generacion;
+    private boolean sinSincronizar;
+    private long registrosEscritos;
+    private IOException falla;
+
+    /**
+     * Abre (o crea) el diario de un repositorio
+     * @param archivo ruta del archivo del diario
+     * @param codificador codificador de las entidades
+     * @param intervaloGrupoMs intervalo de sincronización en grupo; 0 para sincronizar cada registro
+     * @throws IOException si no se puede abrir el archivo o no es un diario
+     */
+    public DiarioEscritura(Path archivo, Codificador<T> codificador, long intervaloGrupoMs) throws IOException {
+        this.archivo = archivo;
+        this.codificador = codificador;
+        this.sincronoPorRegistro = intervaloGrupoMs <= 0;
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        leerCabecera();
+        this.canal.position(canal.size());
+        this.pendiente = new SalidaBinaria(64 * 1024);
+        this.carga = new SalidaBinaria(512);
+        this.crc = new CRC32C();
+    }
+
+    @Override
+    public void alCambiar(TipoCambio tipo, T anterior, T nuevo) {
+        registrar(tipo, tipo == TipoCambio.ELIMINAR ? anterior : nuevo);
+    }
+
+    /**
+     * Agrega un registro al diario. Si la escritura falla el registro se descarta
+     * del diario antes de lanzar la excepción.
+     * @param tipo tipo de cambio
+     * @param entidad entidad afectada (estado final, o la eliminada)
+     * @throws UncheckedIOException si no se pudo escribir el registro
+     */
+    public synchronized void registrar(TipoCambio tipo, T entidad) {
+        if (falla != null) {
+            throw new UncheckedIOException("El diario " + archivo
+                    + " no pudo descartar un registro fallido y no admite más escrituras", falla);
+        }
+        carga.reiniciar();
+        if (tipo == TipoCambio.ELIMINAR) {
+            carga.escribirTexto(codificador.obtenerId(entidad));
+        } else {
+            codificador.escribir(entidad, carga);
+        }
+
+        byte operacion = codigoOperacion(tipo);
+        crc.reset();
+        crc.update(operacion);
+        crc.update(carga.getDatos(), 0, carga.getPosicion());
+
+        long inicioArchivo;
+        try {
+            inicioArchivo = canal.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el diario " + archivo, e);
+        }
+        int inicioRegistro = pendiente.getPosicion();
+        pendiente.escribirInt(carga.getPosicion());
+        pendiente.escribirInt((int) crc.getValue());
+        pendiente.escribirByte(operacion);
+        pendiente.escribirBytes(carga.getDatos(), 0, carga.getPosicion());
+
+        try {
+            if (sincronoPorRegistro) {
+                sincronizar();
+            } else if (pendiente.getPosicion() >= UMBRAL_VOLCADO) {
+                volcar();
+            }
+        } catch (IOException e) {
+            descartarRegistro(inicioArchivo, inicioRegistro, e);
+            throw new UncheckedIOException("No se pudo escribir en el diario " + archivo, e);
+        }
+        registrosEscritos++;
+    }
+
+    /**
+     * Escribe los registros pendientes y fuerza su persistencia en disco.
+     * Es invocado periódicamente por {@link AlmacenDatos} para el commit en grupo.
+     * @throws IOException si falla la escritura
+     */
+    public synchronized void sincronizar() throws IOException {
+        volcar();
+        if (sinSincronizar) {
+            canal.force(false);
+            sinSincronizar = false;
+        }
+    }
+
+    /**
+     * Reproduce el diario sobre un repositorio para recuperar su estado.
+     * Si el final del archivo está incompleto o corrupto (por ejemplo, tras un corte
+     * de energía) se descarta desde el último registro válido.
+     * @param repositorio repositorio de destino
+     * @return número de registros aplicados
+     * @throws IOException si falla la lectura
+     */
+    public synchronized long reproducir(Repositorio<T> repositorio) throws IOException {
+        return reproducirDesde(CABECERA_ARCHIVO, repositorio);
+    }
+
+    /**
+     * Reproduce el diario a partir de una posición conocida (por ejemplo, la registrada
+     * en una instantánea)
+     * @param desde posición en bytes del primer registro a aplicar
+     * @param repositorio repositorio de destino
+     * @return número de registros aplicados
+     * @throws IOException si falla la lectura
+     */
+    public synchronized long reproducirDesde(long desde, Repositorio<T> repositorio) throws IOException {
+        volcar();
+        long tamanio = canal.size();
+        long valido = Math.max(CABECERA_ARCHIVO, Math.min(desde, tamanio));
+        long aplicados = 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANIO_LECTURA);
+        long posicionLectura = valido;
+
+        while (true) {
+            int leidos = canal.read(buffer, posicionLectura);
+            if (leidos > 0) {
+                posicionLectura += leidos;
+            }
+            buffer.flip();
+
+            boolean corrupto = false;
+            int requerido = 0;
+            while (buffer.remaining() >= CABECERA) {
+                int inicio = buffer.position();
+                int longitud = buffer.getInt(inicio);
+                if (longitud < 0 || longitud > MAXIMO_REGISTRO) {
+                    corrupto = true;
+                    break;
+                }
+                if (buffer.remaining() < CABECERA + longitud) {
+                    requerido = CABECERA + longitud;
+                    break;
+                }
+
+                crc.reset();
+                crc.update(buffer.slice(inicio + 8, longitud + 1));
+                if ((int) crc.getValue() != buffer.getInt(inicio + 4)) {
+                    corrupto = true;
+                    break;
+                }
+
+                aplicar(buffer.get(inicio + 8), buffer.slice(inicio + CABECERA, longitud), repositorio);
+                buffer.position(inicio + CABECERA + longitud);
+                valido += CABECERA + longitud;
+                aplicados++;
+            }
+
+            // Lo que quede sin aplicar al llegar al final es un registro incompleto
+            if (corrupto || leidos < 0) {
+                break;
+            }
+            buffer.compact();
+            if (requerido > buffer.capacity()) {
+                ByteBuffer mayor = ByteBuffer.allocate(requerido);
+                buffer.flip();
+                mayor.put(buffer);
+                buffer = mayor;
+            }
+        }
+
+        if (valido < tamanio) {
+            System.err.println("Advertencia: se descartó el final incompleto del diario " + archivo
+                    + " (" + (tamanio - valido) + " bytes)");
+            canal.truncate(valido);
+        }
+        canal.position(valido);
+        return aplicados;
+    }
+
+    /**
+     * Descarta todos los registros e inicia una nueva generación del diario.
+     * Solo debe invocarse cuando una instantánea ya durable contiene su efecto.
+     * @throws IOException si falla la escritura
+     */
+    public synchronized void reiniciar() throws IOException {
+        pendiente.reiniciar();
+        canal.truncate(CABECERA_ARCHIVO);
+        escribirCabecera(generacion + 1);
+        canal.position(CABECERA_ARCHIVO);
+        canal.force(true);
+        sinSincronizar = false;
+        // La instantánea ya refleja el estado en memoria: no queda registro sobrante
+        falla = null;
+    }
+
+    /**
+     * Obtiene la posición actual del final del diario, incluyendo registros pendientes
+     * @return posición en bytes
+     * @throws IOException si no se puede consultar el archivo
+     */
+    public synchronized long posicionFinal() throws IOException {
+        return canal.position() + pendiente.getPosicion();
+    }
+
+    /**
+     * Verifica si el diario no contiene registros
+     * @return true si está vacío
+     * @throws IOException si no se puede consultar el archivo
+     */
+    public synchronized boolean estaVacio() throws IOException {
+        return posicionFinal() == CABECERA_ARCHIVO;
+    }
+
+    /**
+     * Obtiene el número de registros escritos desde que se abrió el diario
+     * @return registros escritos
+     */
+    public synchronized long getRegistrosEscritos() {
+        return registrosEscritos;
+    }
+
+    public synchronized long getGeneracion() {
+        return generacion;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (canal.isOpen()) {
+            sincronizar();
+            canal.close();
+        }
+    }
+
+    /**
+     * Retira del diario el último registro, cuya escritura falló, conservando los
+     * anteriores. Si el volcado no terminó, el archivo vuelve a su tamaño previo y
+     * los registros anteriores siguen pendientes; si terminó (falló la sincronización)
+     * se corta el archivo justo antes del registro.
+     */
+    private void descartarRegistro(long inicioArchivo, int inicioRegistro, IOException causa) {
+        try {
+            long fin;
+            if (pendiente.getPosicion() > 0) {
+                pendiente.retroceder(inicioRegistro);
+                fin = inicioArchivo;
+            } else {
+                fin = inicioArchivo + inicioRegistro;
+            }
+            canal.truncate(fin);
+            canal.position(fin);
+        } catch (IOException e) {
+            // El registro puede haber quedado en el archivo: se reproduciría al recuperar
+            causa.addSuppressed(e);
+            falla = causa;
+        }
+    }
+
+    private void leerCabecera() throws IOException {
+        if (canal.size() < CABECERA_ARCHIVO) {
+            // Archivo nuevo, o creado y cortado antes de completar la cabecera
+            canal.truncate(0);
+            escribirCabecera(1);
+            canal.force(true);
+            return;
+        }
+        ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_ARCHIVO);
+        while (cabecera.hasRemaining() && canal.read(cabecera, cabecera.position()) >= 0) {
+            // Leer hasta completar la cabecera
+        }
+        cabecera.flip();
+        if (cabecera.getInt() != MAGIA || cabecera.getInt() != FORMATO) {
+            throw new IOException("El archivo " + archivo + " no es un diario válido");
+        }
+        generacion = cabecera.getLong();
+    }
+
+    private void escribirCabecera(long nuevaGeneracion) throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_ARCHIVO);
+        cabecera.putInt(MAGIA).putInt(FORMATO).putLong(nuevaGeneracion).flip();
+        while (cabecera.hasRemaining()) {
+            canal.write(cabecera, cabecera.position());
+        }
+        generacion = nuevaGeneracion;
+    }
+
+    private void volcar() throws IOException {
+        if (pendiente.getPosicion() == 0) {
+            return;
+        }
+        ByteBuffer datos = pendiente.comoByteBuffer();
+        while (datos.hasRemaining()) {
+            canal.write(datos);
+        }
+        pendiente.reiniciar();
+        sinSincronizar = true;
+    }
+
+    private void aplicar(byte operacion, ByteBuffer datos, Repositorio<T> repositorio) {
+        if (operacion == OP_ELIMINAR) {
+            repositorio.eliminar(EntradaBinaria.leerTexto(datos));
+            return;
+        }
+        T entidad = codificador.leer(datos);
+        String id = codificador.obtenerId(entidad);
+        if (!repositorio.reemplazar(id, entidad)) {
+            repositorio.insertar(entidad);
+        }
+    }
+
+    private static byte codigoOperacion(TipoCambio tipo) {
+        return switch (tipo) {
+            case CREAR -> OP_CREAR;
+            case ACTUALIZAR -> OP_ACTUALIZAR;
+            case ELIMINAR -> OP_ELIMINAR;
+            case APLICAR_TRATAMIENTO -> OP_APLICAR_TRATAMIENTO;
+        };
+    }
+}
\ No newline at end of file
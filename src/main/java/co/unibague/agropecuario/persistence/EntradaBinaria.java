@@ -0,0 +1,67 @@
+package co.unibague.agropecuario.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Funciones de lectura complementarias a {@link SalidaBinaria}.
+ * Operan sobre cualquier ByteBuffer, incluidos los mapeados en memoria.
+ */
+public final class EntradaBinaria {
+
+    // Prevenir instanciación
+    private EntradaBinaria() {}
+
+    /**
+     * Lee un entero de longitud variable
+     * @param entrada búfer de lectura
+     * @return valor leído
+     */
+    public static int leerVarInt(ByteBuffer entrada) {
+        int valor = 0;
+        int desplazamiento = 0;
+        byte b;
+        do {
+            if (desplazamiento > 28) {
+                throw new IllegalStateException("Entero de longitud variable mal formado");
+            }
+            b = entrada.get();
+            valor |= (b & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while ((b & 0x80) != 0);
+        return valor;
+    }
+
+    /**
+     * Lee un texto UTF-8 escrito con {@link SalidaBinaria#escribirTexto(String)}
+     * @param entrada búfer de lectura
+     * @return texto leído o null
+     */
+    public static String leerTexto(ByteBuffer entrada) {
+        int longitud = leerVarInt(entrada) - 1;
+        if (longitud < 0) {
+            return null;
+        }
+        String texto;
+        if (entrada.hasArray()) {
+            texto = new String(entrada.array(), entrada.arrayOffset() + entrada.position(),
+                    longitud, StandardCharsets.UTF_8);
+            entrada.position(entrada.position() + longitud);
+        } else {
+            byte[] bytes = new byte[longitud];
+            entrada.get(bytes);
+            texto = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return texto;
+    }
+
+    public static LocalDate leerFecha(ByteBuffer entrada) {
+        long dias = entrada.getLong();
+        return dias == SalidaBinaria.FECHA_NULA ? null : LocalDate.ofEpochDay(dias);
+    }
+
+    public static boolean leerBoolean(ByteBuffer entrada) {
+        return entrada.get() != 0;
+    }
+}
\ No newline at end of file
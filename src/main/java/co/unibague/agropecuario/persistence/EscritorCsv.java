@@ -0,0 +1,101 @@
+package co.unibague.agropecuario.persistence;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Escritor de filas CSV (RFC 4180). Los campos que contienen el separador,
+ * comillas o saltos de línea se encierran entre comillas; los nulos quedan vacíos.
+ * Cada fila se arma en un búfer propio que se reutiliza y se entrega a la salida
+ * con una sola escritura.
+ */
+public class EscritorCsv implements EscritorFilas {
+
+    private final Writer salida;
+    private final char separador;
+    private final StringBuilder fila;
+    private char[] bufer;
+
+    /**
+     * Constructor del escritor
+     * @param salida destino de los datos (se recomienda un Writer con búfer)
+     */
+    public EscritorCsv(Writer salida) {
+        this(salida, FormatoCsv.SEPARADOR);
+    }
+
+    public EscritorCsv(Writer salida, char separador) {
+        this.salida = salida;
+        this.separador = separador;
+        this.fila = new StringBuilder(256);
+        this.bufer = new char[256];
+    }
+
+    public void escribirFila(List<String> campos) throws IOException {
+        escribirFila(campos.toArray(new String[0]));
+    }
+
+    /**
+     * Escribe una fila terminada en salto de línea
+     * @param campos valores de la fila
+     * @throws IOException si falla la escritura
+     */
+    @Override
+    public void escribirFila(String... campos) throws IOException {
+        fila.setLength(0);
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                fila.append(separador);
+            }
+            agregarCampo(campos[i]);
+        }
+        fila.append('\n');
+
+        int longitud = fila.length();
+        if (bufer.length < longitud) {
+            bufer = new char[Math.max(longitud, bufer.length * 2)];
+        }
+        fila.getChars(0, longitud, bufer, 0);
+        salida.write(bufer, 0, longitud);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        salida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.close();
+    }
+
+    private void agregarCampo(String campo) {
+        if (campo == null || campo.isEmpty()) {
+            return;
+        }
+        if (!requiereComillas(campo)) {
+            fila.append(campo);
+            return;
+        }
+        fila.append('"');
+        for (int i = 0; i < campo.length(); i++) {
+            char c = campo.charAt(i);
+            if (c == '"') {
+                fila.append('"');
+            }
+            fila.append(c);
+        }
+        fila.append('"');
+    }
+
+    private boolean requiereComillas(String campo) {
+        for (int i = 0; i < campo.length(); i++) {
+            char c = campo.charAt(i);
+            if (c == separador || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
\ No newline at end of file
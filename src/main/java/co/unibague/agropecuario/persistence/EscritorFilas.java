@@ -0,0 +1,19 @@
+package co.unibague.agropecuario.persistence;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Destino de filas de valores ya representados como texto con {@link FormatoCsv}.
+ * Cada implementación decide cómo se escriben en la salida (CSV, JSON Lines).
+ */
+public interface EscritorFilas extends Closeable, Flushable {
+
+    /**
+     * Escribe una fila de valores, en el orden de las columnas
+     * @param campos valores de la fila (los nulos representan valores ausentes)
+     * @throws IOException si falla la escritura
+     */
+    void escribirFila(String... campos) throws IOException;
+}
\ No newline at end of file
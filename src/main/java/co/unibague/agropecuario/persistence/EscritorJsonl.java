@@ -0,0 +1,134 @@
+package co.unibague.agropecuario.persistence;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Escritor de filas en formato JSON Lines: un objeto JSON por línea, con una
+ * propiedad por columna. Las columnas numéricas se escriben como números
+ * (los valores no finitos como null) y las demás como cadenas. Cada fila se arma
+ * en un búfer propio que se reutiliza y se entrega a la salida con una sola escritura.
+ */
+public class EscritorJsonl implements EscritorFilas {
+
+    private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+    private final Writer salida;
+    private final String[] claves;
+    private final boolean[] numericas;
+    private final StringBuilder fila;
+    private char[] bufer;
+
+    /**
+     * Constructor del escritor
+     * @param salida destino de los datos (se recomienda un Writer con búfer)
+     * @param columnas nombres de las propiedades, en el orden de los valores
+     * @param numericas columnas cuyos valores son números
+     */
+    public EscritorJsonl(Writer salida, List<String> columnas, Set<String> numericas) {
+        this.salida = salida;
+        this.claves = new String[columnas.size()];
+        this.numericas = new boolean[columnas.size()];
+        this.fila = new StringBuilder(512);
+        this.bufer = new char[512];
+        for (int i = 0; i < claves.length; i++) {
+            // Las claves se codifican una sola vez, con su separador
+            StringBuilder clave = new StringBuilder(i == 0 ? "{" : ",");
+            agregarCadena(clave, columnas.get(i));
+            this.claves[i] = clave.append(':').toString();
+            this.numericas[i] = numericas.contains(columnas.get(i));
+        }
+    }
+
+    /**
+     * Escribe una fila como un objeto JSON terminado en salto de línea
+     * @param campos valores de la fila, uno por columna
+     * @throws IOException si falla la escritura
+     */
+    @Override
+    public void escribirFila(String... campos) throws IOException {
+        if (campos.length != claves.length) {
+            throw new IllegalArgumentException("Se esperaban " + claves.length + " valores y llegaron " + campos.length);
+        }
+        fila.setLength(0);
+        for (int i = 0; i < campos.length; i++) {
+            fila.append(claves[i]);
+            String campo = campos[i];
+            if (campo == null) {
+                fila.append("null");
+            } else if (numericas[i]) {
+                fila.append(esNumeroFinito(campo) ? campo : "null");
+            } else {
+                agregarCadena(fila, campo);
+            }
+        }
+        fila.append(claves.length == 0 ? "{}\n" : "}\n");
+
+        int longitud = fila.length();
+        if (bufer.length < longitud) {
+            bufer = new char[Math.max(longitud, bufer.length * 2)];
+        }
+        fila.getChars(0, longitud, bufer, 0);
+        salida.write(bufer, 0, longitud);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        salida.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.close();
+    }
+
+    private static boolean requiereEscape(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void agregarCadena(StringBuilder destino, String valor) {
+        if (!requiereEscape(valor)) {
+            destino.append('"').append(valor).append('"');
+            return;
+        }
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"' -> destino.append("\\\"");
+                case '\\' -> destino.append("\\\\");
+                case '\n' -> destino.append("\\n");
+                case '\r' -> destino.append("\\r");
+                case '\t' -> destino.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        destino.append("\\u00").append(HEXADECIMAL[c >> 4]).append(HEXADECIMAL[c & 0xF]);
+                    } else {
+                        destino.append(c);
+                    }
+                }
+            }
+        }
+        destino.append('"');
+    }
+
+    /**
+     * Indica si el texto es un número escrito por {@link FormatoCsv#numero(double)};
+     * NaN e Infinity no existen en JSON
+     */
+    private static boolean esNumeroFinito(String valor) {
+        if (valor.isEmpty()) {
+            return false;
+        }
+        char ultimo = valor.charAt(valor.length() - 1);
+        return ultimo >= '0' && ultimo <= '9';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package co.unibague.agropecuario.persistence;
+
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Formato CSV de intercambio de las entidades: columnas, orden y representación
+ * de los valores. Lo comparten el generador de datos, la importación y la exportación.
+ * <p>
+ * Los números se escriben sin notación científica y con punto decimal, y las
+ * fechas en formato ISO (aaaa-mm-dd), sin depender de la configuración regional.
+ */
+public final class FormatoCsv {
+
+    public static final char SEPARADOR = ',';
+
+    public static final List<String> COLUMNAS_AGRICOLA = List.of(
+            "id", "nombre", "fechaProduccion", "costoProduccion", "cantidadProducida", "precioVenta",
+            "tipoCultivo", "hectareasCultivadas", "rendimientoPorHa", "temporada", "tipoSuelo", "codigoFinca");
+
+    public static final List<String> COLUMNAS_GANADERO = List.of(
+            "id", "nombre", "fechaProduccion", "costoProduccion", "cantidadProducida", "precioVenta",
+            "tipoGanado", "numeroAnimales", "pesoPromedio", "produccionDiaria", "tipoAlimentacion");
+
+    public static final List<String> COLUMNAS_FINCA = List.of(
+            "codigo", "nombreFinca", "propietario", "municipio", "vereda", "areaTotal",
+            "tipoTerreno", "infraestructura", "telefono", "email");
+
+    /**
+     * Columnas cuyos valores son números, en cualquiera de los formatos
+     */
+    public static final Set<String> COLUMNAS_NUMERICAS = Set.of(
+            "costoProduccion", "cantidadProducida", "precioVenta", "hectareasCultivadas", "rendimientoPorHa",
+            "numeroAnimales", "pesoPromedio", "produccionDiaria", "areaTotal");
+
+    // Prevenir instanciación
+    private FormatoCsv() {}
+
+    public static String[] valores(ProductoAgricola producto) {
+        return new String[] {
+                producto.getId(),
+                producto.getNombre(),
+                fecha(producto.getFechaProduccion()),
+                numero(producto.getCostoProduccion()),
+                numero(producto.getCantidadProducida()),
+                numero(producto.getPrecioVenta()),
+                producto.getTipoCultivo(),
+                numero(producto.getHectareasCultivadas()),
+                numero(producto.getRendimientoPorHa()),
+                producto.getTemporada(),
+                producto.getTipoSuelo(),
+                producto.getCodigoFinca()
+        };
+    }
+
+    public static String[] valores(ProductoGanadero producto) {
+        return new String[] {
+                producto.getId(),
+                producto.getNombre(),
+                fecha(producto.getFechaProduccion()),
+                numero(producto.getCostoProduccion()),
+                numero(producto.getCantidadProducida()),
+                numero(producto.getPrecioVenta()),
+                producto.getTipoGanado(),
+                Integer.toString(producto.getNumeroAnimales()),
+                numero(producto.getPesoPromedio()),
+                numero(producto.getProduccionDiaria()),
+                producto.getTipoAlimentacion()
+        };
+    }
+
+    public static String[] valores(Finca finca) {
+        return new String[] {
+                finca.getCodigo(),
+                finca.getNombreFinca(),
+                finca.getPropietario(),
+                finca.getMunicipio(),
+                finca.getVereda(),
+                numero(finca.getAreaTotal()),
+                finca.getTipoTerreno(),
+                finca.getInfraestructura(),
+                finca.getTelefono(),
+                finca.getEmail()
+        };
+    }
+
+    /**
+     * Representa un número de forma exacta (se recupera el mismo double al leerlo)
+     * @param valor número a representar
+     * @return texto del número
+     */
+    public static String numero(double valor) {
+        String texto = Double.toString(valor);
+        if (Double.isFinite(valor) && texto.indexOf('E') >= 0) {
+            // Solo los valores muy grandes o muy pequeños usan notación científica;
+            // los enteros grandes, como los ingresos, se escriben sin pasar por BigDecimal
+            if (valor == Math.rint(valor) && Math.abs(valor) < 0x1p53) {
+                return Long.toString((long) valor);
+            }
+            texto = BigDecimal.valueOf(valor).toPlainString();
+        }
+        return texto.endsWith(".0") ? texto.substring(0, texto.length() - 2) : texto;
+    }
+
+    public static String fecha(LocalDate fecha) {
+        return fecha == null ? null : fecha.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package co.unibague.agropecuario.persistence;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formatos de archivo para exportar datos.
+ * <p>
+ * La salida se escribe en UTF-8 sobre un canal de archivo con un búfer de tamaño
+ * fijo, opcionalmente comprimida con gzip, así la memoria usada no depende de la
+ * cantidad de filas exportadas.
+ */
+public enum FormatoExportacion {
+
+    CSV("CSV", "csv") {
+        @Override
+        EscritorFilas crearEscritor(Writer salida, List<String> columnas, Set<String> numericas) throws IOException {
+            EscritorCsv escritor = new EscritorCsv(salida);
+            escritor.escribirFila(columnas);
+            return escritor;
+        }
+    },
+
+    JSON_LINES("JSON Lines", "jsonl") {
+        @Override
+        EscritorFilas crearEscritor(Writer salida, List<String> columnas, Set<String> numericas) {
+            return new EscritorJsonl(salida, columnas, numericas);
+        }
+    };
+
+    private static final int TAMANIO_BUFER = 1 << 16;
+
+    private final String nombre;
+    private final String extension;
+
+    FormatoExportacion(String nombre, String extension) {
+        this.nombre = nombre;
+        this.extension = extension;
+    }
+
+    /**
+     * Obtiene la extensión de archivo del formato
+     * @param comprimido true si el archivo se comprime con gzip
+     * @return extensión sin el punto inicial, por ejemplo "csv.gz"
+     */
+    public String getExtension(boolean comprimido) {
+        return comprimido ? extension + ".gz" : extension;
+    }
+
+    /**
+     * Abre un archivo para exportar filas en este formato; el archivo se sobrescribe
+     * @param archivo archivo destino
+     * @param columnas nombres de las columnas
+     * @param numericas columnas cuyos valores son números
+     * @param comprimir true para comprimir la salida con gzip
+     * @return escritor de filas, que debe cerrarse al terminar
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public EscritorFilas abrir(Path archivo, List<String> columnas, Set<String> numericas,
+                               boolean comprimir) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            Writer salida;
+            if (comprimir) {
+                // Compresión rápida: la exportación no debe quedar limitada por el compresor
+                OutputStream comprimida = new GZIPOutputStream(Channels.newOutputStream(canal), TAMANIO_BUFER) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+                salida = new OutputStreamWriter(comprimida, StandardCharsets.UTF_8);
+            } else {
+                salida = Channels.newWriter(canal, StandardCharsets.UTF_8);
+            }
+            return crearEscritor(new BufferedWriter(salida, TAMANIO_BUFER), columnas, numericas);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    abstract EscritorFilas crearEscritor(Writer salida, List<String> columnas, Set<String> numericas) throws IOException;
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
\ No newline at end of file
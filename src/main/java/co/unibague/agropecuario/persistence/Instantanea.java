@@ -0,0 +1,239 @@
+package co.unibague.agropecuario.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+/**
+ * Instantánea (punto de control) de una colección de entidades.
+ * El archivo se lee mapeado en memoria: cada registro se decodifica directamente
+ * desde el mapeo, sin copiar el archivo ni interpretar texto, y los registros se
+ * decodifican en paralelo antes de entregarse en su orden original.
+ * <p>
+ * Formato: [magia][formato][versión de entidades][generación del diario]
+ * [posición del diario][registros][crc32c] seguido de los registros [longitud][entidad].
+ * Las entidades usan los mismos codificadores versionados que el diario, por lo que
+ * una instantánea antigua sigue siendo legible cuando se agregan campos nuevos.
+ */
+public class Instantanea implements Closeable {
+
+    private static final int MAGIA = 0x41475253; // "AGRS"
+    private static final int FORMATO = 1;
+    private static final int CABECERA = 36;
+    private static final int TAMANIO_BLOQUE_CRC = 1024 * 1024;
+    private static final int UMBRAL_VOLCADO = 1024 * 1024;
+    private static final ValueLayout.OfInt ENTERO =
+            ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment segmento;
+    private final long generacionDiario;
+    private final long posicionDiario;
+    private final int registros;
+    private final int crcEsperado;
+
+    private Instantanea(Arena arena, MemorySegment segmento) throws IOException {
+        this.arena = arena;
+        this.segmento = segmento;
+
+        ByteBuffer cabecera = segmento.asSlice(0, CABECERA).asByteBuffer();
+        if (cabecera.getInt() != MAGIA) {
+            throw new IOException("El archivo no es una instantánea válida");
+        }
+        int formato = cabecera.getInt();
+        if (formato != FORMATO) {
+            throw new IOException("Formato de instantánea no soportado: " + formato);
+        }
+        cabecera.getInt(); // versión de entidades, informativa: cada registro lleva la suya
+        this.generacionDiario = cabecera.getLong();
+        this.posicionDiario = cabecera.getLong();
+        this.registros = cabecera.getInt();
+        this.crcEsperado = cabecera.getInt();
+    }
+
+    /**
+     * Abre la instantánea de un archivo mapeándolo en memoria y verifica su suma de
+     * control, para no cargar datos parciales
+     * @param archivo ruta de la instantánea
+     * @return instantánea abierta o null si el archivo no existe
+     * @throws IOException si el archivo no se puede leer, no es una instantánea o está dañado
+     */
+    public static Instantanea abrir(Path archivo) throws IOException {
+        if (!Files.exists(archivo)) {
+            return null;
+        }
+        // Arena compartida: los registros se decodifican desde varios hilos
+        Arena arena = Arena.ofShared();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() < CABECERA) {
+                throw new IOException("Instantánea incompleta: " + archivo);
+            }
+            // El mapeo sigue vigente después de cerrar el canal, hasta cerrar la arena
+            Instantanea instantanea = new Instantanea(arena,
+                    canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size(), arena));
+            instantanea.verificarIntegridad(canal);
+            return instantanea;
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Decodifica todas las entidades de la instantánea en el orden en que se guardaron
+     * @param codificador codificador de las entidades
+     * @param destino receptor de cada entidad decodificada
+     * @param <T> tipo de entidad
+     * @throws IOException si la instantánea está dañada
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void cargar(Codificador<T> codificador, Consumer<? super T> destino) throws IOException {
+        // Primera pasada secuencial y sin asignaciones: ubicar cada registro
+        long[] posiciones = new long[registros];
+        long posicion = CABECERA;
+        for (int i = 0; i < registros; i++) {
+            posiciones[i] = posicion;
+            posicion += 4 + segmento.get(ENTERO, posicion);
+        }
+        if (posicion != segmento.byteSize()) {
+            throw new IOException("La instantánea no coincide con el número de registros declarado");
+        }
+
+        Object[] entidades = new Object[registros];
+        IntStream.range(0, registros).parallel().forEach(i -> {
+            long inicio = posiciones[i] + 4;
+            int longitud = segmento.get(ENTERO, posiciones[i]);
+            entidades[i] = codificador.leer(segmento.asSlice(inicio, longitud).asByteBuffer());
+        });
+
+        for (Object entidad : entidades) {
+            destino.accept((T) entidad);
+        }
+    }
+
+    /**
+     * Escribe una instantánea de forma atómica: se genera en un archivo temporal, se
+     * sincroniza con el disco y solo entonces reemplaza a la anterior
+     * @param archivo ruta de la instantánea
+     * @param entidades entidades a guardar, en el orden en que deben recuperarse
+     * @param codificador codificador de las entidades
+     * @param generacionDiario generación del diario cubierta por la instantánea
+     * @param posicionDiario posición del diario hasta la que llega la instantánea
+     * @param <T> tipo de entidad
+     * @throws IOException si falla la escritura
+     */
+    public static <T> void escribir(Path archivo, Collection<T> entidades, Codificador<T> codificador,
+                                    long generacionDiario, long posicionDiario) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        int registros = 0;
+
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            canal.position(CABECERA);
+            SalidaBinaria salida = new SalidaBinaria(UMBRAL_VOLCADO + 64 * 1024);
+
+            for (T entidad : entidades) {
+                int indiceLongitud = salida.reservarInt();
+                codificador.escribir(entidad, salida);
+                salida.escribirIntEn(indiceLongitud, salida.getPosicion() - indiceLongitud - 4);
+                registros++;
+                if (salida.getPosicion() >= UMBRAL_VOLCADO) {
+                    volcar(canal, salida, crc);
+                }
+            }
+            volcar(canal, salida, crc);
+
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+            cabecera.putInt(MAGIA)
+                    .putInt(FORMATO)
+                    .putInt(CodificadoresEntidades.VERSION)
+                    .putLong(generacionDiario)
+                    .putLong(posicionDiario)
+                    .putInt(registros)
+                    .putInt((int) crc.getValue())
+                    .flip();
+            while (cabecera.hasRemaining()) {
+                canal.write(cabecera, cabecera.position());
+            }
+            canal.force(true);
+        }
+
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // El renombrado solo es durable cuando se sincroniza el directorio; antes de eso
+        // el diario no debe reiniciarse, o un corte dejaría la instantánea anterior sin su cola
+        sincronizarDirectorio(archivo.toAbsolutePath().getParent());
+    }
+
+    public long getGeneracionDiario() {
+        return generacionDiario;
+    }
+
+    public long getPosicionDiario() {
+        return posicionDiario;
+    }
+
+    public int getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Libera el mapeo en memoria de forma inmediata
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private void verificarIntegridad(FileChannel canal) throws IOException {
+        // CRC32C no acepta búferes de una arena compartida; el mismo archivo se mapea en una
+        // arena confinada y la suma se calcula sobre el mapeo, sin copiarlo al heap
+        CRC32C crc = new CRC32C();
+        long tamanio = segmento.byteSize();
+        try (Arena confinada = Arena.ofConfined()) {
+            MemorySegment datos = canal.map(FileChannel.MapMode.READ_ONLY, CABECERA, tamanio - CABECERA, confinada);
+            for (long posicion = 0; posicion < datos.byteSize(); posicion += TAMANIO_BLOQUE_CRC) {
+                long longitud = Math.min(TAMANIO_BLOQUE_CRC, datos.byteSize() - posicion);
+                crc.update(datos.asSlice(posicion, longitud).asByteBuffer());
+            }
+        }
+        if ((int) crc.getValue() != crcEsperado) {
+            throw new IOException("La instantánea está dañada (suma de control inválida)");
+        }
+    }
+
+    private static void sincronizarDirectorio(Path directorio) throws IOException {
+        FileChannel canal;
+        try {
+            canal = FileChannel.open(directorio, StandardOpenOption.READ);
+        } catch (AccessDeniedException e) {
+            return; // Windows no permite abrir un directorio como canal
+        }
+        try (canal) {
+            canal.force(true);
+        }
+    }
+
+    private static void volcar(FileChannel canal, SalidaBinaria salida, CRC32C crc) throws IOException {
+        crc.update(salida.getDatos(), 0, salida.getPosicion());
+        ByteBuffer datos = salida.comoByteBuffer();
+        while (datos.hasRemaining()) {
+            canal.write(datos);
+        }
+        salida.reiniciar();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+package co.unibague.agropecuario.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Lector de filas CSV (RFC 4180) que recorre la entrada una sola vez.
+ * Lee por bloques de un búfer propio y reutiliza el arreglo de campos entre filas,
+ * así la memoria usada no depende del tamaño del archivo. Acepta campos entre
+ * comillas con separadores, comillas dobles y saltos de línea, y filas terminadas
+ * en LF o CRLF.
+ */
+public class LectorCsv implements Closeable {
+
+    private static final int TAMANIO_BUFER = 1 << 16;
+    private static final char MARCA_ORDEN_BYTES = '\uFEFF';
+
+    private final Reader entrada;
+    private final char separador;
+    private final char[] bufer;
+    private int posicion;
+    private int limite;
+
+    private final StringBuilder campo;
+    private String[] campos;
+    private int numeroCampos;
+    private long linea;
+    private long lineaFila;
+
+    /**
+     * Constructor del lector
+     * @param entrada origen de los datos; el lector hace su propio búfer
+     */
+    public LectorCsv(Reader entrada) {
+        this(entrada, FormatoCsv.SEPARADOR);
+    }
+
+    public LectorCsv(Reader entrada, char separador) {
+        this.entrada = entrada;
+        this.separador = separador;
+        this.bufer = new char[TAMANIO_BUFER];
+        this.campo = new StringBuilder();
+        this.campos = new String[16];
+        this.linea = 1;
+    }
+
+    /**
+     * Avanza a la siguiente fila
+     * @return false si ya no hay más filas
+     * @throws IOException si falla la lectura o un campo entre comillas no se cierra
+     */
+    public boolean siguienteFila() throws IOException {
+        numeroCampos = 0;
+        int c = leer();
+        if (linea == 1 && lineaFila == 0 && c == MARCA_ORDEN_BYTES) {
+            c = leer();
+        }
+        if (c < 0) {
+            return false;
+        }
+        lineaFila = linea;
+
+        while (true) {
+            if (c == '"') {
+                c = leerCampoCitado();
+            } else {
+                c = leerCampoSimple(c);
+            }
+            if (c != separador) {
+                break;
+            }
+            c = leer();
+        }
+
+        if (c == '\r') {
+            c = leer();
+            if (c >= 0 && c != '\n') {
+                posicion--; // Fin de línea con solo CR: el carácter pertenece a la siguiente fila
+            }
+        }
+        if (c >= 0) {
+            linea++;
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene el número de campos de la fila actual
+     * @return número de campos
+     */
+    public int getNumeroCampos() {
+        return numeroCampos;
+    }
+
+    /**
+     * Obtiene un campo de la fila actual
+     * @param indice posición del campo
+     * @return texto del campo, o null si la fila tiene menos campos
+     */
+    public String getCampo(int indice) {
+        return indice < numeroCampos ? campos[indice] : null;
+    }
+
+    /**
+     * Indica si la fila actual está en blanco (una línea vacía)
+     * @return true si la fila no tiene contenido
+     */
+    public boolean isFilaVacia() {
+        return numeroCampos == 1 && campos[0].isEmpty();
+    }
+
+    /**
+     * Obtiene la línea del archivo en la que empieza la fila actual
+     * @return número de línea (desde 1)
+     */
+    public long getLinea() {
+        return lineaFila;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+
+    /**
+     * Lee un campo sin comillas empezando por el carácter dado
+     * @return el carácter que terminó el campo (separador, fin de línea o -1)
+     */
+    private int leerCampoSimple(int primero) throws IOException {
+        if (esFinDeCampo(primero)) {
+            agregarCampo("");
+            return primero;
+        }
+
+        // Camino rápido: el campo completo está en el búfer y se crea el texto sin copias intermedias
+        int inicio = posicion - 1;
+        while (posicion < limite) {
+            char c = bufer[posicion++];
+            if (esFinDeCampo(c)) {
+                agregarCampo(new String(bufer, inicio, posicion - 1 - inicio));
+                return c;
+            }
+        }
+
+        campo.setLength(0);
+        campo.append(bufer, inicio, posicion - inicio);
+        int c = leer();
+        while (!esFinDeCampo(c)) {
+            campo.append((char) c);
+            c = leer();
+        }
+        agregarCampo(campo.toString());
+        return c;
+    }
+
+    /**
+     * Lee un campo entre comillas; la comilla de apertura ya se consumió
+     * @return el carácter que terminó el campo (separador, fin de línea o -1)
+     */
+    private int leerCampoCitado() throws IOException {
+        campo.setLength(0);
+        int c;
+        while (true) {
+            c = leer();
+            if (c < 0) {
+                throw new IOException("Campo entre comillas sin cerrar en la fila de la línea " + lineaFila);
+            }
+            if (c == '"') {
+                c = leer();
+                if (c != '"') {
+                    break;
+                }
+            } else if (c == '\n') {
+                linea++;
+            }
+            campo.append((char) c);
+        }
+
+        // Texto después de la comilla de cierre: se conserva tal cual
+        while (!esFinDeCampo(c)) {
+            campo.append((char) c);
+            c = leer();
+        }
+        agregarCampo(campo.toString());
+        return c;
+    }
+
+    private boolean esFinDeCampo(int c) {
+        return c == separador || c == '\n' || c == '\r' || c < 0;
+    }
+
+    private void agregarCampo(String valor) {
+        if (numeroCampos == campos.length) {
+            campos = Arrays.copyOf(campos, campos.length * 2);
+        }
+        campos[numeroCampos++] = valor;
+    }
+
+    private int leer() throws IOException {
+        if (posicion == limite) {
+            int leidos = entrada.read(bufer, 0, bufer.length);
+            if (leidos <= 0) {
+                posicion = 0;
+                limite = 0;
+                return -1;
+            }
+            posicion = 0;
+            limite = leidos;
+        }
+        return bufer[posicion++];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package co.unibague.agropecuario.persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Correspondencia entre las columnas de un archivo CSV y las columnas del
+ * {@link FormatoCsv} de una entidad.
+ * <p>
+ * Por defecto las columnas se reconocen por nombre en el encabezado, sin distinguir
+ * mayúsculas ni espacios, y en cualquier orden; las columnas sobrantes se ignoran.
+ * Se pueden declarar nombres alternativos para archivos de otros sistemas, o leer
+ * archivos sin encabezado con las columnas en el orden del formato.
+ */
+public class MapeoColumnas {
+
+    private final List<String> columnas;
+    private final Map<String, String> alias;
+    private boolean conEncabezado;
+
+    /**
+     * Constructor del mapeo
+     * @param columnas columnas del formato, por ejemplo {@link FormatoCsv#COLUMNAS_AGRICOLA}
+     */
+    public MapeoColumnas(List<String> columnas) {
+        this.columnas = List.copyOf(columnas);
+        this.alias = new HashMap<>();
+        this.conEncabezado = true;
+    }
+
+    /**
+     * Declara un nombre alternativo de columna en el archivo
+     * @param columnaArchivo nombre de la columna en el encabezado del archivo
+     * @param columna columna del formato a la que corresponde
+     * @return este mapeo
+     * @throws IllegalArgumentException si la columna no pertenece al formato
+     */
+    public MapeoColumnas renombrar(String columnaArchivo, String columna) {
+        if (!columnas.contains(columna)) {
+            throw new IllegalArgumentException("Columna desconocida: " + columna);
+        }
+        alias.put(normalizar(columnaArchivo), columna);
+        return this;
+    }
+
+    /**
+     * Indica que el archivo no tiene encabezado y sus columnas siguen el orden del formato
+     * @return este mapeo
+     */
+    public MapeoColumnas sinEncabezado() {
+        this.conEncabezado = false;
+        return this;
+    }
+
+    public boolean tieneEncabezado() {
+        return conEncabezado;
+    }
+
+    public List<String> getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Calcula en qué posición del archivo está cada columna del formato
+     * @param encabezado nombres del encabezado del archivo, o null si no tiene
+     * @return posición en el archivo por cada columna del formato (-1 si no está)
+     */
+    public int[] resolver(List<String> encabezado) {
+        int[] posiciones = new int[columnas.size()];
+        if (!conEncabezado) {
+            for (int i = 0; i < posiciones.length; i++) {
+                posiciones[i] = i;
+            }
+            return posiciones;
+        }
+
+        Arrays.fill(posiciones, -1);
+        for (int i = 0; i < encabezado.size(); i++) {
+            String nombre = normalizar(encabezado.get(i));
+            String columna = alias.get(nombre);
+            int indice = columna != null ? columnas.indexOf(columna) : buscarColumna(nombre);
+            if (indice >= 0 && posiciones[indice] < 0) {
+                posiciones[indice] = i;
+            }
+        }
+        return posiciones;
+    }
+
+    /**
+     * Obtiene las columnas obligatorias que no quedaron ubicadas
+     * @param posiciones resultado de {@link #resolver(List)}
+     * @param obligatorias columnas que el archivo debe traer
+     * @return columnas faltantes (vacía si están todas)
+     */
+    public List<String> faltantes(int[] posiciones, List<String> obligatorias) {
+        List<String> faltantes = new ArrayList<>();
+        for (String columna : obligatorias) {
+            if (posiciones[columnas.indexOf(columna)] < 0) {
+                faltantes.add(columna);
+            }
+        }
+        return faltantes;
+    }
+
+    private int buscarColumna(String nombre) {
+        for (int i = 0; i < columnas.size(); i++) {
+            if (normalizar(columnas.get(i)).equals(nombre)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String normalizar(String nombre) {
+        return nombre == null ? "" : nombre.strip().replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package co.unibague.agropecuario.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Búfer binario creciente para serializar entidades de forma compacta.
+ * Los enteros de longitud variable usan codificación LEB128 y los textos
+ * se guardan en UTF-8 precedidos de su longitud.
+ */
+public class SalidaBinaria {
+
+    /** Valor reservado para representar una fecha nula */
+    public static final long FECHA_NULA = Long.MIN_VALUE;
+
+    private byte[] datos;
+    private int posicion;
+
+    /**
+     * Constructor del búfer
+     * @param capacidadInicial capacidad inicial en bytes
+     */
+    public SalidaBinaria(int capacidadInicial) {
+        this.datos = new byte[Math.max(16, capacidadInicial)];
+    }
+
+    public void escribirByte(int valor) {
+        asegurarCapacidad(1);
+        datos[posicion++] = (byte) valor;
+    }
+
+    public void escribirInt(int valor) {
+        asegurarCapacidad(4);
+        escribirIntEn(posicion, valor);
+        posicion += 4;
+    }
+
+    public void escribirLong(long valor) {
+        asegurarCapacidad(8);
+        for (int i = 7; i >= 0; i--) {
+            datos[posicion++] = (byte) (valor >>> (i * 8));
+        }
+    }
+
+    public void escribirDouble(double valor) {
+        escribirLong(Double.doubleToRawLongBits(valor));
+    }
+
+    public void escribirBoolean(boolean valor) {
+        escribirByte(valor ? 1 : 0);
+    }
+
+    /**
+     * Escribe un entero no negativo con longitud variable (1 a 5 bytes)
+     * @param valor valor a escribir
+     */
+    public void escribirVarInt(int valor) {
+        asegurarCapacidad(5);
+        while ((valor & ~0x7F) != 0) {
+            datos[posicion++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        datos[posicion++] = (byte) valor;
+    }
+
+    /**
+     * Escribe un texto en UTF-8. Los textos nulos se distinguen de los vacíos.
+     * @param texto texto a escribir (puede ser null)
+     */
+    public void escribirTexto(String texto) {
+        if (texto == null) {
+            escribirVarInt(0);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escribirVarInt(bytes.length + 1);
+        escribirBytes(bytes, 0, bytes.length);
+    }
+
+    public void escribirFecha(LocalDate fecha) {
+        escribirLong(fecha == null ? FECHA_NULA : fecha.toEpochDay());
+    }
+
+    public void escribirBytes(byte[] origen, int desde, int longitud) {
+        asegurarCapacidad(longitud);
+        System.arraycopy(origen, desde, datos, posicion, longitud);
+        posicion += longitud;
+    }
+
+    /**
+     * Sobrescribe un entero en una posición ya escrita (útil para longitudes)
+     * @param indice posición del entero
+     * @param valor valor a escribir
+     */
+    public void escribirIntEn(int indice, int valor) {
+        datos[indice] = (byte) (valor >>> 24);
+        datos[indice + 1] = (byte) (valor >>> 16);
+        datos[indice + 2] = (byte) (valor >>> 8);
+        datos[indice + 3] = (byte) valor;
+    }
+
+    /**
+     * Reserva espacio para un entero que se completará después
+     * @return posición del entero reservado
+     */
+    public int reservarInt() {
+        asegurarCapacidad(4);
+        int indice = posicion;
+        posicion += 4;
+        return indice;
+    }
+
+    /**
+     * Descarta el contenido escrito conservando la capacidad
+     */
+    public void reiniciar() {
+        posicion = 0;
+    }
+
+    /**
+     * Descarta lo escrito a partir de una posición anterior
+     * @param nuevaPosicion posición desde la que se descarta
+     */
+    public void retroceder(int nuevaPosicion) {
+        if (nuevaPosicion < 0 || nuevaPosicion > posicion) {
+            throw new IllegalArgumentException("Posición fuera de lo escrito: " + nuevaPosicion);
+        }
+        posicion = nuevaPosicion;
+    }
+
+    public int getPosicion() { return posicion; }
+
+    public byte[] getDatos() { return datos; }
+
+    /**
+     * Envuelve el contenido escrito sin copiarlo
+     * @return búfer de lectura sobre los bytes escritos
+     */
+    public ByteBuffer comoByteBuffer() {
+        return ByteBuffer.wrap(datos, 0, posicion);
+    }
+
+    private void asegurarCapacidad(int adicional) {
+        if (posicion + adicional > datos.length) {
+            datos = Arrays.copyOf(datos, Math.max(datos.length * 2, posicion + adicional));
+        }
+    }
+}
\ No newline at end of file
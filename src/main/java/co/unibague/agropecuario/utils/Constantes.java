@@ -119,6 +119,22 @@ public final class Constantes {
     public static final String PATH_ICONOS = "/iconos/";
     public static final String PATH_REPORTES = "/reportes/";
 
+    // === PERSISTENCIA ===
+    public static final String DIRECTORIO_DATOS = "datos";
+    public static final long INTERVALO_SINCRONIZACION_MS = 10;
+
+    // === NOTIFICACIONES ===
+    public static final long VENTANA_NOTIFICACION_MS = 0;
+    public static final boolean ENTREGA_ASINCRONA_NOTIFICACIONES = false;
+    public static final int CAPACIDAD_COLA_NOTIFICACIONES = 1024;
+    public static final int LIMITE_CAMBIOS_LOTE = 4096;
+
+    // === IMPORTACIÓN ===
+    public static final int MAX_ERRORES_IMPORTACION = 1000;
+
+    // === DICCIONARIOS ===
+    public static final int MAX_VALORES_DICCIONARIO = 4096;
+
     // === ICONOS (si se usan) ===
     public static final String ICONO_AGRICULTOR = "agricultor.png";
     public static final String ICONO_GANADO = "ganado.png";
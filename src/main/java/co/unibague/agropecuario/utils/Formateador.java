@@ -111,7 +111,7 @@ public class Formateador {
      * @return ID formateado
      */
     public static String formatearId(String id) {
-        if (id == null || id.length() != 6) return id;
+        if (id == null || id.length() < 6) return id;
         return id.substring(0, 3) + "-" + id.substring(3);
     }
 
@@ -0,0 +1,399 @@
+package co.unibague.agropecuario.utils;
+
+import co.unibague.agropecuario.controller.FincaController;
+import co.unibague.agropecuario.controller.ProductoAgricolaController;
+import co.unibague.agropecuario.controller.ProductoGanaderoController;
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+import co.unibague.agropecuario.model.repository.SecuenciaIds;
+import co.unibague.agropecuario.persistence.EscritorCsv;
+import co.unibague.agropecuario.persistence.FormatoCsv;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generador determinista de datos sintéticos para pruebas de carga y benchmarks.
+ * <p>
+ * Cada registro depende solo de la semilla y de su índice: el registro 1.000.000
+ * se obtiene sin generar los anteriores, los flujos pueden recorrerse en paralelo
+ * y dos ejecuciones con la misma semilla producen exactamente los mismos datos.
+ * <p>
+ * Los valores salen de los catálogos de {@link Constantes} y respetan los rangos
+ * de {@link Validador}. Los municipios siguen una distribución sesgada (unos pocos
+ * concentran la mayoría de fincas) y los tamaños de cultivos, hatos y fincas son
+ * log-uniformes, con muchos registros pequeños y pocos grandes, como en el catálogo real.
+ */
+public class GeneradorDatos {
+
+    /** Fecha de referencia fija para que los datos no dependan del día de ejecución */
+    public static final LocalDate FECHA_REFERENCIA = LocalDate.of(2025, 6, 30);
+
+    private static final int DIAS_HISTORIA = 3 * 365;
+    private static final int FINCAS_POR_DEFECTO = 1000;
+    private static final long PROPORCION_AUREA = 0x9E3779B97F4A7C15L;
+
+    private static final String[] NOMBRES_FINCA = {
+            "Villa María", "El Horizonte", "La Esperanza", "San José", "El Paraíso",
+            "La Primavera", "Buenavista", "El Recreo", "Santa Helena", "Los Naranjos",
+            "La Palmera", "El Porvenir", "Las Brisas", "La Pradera", "El Diamante"
+    };
+
+    private static final String[] NOMBRES = {
+            "Carlos", "Ana", "Miguel", "Luz", "Jorge", "Marta", "Andrés", "Diana",
+            "Luis", "Sandra", "Fernando", "Paola", "Javier", "Claudia", "Óscar", "Gloria"
+    };
+
+    private static final String[] APELLIDOS = {
+            "Rodríguez", "López", "Torres", "García", "Martínez", "Gómez", "Díaz", "Ramírez",
+            "Hernández", "Vargas", "Castro", "Rojas", "Moreno", "Ortiz", "Guzmán", "Cárdenas"
+    };
+
+    private static final String[] INFRAESTRUCTURAS = {
+            "Casa", "Casa, corral", "Bodega, casa", "Riego por aspersión, bodega, casa",
+            "Riego por goteo, invernadero", "Sistema de riego, beneficiadero", "Establo, casa, corral"
+    };
+
+    private static final double[] PESOS_MUNICIPIO = acumularPesos(Constantes.MUNICIPIOS_TOLIMA.length);
+
+    private final long semilla;
+    private final int totalFincas;
+    private final SecuenciaIds idsAgricolas;
+    private final SecuenciaIds idsGanaderos;
+    private final SecuenciaIds codigosFinca;
+
+    /**
+     * Constructor del generador
+     * @param semilla semilla que determina todos los datos generados
+     */
+    public GeneradorDatos(long semilla) {
+        this(semilla, FINCAS_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor del generador
+     * @param semilla semilla que determina todos los datos generados
+     * @param totalFincas número de fincas a las que se asignan los productos agrícolas
+     */
+    public GeneradorDatos(long semilla, int totalFincas) {
+        if (totalFincas < 1) {
+            throw new IllegalArgumentException("Debe haber al menos una finca: " + totalFincas);
+        }
+        this.semilla = semilla;
+        this.totalFincas = totalFincas;
+        this.idsAgricolas = new SecuenciaIds("AGR", 3);
+        this.idsGanaderos = new SecuenciaIds("GAN", 3);
+        this.codigosFinca = new SecuenciaIds("F", 3);
+    }
+
+    // === REGISTROS INDIVIDUALES ===
+
+    /**
+     * Genera el producto agrícola de un índice
+     * @param indice posición del registro, desde 0
+     * @return producto con ID AGR{indice + 1}
+     */
+    public ProductoAgricola generarAgricola(long indice) {
+        SplittableRandom aleatorio = aleatorio(indice, 1);
+        String tipoCultivo = elegir(aleatorio, Constantes.TIPOS_CULTIVO);
+        double hectareas = redondear(logUniforme(aleatorio, 0.5, 200), 1);
+        double rendimiento = redondear(aleatorio.nextDouble(1.0, 8.0), 1);
+
+        ProductoAgricola producto = new ProductoAgricola();
+        producto.setId(idsAgricolas.formatear(indice + 1));
+        producto.setNombre(tipoCultivo + " lote " + (indice + 1));
+        producto.setTipoCultivo(tipoCultivo);
+        producto.setHectareasCultivadas(hectareas);
+        producto.setRendimientoPorHa(rendimiento);
+        producto.setCantidadProducida(Math.round(hectareas * rendimiento * 1000));
+        producto.setCostoProduccion(redondear(aleatorio.nextDouble(1_500_000, 6_000_000), -3));
+        producto.setPrecioVenta(redondear(aleatorio.nextDouble(800, 9_000), -1));
+        producto.setTipoSuelo(elegir(aleatorio, Constantes.TIPOS_SUELO));
+        producto.setTemporada(elegir(aleatorio, Constantes.TEMPORADAS));
+        producto.setFechaProduccion(fecha(aleatorio));
+        producto.setCodigoFinca(codigosFinca.formatear(1 + aleatorio.nextInt(totalFincas)));
+        return producto;
+    }
+
+    /**
+     * Genera el producto ganadero de un índice. El número de animales, el peso y la
+     * producción diaria dependen de la especie (un hato bovino no pesa lo que un galpón).
+     * @param indice posición del registro, desde 0
+     * @return producto con ID GAN{indice + 1}
+     */
+    public ProductoGanadero generarGanadero(long indice) {
+        SplittableRandom aleatorio = aleatorio(indice, 2);
+        String tipoGanado = elegir(aleatorio, Constantes.TIPOS_GANADO);
+        int animales;
+        double peso;
+        double produccion;
+        if (tipoGanado.startsWith("Bovino")) {
+            animales = (int) logUniforme(aleatorio, 5, 400);
+            peso = aleatorio.nextDouble(300, 650);
+            produccion = aleatorio.nextDouble(4, 25);
+        } else if (tipoGanado.startsWith("Porcino")) {
+            animales = (int) logUniforme(aleatorio, 10, 1_500);
+            peso = aleatorio.nextDouble(60, 130);
+            produccion = aleatorio.nextDouble(0.4, 1.2);
+        } else if (tipoGanado.startsWith("Avícola")) {
+            animales = (int) logUniforme(aleatorio, 200, 30_000);
+            peso = aleatorio.nextDouble(1.5, 3.2);
+            produccion = aleatorio.nextDouble(0.6, 0.95);
+        } else {
+            animales = (int) logUniforme(aleatorio, 500, 40_000);
+            peso = aleatorio.nextDouble(0.3, 1.2);
+            produccion = aleatorio.nextDouble(0.005, 0.03);
+        }
+
+        ProductoGanadero producto = new ProductoGanadero();
+        producto.setId(idsGanaderos.formatear(indice + 1));
+        producto.setNombre(tipoGanado + " grupo " + (indice + 1));
+        producto.setTipoGanado(tipoGanado);
+        producto.setNumeroAnimales(animales);
+        producto.setPesoPromedio(redondear(peso, 1));
+        producto.setProduccionDiaria(redondear(produccion, 3));
+        producto.setCantidadProducida(Math.round(animales * produccion * 30));
+        producto.setCostoProduccion(redondear(aleatorio.nextDouble(800_000, 5_000_000), -3));
+        producto.setPrecioVenta(redondear(aleatorio.nextDouble(300, 9_000), -1));
+        producto.setTipoAlimentacion(elegir(aleatorio, Constantes.TIPOS_ALIMENTACION));
+        producto.setFechaProduccion(fecha(aleatorio));
+        return producto;
+    }
+
+    /**
+     * Genera la finca de un índice
+     * @param indice posición del registro, desde 0
+     * @return finca con código F{indice + 1}
+     */
+    public Finca generarFinca(long indice) {
+        SplittableRandom aleatorio = aleatorio(indice, 3);
+        String nombre = elegir(aleatorio, NOMBRES);
+        String apellido = elegir(aleatorio, APELLIDOS);
+        String propietario = nombre + " " + apellido + " " + elegir(aleatorio, APELLIDOS);
+        String telefono = String.format(Locale.ROOT, "3%02d-%03d-%04d",
+                aleatorio.nextInt(100), aleatorio.nextInt(1_000), aleatorio.nextInt(10_000));
+
+        Finca finca = new Finca();
+        finca.setCodigo(codigosFinca.formatear(indice + 1));
+        finca.setNombreFinca(elegir(aleatorio, NOMBRES_FINCA));
+        finca.setPropietario(propietario);
+        finca.setMunicipio(Constantes.MUNICIPIOS_TOLIMA[elegirSesgado(aleatorio)]);
+        finca.setVereda("Vereda " + (1 + aleatorio.nextInt(300)));
+        finca.setAreaTotal(redondear(logUniforme(aleatorio, 1, 2_000), 1));
+        finca.setTipoTerreno(elegir(aleatorio, Constantes.TIPOS_TERRENO));
+        finca.setInfraestructura(elegir(aleatorio, INFRAESTRUCTURAS));
+        finca.setTelefono(telefono);
+        finca.setEmail(sinTildes(nombre + "." + apellido + (indice + 1)) + "@email.com");
+        return finca;
+    }
+
+    // === FLUJOS ===
+
+    /**
+     * Flujo perezoso de productos agrícolas; admite {@code parallel()} sin perder el determinismo
+     * @param cantidad número de registros
+     * @return flujo con los registros 0..cantidad-1
+     */
+    public Stream<ProductoAgricola> agricolas(long cantidad) {
+        return LongStream.range(0, cantidad).mapToObj(this::generarAgricola);
+    }
+
+    public Stream<ProductoGanadero> ganaderos(long cantidad) {
+        return LongStream.range(0, cantidad).mapToObj(this::generarGanadero);
+    }
+
+    public Stream<Finca> fincas(long cantidad) {
+        return LongStream.range(0, cantidad).mapToObj(this::generarFinca);
+    }
+
+    // === CARGA EN CONTROLADORES ===
+
+    /**
+     * Carga productos en un controlador. Los IDs se reservan en el controlador para
+     * no chocar con los existentes; el resto de los datos sigue siendo determinista.
+     * Las creaciones se notifican a los observadores como un solo lote.
+     * @param controller controlador destino
+     * @param cantidad número de productos a crear
+     * @return número de productos creados
+     */
+    public int cargar(ProductoAgricolaController controller, int cantidad) {
+        List<String> ids = controller.reservarIds(cantidad);
+        int creados = 0;
+        controller.iniciarLote();
+        try {
+            for (int i = 0; i < cantidad; i++) {
+                ProductoAgricola producto = generarAgricola(i);
+                producto.setId(ids.get(i));
+                if (controller.crear(producto)) {
+                    creados++;
+                }
+            }
+        } finally {
+            controller.finalizarLote();
+        }
+        return creados;
+    }
+
+    public int cargar(ProductoGanaderoController controller, int cantidad) {
+        List<String> ids = controller.reservarIds(cantidad);
+        int creados = 0;
+        controller.iniciarLote();
+        try {
+            for (int i = 0; i < cantidad; i++) {
+                ProductoGanadero producto = generarGanadero(i);
+                producto.setId(ids.get(i));
+                if (controller.crear(producto)) {
+                    creados++;
+                }
+            }
+        } finally {
+            controller.finalizarLote();
+        }
+        return creados;
+    }
+
+    public int cargar(FincaController controller, int cantidad) {
+        List<String> codigos = controller.reservarCodigos(cantidad);
+        int creadas = 0;
+        controller.iniciarLote();
+        try {
+            for (int i = 0; i < cantidad; i++) {
+                Finca finca = generarFinca(i);
+                finca.setCodigo(codigos.get(i));
+                if (controller.crear(finca)) {
+                    creadas++;
+                }
+            }
+        } finally {
+            controller.finalizarLote();
+        }
+        return creadas;
+    }
+
+    // === ESCRITURA EN ARCHIVO ===
+
+    /**
+     * Escribe productos agrícolas en un archivo CSV con el formato de {@link FormatoCsv}.
+     * Los registros se generan a medida que se escriben, sin mantenerlos en memoria.
+     * @param archivo archivo destino (se sobrescribe)
+     * @param cantidad número de registros
+     * @throws IOException si falla la escritura
+     */
+    public void escribirAgricolasCsv(Path archivo, long cantidad) throws IOException {
+        escribirCsv(archivo, FormatoCsv.COLUMNAS_AGRICOLA, agricolas(cantidad), FormatoCsv::valores);
+    }
+
+    public void escribirGanaderosCsv(Path archivo, long cantidad) throws IOException {
+        escribirCsv(archivo, FormatoCsv.COLUMNAS_GANADERO, ganaderos(cantidad), FormatoCsv::valores);
+    }
+
+    public void escribirFincasCsv(Path archivo, long cantidad) throws IOException {
+        escribirCsv(archivo, FormatoCsv.COLUMNAS_FINCA, fincas(cantidad), FormatoCsv::valores);
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public int getTotalFincas() {
+        return totalFincas;
+    }
+
+    // === MÉTODOS AUXILIARES ===
+
+    private <T> void escribirCsv(Path archivo, List<String> columnas, Stream<T> registros,
+                                 Function<T, String[]> convertir) throws IOException {
+        try (Writer salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8);
+             EscritorCsv escritor = new EscritorCsv(salida)) {
+            escritor.escribirFila(columnas);
+            Iterator<T> iterador = registros.iterator();
+            while (iterador.hasNext()) {
+                escritor.escribirFila(convertir.apply(iterador.next()));
+            }
+        }
+    }
+
+    /**
+     * Cada registro tiene su propio generador, derivado de la semilla, el índice y
+     * el tipo de entidad, para que los registros sean independientes entre sí
+     */
+    private SplittableRandom aleatorio(long indice, int entidad) {
+        long mezcla = mezclar(semilla + entidad * PROPORCION_AUREA);
+        return new SplittableRandom(mezclar(mezcla ^ (indice * PROPORCION_AUREA)));
+    }
+
+    /**
+     * Función de mezcla de 64 bits (finalizador de MurmurHash3)
+     */
+    private static long mezclar(long valor) {
+        valor = (valor ^ (valor >>> 33)) * 0xFF51AFD7ED558CCDL;
+        valor = (valor ^ (valor >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return valor ^ (valor >>> 33);
+    }
+
+    private static String elegir(SplittableRandom aleatorio, String[] opciones) {
+        return opciones[aleatorio.nextInt(opciones.length)];
+    }
+
+    /**
+     * Elige un municipio con probabilidad decreciente según su posición en el catálogo
+     */
+    private static int elegirSesgado(SplittableRandom aleatorio) {
+        double objetivo = aleatorio.nextDouble() * PESOS_MUNICIPIO[PESOS_MUNICIPIO.length - 1];
+        for (int i = 0; i < PESOS_MUNICIPIO.length; i++) {
+            if (objetivo < PESOS_MUNICIPIO[i]) {
+                return i;
+            }
+        }
+        return PESOS_MUNICIPIO.length - 1;
+    }
+
+    /**
+     * Pesos acumulados de una distribución de Zipf con exponente 1
+     */
+    private static double[] acumularPesos(int cantidad) {
+        double[] pesos = new double[cantidad];
+        double acumulado = 0;
+        for (int i = 0; i < cantidad; i++) {
+            acumulado += 1.0 / (i + 1);
+            pesos[i] = acumulado;
+        }
+        return pesos;
+    }
+
+    private static double logUniforme(SplittableRandom aleatorio, double minimo, double maximo) {
+        return minimo * Math.exp(aleatorio.nextDouble() * Math.log(maximo / minimo));
+    }
+
+    private static double redondear(double valor, int decimales) {
+        if (decimales < 0) {
+            double multiplo = Math.pow(10, -decimales);
+            return Math.round(valor / multiplo) * multiplo;
+        }
+        double escala = Math.pow(10, decimales);
+        return Math.round(valor * escala) / escala;
+    }
+
+    private static LocalDate fecha(SplittableRandom aleatorio) {
+        return FECHA_REFERENCIA.minusDays(aleatorio.nextInt(DIAS_HISTORIA));
+    }
+
+    private static String sinTildes(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
\ No newline at end of file
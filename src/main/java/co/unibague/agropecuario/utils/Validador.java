@@ -16,7 +16,7 @@ public class Validador {
             Pattern.compile("^[0-9]{3}-[0-9]{3}-[0-9]{4}$|^[0-9]{10}$");
 
     private static final Pattern ID_PATTERN =
-            Pattern.compile("^[A-Z]{3}[0-9]{3}$");
+            Pattern.compile("^[A-Z]{3}[0-9]{3,}$");
 
     /**
      * Valida que una cadena no sea nula o vacía
@@ -64,7 +64,7 @@ public class Validador {
     }
 
     /**
-     * Valida formato de ID del sistema (3 letras + 3 números)
+     * Valida formato de ID del sistema (3 letras + al menos 3 números)
      * @param id ID a validar
      * @return true si el formato es válido
      */
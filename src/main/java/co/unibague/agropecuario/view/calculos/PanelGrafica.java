@@ -0,0 +1,97 @@
+package co.unibague.agropecuario.view.calculos;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Panel de gráfica con imagen en caché. Los datos se toman una sola vez por versión
+ * y el dibujo se hace sobre una imagen que se reutiliza en cada repintado; solo se
+ * vuelve a dibujar cuando cambia la versión de los datos, el tamaño o la escala
+ * de la pantalla. Así el costo de pintar no depende del tamaño del catálogo.
+ *
+ * @param <D> tipo de los datos de la gráfica
+ */
+public class PanelGrafica<D> extends JPanel {
+
+    private static final long SIN_VERSION = Long.MIN_VALUE;
+
+    private final LongSupplier version;
+    private final Supplier<D> datos;
+    private final BiConsumer<Graphics2D, D> dibujo;
+
+    private D datosActuales;
+    private long versionDatos = SIN_VERSION;
+    private BufferedImage imagen;
+    private long versionImagen = SIN_VERSION;
+
+    /**
+     * Constructor del panel
+     * @param version proveedor de la versión de los datos
+     * @param datos cálculo de los datos de la gráfica (se invoca solo si cambia la versión)
+     * @param dibujo rutina que dibuja los datos sobre la imagen
+     */
+    public PanelGrafica(LongSupplier version, Supplier<D> datos, BiConsumer<Graphics2D, D> dibujo) {
+        this.version = version;
+        this.datos = datos;
+        this.dibujo = dibujo;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int ancho = getWidth();
+        int alto = getHeight();
+        if (ancho <= 0 || alto <= 0) {
+            return;
+        }
+
+        // Escala de la pantalla (HiDPI), para que la imagen no se vea borrosa
+        AffineTransform transformacion = ((Graphics2D) g).getTransform();
+        double escalaX = transformacion.getScaleX();
+        double escalaY = transformacion.getScaleY();
+        int anchoImagen = (int) Math.ceil(ancho * escalaX);
+        int altoImagen = (int) Math.ceil(alto * escalaY);
+
+        // La versión se lee antes que los datos: si cambian en medio, el siguiente repintado los toma
+        long versionActual = version.getAsLong();
+        if (versionActual != versionDatos) {
+            datosActuales = datos.get();
+            versionDatos = versionActual;
+        }
+
+        if (imagen == null || versionImagen != versionDatos
+                || imagen.getWidth() != anchoImagen || imagen.getHeight() != altoImagen) {
+            imagen = renderizar(anchoImagen, altoImagen, escalaX, escalaY);
+            versionImagen = versionDatos;
+        }
+
+        g.drawImage(imagen, 0, 0, ancho, alto, null);
+    }
+
+    private BufferedImage renderizar(int anchoImagen, int altoImagen, double escalaX, double escalaY) {
+        GraphicsConfiguration configuracion = getGraphicsConfiguration();
+        BufferedImage nueva = configuracion != null
+                ? configuracion.createCompatibleImage(anchoImagen, altoImagen, Transparency.OPAQUE)
+                : new BufferedImage(anchoImagen, altoImagen, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g2d = nueva.createGraphics();
+        try {
+            // Mismo suavizado de texto que usa Swing al pintar directamente en pantalla
+            Object sugerencias = Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+            if (sugerencias instanceof java.util.Map<?, ?> mapa) {
+                g2d.addRenderingHints(mapa);
+            }
+            g2d.scale(escalaX, escalaY);
+            g2d.setColor(getBackground());
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+            dibujo.accept(g2d, datosActuales);
+        } finally {
+            g2d.dispose();
+        }
+        return nueva;
+    }
+}
\ No newline at end of file
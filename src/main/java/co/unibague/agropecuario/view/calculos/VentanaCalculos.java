@@ -1,34 +1,52 @@
 package co.unibague.agropecuario.view.calculos;
 
 import co.unibague.agropecuario.controller.CalculadoraController;
+import co.unibague.agropecuario.controller.ExportadorDatos;
+import co.unibague.agropecuario.controller.ResultadosCalculos;
+import co.unibague.agropecuario.controller.SeguimientoCalculo;
+import co.unibague.agropecuario.persistence.FormatoExportacion;
 import co.unibague.agropecuario.utils.Constantes;
 import co.unibague.agropecuario.utils.Formateador;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Ventana para mostrar cálculos de rentabilidad y estadísticas.
  * Demuestra el uso de polimorfismo en los cálculos.
+ * Los cálculos se ejecutan en segundo plano con un SwingWorker, que informa el
+ * avance y entrega los resultados al hilo de la interfaz al terminar.
  */
 public class VentanaCalculos extends JFrame {
 
     private CalculadoraController controller;
+    private ExportadorDatos exportador;
 
     // Componentes de la interfaz
     private JTextArea txtReporteRentabilidad;
     private JTextArea txtEstadisticasGenerales;
     private JTextArea txtResumenEjecutivo;
     private JLabel lblProductoMasRentable;
-    private JButton btnActualizar, btnExportar, btnComparar;
+    private JButton btnActualizar, btnCancelar, btnExportar, btnComparar;
+    private JProgressBar barraProgreso;
+    private TareaCalculos tareaCalculos;
 
     // Paneles para las gráficas visuales
     private JPanel panelGraficaRentabilidad;
     private JPanel panelGraficaEstadisticas;
+    private PanelGrafica<Map<String, Double>> panelBarras;
+    private PanelGrafica<Map<String, Object>> panelCircular;
 
-    public VentanaCalculos(CalculadoraController controller) {
+    public VentanaCalculos(CalculadoraController controller, ExportadorDatos exportador) {
         this.controller = controller;
+        this.exportador = exportador;
 
         configurarVentana();
         crearComponentes();
@@ -240,14 +258,9 @@ public class VentanaCalculos extends JFrame {
         panel.setBorder(BorderFactory.createTitledBorder("Comparación de Rentabilidad"));
         panel.setBackground(Color.WHITE);
 
-        // Crear una representación visual simple de barras
-        JPanel panelBarras = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                dibujarGraficaRentabilidad(g);
-            }
-        };
+        // Crear una representación visual simple de barras (se recalcula solo si cambian los datos)
+        panelBarras = new PanelGrafica<>(controller::getVersionDatos,
+                controller::calcularRentabilidadesPorTipo, this::dibujarGraficaRentabilidad);
         panelBarras.setBackground(Color.WHITE);
         panelBarras.setPreferredSize(new Dimension(600, 300));
 
@@ -267,14 +280,9 @@ public class VentanaCalculos extends JFrame {
         panel.setBorder(BorderFactory.createTitledBorder("Distribución de Productos"));
         panel.setBackground(Color.WHITE);
 
-        // Crear una representación visual simple de gráfica circular
-        JPanel panelCircular = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                dibujarGraficaCircular(g);
-            }
-        };
+        // Crear una representación visual simple de gráfica circular (se recalcula solo si cambian los datos)
+        panelCircular = new PanelGrafica<>(controller::getVersionDatos,
+                controller::calcularEstadisticasGenerales, this::dibujarGraficaCircular);
         panelCircular.setBackground(Color.WHITE);
         panelCircular.setPreferredSize(new Dimension(500, 300));
 
@@ -283,12 +291,9 @@ public class VentanaCalculos extends JFrame {
         return panel;
     }
 
-    private void dibujarGraficaRentabilidad(Graphics g) {
-        Graphics2D g2d = (Graphics2D) g;
+    private void dibujarGraficaRentabilidad(Graphics2D g2d, Map<String, Double> rentabilidades) {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        Map<String, Double> rentabilidades = controller.calcularRentabilidadesPorTipo();
-
         int x = 50;
         int baseY = 250;
         int anchoBarra = 100;
@@ -342,12 +347,9 @@ public class VentanaCalculos extends JFrame {
         g2d.drawString("Rentabilidad Promedio por Tipo", 50, 30);
     }
 
-    private void dibujarGraficaCircular(Graphics g) {
-        Graphics2D g2d = (Graphics2D) g;
+    private void dibujarGraficaCircular(Graphics2D g2d, Map<String, Object> estadisticas) {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        Map<String, Object> estadisticas = controller.calcularEstadisticasGenerales();
-
         int totalAgricolas = (Integer) estadisticas.get("Total Productos Agrícolas");
         int totalGanaderos = (Integer) estadisticas.get("Total Productos Ganaderos");
         int total = totalAgricolas + totalGanaderos;
@@ -404,6 +406,17 @@ public class VentanaCalculos extends JFrame {
         btnActualizar.setFont(Constantes.FONT_NORMAL);
         btnActualizar.addActionListener(e -> actualizarDatos());
 
+        btnCancelar = new JButton("Cancelar");
+        btnCancelar.setBackground(Constantes.COLOR_DANGER);
+        btnCancelar.setForeground(Color.BLACK);
+        btnCancelar.setFont(Constantes.FONT_NORMAL);
+        btnCancelar.addActionListener(e -> cancelarCalculos());
+        btnCancelar.setEnabled(false);
+
+        barraProgreso = new JProgressBar(0, 100);
+        barraProgreso.setStringPainted(true);
+        barraProgreso.setVisible(false);
+
         btnExportar = new JButton("Exportar Reporte");
         btnExportar.setBackground(Constantes.COLOR_WARNING);
         btnExportar.setForeground(Color.BLACK);
@@ -417,6 +430,8 @@ public class VentanaCalculos extends JFrame {
         btnComparar.addActionListener(e -> mostrarAnalisisComparativo());
 
         panel.add(btnActualizar);
+        panel.add(btnCancelar);
+        panel.add(barraProgreso);
         panel.add(btnExportar);
         panel.add(btnComparar);
 
@@ -424,79 +439,102 @@ public class VentanaCalculos extends JFrame {
     }
 
     private void actualizarDatos() {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                // Actualizar reporte de rentabilidad
-                String reporteRentabilidad = controller.generarReporteRentabilidad();
-                txtReporteRentabilidad.setText(reporteRentabilidad);
-                txtReporteRentabilidad.setCaretPosition(0);
-
-                // Actualizar estadísticas generales
-                Map<String, Object> estadisticas = controller.calcularEstadisticasGenerales();
-                StringBuilder statsText = new StringBuilder();
-                statsText.append("=== ESTADÍSTICAS GENERALES DEL SISTEMA ===\n\n");
-
-                for (Map.Entry<String, Object> entry : estadisticas.entrySet()) {
-                    String key = entry.getKey();
-                    Object value = entry.getValue();
-
-                    if (value instanceof Double) {
-                        statsText.append(String.format("%-30s: %s\n", key, Formateador.formatearDecimal((Double) value)));
-                    } else {
-                        statsText.append(String.format("%-30s: %s\n", key, value.toString()));
-                    }
-                }
+        // Un cálculo nuevo reemplaza al que esté en curso
+        if (tareaCalculos != null && !tareaCalculos.isDone()) {
+            tareaCalculos.cancel(false);
+        }
 
-                txtEstadisticasGenerales.setText(statsText.toString());
-                txtEstadisticasGenerales.setCaretPosition(0);
+        btnActualizar.setEnabled(false);
+        btnCancelar.setEnabled(true);
+        barraProgreso.setValue(0);
+        barraProgreso.setVisible(true);
 
-                // Actualizar resumen ejecutivo
-                String resumenEjecutivo = controller.generarResumenEjecutivo();
-                txtResumenEjecutivo.setText(resumenEjecutivo);
-                txtResumenEjecutivo.setCaretPosition(0);
+        tareaCalculos = new TareaCalculos();
+        tareaCalculos.addPropertyChangeListener(evento -> {
+            if ("progress".equals(evento.getPropertyName())) {
+                barraProgreso.setValue((Integer) evento.getNewValue());
+            }
+        });
+        tareaCalculos.execute();
+    }
 
-                // Actualizar producto más rentable
-                String productoMasRentable = controller.encontrarProductoMasRentable();
-                lblProductoMasRentable.setText(productoMasRentable);
+    private void cancelarCalculos() {
+        if (tareaCalculos != null) {
+            tareaCalculos.cancel(false);
+        }
+    }
 
-                // Repintar las gráficas
-                panelGraficaRentabilidad.repaint();
-                panelGraficaEstadisticas.repaint();
+    private void mostrarResultados(ResultadosCalculos resultados) {
+        // Actualizar reporte de rentabilidad
+        txtReporteRentabilidad.setText(resultados.getReporteRentabilidad());
+        txtReporteRentabilidad.setCaretPosition(0);
 
-                JOptionPane.showMessageDialog(this,
-                        "Datos actualizados correctamente",
-                        "Actualización Exitosa",
-                        JOptionPane.INFORMATION_MESSAGE);
+        // Actualizar estadísticas generales
+        StringBuilder statsText = new StringBuilder();
+        statsText.append("=== ESTADÍSTICAS GENERALES DEL SISTEMA ===\n\n");
 
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(this,
-                        "Error al actualizar los datos: " + e.getMessage(),
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
+        for (Map.Entry<String, Object> entry : resultados.getEstadisticas().entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
+
+            if (value instanceof Double) {
+                statsText.append(String.format("%-30s: %s\n", key, Formateador.formatearDecimal((Double) value)));
+            } else {
+                statsText.append(String.format("%-30s: %s\n", key, value.toString()));
             }
-        });
-    }
+        }
 
-    private void exportarReporte() {
-        StringBuilder reporte = new StringBuilder();
-        reporte.append("=== REPORTE COMPLETO DEL SISTEMA AGROPECUARIO ===\n");
-        reporte.append("Fecha de generación: ").append(java.time.LocalDateTime.now().format(
-                java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"))).append("\n\n");
+        txtEstadisticasGenerales.setText(statsText.toString());
+        txtEstadisticasGenerales.setCaretPosition(0);
 
-        reporte.append(txtResumenEjecutivo.getText()).append("\n\n");
-        reporte.append("=== DETALLES DE RENTABILIDAD ===\n");
-        reporte.append(txtReporteRentabilidad.getText()).append("\n\n");
-        reporte.append("=== ESTADÍSTICAS COMPLETAS ===\n");
-        reporte.append(txtEstadisticasGenerales.getText());
+        // Actualizar resumen ejecutivo
+        txtResumenEjecutivo.setText(resultados.getResumenEjecutivo());
+        txtResumenEjecutivo.setCaretPosition(0);
 
-        JTextArea areaReporte = new JTextArea(reporte.toString());
-        areaReporte.setEditable(false);
-        areaReporte.setFont(new Font("Monospaced", Font.PLAIN, 10));
+        // Actualizar producto más rentable
+        lblProductoMasRentable.setText(resultados.getProductoMasRentable());
 
-        JScrollPane scrollPane = new JScrollPane(areaReporte);
-        scrollPane.setPreferredSize(new Dimension(700, 500));
+        // Repintar las gráficas; solo se redibujan si la versión de los datos cambió
+        panelBarras.repaint();
+        panelCircular.repaint();
+    }
 
-        JOptionPane.showMessageDialog(this, scrollPane, "Reporte Completo para Exportar", JOptionPane.INFORMATION_MESSAGE);
+    private void finalizarCalculos() {
+        btnActualizar.setEnabled(true);
+        btnCancelar.setEnabled(false);
+        barraProgreso.setVisible(false);
+    }
+
+    /**
+     * Exporta los productos y fincas con sus métricas en el formato elegido, junto con
+     * el reporte de texto, a un directorio. La escritura se hace en segundo plano.
+     */
+    private void exportarReporte() {
+        JComboBox<FormatoExportacion> cmbFormato = new JComboBox<>(FormatoExportacion.values());
+        JCheckBox chkComprimir = new JCheckBox("Comprimir con gzip");
+        JPanel panelOpciones = new JPanel(new GridLayout(0, 1, 5, 5));
+        panelOpciones.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 0));
+        panelOpciones.add(new JLabel("Formato de los datos:"));
+        panelOpciones.add(cmbFormato);
+        panelOpciones.add(chkComprimir);
+
+        JFileChooser selector = new JFileChooser();
+        selector.setDialogTitle("Seleccione el directorio de exportación");
+        selector.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        selector.setAccessory(panelOpciones);
+        if (selector.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        // El texto del reporte se toma en el hilo de la interfaz, antes de pasar a segundo plano
+        String[] secciones = {
+                txtResumenEjecutivo.getText(),
+                "=== DETALLES DE RENTABILIDAD ===\n" + txtReporteRentabilidad.getText(),
+                "=== ESTADÍSTICAS COMPLETAS ===\n" + txtEstadisticasGenerales.getText()
+        };
+        btnExportar.setEnabled(false);
+        new TareaExportacion(selector.getSelectedFile().toPath(), (FormatoExportacion) cmbFormato.getSelectedItem(),
+                chkComprimir.isSelected(), secciones).execute();
     }
 
     private void mostrarRecomendaciones() {
@@ -636,4 +674,118 @@ public class VentanaCalculos extends JFrame {
 
         JOptionPane.showMessageDialog(this, scrollPane, "Análisis Comparativo", JOptionPane.INFORMATION_MESSAGE);
     }
+
+    @Override
+    public void dispose() {
+        cancelarCalculos();
+        super.dispose();
+    }
+
+    /**
+     * Ejecuta los cálculos fuera del hilo de la interfaz. El avance se publica
+     * con setProgress y los resultados se muestran en done(), ya en el hilo de la interfaz.
+     */
+    /**
+     * Tarea en segundo plano que escribe los archivos de exportación
+     */
+    private class TareaExportacion extends SwingWorker<Map<Path, Long>, Void> {
+
+        private final Path directorio;
+        private final FormatoExportacion formato;
+        private final boolean comprimir;
+        private final String[] secciones;
+
+        TareaExportacion(Path directorio, FormatoExportacion formato, boolean comprimir, String[] secciones) {
+            this.directorio = directorio;
+            this.formato = formato;
+            this.comprimir = comprimir;
+            this.secciones = secciones;
+        }
+
+        @Override
+        protected Map<Path, Long> doInBackground() throws IOException {
+            Map<Path, Long> exportados = exportador.exportarTodo(directorio, formato, comprimir);
+            escribirReporte(directorio.resolve("reporte.txt"));
+            return exportados;
+        }
+
+        private void escribirReporte(Path archivo) throws IOException {
+            try (Writer salida = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+                salida.write("=== REPORTE COMPLETO DEL SISTEMA AGROPECUARIO ===\n");
+                salida.write("Fecha de generación: " + java.time.LocalDateTime.now().format(
+                        java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")) + "\n\n");
+                for (String seccion : secciones) {
+                    salida.write(seccion);
+                    salida.write("\n\n");
+                }
+            }
+        }
+
+        @Override
+        protected void done() {
+            btnExportar.setEnabled(true);
+            try {
+                StringBuilder mensaje = new StringBuilder("Archivos exportados en " + directorio.toAbsolutePath() + ":\n\n");
+                for (Map.Entry<Path, Long> archivo : get().entrySet()) {
+                    mensaje.append(String.format("%-20s %,d registros\n", archivo.getKey().getFileName(), archivo.getValue()));
+                }
+                mensaje.append("reporte.txt");
+                JOptionPane.showMessageDialog(VentanaCalculos.this,
+                        mensaje.toString(),
+                        "Exportación Exitosa",
+                        JOptionPane.INFORMATION_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                JOptionPane.showMessageDialog(VentanaCalculos.this,
+                        "Error al exportar los datos: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
+    private class TareaCalculos extends SwingWorker<ResultadosCalculos, Void> implements SeguimientoCalculo {
+
+        @Override
+        protected ResultadosCalculos doInBackground() {
+            return controller.calcularResultados(this);
+        }
+
+        @Override
+        public void progreso(int porcentaje) {
+            setProgress(Math.min(100, porcentaje));
+        }
+
+        @Override
+        public boolean isCancelado() {
+            return isCancelled();
+        }
+
+        @Override
+        protected void done() {
+            // Una tarea reemplazada por otra más reciente no toca la interfaz
+            if (tareaCalculos != this) {
+                return;
+            }
+            finalizarCalculos();
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                mostrarResultados(get());
+                JOptionPane.showMessageDialog(VentanaCalculos.this,
+                        "Datos actualizados correctamente",
+                        "Actualización Exitosa",
+                        JOptionPane.INFORMATION_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                JOptionPane.showMessageDialog(VentanaCalculos.this,
+                        "Error al actualizar los datos: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
 }
\ No newline at end of file
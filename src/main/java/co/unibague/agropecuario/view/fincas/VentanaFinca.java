@@ -2,26 +2,29 @@ package co.unibague.agropecuario.view.fincas;
 
 import co.unibague.agropecuario.controller.FincaController;
 import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.patterns.observer.EventoCambio;
+import co.unibague.agropecuario.patterns.observer.LoteCambios;
+import co.unibague.agropecuario.patterns.observer.Observer;
 import co.unibague.agropecuario.utils.Constantes;
 import co.unibague.agropecuario.utils.Formateador;
 import co.unibague.agropecuario.utils.Validador;
+import co.unibague.agropecuario.view.tablas.ModeloTablaFincas;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Ventana para gestionar fincas.
- * Implementa el patrón MVC para la gestión de fincas.
+ * Implementa el patrón MVC para la gestión de fincas y el patrón Observer
+ * para actualizar la tabla cuando cambian los datos.
  */
-public class VentanaFinca extends JFrame {
+public class VentanaFinca extends JFrame implements Observer {
 
     private FincaController controller;
 
     // Componentes de la interfaz
     private JTable tabla;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaFincas modeloTabla;
     private JTextField txtCodigo, txtNombreFinca, txtPropietario, txtVereda;
     private JTextField txtAreaTotal, txtTelefono, txtEmail, txtInfraestructura;
     private JComboBox<String> cmbMunicipio, cmbTipoTerreno;
@@ -32,6 +35,9 @@ public class VentanaFinca extends JFrame {
     public VentanaFinca(FincaController controller) {
         this.controller = controller;
 
+        // Registrarse como observador
+        controller.addObserver(this);
+
         configurarVentana();
         crearComponentes();
         cargarDatos();
@@ -189,14 +195,8 @@ public class VentanaFinca extends JFrame {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("Lista de Fincas"));
 
-        // Crear modelo de tabla
-        String[] columnas = {"Código", "Nombre", "Propietario", "Municipio", "Área (ha)", "Tipo"};
-        modeloTabla = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Modelo perezoso: las filas se formatean solo cuando se muestran
+        modeloTabla = new ModeloTablaFincas();
 
         tabla = new JTable(modeloTabla);
         tabla.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -259,26 +259,13 @@ public class VentanaFinca extends JFrame {
     }
 
     private void cargarDatos() {
-        modeloTabla.setRowCount(0);
-        List<Finca> fincas = controller.listar();
-
-        for (Finca finca : fincas) {
-            Object[] fila = {
-                    finca.getCodigo(),
-                    finca.getNombreFinca(),
-                    finca.getPropietario(),
-                    finca.getMunicipio(),
-                    Formateador.formatearDecimal(finca.getAreaTotal()),
-                    finca.getTipoTerreno()
-            };
-            modeloTabla.addRow(fila);
-        }
+        modeloTabla.cargar(controller.listar());
     }
 
     private void seleccionarFinca() {
         int filaSeleccionada = tabla.getSelectedRow();
         if (filaSeleccionada >= 0) {
-            String codigo = (String) modeloTabla.getValueAt(filaSeleccionada, 0);
+            String codigo = modeloTabla.getElemento(filaSeleccionada).getCodigo();
             fincaSeleccionada = controller.buscar(codigo);
 
             if (fincaSeleccionada != null) {
@@ -312,7 +299,6 @@ public class VentanaFinca extends JFrame {
                 JOptionPane.showMessageDialog(this,
                         "Finca creada exitosamente",
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                cargarDatos();
                 limpiarFormulario();
             } else {
                 JOptionPane.showMessageDialog(this,
@@ -330,7 +316,6 @@ public class VentanaFinca extends JFrame {
                 JOptionPane.showMessageDialog(this,
                         "Finca actualizada exitosamente",
                         "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                cargarDatos();
                 limpiarFormulario();
             } else {
                 JOptionPane.showMessageDialog(this,
@@ -353,7 +338,6 @@ public class VentanaFinca extends JFrame {
                     JOptionPane.showMessageDialog(this,
                             "Finca eliminada exitosamente",
                             "Éxito", JOptionPane.INFORMATION_MESSAGE);
-                    cargarDatos();
                     limpiarFormulario();
                 } else {
                     JOptionPane.showMessageDialog(this,
@@ -467,4 +451,27 @@ public class VentanaFinca extends JFrame {
         btnActualizar.setEnabled(false);
         btnEliminar.setEnabled(false);
     }
+
+    // Implementación del patrón Observer
+    @Override
+    public void update() {
+        SwingUtilities.invokeLater(this::cargarDatos);
+    }
+
+    @Override
+    public void update(Object data) {
+        if (data instanceof EventoCambio || data instanceof LoteCambios) {
+            // Solo se notifican las filas afectadas
+            SwingUtilities.invokeLater(() -> modeloTabla.actualizar(controller::listar));
+        } else {
+            SwingUtilities.invokeLater(this::cargarDatos);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // Desregistrarse como observador al cerrar la ventana
+        controller.removeObserver(this);
+        super.dispose();
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package co.unibague.agropecuario.view.principal;
 
 import co.unibague.agropecuario.controller.*;
 import co.unibague.agropecuario.model.singleton.CooperativaInfo;
+import co.unibague.agropecuario.persistence.AlmacenDatos;
 import co.unibague.agropecuario.utils.Constantes;
 import co.unibague.agropecuario.view.calculos.VentanaCalculos;
 import co.unibague.agropecuario.view.dialogs.AcercaDeDialog;
@@ -11,6 +12,7 @@ import co.unibague.agropecuario.view.productos.VentanaProductoGanadero;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
 
 /**
  * Ventana principal de la aplicación.
@@ -23,6 +25,7 @@ public class VentanaPrincipal extends JFrame {
     private ProductoGanaderoController ganaderoController;
     private FincaController fincaController;
     private CalculadoraController calculadoraController;
+    private ExportadorDatos exportador;
 
     // Componentes de la interfaz
     private JPanel panelPrincipal;
@@ -44,10 +47,28 @@ public class VentanaPrincipal extends JFrame {
      * Inicializa los controladores del sistema
      */
     private void inicializarControladores() {
-        agricolaController = new ProductoAgricolaController();
-        ganaderoController = new ProductoGanaderoController();
-        fincaController = new FincaController();
-        calculadoraController = new CalculadoraController(agricolaController, ganaderoController);
+        AlmacenDatos almacen = abrirAlmacenDatos();
+        agricolaController = new ProductoAgricolaController(almacen);
+        ganaderoController = new ProductoGanaderoController(almacen);
+        fincaController = new FincaController(almacen);
+        calculadoraController = new CalculadoraController(agricolaController, ganaderoController, fincaController);
+        exportador = new ExportadorDatos(agricolaController, ganaderoController, fincaController);
+    }
+
+    /**
+     * Abre el almacenamiento durable; si no está disponible se trabaja solo en memoria
+     * @return almacén de datos o null
+     */
+    private AlmacenDatos abrirAlmacenDatos() {
+        try {
+            AlmacenDatos almacen = AlmacenDatos.abrirPorDefecto();
+            System.out.println("Datos almacenados en: " + almacen.getDirectorio().toAbsolutePath());
+            return almacen;
+        } catch (IOException e) {
+            System.err.println("No se pudo abrir el directorio de datos, se trabajará en memoria: "
+                    + e.getMessage());
+            return null;
+        }
     }
 
     /**
@@ -160,7 +181,7 @@ public class VentanaPrincipal extends JFrame {
 
         JMenuItem itemAnalisisComparativo = new JMenuItem("Análisis Comparativo");
         itemAnalisisComparativo.addActionListener(e -> {
-            VentanaCalculos ventanaCalculos = new VentanaCalculos(calculadoraController);
+            VentanaCalculos ventanaCalculos = new VentanaCalculos(calculadoraController, exportador);
             ventanaCalculos.setVisible(true);
             SwingUtilities.invokeLater(() -> {
                 mostrarMensajeInformativo("Se ha abierto la ventana de cálculos.\nUse el botón 'Análisis Comparativo' para ver comparaciones detalladas entre sectores.");
@@ -258,7 +279,7 @@ public class VentanaPrincipal extends JFrame {
      */
     private void abrirVentanaCalculos() {
         try {
-            VentanaCalculos ventana = new VentanaCalculos(calculadoraController);
+            VentanaCalculos ventana = new VentanaCalculos(calculadoraController, exportador);
             ventana.setVisible(true);
         } catch (Exception e) {
             mostrarError("Error al abrir la ventana de cálculos: " + e.getMessage());
@@ -4,13 +4,15 @@ import co.unibague.agropecuario.controller.FincaController;
 import co.unibague.agropecuario.controller.ProductoAgricolaController;
 import co.unibague.agropecuario.model.entities.Finca;
 import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.patterns.observer.EventoCambio;
+import co.unibague.agropecuario.patterns.observer.LoteCambios;
 import co.unibague.agropecuario.patterns.observer.Observer;
 import co.unibague.agropecuario.utils.Constantes;
 import co.unibague.agropecuario.utils.Formateador;
 import co.unibague.agropecuario.utils.Validador;
+import co.unibague.agropecuario.view.tablas.ModeloTablaAgricola;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -28,7 +30,7 @@ public class VentanaProductoAgricola extends JFrame implements Observer {
 
     // Componentes de la interfaz
     private JTable tabla;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaAgricola modeloTabla;
     private JTextField txtId, txtNombre, txtCosto, txtCantidad, txtPrecio;
     private JTextField txtHectareas, txtRendimiento;
     private JComboBox<String> cmbTipoCultivo, cmbTipoSuelo, cmbTemporada, cmbFinca;
@@ -208,14 +210,8 @@ public class VentanaProductoAgricola extends JFrame implements Observer {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("Lista de Productos Agrícolas"));
 
-        // Crear modelo de tabla
-        String[] columnas = {"ID", "Nombre", "Tipo", "Hectáreas", "Rendimiento", "Rentabilidad"};
-        modeloTabla = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Modelo perezoso: las filas se formatean solo cuando se muestran
+        modeloTabla = new ModeloTablaAgricola();
 
         tabla = new JTable(modeloTabla);
         tabla.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -289,26 +285,13 @@ public class VentanaProductoAgricola extends JFrame implements Observer {
     }
 
     private void cargarDatos() {
-        modeloTabla.setRowCount(0);
-        List<ProductoAgricola> productos = controller.listar();
-
-        for (ProductoAgricola producto : productos) {
-            Object[] fila = {
-                    producto.getId(),
-                    producto.getNombre(),
-                    producto.getTipoCultivo(),
-                    Formateador.formatearHectareas(producto.getHectareasCultivadas()),
-                    Formateador.formatearDecimal(producto.getRendimientoPorHa()) + " ton/ha",
-                    Formateador.formatearMoneda(producto.calcularRentabilidad())
-            };
-            modeloTabla.addRow(fila);
-        }
+        modeloTabla.cargar(controller.listar());
     }
 
     private void seleccionarProducto() {
         int filaSeleccionada = tabla.getSelectedRow();
         if (filaSeleccionada >= 0) {
-            String id = (String) modeloTabla.getValueAt(filaSeleccionada, 0);
+            String id = modeloTabla.getElemento(filaSeleccionada).getId();
             productoSeleccionado = controller.buscar(id);
 
             if (productoSeleccionado != null) {
@@ -541,7 +524,12 @@ public class VentanaProductoAgricola extends JFrame implements Observer {
 
     @Override
     public void update(Object data) {
-        SwingUtilities.invokeLater(this::cargarDatos);
+        if (data instanceof EventoCambio || data instanceof LoteCambios) {
+            // Solo se notifican las filas afectadas
+            SwingUtilities.invokeLater(() -> modeloTabla.actualizar(controller::listar));
+        } else {
+            SwingUtilities.invokeLater(this::cargarDatos);
+        }
     }
 
     @Override
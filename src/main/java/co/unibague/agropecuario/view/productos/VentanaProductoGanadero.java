@@ -2,16 +2,17 @@ package co.unibague.agropecuario.view.productos;
 
 import co.unibague.agropecuario.controller.ProductoGanaderoController;
 import co.unibague.agropecuario.model.entities.ProductoGanadero;
+import co.unibague.agropecuario.patterns.observer.EventoCambio;
+import co.unibague.agropecuario.patterns.observer.LoteCambios;
 import co.unibague.agropecuario.patterns.observer.Observer;
 import co.unibague.agropecuario.utils.Constantes;
 import co.unibague.agropecuario.utils.Formateador;
 import co.unibague.agropecuario.utils.Validador;
+import co.unibague.agropecuario.view.tablas.ModeloTablaGanadera;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * Ventana para gestionar productos ganaderos.
@@ -23,7 +24,7 @@ public class VentanaProductoGanadero extends JFrame implements Observer {
 
     // Componentes de la interfaz
     private JTable tabla;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaGanadera modeloTabla;
     private JTextField txtId, txtNombre, txtCosto, txtCantidad, txtPrecio;
     private JTextField txtNumeroAnimales, txtPesoPromedio, txtProduccionDiaria;
     private JComboBox<String> cmbTipoGanado, cmbTipoAlimentacion;
@@ -210,14 +211,8 @@ public class VentanaProductoGanadero extends JFrame implements Observer {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("Lista de Productos Ganaderos"));
 
-        // Crear modelo de tabla
-        String[] columnas = {"ID", "Nombre", "Tipo", "Animales", "Peso Total", "Rentabilidad"};
-        modeloTabla = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Modelo perezoso: las filas se formatean solo cuando se muestran
+        modeloTabla = new ModeloTablaGanadera();
 
         tabla = new JTable(modeloTabla);
         tabla.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -288,26 +283,13 @@ public class VentanaProductoGanadero extends JFrame implements Observer {
     }
 
     private void cargarDatos() {
-        modeloTabla.setRowCount(0);
-        List<ProductoGanadero> productos = controller.listar();
-
-        for (ProductoGanadero producto : productos) {
-            Object[] fila = {
-                    producto.getId(),
-                    producto.getNombre(),
-                    producto.getTipoGanado(),
-                    String.valueOf(producto.getNumeroAnimales()),
-                    Formateador.formatearPeso(producto.calcularPesoTotal()),
-                    Formateador.formatearMoneda(producto.calcularRentabilidad())
-            };
-            modeloTabla.addRow(fila);
-        }
+        modeloTabla.cargar(controller.listar());
     }
 
     private void seleccionarProducto() {
         int filaSeleccionada = tabla.getSelectedRow();
         if (filaSeleccionada >= 0) {
-            String id = (String) modeloTabla.getValueAt(filaSeleccionada, 0);
+            String id = modeloTabla.getElemento(filaSeleccionada).getId();
             productoSeleccionado = controller.buscar(id);
 
             if (productoSeleccionado != null) {
@@ -581,7 +563,12 @@ public class VentanaProductoGanadero extends JFrame implements Observer {
 
     @Override
     public void update(Object data) {
-        SwingUtilities.invokeLater(this::cargarDatos);
+        if (data instanceof EventoCambio || data instanceof LoteCambios) {
+            // Solo se notifican las filas afectadas
+            SwingUtilities.invokeLater(() -> modeloTabla.actualizar(controller::listar));
+        } else {
+            SwingUtilities.invokeLater(this::cargarDatos);
+        }
     }
 
     @Override
@@ -0,0 +1,28 @@
+package co.unibague.agropecuario.view.tablas;
+
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.utils.Formateador;
+
+/**
+ * Modelo de la tabla de productos agrícolas
+ */
+public class ModeloTablaAgricola extends ModeloTablaEntidades<ProductoAgricola> {
+
+    private static final String[] COLUMNAS = {"ID", "Nombre", "Tipo", "Hectáreas", "Rendimiento", "Rentabilidad"};
+
+    public ModeloTablaAgricola() {
+        super(COLUMNAS, ProductoAgricola::getId);
+    }
+
+    @Override
+    protected Object[] formatearFila(ProductoAgricola producto) {
+        return new Object[] {
+                producto.getId(),
+                producto.getNombre(),
+                producto.getTipoCultivo(),
+                Formateador.formatearHectareas(producto.getHectareasCultivadas()),
+                Formateador.formatearDecimal(producto.getRendimientoPorHa()) + " ton/ha",
+                Formateador.formatearMoneda(producto.calcularRentabilidad())
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package co.unibague.agropecuario.view.tablas;
+
+import co.unibague.agropecuario.model.repository.VistaVersionada;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Modelo de tabla perezoso para listados de entidades.
+ * <p>
+ * A diferencia de un DefaultTableModel, no construye ni formatea las filas al
+ * cargar los datos: muestra directamente la vista inmutable que devuelve el
+ * listado del controlador ({@link VistaVersionada}), sin copiarla, y formatea cada
+ * fila la primera vez que la tabla la pinta. Como la tabla solo consulta las filas
+ * visibles, abrir un catálogo de un millón de registros cuesta lo mismo que uno
+ * de cien. Las filas formateadas se guardan en una caché acotada (las menos
+ * usadas recientemente se descartan) que se invalida cuando la entidad cambia.
+ * <p>
+ * Con cada evento de cambio el modelo toma la vista nueva del repositorio. Si entre
+ * ambas versiones hubo una sola mutación, la fila afectada se ubica comparando las
+ * dos vistas y solo se notifica esa fila; si no, se notifica la recarga de la tabla,
+ * que tampoco copia ni formatea nada.
+ * @param <T> tipo de entidad mostrada
+ */
+public abstract class ModeloTablaEntidades<T> extends AbstractTableModel {
+
+    private static final int FILAS_EN_CACHE = 1024;
+
+    private final String[] columnas;
+    private final Function<T, String> extractorId;
+    private final Map<String, Object[]> celdas;
+    private List<T> filas;
+
+    /**
+     * Constructor del modelo
+     * @param columnas nombres de las columnas
+     * @param extractorId función que obtiene el identificador de cada entidad
+     */
+    protected ModeloTablaEntidades(String[] columnas, Function<T, String> extractorId) {
+        this.columnas = columnas;
+        this.extractorId = extractorId;
+        this.filas = List.of();
+        this.celdas = new LinkedHashMap<>(FILAS_EN_CACHE * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object[]> mayor) {
+                return size() > FILAS_EN_CACHE;
+            }
+        };
+    }
+
+    /**
+     * Reemplaza el contenido de la tabla sin copiarlo ni formatear ninguna fila
+     * @param elementos entidades en el orden en que se mostrarán; no deben modificarse
+     *                  mientras el modelo las muestre (las vistas del repositorio son inmutables)
+     */
+    public void cargar(List<T> elementos) {
+        this.filas = elementos;
+        celdas.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Pasa a la vista actual del repositorio tras un evento o un lote de cambios.
+     * Los eventos que llegan cuando la vista ya los incluye no tienen efecto.
+     * @param listado función que obtiene la vista actual de las entidades
+     */
+    public void actualizar(Supplier<List<T>> listado) {
+        List<T> nuevas = listado.get();
+        if (nuevas == filas) {
+            return;
+        }
+        if (!(filas instanceof VistaVersionada<T> anterior) || !(nuevas instanceof VistaVersionada<T> actual)
+                || actual.getVersion() != anterior.getVersion() + 1) {
+            cargar(nuevas);
+            return;
+        }
+
+        // Una sola mutación separa ambas versiones: la única posición distinta es la fila afectada
+        int fila = anterior.primeraDiferencia(actual);
+        filas = actual;
+        if (actual.size() > anterior.size()) {
+            fireTableRowsInserted(fila, fila);
+        } else if (actual.size() < anterior.size()) {
+            celdas.remove(extractorId.apply(anterior.get(fila)));
+            fireTableRowsDeleted(fila, fila);
+        } else if (fila < actual.size()) {
+            celdas.remove(extractorId.apply(actual.get(fila)));
+            fireTableRowsUpdated(fila, fila);
+        } else {
+            // La entidad se reemplazó por la misma instancia: no hay posición que comparar
+            cargar(actual);
+        }
+    }
+
+    /**
+     * Obtiene la entidad mostrada en una fila
+     * @param fila índice de fila del modelo
+     * @return entidad de la fila
+     */
+    public T getElemento(int fila) {
+        return filas.get(fila);
+    }
+
+    /**
+     * Descarta la fila formateada de una entidad para que se vuelva a calcular
+     * @param id identificador de la entidad
+     */
+    public void invalidar(String id) {
+        celdas.remove(id);
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnas.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return columnas[columna];
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        T elemento = filas.get(fila);
+        Object[] valores = celdas.computeIfAbsent(extractorId.apply(elemento), id -> formatearFila(elemento));
+        return valores[columna];
+    }
+
+    /**
+     * Construye los valores mostrados de una entidad
+     * @param elemento entidad a formatear
+     * @return un valor por columna
+     */
+    protected abstract Object[] formatearFila(T elemento);
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package co.unibague.agropecuario.view.tablas;
+
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.utils.Formateador;
+
+/**
+ * Modelo de la tabla de fincas
+ */
+public class ModeloTablaFincas extends ModeloTablaEntidades<Finca> {
+
+    private static final String[] COLUMNAS = {"Código", "Nombre", "Propietario", "Municipio", "Área (ha)", "Tipo"};
+
+    public ModeloTablaFincas() {
+        super(COLUMNAS, Finca::getCodigo);
+    }
+
+    @Override
+    protected Object[] formatearFila(Finca finca) {
+        return new Object[] {
+                finca.getCodigo(),
+                finca.getNombreFinca(),
+                finca.getPropietario(),
+                finca.getMunicipio(),
+                Formateador.formatearDecimal(finca.getAreaTotal()),
+                finca.getTipoTerreno()
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package co.unibague.agropecuario.view.tablas;
+
+import co.unibague.agropecuario.model.entities.ProductoGanadero;
+import co.unibague.agropecuario.utils.Formateador;
+
+/**
+ * Modelo de la tabla de productos ganaderos
+ */
+public class ModeloTablaGanadera extends ModeloTablaEntidades<ProductoGanadero> {
+
+    private static final String[] COLUMNAS = {"ID", "Nombre", "Tipo", "Animales", "Peso Total", "Rentabilidad"};
+
+    public ModeloTablaGanadera() {
+        super(COLUMNAS, ProductoGanadero::getId);
+    }
+
+    @Override
+    protected Object[] formatearFila(ProductoGanadero producto) {
+        return new Object[] {
+                producto.getId(),
+                producto.getNombre(),
+                producto.getTipoGanado(),
+                String.valueOf(producto.getNumeroAnimales()),
+                Formateador.formatearPeso(producto.calcularPesoTotal()),
+                Formateador.formatearMoneda(producto.calcularRentabilidad())
+        };
+    }
+}
\ No newline at end of file
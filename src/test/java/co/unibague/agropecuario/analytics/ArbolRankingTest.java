@@ -0,0 +1,83 @@
+package co.unibague.agropecuario.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el árbol de clasificación con una lista ordenada tras cada mutación aleatoria
+ */
+class ArbolRankingTest {
+
+    private record Clave(double valor, long secuencia) {}
+
+    /** Mayor valor primero y, a igual valor, menor secuencia primero */
+    private static final Comparator<Clave> ORDEN = Comparator.comparingDouble(Clave::valor).reversed()
+            .thenComparingLong(Clave::secuencia);
+
+    @Test
+    void coincideConUnaListaOrdenada() {
+        Random aleatorio = new Random(42);
+        ArbolRanking<Clave> arbol = new ArbolRanking<>();
+        List<Clave> oraculo = new ArrayList<>();
+        long siguienteSecuencia = 0;
+
+        for (int paso = 0; paso < 3000; paso++) {
+            if (oraculo.isEmpty() || aleatorio.nextInt(3) > 0) {
+                // Pocos valores distintos para que haya muchos empates
+                Clave clave = new Clave(aleatorio.nextInt(50) - 10, siguienteSecuencia++);
+                arbol.insertar(clave.valor(), clave.secuencia(), clave);
+                oraculo.add(clave);
+            } else {
+                Clave clave = oraculo.remove(aleatorio.nextInt(oraculo.size()));
+                assertTrue(arbol.retirar(clave.valor(), clave.secuencia()));
+                assertFalse(arbol.retirar(clave.valor(), clave.secuencia()));
+            }
+            oraculo.sort(ORDEN);
+
+            assertEquals(oraculo.size(), arbol.tamanio());
+            int k = aleatorio.nextInt(oraculo.size() + 2);
+            assertEquals(oraculo.subList(0, Math.min(k, oraculo.size())), arbol.primeros(k));
+            assertEquals(invertir(oraculo).subList(0, Math.min(k, oraculo.size())), arbol.ultimos(k));
+            if (!oraculo.isEmpty()) {
+                int indice = aleatorio.nextInt(oraculo.size());
+                Clave clave = oraculo.get(indice);
+                assertEquals(indice + 1, arbol.posicion(clave.valor(), clave.secuencia()));
+            }
+        }
+
+        for (int i = 0; i < oraculo.size(); i++) {
+            Clave clave = oraculo.get(i);
+            assertEquals(i + 1, arbol.posicion(clave.valor(), clave.secuencia()));
+        }
+        assertEquals(oraculo, arbol.primeros(Integer.MAX_VALUE));
+        assertEquals(-1, arbol.posicion(1000, 0));
+    }
+
+    @Test
+    void quedaVacioAlRetirarTodo() {
+        ArbolRanking<String> arbol = new ArbolRanking<>();
+        for (int i = 0; i < 100; i++) {
+            arbol.insertar(i % 7, i, "e" + i);
+        }
+        for (int i = 99; i >= 0; i--) {
+            assertTrue(arbol.retirar(i % 7, i));
+        }
+        assertTrue(arbol.isEmpty());
+        assertEquals(List.of(), arbol.primeros(5));
+    }
+
+    private static List<Clave> invertir(List<Clave> lista) {
+        List<Clave> invertida = new ArrayList<>(lista);
+        Collections.reverse(invertida);
+        return invertida;
+    }
+}
\ No newline at end of file
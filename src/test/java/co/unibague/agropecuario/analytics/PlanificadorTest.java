@@ -0,0 +1,121 @@
+package co.unibague.agropecuario.analytics;
+
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.model.entities.ProductoAgricola;
+import co.unibague.agropecuario.model.repository.IndiceFincas;
+import co.unibague.agropecuario.model.repository.Repositorio;
+import co.unibague.agropecuario.utils.GeneradorDatos;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara los resultados del planificador (con índices y en paralelo) con un recorrido completo
+ */
+class PlanificadorTest {
+
+    private static final int PRODUCTOS = 3 * Planificador.UMBRAL_PARALELO;
+
+    private final GeneradorDatos generador = new GeneradorDatos(11, 400);
+
+    @Test
+    void consultasAgricolasCoincidenConRecorridoCompleto() {
+        Repositorio<ProductoAgricola> repositorio = new Repositorio<>(ProductoAgricola::getId);
+        generador.agricolas(PRODUCTOS).forEach(repositorio::insertar);
+        Planificador<ProductoAgricola> planificador = new Planificador<>(repositorio, ProductoAgricola::getId);
+        planificador.indexarBajoDemanda(CamposAgricolas.TIPO_CULTIVO);
+
+        verificarAgricolas(repositorio, planificador);
+
+        // El índice creado en la primera consulta debe seguir los cambios posteriores
+        List<ProductoAgricola> productos = repositorio.listar();
+        String tipo = productos.get(0).getTipoCultivo();
+        for (int i = 0; i < productos.size(); i += 7) {
+            repositorio.eliminar(productos.get(i).getId());
+        }
+        for (int i = 3; i < productos.size(); i += 11) {
+            ProductoAgricola cambiado = productos.get(i).copia();
+            cambiado.setTipoCultivo(tipo);
+            cambiado.setHectareasCultivadas(cambiado.getHectareasCultivadas() + 1);
+            repositorio.reemplazar(cambiado.getId(), cambiado);
+        }
+        verificarAgricolas(repositorio, planificador);
+    }
+
+    @Test
+    void consultasDeFincasCoincidenConRecorridoCompleto() {
+        Repositorio<Finca> repositorio = new Repositorio<>(Finca::getCodigo);
+        IndiceFincas indice = new IndiceFincas();
+        repositorio.agregarOyente(indice);
+        generador.fincas(PRODUCTOS).forEach(repositorio::insertar);
+        Planificador<Finca> planificador = new Planificador<>(repositorio, Finca::getCodigo);
+        planificador.registrarIndice(new IndiceConsultaFincas(indice));
+
+        List<Finca> fincas = repositorio.listar();
+        String municipio = fincas.get(5).getMunicipio();
+        verificar(planificador, fincas,
+                Consulta.donde(CamposFincas.MUNICIPIO.igual(municipio.toUpperCase()))
+                        .y(CamposFincas.AREA_TOTAL.entre(10, 200))
+                        .ordenarPorDescendente(CamposFincas.AREA_TOTAL).limite(25),
+                finca -> finca.getMunicipio().equalsIgnoreCase(municipio)
+                        && finca.getAreaTotal() >= 10 && finca.getAreaTotal() <= 200,
+                Comparator.comparingDouble(Finca::getAreaTotal).reversed(), 25);
+        verificar(planificador, fincas,
+                Consulta.donde(CamposFincas.AREA_TOTAL.mayorQue(50)),
+                finca -> finca.getAreaTotal() > 50, null, -1);
+        verificar(planificador, fincas,
+                Consulta.donde(CamposFincas.TIPO_TERRENO.igual("Lunar")),
+                finca -> false, null, -1);
+    }
+
+    private void verificarAgricolas(Repositorio<ProductoAgricola> repositorio,
+                                    Planificador<ProductoAgricola> planificador) {
+        List<ProductoAgricola> productos = repositorio.listar();
+        String tipo = productos.get(10).getTipoCultivo();
+        LocalDate desde = LocalDate.of(2024, 1, 1);
+
+        verificar(planificador, productos,
+                Consulta.donde(CamposAgricolas.TIPO_CULTIVO.igual(tipo.toLowerCase())),
+                producto -> producto.getTipoCultivo().equalsIgnoreCase(tipo), null, -1);
+        verificar(planificador, productos,
+                Consulta.donde(CamposAgricolas.HECTAREAS_CULTIVADAS.entre(5, 20))
+                        .y(CamposAgricolas.FECHA_PRODUCCION.desde(desde))
+                        .ordenarPorDescendente(CamposAgricolas.RENTABILIDAD).limite(10),
+                producto -> producto.getHectareasCultivadas() >= 5 && producto.getHectareasCultivadas() <= 20
+                        && !producto.getFechaProduccion().isBefore(desde),
+                Comparator.comparingDouble(ProductoAgricola::calcularRentabilidad).reversed(), 10);
+        verificar(planificador, productos,
+                Consulta.donde(CamposAgricolas.TIPO_CULTIVO.igual(tipo))
+                        .y(CamposAgricolas.PRECIO_VENTA.menorQue(4000))
+                        .ordenarPor(CamposAgricolas.HECTAREAS_CULTIVADAS),
+                producto -> producto.getTipoCultivo().equalsIgnoreCase(tipo) && producto.getPrecioVenta() < 4000,
+                Comparator.comparingDouble(ProductoAgricola::getHectareasCultivadas), -1);
+        verificar(planificador, productos,
+                Consulta.donde(CamposAgricolas.HECTAREAS_CULTIVADAS.mayorQue(3)).limite(7),
+                producto -> producto.getHectareasCultivadas() > 3, null, 7);
+        verificar(planificador, productos,
+                Consulta.donde(CamposAgricolas.TIPO_CULTIVO.igual("Inexistente")),
+                producto -> false, null, -1);
+    }
+
+    /**
+     * Ejecuta la consulta y la compara con un filtro, orden estable y límite sobre toda la colección
+     */
+    private static <T> void verificar(Planificador<T> planificador, List<T> todos, Consulta<T> consulta,
+                                      Predicate<T> filtro, Comparator<T> orden, int limite) {
+        Stream<T> esperado = todos.stream().filter(filtro);
+        if (orden != null) {
+            esperado = esperado.sorted(orden);
+        }
+        if (limite >= 0) {
+            esperado = esperado.limit(limite);
+        }
+        assertEquals(esperado.toList(), planificador.ejecutar(consulta), consulta::toString);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package co.unibague.agropecuario.model.repository;
+
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.utils.GeneradorDatos;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del repositorio indexado: operaciones por identificador, orden de inserción
+ * y vistas con copia en escritura
+ */
+class RepositorioTest {
+
+    private final GeneradorDatos generador = new GeneradorDatos(3);
+
+    @Test
+    void buscaReemplazaYEliminaPorIdentificador() {
+        Repositorio<Finca> repositorio = nuevoRepositorio();
+        List<Finca> fincas = generador.fincas(5000).toList();
+        fincas.forEach(finca -> assertTrue(repositorio.insertar(finca)));
+        assertFalse(repositorio.insertar(fincas.get(0)));
+
+        Finca modificada = repositorio.buscar("F2500").copia();
+        modificada.setAreaTotal(77.0);
+        assertTrue(repositorio.reemplazar("F2500", modificada));
+        assertSame(modificada, repositorio.buscar("F2500"));
+        assertFalse(repositorio.reemplazar("F9999", modificada));
+
+        assertSame(fincas.get(99), repositorio.eliminar("F100"));
+        assertNull(repositorio.eliminar("F100"));
+        assertNull(repositorio.buscar("F100"));
+        assertFalse(repositorio.contiene("F100"));
+        assertEquals(4999, repositorio.tamanio());
+    }
+
+    @Test
+    void conservaElOrdenDeInsercion() {
+        Repositorio<Finca> repositorio = nuevoRepositorio();
+        Map<String, Finca> oraculo = new LinkedHashMap<>();
+        Random aleatorio = new Random(17);
+        List<Finca> fincas = generador.fincas(6000).toList();
+
+        for (Finca finca : fincas) {
+            repositorio.insertar(finca);
+            oraculo.put(finca.getCodigo(), finca);
+            if (aleatorio.nextInt(3) == 0) {
+                String codigo = fincas.get(aleatorio.nextInt(fincas.size())).getCodigo();
+                assertEquals(oraculo.remove(codigo), repositorio.eliminar(codigo));
+            }
+            if (aleatorio.nextInt(5) == 0) {
+                // Un reemplazo no cambia la posición de la entidad
+                Finca actual = repositorio.buscar(finca.getCodigo());
+                if (actual != null) {
+                    Finca copia = actual.copia();
+                    repositorio.reemplazar(finca.getCodigo(), copia);
+                    oraculo.put(finca.getCodigo(), copia);
+                }
+            }
+        }
+        assertEquals(new ArrayList<>(oraculo.values()), repositorio.listar());
+    }
+
+    @Test
+    void lasVistasNoCambianConLasEscriturasPosteriores() {
+        Repositorio<Finca> repositorio = nuevoRepositorio();
+        generador.fincas(3000).forEach(repositorio::insertar);
+        VistaVersionada<Finca> vista = repositorio.instantanea();
+        List<Finca> contenido = new ArrayList<>(vista);
+        assertSame(vista, repositorio.instantanea());
+
+        repositorio.eliminar("F001");
+        repositorio.reemplazar("F2000", repositorio.buscar("F2000").copia());
+        repositorio.insertar(generador.generarFinca(5000));
+
+        assertEquals(contenido, vista);
+        assertEquals(vista.getVersion() + 3, repositorio.instantanea().getVersion());
+        // F001 era la primera fila
+        assertEquals(0, vista.primeraDiferencia(repositorio.instantanea()));
+    }
+
+    @Test
+    void compactaLosBloquesTrasMuchasEliminaciones() {
+        BloquesOrdenados<Integer> bloques = new BloquesOrdenados<>();
+        int total = 40 * BloquesOrdenados.TAMANIO_BLOQUE;
+        long[] secuencias = new long[total];
+        for (int i = 0; i < total; i++) {
+            secuencias[i] = bloques.agregar(i);
+        }
+        VistaVersionada<Integer> antes = bloques.publicar(1);
+
+        // Se deja uno de cada ocho elementos, repartidos en todos los bloques
+        List<Integer> esperados = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            if (i % 8 == 0) {
+                esperados.add(i);
+            } else {
+                bloques.eliminar(secuencias[i]);
+            }
+        }
+
+        VistaVersionada<Integer> despues = bloques.publicar(2);
+        assertEquals(esperados, despues);
+        assertEquals(total / 8, bloques.tamanio());
+        // Sin compactar quedarían los cuarenta bloques con 128 elementos cada uno
+        assertTrue(bloques.numeroBloques() * (BloquesOrdenados.TAMANIO_BLOQUE / 4) <= bloques.tamanio());
+        // La vista anterior conserva los bloques originales
+        assertEquals(total, antes.size());
+        assertEquals(total - 1, antes.get(total - 1));
+
+        // Las secuencias siguen ubicando a los elementos después de compactar
+        bloques.reemplazar(secuencias[8 * 100], -1);
+        assertEquals(-1, bloques.publicar(3).get(100));
+    }
+
+    private static Repositorio<Finca> nuevoRepositorio() {
+        return new Repositorio<>(Finca::getCodigo);
+    }
+}
\ No newline at end of file
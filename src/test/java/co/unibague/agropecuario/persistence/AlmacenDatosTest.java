@@ -0,0 +1,173 @@
+package co.unibague.agropecuario.persistence;
+
+import co.unibague.agropecuario.model.entities.Finca;
+import co.unibague.agropecuario.model.repository.Repositorio;
+import co.unibague.agropecuario.model.repository.TipoCambio;
+import co.unibague.agropecuario.utils.GeneradorDatos;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de ida y vuelta del almacenamiento: diario, instantáneas y recuperación tras fallos
+ */
+class AlmacenDatosTest {
+
+    @TempDir
+    Path directorio;
+
+    private final GeneradorDatos generador = new GeneradorDatos(7);
+
+    @Test
+    void recuperaLasMutacionesAlReabrir() throws IOException {
+        Repositorio<Finca> original = nuevoRepositorio();
+        try (AlmacenDatos almacen = AlmacenDatos.abrir(directorio, 0)) {
+            assertFalse(almacen.conectar("fincas", CodificadoresEntidades.FINCA, original));
+            generador.fincas(50).forEach(original::insertar);
+
+            Finca modificada = original.buscar("F010").copia();
+            modificada.setAreaTotal(123.5);
+            assertTrue(original.reemplazar("F010", modificada));
+            assertEquals("F020", original.eliminar("F020").getCodigo());
+        }
+
+        Repositorio<Finca> recuperado = nuevoRepositorio();
+        try (AlmacenDatos almacen = AlmacenDatos.abrir(directorio, 0)) {
+            assertTrue(almacen.conectar("fincas", CodificadoresEntidades.FINCA, recuperado));
+        }
+        assertEquals(codigos(original), codigos(recuperado));
+        assertEquals(123.5, recuperado.buscar("F010").getAreaTotal());
+        assertNull(recuperado.buscar("F020"));
+    }
+
+    @Test
+    void descartaElRegistroIncompletoAlFinalDelDiario() throws IOException {
+        Path archivo = directorio.resolve("fincas.diario");
+        List<Finca> fincas = generador.fincas(10).toList();
+        try (DiarioEscritura<Finca> diario = new DiarioEscritura<>(archivo, CodificadoresEntidades.FINCA, 0)) {
+            fincas.forEach(finca -> diario.registrar(TipoCambio.CREAR, finca));
+        }
+
+        // Corte de energía a mitad del último registro
+        long tamanio = Files.size(archivo);
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(tamanio - 5);
+        }
+
+        Repositorio<Finca> recuperado = nuevoRepositorio();
+        try (DiarioEscritura<Finca> diario = new DiarioEscritura<>(archivo, CodificadoresEntidades.FINCA, 0)) {
+            assertEquals(9, diario.reproducir(recuperado));
+            // El diario sigue siendo utilizable después del final descartado
+            diario.registrar(TipoCambio.CREAR, fincas.get(9));
+        }
+        assertEquals(codigos(fincas.subList(0, 9)), codigos(recuperado));
+
+        Repositorio<Finca> completo = nuevoRepositorio();
+        try (DiarioEscritura<Finca> diario = new DiarioEscritura<>(archivo, CodificadoresEntidades.FINCA, 0)) {
+            assertEquals(10, diario.reproducir(completo));
+        }
+        assertEquals(codigos(fincas), codigos(completo));
+    }
+
+    @Test
+    void reconstruyeConElDiarioSiLaInstantaneaEstaDanada() throws IOException {
+        List<Finca> fincas = generador.fincas(20).toList();
+        try (DiarioEscritura<Finca> diario = new DiarioEscritura<>(directorio.resolve("fincas.diario"),
+                CodificadoresEntidades.FINCA, 0)) {
+            fincas.forEach(finca -> diario.registrar(TipoCambio.CREAR, finca));
+        }
+        // Instantánea de la misma generación del diario, como si el proceso se cortara antes de reiniciarlo
+        Path instantanea = directorio.resolve("fincas.instantanea");
+        Instantanea.escribir(instantanea, fincas.subList(0, 10), CodificadoresEntidades.FINCA,
+                1, DiarioEscritura.CABECERA_ARCHIVO);
+        try (FileChannel canal = FileChannel.open(instantanea, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] {0x5A}), canal.size() - 1);
+        }
+
+        Repositorio<Finca> recuperado = nuevoRepositorio();
+        try (AlmacenDatos almacen = AlmacenDatos.abrir(directorio, 0)) {
+            assertTrue(almacen.conectar("fincas", CodificadoresEntidades.FINCA, recuperado));
+            assertEquals(codigos(fincas), codigos(recuperado));
+            assertTrue(Files.exists(directorio.resolve("fincas.instantanea.danada")));
+        }
+    }
+
+    @Test
+    void conservaLosCambiosHechosDuranteUnPuntoDeControl() throws Exception {
+        List<Finca> fincas = generador.fincas(20_000).toList();
+        Repositorio<Finca> original = nuevoRepositorio();
+        try (AlmacenDatos almacen = AlmacenDatos.abrir(directorio, 5)) {
+            almacen.conectar("fincas", CodificadoresEntidades.FINCA, original);
+            Thread escritor = new Thread(() -> {
+                for (int i = 0; i < fincas.size(); i++) {
+                    original.insertar(fincas.get(i));
+                    if (i % 4 == 3) {
+                        original.eliminar(fincas.get(i / 2).getCodigo());
+                    }
+                }
+            });
+            escritor.start();
+            // Las instantáneas se escriben mientras el escritor sigue agregando al diario
+            while (escritor.isAlive()) {
+                almacen.crearPuntoControl();
+            }
+            escritor.join();
+            almacen.sincronizar();
+
+            // Estado en disco sin el punto de control final de close()
+            Path copia = Files.createDirectory(directorio.resolve("copia"));
+            for (String archivo : List.of("fincas.diario", "fincas.instantanea")) {
+                if (Files.exists(directorio.resolve(archivo))) {
+                    Files.copy(directorio.resolve(archivo), copia.resolve(archivo));
+                }
+            }
+            Repositorio<Finca> recuperado = nuevoRepositorio();
+            try (AlmacenDatos otro = AlmacenDatos.abrir(copia, 0)) {
+                otro.conectar("fincas", CodificadoresEntidades.FINCA, recuperado);
+            }
+            assertEquals(codigos(original), codigos(recuperado));
+        }
+    }
+
+    @Test
+    void noAplicaElCambioSiElDiarioFalla() throws IOException {
+        Repositorio<Finca> repositorio = nuevoRepositorio();
+        DiarioEscritura<Finca> diario = new DiarioEscritura<>(directorio.resolve("fincas.diario"),
+                CodificadoresEntidades.FINCA, 0);
+        repositorio.establecerRegistroAnticipado(diario);
+        Finca finca = generador.generarFinca(0);
+        assertTrue(repositorio.insertar(finca));
+        long version = repositorio.getVersion();
+
+        diario.close();
+        assertThrows(UncheckedIOException.class, () -> repositorio.eliminar(finca.getCodigo()));
+        assertTrue(repositorio.contiene(finca.getCodigo()));
+        assertEquals(version, repositorio.getVersion());
+    }
+
+    private static Repositorio<Finca> nuevoRepositorio() {
+        return new Repositorio<>(Finca::getCodigo);
+    }
+
+    private static List<String> codigos(Repositorio<Finca> repositorio) {
+        return codigos(repositorio.listar());
+    }
+
+    private static List<String> codigos(List<Finca> fincas) {
+        return fincas.stream().map(Finca::getCodigo).toList();
+    }
+}
\ No newline at end of file